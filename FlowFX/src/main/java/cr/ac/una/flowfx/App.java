@@ -1,6 +1,8 @@
 package cr.ac.una.flowfx;
 
+import cr.ac.una.flowfx.service.NotificationOutbox;
 import cr.ac.una.flowfx.util.FlowController;
+import cr.ac.una.flowfx.util.SingleFlight;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.logging.Level;
@@ -44,6 +46,9 @@ public class App extends Application {
             );
         }
 
+        // Starts delivering notifications left over from the previous session
+        NotificationOutbox.getInstance();
+
         stage.initStyle(StageStyle.UNDECORATED);
         FlowController.getInstance().InitializeFlow(stage, null);
         FlowController.getInstance().goMain();
@@ -52,6 +57,12 @@ public class App extends Application {
         // FlowController.getInstance().goViewInWindowModal("PersonSelectionView", stage, false);
     }
 
+    @Override
+    public void stop() {
+        // Report how many duplicate service calls were collapsed during the session
+        SingleFlight.logStats();
+    }
+
     /**
      * Application launcher.
      *
@@ -1,17 +1,26 @@
 package cr.ac.una.flowfx.controller;
 
+import cr.ac.una.flowfx.model.ActivityStatusCounts;
+import cr.ac.una.flowfx.model.DashboardDTO;
 import cr.ac.una.flowfx.model.PersonDTO;
 import cr.ac.una.flowfx.model.ProjectActivityDTO;
 import cr.ac.una.flowfx.model.ProjectDTO;
 import cr.ac.una.flowfx.model.ProjectTrackingDTO;
+import cr.ac.una.flowfx.service.ChangeFeed;
+import cr.ac.una.flowfx.service.DashboardService;
 import cr.ac.una.flowfx.service.PersonService;
 import cr.ac.una.flowfx.service.ProjectActivityService;
 import cr.ac.una.flowfx.service.ProjectService;
 import cr.ac.una.flowfx.service.ProjectTrackingService;
+import cr.ac.una.flowfx.service.SyncService;
 import cr.ac.una.flowfx.util.AnimationManager;
 import cr.ac.una.flowfx.util.AppContext;
+import cr.ac.una.flowfx.util.AsyncTasks;
+import cr.ac.una.flowfx.util.EntityCaches;
 import cr.ac.una.flowfx.util.FlowController;
 import cr.ac.una.flowfx.util.Mensaje;
+import cr.ac.una.flowfx.util.OfflineCache;
+import cr.ac.una.flowfx.util.PersonUniquenessValidator;
 import cr.ac.una.flowfx.util.Respuesta;
 import io.github.palexdev.materialfx.controls.MFXButton;
 import io.github.palexdev.materialfx.controls.MFXCheckbox;
@@ -19,8 +28,12 @@ import io.github.palexdev.materialfx.controls.MFXPasswordField;
 import io.github.palexdev.materialfx.controls.MFXTextField;
 import java.net.URL;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.ResourceBundle;
+import java.util.function.Consumer;
+import javafx.application.Platform;
 import javafx.collections.FXCollections;
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
@@ -48,6 +61,9 @@ public class MainController extends Controller implements Initializable {
     private static final java.util.logging.Logger LOGGER =
         java.util.logging.Logger.getLogger(MainController.class.getName());
 
+    /** Recent activities listed on the dashboard. */
+    private static final int MAX_RECENT_ACTIVITIES = 20;
+
     @FXML private AnchorPane root;
     @FXML private VBox vbCover;
     @FXML private VBox vbLogInDisplay;
@@ -72,9 +88,14 @@ public class MainController extends Controller implements Initializable {
 
     private boolean userLoggedIn = false;
     private PersonDTO user;
+    private PersonUniquenessValidator uniqueness;
     
     // Cache for project tracking data to improve performance
     private final java.util.Map<Long, ProjectTrackingData> projectTrackingCache = new java.util.concurrent.ConcurrentHashMap<>();
+    // Projects whose tracking entry is being reloaded (FX thread only)
+    private final java.util.Set<Long> trackingRequests = new java.util.HashSet<>();
+    // Expired projects waiting for the next batched reload (FX thread only)
+    private final java.util.Set<Long> trackingQueue = new java.util.LinkedHashSet<>();
     
     /**
      * Data class to hold cached project tracking information.
@@ -122,6 +143,7 @@ public class MainController extends Controller implements Initializable {
         setTextFieldLimit(txfPersonEmail, 20);
         setTextFieldLimit(txfPersonUsername, 20);
         setTextFieldLimit(pswPersonPassword, 20);
+        uniqueness = new PersonUniquenessValidator(this, txfPersonId, txfPersonEmail, txfPersonUsername);
 
         // Configure projects table columns and double-click navigation
         tbcProjectName.setCellValueFactory(data ->
@@ -213,6 +235,9 @@ public class MainController extends Controller implements Initializable {
         
         // Clear tracking cache on logout
         projectTrackingCache.clear();
+        // The next user starts change tracking afresh
+        ChangeFeed.getInstance().stop();
+        SyncService.getInstance().reset();
 
         Object nav = AppContext.getInstance().get("navigationBar");
         if (nav instanceof VBox) ((VBox) nav).setDisable(true);
@@ -255,11 +280,23 @@ public class MainController extends Controller implements Initializable {
             );
             return;
         }
-        PersonService personService = new PersonService();
-        Respuesta response = personService.validateCredentials(
-            username,
-            password
+        btnLogIn.setDisable(true);
+        AsyncTasks.submit(
+            this,
+            "login",
+            () -> new PersonService().validateCredentials(username, password),
+            response -> {
+                btnLogIn.setDisable(false);
+                handleLoginResponse(response);
+            },
+            ex -> {
+                btnLogIn.setDisable(false);
+                LOGGER.warning("Login failed: " + ex.getMessage());
+            }
         );
+    }
+
+    private void handleLoginResponse(Respuesta response) {
         if (Boolean.TRUE.equals(response.getEstado())) {
             user = (PersonDTO) response.getResultado("Person");
             if (user == null) {
@@ -298,6 +335,8 @@ public class MainController extends Controller implements Initializable {
             AnimationManager.hidePopup(vbLogInDisplay, vbCover);
             clearLogInFields();
             refreshDashboard();
+            // Open views follow edits made by other users from now on
+            ChangeFeed.getInstance().start();
         } else {
             new Mensaje().showModal(
                 Alert.AlertType.ERROR,
@@ -336,8 +375,16 @@ public class MainController extends Controller implements Initializable {
     private void onActionBtnPersonSignUp(ActionEvent event) {
         PersonDTO newUser = extractPersonFromSignUp();
         if (newUser == null) return;
-        PersonService service = new PersonService();
-        Respuesta response = service.create(newUser);
+        AsyncTasks.submit(
+            this,
+            "person-sign-up",
+            () -> new PersonService().create(newUser),
+            this::handleSignUpResponse,
+            ex -> LOGGER.warning("Sign up failed: " + ex.getMessage())
+        );
+    }
+
+    private void handleSignUpResponse(Respuesta response) {
         if (Boolean.TRUE.equals(response.getEstado())) {
             new Mensaje().showModal(
                 Alert.AlertType.INFORMATION,
@@ -373,7 +420,119 @@ public class MainController extends Controller implements Initializable {
         }
 
         PersonDTO userDto = (PersonDTO) u;
+        // A newer refresh supersedes any load still in progress
+        AsyncTasks.cancelAll(this);
+        AsyncTasks.load(
+            this,
+            "dashboard-cache",
+            () -> {
+                OfflineCache.Snapshot cached = OfflineCache.load(userDto.getId());
+                if (cached != null) OfflineCache.seed(cached);
+                return cached;
+            },
+            cached -> {
+                // Paint the copy from the last session at once, then reconcile
+                if (cached != null) applyDashboard(new DashboardData(cached.dashboard(), cached.counts()));
+                syncDashboard(userDto, cached);
+            },
+            ex -> {
+                LOGGER.warning("Dashboard: no se pudo leer la copia local: " + ex.getMessage());
+                syncDashboard(userDto, null);
+            }
+        );
+    }
+
+    /**
+     * Brings the dashboard up to date with the server in the background. With
+     * a cached copy the view stays usable meanwhile; without one the load
+     * counts as the view's initial load.
+     */
+    private void syncDashboard(PersonDTO userDto, OfflineCache.Snapshot cached) {
+        Consumer<DashboardData> onSuccess = data -> {
+            if (data != null) applyDashboard(data);
+        };
+        Consumer<Throwable> onError =
+            ex -> LOGGER.warning("Dashboard: error cargando el tablero: " + ex.getMessage());
+        if (cached == null) {
+            AsyncTasks.load(this, "dashboard-loader", () -> fetchDashboard(userDto, null), onSuccess, onError);
+        } else {
+            AsyncTasks.submit(this, "dashboard-sync", () -> fetchDashboard(userDto, cached), onSuccess, onError);
+        }
+    }
+
+    /**
+     * Fetches what changed since the cached copy (everything when there is
+     * none), merges it and stores the result for the next start. Falls back
+     * to a full load when the server does not support change queries. Runs
+     * on a background thread.
+     *
+     * @return the dashboard to show, or {@code null} when the cached copy is current
+     */
+    private DashboardData fetchDashboard(PersonDTO userDto, OfflineCache.Snapshot cached) {
+        Long since = cached == null ? null : cached.watermark();
+        Respuesta cr = new DashboardService().findChangesSince(userDto.getId(), since, MAX_RECENT_ACTIVITIES);
+        if (!Boolean.TRUE.equals(cr.getEstado()) || !(cr.getResultado("Dashboard") instanceof DashboardDTO changes)) {
+            LOGGER.info("Dashboard: getDashboardChangesSince no disponible, cargando el tablero completo: " + cr.getMensaje());
+            DashboardData data = loadDashboard(userDto);
+            OfflineCache.save(userDto.getId(), OfflineCache.capture(null, data.dashboard(), data.counts()));
+            return data;
+        }
+        Long watermark = (Long) cr.getResultado("ServerTime");
+        @SuppressWarnings("unchecked")
+        List<Long> projectIds = (List<Long>) cr.getResultado("ProjectIds");
+
+        DashboardData data;
+        if (since == null) {
+            data = new DashboardData(changes, toStatusCounts(changes.getActivityCounts(), changes.getProjects()));
+        } else if (DashboardService.isUnchanged(cached.dashboard(), changes, projectIds)) {
+            LOGGER.info("Dashboard: sin cambios desde la última sesión");
+            // Only the watermark moves, so the next sync asks for less
+            OfflineCache.save(
+                userDto.getId(),
+                new OfflineCache.Snapshot(watermark, cached.dashboard(), cached.counts(), cached.persons(), cached.labels())
+            );
+            return null;
+        } else {
+            DashboardDTO merged = DashboardService.merge(cached.dashboard(), changes, projectIds, MAX_RECENT_ACTIVITIES);
+            LOGGER.info(
+                "Dashboard: " + changes.getProjects().size() + " proyectos y " + changes.getRecentActivities().size()
+                + " actividades actualizados desde la última sesión"
+            );
+            data = new DashboardData(merged, toStatusCounts(merged.getActivityCounts(), merged.getProjects()));
+        }
+        OfflineCache.save(userDto.getId(), OfflineCache.capture(watermark, data.dashboard(), data.counts()));
+        return data;
+    }
+
+    /**
+     * Everything the dashboard renders, fetched off the FX thread.
+     */
+    private record DashboardData(DashboardDTO dashboard, ActivityStatusCounts counts) {}
+
+    /**
+     * Fetches the dashboard on a background thread: one aggregated call when
+     * the server supports it, otherwise the individual queries. Must not touch
+     * any control.
+     */
+    private DashboardData loadDashboard(PersonDTO userDto) {
+        // Preferred path: everything the view shows comes back in one call
+        Respuesta dr = new DashboardService().findForUser(userDto.getId(), MAX_RECENT_ACTIVITIES);
+        DashboardDTO dashboard;
+        if (Boolean.TRUE.equals(dr.getEstado()) && dr.getResultado("Dashboard") instanceof DashboardDTO d) {
+            dashboard = d;
+            LOGGER.info("Dashboard: " + d.getProjects().size() + " proyectos y " + d.getRecentActivities().size() + " actividades cargados en una sola consulta");
+        } else {
+            LOGGER.info("Dashboard: getDashboardForUser no disponible, usando consultas individuales: " + dr.getMensaje());
+            dashboard = loadLegacyDashboard(userDto);
+        }
+        return new DashboardData(dashboard, toStatusCounts(dashboard.getActivityCounts(), dashboard.getProjects()));
+    }
 
+    /**
+     * Builds the dashboard from the individual queries, for servers without
+     * {@code getDashboardForUser}. Runs on a background thread.
+     */
+    private DashboardDTO loadLegacyDashboard(PersonDTO userDto) {
         // Load projects for user
         ProjectService projectService = new ProjectService();
         Respuesta r = projectService.findProjectsForUser(userDto.getId());
@@ -383,159 +542,122 @@ public class MainController extends Controller implements Initializable {
             List<ProjectDTO> pr = (List<ProjectDTO>) r.getResultado("Projects");
             if (pr != null) projects.addAll(pr);
         }
-        
-        // Pre-load tracking data for all projects asynchronously for better performance
-        preloadProjectTrackingData(projects);
-        
-        tvProjects.setItems(FXCollections.observableArrayList(projects));
 
-        // Activities list: latest N activities for user with project names
+        List<Long> projectIds = new ArrayList<>();
+        Map<Long, String> projectNames = new HashMap<>();
+        for (ProjectDTO p : projects) {
+            if (p.getId() != null && p.getId() > 0) projectIds.add(p.getId());
+            if (p.getId() != null && p.getName() != null) projectNames.put(p.getId(), p.getName());
+        }
+
+        // Activities list: latest N activities for user
         ProjectActivityService actService = new ProjectActivityService();
-        Respuesta ar = actService.findRecentForUser(userDto.getId(), 20);
-        List<String> items = new ArrayList<>();
+        Respuesta ar = actService.findRecentForUser(userDto.getId(), MAX_RECENT_ACTIVITIES);
+        List<ProjectActivityDTO> acts = new ArrayList<>();
         if (Boolean.TRUE.equals(ar.getEstado())) {
             // Try both possible keys for activities data
-            @SuppressWarnings("unchecked")
-            List<ProjectActivityDTO> acts = (List<ProjectActivityDTO>) ar.getResultado("ProjectActivities");
-            if (acts == null) {
-                @SuppressWarnings("unchecked")
-                List<ProjectActivityDTO> activitiesFallback = (List<ProjectActivityDTO>) ar.getResultado("Activities");
-                acts = activitiesFallback;
-            }
-            
-            LOGGER.info("Dashboard: Found " + (acts != null ? acts.size() : 0) + " activities for user " + userDto.getId());
-            
-            if (acts != null && !acts.isEmpty()) {
-                // Create a map of projectId -> projectName for efficiency
-                java.util.Map<Long, String> projectNames = new java.util.HashMap<>();
-                for (ProjectDTO p : projects) {
-                    if (p.getId() != null && p.getName() != null) {
-                        projectNames.put(p.getId(), p.getName());
-                    }
-                }
-                
-                // Collect missing project IDs and fetch their names
-                java.util.Set<Long> missingProjectIds = new java.util.HashSet<>();
-                for (ProjectActivityDTO a : acts) {
-                    if (a.getProjectId() != null && !projectNames.containsKey(a.getProjectId())) {
-                        missingProjectIds.add(a.getProjectId());
-                    }
-                }
-                
-                LOGGER.info("Dashboard: Need to fetch " + missingProjectIds.size() + " additional project names");
-                
-                // Fetch missing project names
-                for (Long projectId : missingProjectIds) {
-                    Respuesta projectResp = projectService.find(projectId);
-                    if (Boolean.TRUE.equals(projectResp.getEstado())) {
-                        Object projObj = projectResp.getResultado("Project");
-                        if (projObj instanceof ProjectDTO proj && proj.getName() != null) {
-                            projectNames.put(projectId, proj.getName());
-                            LOGGER.fine("Dashboard: Resolved project name for ID " + projectId + ": " + proj.getName());
-                        }
-                    }
-                }
-                
-                for (ProjectActivityDTO a : acts) {
-                    String activityName = a.getDescription() == null
-                            ? "Actividad"
-                            : a.getDescription();
-                    String projectName = "Proyecto desconocido";
-                    
-                    // Resolve project name if projectId is available
-                    if (a.getProjectId() != null) {
-                        String resolvedName = projectNames.get(a.getProjectId());
-                        if (resolvedName != null) {
-                            projectName = resolvedName;
-                        } else {
-                            LOGGER.warning("Dashboard: No se encontró el nombre del proyecto para activity projectId=" + a.getProjectId());
-                        }
-                    } else {
-                        LOGGER.warning("Dashboard: La actividad tiene null projectId: " + a.getId());
-                    }
-                    
-                    String status = mapStatusToSpanish(a.getStatus());
-                    String label = activityName + ": " + projectName + " [" + status + "]";
-                    items.add(label);
-                    LOGGER.fine("Dashboard: Se agregó: " + label);
-                }
-            } else {
-                LOGGER.warning("Dashboard: No se encontraron actividades para el usuario " + userDto.getId());
+            Object list = ar.getResultado("ProjectActivities");
+            if (list == null) list = ar.getResultado("Activities");
+            if (list instanceof List<?> l) {
+                for (Object o : l) if (o instanceof ProjectActivityDTO a) acts.add(a);
             }
+            LOGGER.info("Dashboard: Found " + acts.size() + " activities for user " + userDto.getId());
         } else {
             LOGGER.warning("Dashboard: findRecentForUser fallido: " + (ar != null ? ar.getMensaje() : "respuesta null"));
             // Fallback: If the service is failing due to backend issues, try to get activities from project activities
             LOGGER.info("Dashboard: Intentando método alternativo para obtener actividades...");
             try {
-                Respuesta allActivitiesResp = actService.findAll();
-                if (Boolean.TRUE.equals(allActivitiesResp.getEstado())) {
-                    @SuppressWarnings("unchecked")
-                    List<ProjectActivityDTO> allActs = (List<ProjectActivityDTO>) allActivitiesResp.getResultado("ProjectActivities");
-                    if (allActs == null) {
+                // Only the user's projects can contain their activities, so query them by project
+                List<ProjectActivityDTO> allActs = new ArrayList<>();
+                for (Long projectId : projectIds) {
+                    Respuesta projectActsResp = actService.findByProject(projectId);
+                    if (Boolean.TRUE.equals(projectActsResp.getEstado())) {
                         @SuppressWarnings("unchecked")
-                        List<ProjectActivityDTO> fallbackActs = (List<ProjectActivityDTO>) allActivitiesResp.getResultado("Activities");
-                        allActs = fallbackActs;
-                    }
-                    
-                    if (allActs != null) {
-                        // Filter activities where user is responsible or creator
-                        List<ProjectActivityDTO> userActivities = allActs.stream()
-                            .filter(a -> {
-                                Long responsibleId = a.getResponsibleId();
-                                Long createdById = a.getCreatedById();
-                                return (responsibleId != null && responsibleId.equals(userDto.getId())) ||
-                                       (createdById != null && createdById.equals(userDto.getId()));
-                            })
-                            .limit(20)
-                            .toList();
-                        
-                        LOGGER.info("Dashboard: Método alternativo encontró " + userActivities.size() + " actividades");
-                        
-                        if (!userActivities.isEmpty()) {
-                            // Create project name map
-                            java.util.Map<Long, String> projectNames = new java.util.HashMap<>();
-                            for (ProjectDTO p : projects) {
-                                if (p.getId() != null && p.getName() != null) {
-                                    projectNames.put(p.getId(), p.getName());
-                                }
-                            }
-                            
-                            // Process user activities
-                            for (ProjectActivityDTO a : userActivities) {
-                                String activityName = a.getDescription() == null ? "Actividad" : a.getDescription();
-                                String projectName = "Proyecto desconocido";
-                                
-                                if (a.getProjectId() != null) {
-                                    String resolvedName = projectNames.get(a.getProjectId());
-                                    if (resolvedName != null) {
-                                        projectName = resolvedName;
-                                    } else {
-                                        // Try to fetch project name
-                                        Respuesta projectResp = projectService.find(a.getProjectId());
-                                        if (Boolean.TRUE.equals(projectResp.getEstado())) {
-                                            Object projObj = projectResp.getResultado("Project");
-                                            if (projObj instanceof ProjectDTO proj && proj.getName() != null) {
-                                                projectName = proj.getName();
-                                                projectNames.put(a.getProjectId(), proj.getName());
-                                            }
-                                        }
-                                    }
-                                }
-                                
-                                String status = mapStatusToSpanish(a.getStatus());
-                                String label = activityName + ": " + projectName + " [" + status + "]";
-                                items.add(label);
-                            }
-                        }
+                        List<ProjectActivityDTO> projectActs = (List<ProjectActivityDTO>) projectActsResp.getResultado("ProjectActivities");
+                        if (projectActs != null) allActs.addAll(projectActs);
                     }
                 }
+                // Filter activities where user is responsible or creator
+                allActs.stream()
+                    .filter(a -> userDto.getId().equals(a.getResponsibleId()) || userDto.getId().equals(a.getCreatedById()))
+                    .limit(MAX_RECENT_ACTIVITIES)
+                    .forEach(acts::add);
+                LOGGER.info("Dashboard: Método alternativo encontró " + acts.size() + " actividades");
             } catch (Exception fallbackEx) {
                 LOGGER.warning("Dashboard: Método alternativo también falló: " + fallbackEx.getMessage());
             }
         }
+
+        // Resolve the names of projects the user does not belong to
+        for (ProjectActivityDTO a : acts) {
+            Long projectId = a.getProjectId();
+            if (projectId == null || projectNames.containsKey(projectId)) continue;
+            ProjectDTO cachedProject = EntityCaches.projects().get(projectId);
+            if (cachedProject != null && cachedProject.getName() != null) {
+                projectNames.put(projectId, cachedProject.getName());
+                continue;
+            }
+            Respuesta projectResp = projectService.find(projectId);
+            if (Boolean.TRUE.equals(projectResp.getEstado())
+                && projectResp.getResultado("Project") instanceof ProjectDTO proj
+                && proj.getName() != null) {
+                projectNames.put(projectId, proj.getName());
+            }
+        }
+
+        DashboardDTO dashboard = new DashboardDTO();
+        dashboard.setProjects(projects);
+        dashboard.setLatestTrackings(fetchLatestTrackings(projectIds));
+        dashboard.setRecentActivities(acts);
+        dashboard.setProjectNames(projectNames);
+        return dashboard;
+    }
+
+    /**
+     * Fills the dashboard on the FX thread: projects table, tracking cache used
+     * by the percentage/observation columns, recent activities list and both
+     * charts.
+     */
+    private void applyDashboard(DashboardData data) {
+        DashboardDTO dashboard = data.dashboard();
+        List<ProjectDTO> projects = dashboard.getProjects();
+        for (ProjectDTO p : projects) {
+            if (p.getId() != null && p.getId() > 0) {
+                projectTrackingCache.put(p.getId(), toTrackingData(dashboard.getLatestTrackings().get(p.getId())));
+            }
+        }
+        tvProjects.setItems(FXCollections.observableArrayList(projects));
+
+        List<String> items = new ArrayList<>();
+        for (ProjectActivityDTO a : dashboard.getRecentActivities()) {
+            String activityName = a.getDescription() == null ? "Actividad" : a.getDescription();
+            String projectName = a.getProjectId() == null ? null : dashboard.getProjectNames().get(a.getProjectId());
+            if (projectName == null) projectName = "Proyecto desconocido";
+            items.add(activityName + ": " + projectName + " [" + mapStatusToSpanish(a.getStatus()) + "]");
+        }
         lvActivities.setItems(FXCollections.observableArrayList(items));
 
-        // Pie chart: status distribution across user's projects (based on first char of String)
+        updateStatusChart(projects);
+        updateActivitiesChart(projects, data.counts());
+    }
+
+    /**
+     * Uses the per-project totals included in the dashboard payload when
+     * present, otherwise fetches grouped counts in one call.
+     */
+    private ActivityStatusCounts toStatusCounts(Map<Long, Long> totals, List<ProjectDTO> projects) {
+        if (totals == null) return countActivitiesPerProject(projects);
+        ActivityStatusCounts counts = new ActivityStatusCounts(totals.size());
+        totals.forEach((projectId, total) -> {
+            if (projectId != null && total != null) counts.add(projectId, null, total);
+        });
+        return counts;
+    }
+
+    /**
+     * Pie chart: status distribution across user's projects (based on first char of String)
+     */
+    private void updateStatusChart(List<ProjectDTO> projects) {
         int cntP = 0,
             cntR = 0,
             cntS = 0,
@@ -569,8 +691,13 @@ public class MainController extends Controller implements Initializable {
         );
         if (cntU > 0) pieData.add(new PieChart.Data("Desconocido", cntU));
         pcPersonActivities.setData(pieData);
+    }
 
-        // Stacked bar: individual activity counts per project
+    /**
+     * Stacked bar chart: activities per project, one series per activity
+     * status. Counts that arrive without a status are stacked as "Actividades".
+     */
+    private void updateActivitiesChart(List<ProjectDTO> projects, ActivityStatusCounts counts) {
         // Safely cast to a typed chart to add typed series
         @SuppressWarnings("unchecked")
         StackedBarChart<String, Number> chart = (StackedBarChart<
@@ -578,28 +705,41 @@ public class MainController extends Controller implements Initializable {
             Number
         >) (StackedBarChart<?, ?>) sbcActivitiesPerProjects;
         chart.getData().clear();
-        XYChart.Series<String, Number> series = new XYChart.Series<>();
-        series.setName("Actividades");
-        
-        // Count activities per project individually for accurate display
-        for (ProjectDTO p : projects) {
-            if (p.getId() != null && p.getName() != null) {
-                List<Long> singleProjectList = List.of(p.getId());
-                Respuesta countResponse = actService.countByProjectIds(singleProjectList);
-                long activityCount = 0L;
-                
-                if (Boolean.TRUE.equals(countResponse.getEstado())) {
-                    Object countResult = countResponse.getResultado("count");
-                    if (countResult instanceof Number num) {
-                        activityCount = num.longValue();
-                    }
+        for (int bucket = 0; bucket <= ActivityStatusCounts.OTHER; bucket++) {
+            if (bucket == ActivityStatusCounts.OTHER && counts.totalForBucket(bucket) == 0L) continue;
+            XYChart.Series<String, Number> series = new XYChart.Series<>();
+            series.setName(
+                bucket == ActivityStatusCounts.OTHER
+                    ? "Actividades"
+                    : mapStatusToSpanish(String.valueOf(ActivityStatusCounts.STATUSES.charAt(bucket)))
+            );
+            for (ProjectDTO p : projects) {
+                if (p.getId() != null && p.getName() != null) {
+                    series.getData().add(new XYChart.Data<>(p.getName(), counts.getBucket(p.getId(), bucket)));
                 }
-                
-                series.getData().add(new XYChart.Data<>(p.getName(), activityCount));
             }
+            chart.getData().add(series);
         }
-        
-        chart.getData().add(series);
+    }
+
+    /**
+     * Counts activities per project and status for all the projects in one
+     * grouped call, used when the server does not include the counts in the
+     * dashboard payload.
+     */
+    private ActivityStatusCounts countActivitiesPerProject(List<ProjectDTO> projects) {
+        List<Long> ids = new ArrayList<>();
+        for (ProjectDTO p : projects) {
+            if (p.getId() != null) ids.add(p.getId());
+        }
+        if (ids.isEmpty()) return new ActivityStatusCounts();
+        Respuesta countResponse = new ProjectActivityService().countByProjectIdsGrouped(ids);
+        if (Boolean.TRUE.equals(countResponse.getEstado())
+            && countResponse.getResultado("StatusCounts") instanceof ActivityStatusCounts counts) {
+            return counts;
+        }
+        LOGGER.warning("Dashboard: no se pudieron contar las actividades: " + countResponse.getMensaje());
+        return new ActivityStatusCounts();
     }
 
     private PersonDTO extractPersonFromSignUp() {
@@ -626,6 +766,16 @@ public class MainController extends Controller implements Initializable {
                 );
                 return null;
             }
+            String conflict = uniqueness.conflictMessage();
+            if (conflict != null) {
+                new Mensaje().showModal(
+                    Alert.AlertType.ERROR,
+                    "SignUp",
+                    root.getScene().getWindow(),
+                    conflict
+                );
+                return null;
+            }
             boolean usernameEmpty = username.isEmpty();
             boolean passwordEmpty = password == null || password.isEmpty();
             if (usernameEmpty && passwordEmpty) {
@@ -708,6 +858,7 @@ public class MainController extends Controller implements Initializable {
         pswPersonPassword.clear();
         cbIsAdmin.setSelected(false);
         cbIsActive.setSelected(false);
+        uniqueness.clear();
     }
 
     @FXML
@@ -750,6 +901,25 @@ public class MainController extends Controller implements Initializable {
         };
     }
     
+    /**
+     * Formats the latest tracking entry of a project for the table columns.
+     * Missing values are shown as "-".
+     */
+    private ProjectTrackingData toTrackingData(ProjectTrackingDTO latestTracking) {
+        String percentage = "-";
+        String observation = "-";
+        if (latestTracking != null) {
+            if (latestTracking.getProgressPercentage() != null) {
+                percentage = latestTracking.getProgressPercentage() + "%";
+            }
+            if (latestTracking.getObservations() != null) {
+                String obs = latestTracking.getObservations().trim();
+                observation = obs.length() > 50 ? obs.substring(0, 47) + "..." : obs;
+            }
+        }
+        return new ProjectTrackingData(percentage, observation);
+    }
+
     /**
      * Gets the latest project progress percentage from tracking observations.
      * Returns formatted percentage string (e.g., "75%") or "-" if no data.
@@ -766,47 +936,9 @@ public class MainController extends Controller implements Initializable {
             return cachedData.getPercentage();
         }
         
-        // Fetch from service if not cached or expired
-        try {
-            ProjectTrackingService trackingService = new ProjectTrackingService();
-            Respuesta response = trackingService.findByProject(projectId);
-            
-            if (Boolean.TRUE.equals(response.getEstado())) {
-                @SuppressWarnings("unchecked")
-                List<ProjectTrackingDTO> trackings = (List<ProjectTrackingDTO>) response.getResultado("ProjectTrackings");
-                
-                if (trackings != null && !trackings.isEmpty()) {
-                    // Find the latest tracking by date
-                    ProjectTrackingDTO latestTracking = trackings.stream()
-                        .filter(t -> t.getTrackingDate() != null)
-                        .max((t1, t2) -> t1.getTrackingDate().compareTo(t2.getTrackingDate()))
-                        .orElse(null);
-                    
-                    String percentage = "-";
-                    String observation = "-";
-                    
-                    if (latestTracking != null) {
-                        if (latestTracking.getProgressPercentage() != null) {
-                            percentage = latestTracking.getProgressPercentage() + "%";
-                        }
-                        if (latestTracking.getObservations() != null) {
-                            String obs = latestTracking.getObservations().trim();
-                            observation = obs.length() > 50 ? obs.substring(0, 47) + "..." : obs;
-                        }
-                    }
-                    
-                    // Cache the result
-                    projectTrackingCache.put(projectId, new ProjectTrackingData(percentage, observation));
-                    return percentage;
-                }
-            }
-        } catch (Exception ex) {
-            LOGGER.warning("Error fetching project percentage for ID " + projectId + ": " + ex.getMessage());
-        }
-        
-        // Cache empty result to avoid repeated failed calls
-        projectTrackingCache.put(projectId, new ProjectTrackingData("-", "-"));
-        return "-";
+        // Not cached or expired: show the stale value (or "-") and reload in the background
+        requestTracking(projectId);
+        return cachedData != null ? cachedData.getPercentage() : "-";
     }
     
     /**
@@ -825,81 +957,71 @@ public class MainController extends Controller implements Initializable {
             return cachedData.getObservation();
         }
         
-        // If not cached, getLatestProjectPercentage will fetch and cache both values
-        getLatestProjectPercentage(projectId);
-        
-        // Now get from cache
-        cachedData = projectTrackingCache.get(projectId);
+        requestTracking(projectId);
         return cachedData != null ? cachedData.getObservation() : "-";
     }
     
     /**
-     * Pre-loads project tracking data asynchronously for better table performance.
-     * This method loads tracking data for all projects in the background to avoid
-     * multiple service calls when the table is initially displayed.
+     * Queues a reload of the latest tracking entry of a project. Every project
+     * whose entry expired during the same layout pass is reloaded together by
+     * {@link #flushTrackingRequests()}, so the percentage and observation cells
+     * of all visible rows share one request.
      */
-    private void preloadProjectTrackingData(List<ProjectDTO> projects) {
-        if (projects == null || projects.isEmpty()) {
-            return;
-        }
-        
-        // Run preloading in background thread to avoid blocking UI
-        Thread preloadThread = new Thread(() -> {
-            ProjectTrackingService trackingService = new ProjectTrackingService();
-            
-            for (ProjectDTO project : projects) {
-                if (project.getId() != null && project.getId() > 0) {
-                    try {
-                        Respuesta response = trackingService.findByProject(project.getId());
-                        
-                        if (Boolean.TRUE.equals(response.getEstado())) {
-                            @SuppressWarnings("unchecked")
-                            List<ProjectTrackingDTO> trackings = (List<ProjectTrackingDTO>) response.getResultado("ProjectTrackings");
-                            
-                            String percentage = "-";
-                            String observation = "-";
-                            
-                            if (trackings != null && !trackings.isEmpty()) {
-                                // Find the latest tracking by date
-                                ProjectTrackingDTO latestTracking = trackings.stream()
-                                    .filter(t -> t.getTrackingDate() != null)
-                                    .max((t1, t2) -> t1.getTrackingDate().compareTo(t2.getTrackingDate()))
-                                    .orElse(null);
-                                
-                                if (latestTracking != null) {
-                                    if (latestTracking.getProgressPercentage() != null) {
-                                        percentage = latestTracking.getProgressPercentage() + "%";
-                                    }
-                                    if (latestTracking.getObservations() != null) {
-                                        String obs = latestTracking.getObservations().trim();
-                                        observation = obs.length() > 50 ? obs.substring(0, 47) + "..." : obs;
-                                    }
-                                }
-                            }
-                            
-                            // Cache the result
-                            projectTrackingCache.put(project.getId(), new ProjectTrackingData(percentage, observation));
-                            
-                        } else {
-                            // Cache empty result to avoid repeated failed calls
-                            projectTrackingCache.put(project.getId(), new ProjectTrackingData("-", "-"));
-                        }
-                    } catch (Exception ex) {
-                        LOGGER.warning("Error preloading tracking data for project ID " + project.getId() + ": " + ex.getMessage());
-                        // Cache empty result on error
-                        projectTrackingCache.put(project.getId(), new ProjectTrackingData("-", "-"));
-                    }
+    private void requestTracking(Long projectId) {
+        if (trackingRequests.contains(projectId) || !trackingQueue.add(projectId)) return;
+        if (trackingQueue.size() == 1) Platform.runLater(this::flushTrackingRequests);
+    }
+
+    /**
+     * Reloads the queued tracking entries in one batched call and refreshes
+     * the table when they arrive.
+     */
+    private void flushTrackingRequests() {
+        if (trackingQueue.isEmpty()) return;
+        List<Long> projectIds = new ArrayList<>(trackingQueue);
+        trackingQueue.clear();
+        trackingRequests.addAll(projectIds);
+        AsyncTasks.submit(
+            this,
+            "project-tracking-preloader",
+            () -> fetchLatestTrackings(projectIds),
+            latest -> {
+                for (Long projectId : projectIds) {
+                    projectTrackingCache.put(projectId, toTrackingData(latest.get(projectId)));
                 }
-            }
-            
-            // Trigger table refresh on UI thread after preloading
-            javafx.application.Platform.runLater(() -> {
                 tvProjects.refresh();
-                LOGGER.fine("Preloaded tracking data for " + projects.size() + " projects");
-            });
-        }, "project-tracking-preloader");
-        
-        preloadThread.setDaemon(true);
-        preloadThread.start();
+            },
+            ex -> {
+                LOGGER.warning("Error fetching project tracking for " + projectIds.size() + " projects: " + ex.getMessage());
+                // Cache empty results to avoid repeated failed calls
+                for (Long projectId : projectIds) {
+                    projectTrackingCache.put(projectId, new ProjectTrackingData("-", "-"));
+                }
+            },
+            // Also runs when a refresh or navigation cancels the request
+            () -> projectIds.forEach(trackingRequests::remove)
+        );
+    }
+
+    /**
+     * Fetches the latest tracking entry of every project in one batched call.
+     * Runs on a background thread.
+     */
+    private Map<Long, ProjectTrackingDTO> fetchLatestTrackings(List<Long> projectIds) {
+        Map<Long, ProjectTrackingDTO> latest = new HashMap<>();
+        if (projectIds.isEmpty()) return latest;
+        Respuesta response = new ProjectTrackingService().findLatestByProjects(projectIds);
+        if (Boolean.TRUE.equals(response.getEstado())) {
+            @SuppressWarnings("unchecked")
+            List<ProjectTrackingDTO> trackings = (List<ProjectTrackingDTO>) response.getResultado("ProjectTrackings");
+            if (trackings != null) {
+                for (ProjectTrackingDTO t : trackings) {
+                    if (t.getProjectId() != null) latest.put(t.getProjectId(), t);
+                }
+            }
+        } else {
+            LOGGER.warning("Error preloading tracking data: " + response.getMensaje());
+        }
+        return latest;
     }
 }
@@ -8,6 +8,7 @@ import cr.ac.una.flowfx.service.PersonService;
 import cr.ac.una.flowfx.service.ProjectActivityService;
 import cr.ac.una.flowfx.service.ProjectService;
 import cr.ac.una.flowfx.util.AppContext;
+import cr.ac.una.flowfx.util.AsyncTasks;
 import cr.ac.una.flowfx.util.Mensaje;
 import cr.ac.una.flowfx.util.Respuesta;
 import io.github.palexdev.materialfx.controls.MFXButton;
@@ -22,7 +23,9 @@ import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.ResourceBundle;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -99,48 +102,42 @@ public class PersonConfigController extends Controller implements Initializable
     }
 
     /**
-     * Loads current user from AppContext and web service.
+     * Shows the session user right away and refreshes it from the web service
+     * in the background.
      */
     private void loadCurrentUser() {
-        try {
-            Object userObj = AppContext.getInstance().get("user");
-            if (userObj instanceof PersonDTO) {
-                PersonDTO currentUser = (PersonDTO) userObj;
-                
-                // Reload fresh data from web service to ensure accuracy
-                PersonService personService = new PersonService();
-                Respuesta response = personService.find(currentUser.getId());
-                
-                if (Boolean.TRUE.equals(response.getEstado())) {
-                    Object refreshedUser = response.getResultado("Person");
-                    if (refreshedUser instanceof PersonDTO) {
-                        originalUser = (PersonDTO) refreshedUser;
-                    } else {
-                        originalUser = currentUser; // Fallback
-                    }
-                } else {
-                    originalUser = currentUser; // Fallback
-                    LOGGER.log(Level.WARNING, 
-                        "Could not refresh user data: " + response.getMensaje());
-                }
-            } else {
-                LOGGER.log(Level.WARNING, "No user found in AppContext");
-                new Mensaje().showModal(
-                    Alert.AlertType.ERROR,
-                    "Configuración",
-                    root.getScene().getWindow(),
-                    "No se encontró una sesión de usuario. Por favor inicie sesión de nuevo."
-                );
-            }
-        } catch (Exception ex) {
-            LOGGER.log(Level.SEVERE, "Error loading current user", ex);
+        Object userObj = AppContext.getInstance().get("user");
+        if (!(userObj instanceof PersonDTO currentUser)) {
+            LOGGER.log(Level.WARNING, "No user found in AppContext");
             new Mensaje().showModal(
                 Alert.AlertType.ERROR,
                 "Configuración",
                 root.getScene().getWindow(),
-                "Error al cargar la información del usuario."
+                "No se encontró una sesión de usuario. Por favor inicie sesión de nuevo."
             );
+            return;
         }
+        originalUser = currentUser;
+
+        // Reload fresh data from web service to ensure accuracy
+        AsyncTasks.load(
+            this,
+            "person-config-loader",
+            () -> new PersonService().find(currentUser.getId()),
+            response -> {
+                if (!Boolean.TRUE.equals(response.getEstado())) {
+                    LOGGER.log(Level.WARNING,
+                        "Could not refresh user data: " + response.getMensaje());
+                    return;
+                }
+                // Keep whatever the user started typing while the refresh was in flight
+                if (response.getResultado("Person") instanceof PersonDTO refreshedUser && !hasChanges.get()) {
+                    originalUser = refreshedUser;
+                    resetViewModel();
+                }
+            },
+            ex -> LOGGER.log(Level.SEVERE, "Error loading current user", ex)
+        );
     }
 
     /**
@@ -392,34 +389,14 @@ public class PersonConfigController extends Controller implements Initializable
 
             if (confirmed) {
                 // Reload fresh data from web service
-                PersonService personService = new PersonService();
-                Respuesta response = personService.find(originalUser.getId());
-                
-                if (Boolean.TRUE.equals(response.getEstado())) {
-                    Object refreshedUser = response.getResultado("Person");
-                    if (refreshedUser instanceof PersonDTO) {
-                        originalUser = (PersonDTO) refreshedUser;
-                        
-                        // Reset view model to original data
-                        syncingFields = true;
-                        viewModel = new PersonViewModel(originalUser);
-                        
-                        // Rebind fields
-                        unbindFields();
-                        bindFields();
-                        setupChangeDetection();
-                        syncingFields = false;
-                        
-                        LOGGER.log(Level.INFO, "User data reset to original values");
-                    }
-                } else {
-                    new Mensaje().showModal(
-                        Alert.AlertType.ERROR,
-                        "Cancelar cambios",
-                        root.getScene().getWindow(),
-                        "Error al recargar los datos del usuario: " + response.getMensaje()
-                    );
-                }
+                Long userId = originalUser.getId();
+                AsyncTasks.load(
+                    this,
+                    "person-config-reload",
+                    () -> new PersonService().find(userId),
+                    this::handleReloadResponse,
+                    ex -> LOGGER.log(Level.SEVERE, "Error canceling changes", ex)
+                );
             }
         } catch (Exception ex) {
             LOGGER.log(Level.SEVERE, "Error canceling changes", ex);
@@ -432,6 +409,35 @@ public class PersonConfigController extends Controller implements Initializable
         }
     }
 
+    private void handleReloadResponse(Respuesta response) {
+        if (Boolean.TRUE.equals(response.getEstado())) {
+            if (response.getResultado("Person") instanceof PersonDTO refreshedUser) {
+                originalUser = refreshedUser;
+                resetViewModel();
+                LOGGER.log(Level.INFO, "User data reset to original values");
+            }
+        } else {
+            new Mensaje().showModal(
+                Alert.AlertType.ERROR,
+                "Cancelar cambios",
+                root.getScene().getWindow(),
+                "Error al recargar los datos del usuario: " + response.getMensaje()
+            );
+        }
+    }
+
+    /**
+     * Resets the view model to {@link #originalUser} and rebinds the fields.
+     */
+    private void resetViewModel() {
+        syncingFields = true;
+        viewModel = new PersonViewModel(originalUser);
+        unbindFields();
+        bindFields();
+        setupChangeDetection();
+        syncingFields = false;
+    }
+
     @FXML
     private void onActionPrintRegistrationCard(ActionEvent event) {
     System.out.println("Generando tarjeta de identificación...");
@@ -536,16 +542,24 @@ public class PersonConfigController extends Controller implements Initializable
                     selectedFile = new File(selectedFile.getParentFile(), selectedFile.getName() + ".xlsx");
                 }
                 
-                generatePersonProjectReport(selectedFile);
-                
-                new Mensaje().showModal(
-                    Alert.AlertType.INFORMATION,
-                    "Informe de proyectos",
-                    root.getScene().getWindow(),
-                    "El informe de proyectos se generó correctamente:\n" + selectedFile.getAbsolutePath()
+                // Fetch the report data off the FX thread, then write the workbook
+                File reportFile = selectedFile;
+                Long userId = originalUser.getId();
+                AsyncTasks.submit(
+                    this,
+                    "person-project-report",
+                    () -> loadReportData(userId),
+                    data -> writeProjectReport(reportFile, data),
+                    ex -> {
+                        LOGGER.log(Level.SEVERE, "Error al generar el informe de proyectos", ex);
+                        new Mensaje().showModal(
+                            Alert.AlertType.ERROR,
+                            "Informe de proyectos",
+                            root.getScene().getWindow(),
+                            "Error al generar el informe de proyectos: " + ex.getMessage()
+                        );
+                    }
                 );
-                
-                LOGGER.log(Level.INFO, "Informe de proyectos generado: " + selectedFile.getAbsolutePath());
             }
         } catch (Exception ex) {
             LOGGER.log(Level.SEVERE, "Error al generar el informe de proyectos", ex);
@@ -556,7 +570,30 @@ public class PersonConfigController extends Controller implements Initializable
                 "Error al generar el informe de proyectos: " + ex.getMessage()
             );
         }
-    }    @FXML
+    }    private void writeProjectReport(File file, ReportData data) {
+        try {
+            generatePersonProjectReport(file, data);
+            
+            new Mensaje().showModal(
+                Alert.AlertType.INFORMATION,
+                "Informe de proyectos",
+                root.getScene().getWindow(),
+                "El informe de proyectos se generó correctamente:\n" + file.getAbsolutePath()
+            );
+            
+            LOGGER.log(Level.INFO, "Informe de proyectos generado: " + file.getAbsolutePath());
+        } catch (Exception ex) {
+            LOGGER.log(Level.SEVERE, "Error al generar el informe de proyectos", ex);
+            new Mensaje().showModal(
+                Alert.AlertType.ERROR,
+                "Informe de proyectos",
+                root.getScene().getWindow(),
+                "Error al generar el informe de proyectos: " + ex.getMessage()
+            );
+        }
+    }
+
+    @FXML
     private void onActionBtnCommitChanges(ActionEvent event) {
         try {
             if (viewModel == null) {
@@ -577,38 +614,28 @@ public class PersonConfigController extends Controller implements Initializable
             );
 
             if (confirmed) {
-                // Convert to DTO and update
+                // Convert to DTO and update; saves are not cancelled by navigation
                 PersonDTO updatedUser = viewModel.toDTO();
-                PersonService personService = new PersonService();
-                Respuesta response = personService.update(updatedUser);
-                
-                if (Boolean.TRUE.equals(response.getEstado())) {
-                    // Update AppContext with new user data
-                    Object savedUser = response.getResultado("Person");
-                    if (savedUser instanceof PersonDTO) {
-                        AppContext.getInstance().set("user", savedUser);
-                        originalUser = (PersonDTO) savedUser;
-                        
-                        // Reset change detection
-                        setupChangeDetection();
-                        
+                btnCommitChanges.setDisable(true);
+                AsyncTasks.submit(
+                    null,
+                    "person-config-save",
+                    () -> new PersonService().update(updatedUser),
+                    response -> {
+                        btnCommitChanges.setDisable(false);
+                        handleCommitResponse(response);
+                    },
+                    ex -> {
+                        btnCommitChanges.setDisable(false);
+                        LOGGER.log(Level.SEVERE, "Error committing changes", ex);
                         new Mensaje().showModal(
-                            Alert.AlertType.INFORMATION,
+                            Alert.AlertType.ERROR,
                             "Guardar cambios",
                             root.getScene().getWindow(),
-                            "Su perfil se ha actualizado correctamente."
+                            "Error al guardar los cambios."
                         );
-                        
-                        LOGGER.log(Level.INFO, "User profile updated successfully");
                     }
-                } else {
-                    new Mensaje().showModal(
-                        Alert.AlertType.ERROR,
-                        "Guardar cambios",
-                        root.getScene().getWindow(),
-                        "Error al guardar los cambios: " + response.getMensaje()
-                    );
-                }
+                );
             }
         } catch (Exception ex) {
             LOGGER.log(Level.SEVERE, "Error committing changes", ex);
@@ -621,6 +648,36 @@ public class PersonConfigController extends Controller implements Initializable
         }
     }
 
+    private void handleCommitResponse(Respuesta response) {
+        if (Boolean.TRUE.equals(response.getEstado())) {
+            // Update AppContext with new user data
+            Object savedUser = response.getResultado("Person");
+            if (savedUser instanceof PersonDTO) {
+                AppContext.getInstance().set("user", savedUser);
+                originalUser = (PersonDTO) savedUser;
+                
+                // Reset change detection
+                setupChangeDetection();
+                
+                new Mensaje().showModal(
+                    Alert.AlertType.INFORMATION,
+                    "Guardar cambios",
+                    root.getScene().getWindow(),
+                    "Su perfil se ha actualizado correctamente."
+                );
+                
+                LOGGER.log(Level.INFO, "User profile updated successfully");
+            }
+        } else {
+            new Mensaje().showModal(
+                Alert.AlertType.ERROR,
+                "Guardar cambios",
+                root.getScene().getWindow(),
+                "Error al guardar los cambios: " + response.getMensaje()
+            );
+        }
+    }
+
     /**
      * Validates required fields before saving.
      */
@@ -943,7 +1000,7 @@ public class PersonConfigController extends Controller implements Initializable
     /**
      * Generates a comprehensive project report showing user's projects, positions, and activities.
      */
-    private void generatePersonProjectReport(File file) throws Exception {
+    private void generatePersonProjectReport(File file, ReportData data) throws Exception {
         try (XSSFWorkbook workbook = new XSSFWorkbook();
              FileOutputStream fileOutput = new FileOutputStream(file)) {
             
@@ -957,9 +1014,9 @@ public class PersonConfigController extends Controller implements Initializable
             currentRow++; // Empty row
             currentRow = writePersonSummary(sheet, styleManager, currentRow);
             currentRow++; // Empty row
-            currentRow = writeProjectsSection(sheet, styleManager, currentRow);
+            currentRow = writeProjectsSection(sheet, styleManager, currentRow, data.projects());
             currentRow++; // Empty row
-            currentRow = writeActivitiesSection(sheet, styleManager, currentRow);
+            currentRow = writeActivitiesSection(sheet, styleManager, currentRow, data);
             currentRow++; // Empty row
             writeReportFooter(sheet, styleManager, currentRow);
             
@@ -1027,7 +1084,7 @@ public class PersonConfigController extends Controller implements Initializable
     /**
      * Writes the projects section showing all projects where user participates.
      */
-    private int writeProjectsSection(Sheet sheet, ProjectReportStyleManager styleManager, int startRow) {
+    private int writeProjectsSection(Sheet sheet, ProjectReportStyleManager styleManager, int startRow, List<ProjectDTO> userProjects) {
         // Section header
         Row sectionRow = sheet.createRow(startRow++);
         sectionRow.setHeight((short) 500);
@@ -1037,9 +1094,6 @@ public class PersonConfigController extends Controller implements Initializable
         sectionCell.setCellStyle(styleManager.getSectionHeaderStyle());
         sheet.addMergedRegion(new CellRangeAddress(startRow - 1, startRow - 1, 0, 7));
         
-        // Load projects for user
-        List<ProjectDTO> userProjects = loadUserProjects();
-        
         if (userProjects.isEmpty()) {
             Row noProjectsRow = sheet.createRow(startRow++);
             Cell noProjectsCell = noProjectsRow.createCell(0);
@@ -1082,7 +1136,7 @@ public class PersonConfigController extends Controller implements Initializable
     /**
      * Writes the activities section showing user's recent activities.
      */
-    private int writeActivitiesSection(Sheet sheet, ProjectReportStyleManager styleManager, int startRow) {
+    private int writeActivitiesSection(Sheet sheet, ProjectReportStyleManager styleManager, int startRow, ReportData data) {
         // Section header
         Row sectionRow = sheet.createRow(startRow++);
         sectionRow.setHeight((short) 500);
@@ -1092,8 +1146,7 @@ public class PersonConfigController extends Controller implements Initializable
         sectionCell.setCellStyle(styleManager.getSectionHeaderStyle());
         sheet.addMergedRegion(new CellRangeAddress(startRow - 1, startRow - 1, 0, 7));
         
-        // Load recent activities for user
-        List<ProjectActivityDTO> userActivities = loadUserActivities();
+        List<ProjectActivityDTO> userActivities = data.activities();
         
         if (userActivities.isEmpty()) {
             Row noActivitiesRow = sheet.createRow(startRow++);
@@ -1122,7 +1175,7 @@ public class PersonConfigController extends Controller implements Initializable
             
             int col = 0;
             writeTextCell(activityRow, col++, activity.getDescription() != null ? activity.getDescription() : "", styleManager.getDataStyle());
-            writeTextCell(activityRow, col++, resolveProjectName(activity.getProjectId()), styleManager.getDataStyle());
+            writeTextCell(activityRow, col++, data.projectName(activity.getProjectId()), styleManager.getDataStyle());
             writeTextCell(activityRow, col++, mapStatusToDisplay(activity.getStatus()), styleManager.getDataStyle());
             writeDateCell(activityRow.createCell(col++), activity.getPlannedStartDate(), styleManager.getDateStyle());
             writeDateCell(activityRow.createCell(col++), activity.getPlannedEndDate(), styleManager.getDateStyle());
@@ -1146,13 +1199,35 @@ public class PersonConfigController extends Controller implements Initializable
         sheet.addMergedRegion(new CellRangeAddress(startRow, startRow, 0, 7));
     }
 
+    /**
+     * Service data of the project report, fetched off the FX thread.
+     */
+    private record ReportData(
+        List<ProjectDTO> projects,
+        List<ProjectActivityDTO> activities,
+        Map<Long, String> projectNames
+    ) {
+        String projectName(Long projectId) {
+            if (projectId == null || projectId <= 0) return "Proyecto desconocido";
+            return projectNames.getOrDefault(projectId, "Proyecto #" + projectId);
+        }
+    }
+
+    /**
+     * Loads everything the project report needs. Runs on a background thread.
+     */
+    private ReportData loadReportData(Long userId) {
+        List<ProjectDTO> projects = loadUserProjects(userId);
+        List<ProjectActivityDTO> activities = loadUserActivities(userId);
+        return new ReportData(projects, activities, resolveProjectNames(projects, activities));
+    }
+
     /**
      * Loads projects where the user participates.
      */
-    private List<ProjectDTO> loadUserProjects() {
+    private List<ProjectDTO> loadUserProjects(Long userId) {
         List<ProjectDTO> projects = new ArrayList<>();
         try {
-            Long userId = originalUser.getId();
             if (userId == null) return projects;
             
             ProjectService projectService = new ProjectService();
@@ -1184,10 +1259,9 @@ public class PersonConfigController extends Controller implements Initializable
     /**
      * Loads recent activities for the user.
      */
-    private List<ProjectActivityDTO> loadUserActivities() {
+    private List<ProjectActivityDTO> loadUserActivities(Long userId) {
         List<ProjectActivityDTO> activities = new ArrayList<>();
         try {
-            Long userId = originalUser.getId();
             if (userId == null) return activities;
             
             ProjectActivityService activityService = new ProjectActivityService();
@@ -1238,26 +1312,30 @@ public class PersonConfigController extends Controller implements Initializable
     }
 
     /**
-     * Resolves project name from project ID.
+     * Resolves the names of every project referenced by the activities. Names of
+     * the user's own projects are already known; the rest are fetched once each.
      */
-    private String resolveProjectName(Long projectId) {
-        if (projectId == null || projectId <= 0) return "Proyecto desconocido";
-        
-        try {
-            ProjectService projectService = new ProjectService();
-            Respuesta response = projectService.find(projectId);
-            
-            if (Boolean.TRUE.equals(response.getEstado())) {
-                Object result = response.getResultado("Project");
-                    if (result instanceof ProjectDTO project) {
-                    return project.getName() != null ? project.getName() : "Proyecto #" + projectId;
+    private Map<Long, String> resolveProjectNames(List<ProjectDTO> projects, List<ProjectActivityDTO> activities) {
+        Map<Long, String> names = new HashMap<>();
+        for (ProjectDTO project : projects) {
+            if (project.getId() != null && project.getName() != null) names.put(project.getId(), project.getName());
+        }
+        ProjectService projectService = new ProjectService();
+        for (ProjectActivityDTO activity : activities) {
+            Long projectId = activity.getProjectId();
+            if (projectId == null || projectId <= 0 || names.containsKey(projectId)) continue;
+            try {
+                Respuesta response = projectService.find(projectId);
+                if (Boolean.TRUE.equals(response.getEstado())
+                    && response.getResultado("Project") instanceof ProjectDTO project
+                    && project.getName() != null) {
+                    names.put(projectId, project.getName());
                 }
+            } catch (Exception ex) {
+                LOGGER.log(Level.WARNING, "Error resolving project name for ID: " + projectId, ex);
             }
-        } catch (Exception ex) {
-            LOGGER.log(Level.WARNING, "Error resolving project name for ID: " + projectId, ex);
         }
-        
-        return "Proyecto #" + projectId;
+        return names;
     }
 
     /**
@@ -3,8 +3,10 @@ package cr.ac.una.flowfx.controller;
 import cr.ac.una.flowfx.model.PersonDTO;
 import cr.ac.una.flowfx.model.PersonViewModel;
 import cr.ac.una.flowfx.model.ProjectDTO;
+import cr.ac.una.flowfx.service.ChangeFeed;
 import cr.ac.una.flowfx.service.PersonService;
 import cr.ac.una.flowfx.util.AppContext;
+import cr.ac.una.flowfx.util.AsyncTasks;
 import cr.ac.una.flowfx.util.FlowController;
 import cr.ac.una.flowfx.util.Mensaje;
 import io.github.palexdev.materialfx.controls.MFXButton;
@@ -55,6 +57,8 @@ public class PersonExpandController
     
     // Change detection for person editing
     private final javafx.beans.property.BooleanProperty personHasChanges = new javafx.beans.property.SimpleBooleanProperty(false);
+    // True while an update is on its way to the server
+    private final javafx.beans.property.BooleanProperty personSaving = new javafx.beans.property.SimpleBooleanProperty(false);
     private String personSnapshotFirstName;
     private String personSnapshotLastName;
     private String personSnapshotEmail;
@@ -269,7 +273,7 @@ public class PersonExpandController
         
         // Bind save/cancel buttons to change detection
         if (btnConfirmChanges != null) {
-            btnConfirmChanges.disableProperty().bind(personHasChanges.not());
+            btnConfirmChanges.disableProperty().bind(personHasChanges.not().or(personSaving));
         }
         if (btnCancelChanges != null) {
             btnCancelChanges.disableProperty().bind(personHasChanges.not());
@@ -426,59 +430,71 @@ public class PersonExpandController
      * Performs the actual deletion of the person after confirmation.
      */
     private void performPersonDeletion() {
-        try {
-            PersonService service = new PersonService();
-            Long personId = vm.getId();
-            
-            LOGGER.fine("Deleting person with ID: " + personId);
-            cr.ac.una.flowfx.util.Respuesta response = service.delete(personId);
-            
-            if (Boolean.TRUE.equals(response.getEstado())) {
-                LOGGER.info("Person deleted successfully");
-                
-                // Show success message
-                new cr.ac.una.flowfx.util.Mensaje().showModal(
-                    javafx.scene.control.Alert.AlertType.INFORMATION,
-                    "Eliminación Exitosa",
-                    root.getScene().getWindow(),
-                    "La persona ha sido eliminada correctamente."
-                );
-                
-                // Check if we deleted the current user
-                Object currentUser = AppContext.getInstance().get("user");
-                if (currentUser instanceof cr.ac.una.flowfx.model.PersonDTO user && 
-                    user.getId() != null && user.getId().equals(personId)) {
-                    // If we deleted the current user, clear the session and return to login
-                    AppContext.getInstance().delete("user");
-                    LOGGER.warning("Current user was deleted - clearing session");
-                    FlowController.getInstance().goMain();
-                    return;
-                }
-                
-                // Notify PersonSignUpView to refresh its list
-                notifyPersonListUpdate();
-                
-                // Navigate back to the appropriate view
-                navigateAfterDeletion();
-                
-            } else {
-                LOGGER.warning("Person deletion failed: " + 
-                    (response != null ? response.getMensaje() : "null response"));
+        Long personId = vm.getId();
+        LOGGER.fine("Deleting person with ID: " + personId);
+        btnDeletePerson.setDisable(true);
+        // Application scope: the delete must finish even if the view is left
+        AsyncTasks.submit(
+            null,
+            "person-delete",
+            () -> new PersonService().delete(personId),
+            response -> handleDeletionResponse(personId, response),
+            ex -> {
+                LOGGER.warning("Exception during person deletion: " + ex.getMessage());
                 new cr.ac.una.flowfx.util.Mensaje().showModal(
                     javafx.scene.control.Alert.AlertType.ERROR,
                     "Error de Eliminación",
-                    root.getScene().getWindow(),
-                    "Error al eliminar la persona: " + 
-                        (response != null ? response.getMensaje() : "Error desconocido")
+                    window(),
+                    "Error al eliminar la persona: " + ex.getMessage()
                 );
+            },
+            () -> btnDeletePerson.setDisable(false)
+        );
+    }
+
+    /**
+     * Reports the outcome of a deletion and leaves the view when it succeeded.
+     */
+    private void handleDeletionResponse(Long personId, cr.ac.una.flowfx.util.Respuesta response) {
+        if (Boolean.TRUE.equals(response.getEstado())) {
+            LOGGER.info("Person deleted successfully");
+            
+            // Show success message
+            new cr.ac.una.flowfx.util.Mensaje().showModal(
+                javafx.scene.control.Alert.AlertType.INFORMATION,
+                "Eliminación Exitosa",
+                window(),
+                "La persona ha sido eliminada correctamente."
+            );
+            
+            // Check if we deleted the current user
+            Object currentUser = AppContext.getInstance().get("user");
+            if (currentUser instanceof cr.ac.una.flowfx.model.PersonDTO user && 
+                user.getId() != null && user.getId().equals(personId)) {
+                // If we deleted the current user, clear the session and return to login
+                AppContext.getInstance().delete("user");
+                LOGGER.warning("Current user was deleted - clearing session");
+                FlowController.getInstance().goMain();
+                return;
+            }
+            
+            // Notify PersonSignUpView to refresh its list
+            notifyPersonListUpdate();
+            
+            // Navigate back unless another person is shown by now
+            if (vm.getId() == personId && root.getScene() != null) {
+                navigateAfterDeletion();
             }
-        } catch (Exception ex) {
-            LOGGER.warning("Exception during person deletion: " + ex.getMessage());
+            
+        } else {
+            LOGGER.warning("Person deletion failed: " + 
+                (response != null ? response.getMensaje() : "null response"));
             new cr.ac.una.flowfx.util.Mensaje().showModal(
                 javafx.scene.control.Alert.AlertType.ERROR,
                 "Error de Eliminación",
-                root.getScene().getWindow(),
-                "Error al eliminar la persona: " + ex.getMessage()
+                window(),
+                "Error al eliminar la persona: " + 
+                    (response != null ? response.getMensaje() : "Error desconocido")
             );
         }
     }
@@ -536,83 +552,97 @@ public class PersonExpandController
     }
 
     /**
-     * Saves person changes to the backend service.
+     * Saves person changes to the backend service. The update runs in the
+     * background and is not cancelled by leaving the view.
      */
     private void savePersonChanges() {
-        try {
-            PersonService service = new PersonService();
-            PersonDTO dto = vm.toDTO();
-            
-            LOGGER.fine("Saving person changes for ID: " + dto.getId());
-            cr.ac.una.flowfx.util.Respuesta response = service.update(dto);
+        PersonDTO dto = vm.toDTO();
+        LOGGER.fine("Saving person changes for ID: " + dto.getId());
+        personSaving.set(true);
+        AsyncTasks.submit(
+            null,
+            "person-save",
+            () -> new PersonService().update(dto),
+            response -> handleSaveResponse(dto.getId(), response),
+            ex -> {
+                LOGGER.warning("Exception during person save: " + ex.getMessage());
+                new cr.ac.una.flowfx.util.Mensaje().showModal(
+                    javafx.scene.control.Alert.AlertType.ERROR,
+                    "Error de actualización",
+                    window(),
+                    "Error al guardar los cambios: " + ex.getMessage()
+                );
+            },
+            () -> personSaving.set(false)
+        );
+    }
+
+    /**
+     * Applies the saved person to the view, unless another person is shown
+     * by now, and reports the outcome.
+     */
+    private void handleSaveResponse(Long personId, cr.ac.una.flowfx.util.Respuesta response) {
+        if (Boolean.TRUE.equals(response.getEstado())) {
+            LOGGER.info("Person updated successfully");
             
-            if (Boolean.TRUE.equals(response.getEstado())) {
-                LOGGER.info("Person updated successfully");
+            // Get the updated person data from the response
+            Object savedPerson = response.getResultado("Person");
+            if (!java.util.Objects.equals(personId, vm.getId())) {
+                // The view moved on to another person; only the lists need the edit
+                notifyPersonListUpdate();
+            } else if (savedPerson instanceof PersonDTO updatedDto) {
+                // Update the view model with the fresh data from the server
+                updateViewModelFromSavedData(updatedDto);
+                
+                // Update the snapshot to reflect saved state
+                takePersonSnapshot();
                 
-                // Get the updated person data from the response
-                Object savedPerson = response.getResultado("Person");
-                if (savedPerson instanceof PersonDTO updatedDto) {
-                    // Update the view model with the fresh data from the server
-                    updateViewModelFromSavedData(updatedDto);
-                    
-                    // Update the snapshot to reflect saved state
-                    takePersonSnapshot();
-                    
-                    // Update context if this is the current user
-                    Object currentUser = AppContext.getInstance().get("user");
-                    if (currentUser instanceof cr.ac.una.flowfx.model.PersonDTO user && 
-                        user.getId() != null && user.getId().equals(updatedDto.getId())) {
-                        AppContext.getInstance().set("user", updatedDto);
-                        LOGGER.info("Updated current user in AppContext");
-                    }
-                    
-                    // Reset change detection
-                    personHasChanges.unbind();
-                    personHasChanges.set(false);
-                    setupPersonChangeBinding();
-                    
-                    // Show success message
-                    new cr.ac.una.flowfx.util.Mensaje().showModal(
-                        javafx.scene.control.Alert.AlertType.INFORMATION,
-                        "Actualización",
-                        root.getScene().getWindow(),
-                        "Los datos de la persona se han actualizado correctamente."
-                    );
-                    
-                    // Notify PersonSignUpView to refresh its list if needed
-                    notifyPersonListUpdate();
-                    
-                } else {
-                    LOGGER.warning("No updated person data returned from server");
-                    // Still update the snapshot and reset change detection even if no fresh data
-                    takePersonSnapshot();
-                    personHasChanges.unbind();
-                    personHasChanges.set(false);
-                    setupPersonChangeBinding();
+                // Update context if this is the current user
+                Object currentUser = AppContext.getInstance().get("user");
+                if (currentUser instanceof cr.ac.una.flowfx.model.PersonDTO user && 
+                    user.getId() != null && user.getId().equals(updatedDto.getId())) {
+                    AppContext.getInstance().set("user", updatedDto);
+                    LOGGER.info("Updated current user in AppContext");
                 }
                 
-            } else {
-                LOGGER.warning("Person update failed: " + 
-                    (response != null ? response.getMensaje() : "null response"));
+                // Reset change detection
+                personHasChanges.unbind();
+                personHasChanges.set(false);
+                setupPersonChangeBinding();
+                
+                // Show success message
                 new cr.ac.una.flowfx.util.Mensaje().showModal(
-                    javafx.scene.control.Alert.AlertType.ERROR,
-                    "Error de actualización",
-                    root.getScene().getWindow(),
-                    "Error al actualizar los datos: " + 
-                        (response != null ? response.getMensaje() : "Error desconocido")
+                    javafx.scene.control.Alert.AlertType.INFORMATION,
+                    "Actualización",
+                    window(),
+                    "Los datos de la persona se han actualizado correctamente."
                 );
+                
+                // Notify PersonSignUpView to refresh its list if needed
+                notifyPersonListUpdate();
+                
+            } else {
+                LOGGER.warning("No updated person data returned from server");
+                // Still update the snapshot and reset change detection even if no fresh data
+                takePersonSnapshot();
+                personHasChanges.unbind();
+                personHasChanges.set(false);
+                setupPersonChangeBinding();
             }
-        } catch (Exception ex) {
-            LOGGER.warning("Exception during person save: " + ex.getMessage());
+            
+        } else {
+            LOGGER.warning("Person update failed: " + 
+                (response != null ? response.getMensaje() : "null response"));
             new cr.ac.una.flowfx.util.Mensaje().showModal(
                 javafx.scene.control.Alert.AlertType.ERROR,
                 "Error de actualización",
-                root.getScene().getWindow(),
-                "Error al guardar los cambios: " + ex.getMessage()
+                window(),
+                "Error al actualizar los datos: " + 
+                    (response != null ? response.getMensaje() : "Error desconocido")
             );
         }
     }
-    
+
     /**
      * Updates the view model with fresh data from the server after save.
      */
@@ -632,12 +662,18 @@ public class PersonExpandController
         LOGGER.fine("View model updated with saved data");
     }
     
+    /**
+     * @return the window of this view, or {@code null} once it was left
+     */
+    private javafx.stage.Window window() {
+        return root.getScene() != null ? root.getScene().getWindow() : null;
+    }
+
     /**
      * Notifies other views that a person has been updated.
      */
     private void notifyPersonListUpdate() {
-        // Set a flag in AppContext that PersonSignUpView can check to refresh its list
-        AppContext.getInstance().set("personListNeedsRefresh", Boolean.TRUE);
-        LOGGER.fine("Set personListNeedsRefresh flag for PersonSignUpView");
+        // Fetch the edit now rather than on the next feed answer; listeners update the lists
+        ChangeFeed.getInstance().refresh("person");
     }
 }
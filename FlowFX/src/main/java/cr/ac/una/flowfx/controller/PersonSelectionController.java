@@ -7,17 +7,18 @@ package cr.ac.una.flowfx.controller;
 import cr.ac.una.flowfx.model.PersonDTO;
 import cr.ac.una.flowfx.service.PersonService;
 import cr.ac.una.flowfx.util.AppContext;
+import cr.ac.una.flowfx.util.EntityCaches;
+import cr.ac.una.flowfx.util.PagedObservableList;
 import cr.ac.una.flowfx.util.Respuesta;
 import io.github.palexdev.materialfx.controls.MFXButton;
 import io.github.palexdev.materialfx.controls.MFXTextField;
 import java.net.URL;
 import java.util.List;
-import java.util.Locale;
 import java.util.ResourceBundle;
-import java.util.logging.Level;
 import java.util.logging.Logger;
+import javafx.animation.PauseTransition;
 import javafx.collections.FXCollections;
-import javafx.collections.ObservableList;
+import javafx.collections.ListChangeListener;
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
 import javafx.fxml.Initializable;
@@ -28,6 +29,7 @@ import javafx.scene.control.cell.PropertyValueFactory;
 import javafx.scene.layout.AnchorPane;
 import javafx.scene.layout.HBox;
 import javafx.stage.Stage;
+import javafx.util.Duration;
 
 /**
  * FXML Controller class
@@ -42,6 +44,13 @@ public class PersonSelectionController
         PersonSelectionController.class.getName()
     );
 
+    /** Quiet time after the last keystroke before the filter runs. */
+    private static final Duration FILTER_DEBOUNCE = Duration.millis(150);
+    /** Maximum ranked matches shown for a filter. */
+    private static final int MAX_MATCHES = 200;
+    /** People fetched per page while the table scrolls. */
+    private static final int PAGE_SIZE = 100;
+
     @FXML private MFXTextField txfSearchBar;
     @FXML private MFXButton btnSearch;
     @FXML private TableView<PersonDTO> tvPersons;
@@ -52,8 +61,10 @@ public class PersonSelectionController
     @FXML private HBox hbLateralHandlebar;
     @FXML private MFXButton btnClose;
 
-    private ObservableList<PersonDTO> masterData =
-        FXCollections.observableArrayList();
+    private final PagedObservableList<PersonDTO> people =
+        new PagedObservableList<>(this, "person-selection-page", PAGE_SIZE, this::loadPeoplePage);
+    private volatile String pageFilter;
+    private final PauseTransition filterDebounce = new PauseTransition(FILTER_DEBOUNCE);
 
     /**
      * Initializes the controller class.
@@ -63,22 +74,43 @@ public class PersonSelectionController
         // reset selection result
         AppContext.getInstance().set("personSelectionResult", null);
         configureTable();
-        loadPersons();
+        configureFilter();
+        people.reset();
         configureRowDoubleClick();
     }
 
     @FXML
     private void onActionBtnSearch(ActionEvent event) {
+        filterDebounce.stop();
+        applyFilter();
+    }
+
+    /**
+     * Filters as the user types, once typing pauses.
+     */
+    private void configureFilter() {
+        filterDebounce.setOnFinished(e -> applyFilter());
+        txfSearchBar.textProperty().addListener((obs, oldText, text) -> filterDebounce.playFromStart());
+    }
+
+    /**
+     * Shows the ranked matches of the shared person index at once and asks
+     * the server for the filtered pages, which replace them when the first
+     * page arrives. A blank filter shows the unfiltered pages.
+     */
+    private void applyFilter() {
         String filter = txfSearchBar.getText();
-        if (filter == null || filter.isBlank()) {
-            tvPersons.setItems(masterData);
+        pageFilter = filter == null || filter.isBlank() ? null : filter.trim();
+        people.reset();
+        if (pageFilter == null) {
+            tvPersons.setItems(people);
             return;
         }
-        String f = filter.trim().toLowerCase(Locale.ROOT);
-        ObservableList<PersonDTO> filtered =
-            FXCollections.observableArrayList();
-        for (PersonDTO p : masterData) if (matchesFilter(p, f)) filtered.add(p);
-        tvPersons.setItems(filtered);
+        tvPersons.setItems(
+            FXCollections.observableArrayList(
+                EntityCaches.personIndex().search(filter, MAX_MATCHES)
+            )
+        );
     }
 
     @Override
@@ -106,26 +138,34 @@ public class PersonSelectionController
         if (
             tbcPersonId.getCellValueFactory() == null
         ) tbcPersonId.setCellValueFactory(new PropertyValueFactory<>("id"));
-        tvPersons.setItems(masterData);
+        // Rows arrive in id order page by page; the paged list cannot be re-sorted
+        tvPersons.getColumns().forEach(c -> c.setSortable(false));
+        tvPersons.setItems(people);
+        people.addListener((ListChangeListener<PersonDTO>) c -> {
+            while (c.next()) {
+                if (c.wasAdded() && tvPersons.getItems() != people) {
+                    tvPersons.setItems(people);
+                    return;
+                }
+            }
+        });
     }
 
-    private void loadPersons() {
-        PersonService service = new PersonService();
-        Respuesta r = service.findAll();
+    /**
+     * Loads the page of people that follows the last row shown, filtered by
+     * the server with the current search text.
+     */
+    private List<PersonDTO> loadPeoplePage(PersonDTO last, int limit) {
+        Long afterId = last == null ? null : last.getId();
+        Respuesta r = new PersonService().findPage(afterId, limit, pageFilter);
         if (!Boolean.TRUE.equals(r.getEstado())) {
-            LOGGER.log(
-                Level.WARNING,
-                "Error al cargar personas desde el service. Respuesta estado={0}, mensaje={1}",
-                new Object[] {
-                    r == null ? null : r.getEstado(),
-                    r == null ? null : r.getMensaje(),
-                }
+            throw new IllegalStateException(
+                "Error al cargar personas desde el service: " + r.getMensaje()
             );
-            return;
         }
         @SuppressWarnings("unchecked")
         List<PersonDTO> list = (List<PersonDTO>) r.getResultado("Persons");
-        if (list != null) masterData.setAll(list);
+        return list != null ? list : List.of();
     }
 
     private void configureRowDoubleClick() {
@@ -136,14 +176,7 @@ public class PersonSelectionController
                     PersonDTO selected = row.getItem();
                     AppContext.getInstance().set("personSelectionResult", selected);
                     // Cache full name label for global reuse
-                    if (selected != null && selected.getId() != null) {
-                        String first = selected.getFirstName() == null ? "" : selected.getFirstName().trim();
-                        String last = selected.getLastName() == null ? "" : selected.getLastName().trim();
-                        String nm = (first + " " + last).trim();
-                        if (!nm.isBlank()) {
-                            AppContext.getInstance().set("person." + selected.getId() + ".label", nm);
-                        }
-                    }
+                    EntityCaches.putPerson(selected);
                     Stage stage = (Stage) root.getScene().getWindow();
                     stage.close();
                 }
@@ -151,20 +184,4 @@ public class PersonSelectionController
             return row;
         });
     }
-
-    private boolean matchesFilter(PersonDTO p, String filter) {
-        if (p == null) return false;
-        if (
-            String.valueOf(p.getId()).toLowerCase(Locale.ROOT).contains(filter)
-        ) return true;
-        if (
-            p.getFirstName() != null &&
-            p.getFirstName().toLowerCase(Locale.ROOT).contains(filter)
-        ) return true;
-        if (
-            p.getLastName() != null &&
-            p.getLastName().toLowerCase(Locale.ROOT).contains(filter)
-        ) return true;
-        return false;
-    }
 }
@@ -1,29 +1,43 @@
 package cr.ac.una.flowfx.controller;
 
+import cr.ac.una.flowfx.model.ChangeSetDTO;
 import cr.ac.una.flowfx.model.PersonDTO;
 import cr.ac.una.flowfx.model.PersonViewModel;
+import cr.ac.una.flowfx.service.BulkTransferService;
+import cr.ac.una.flowfx.service.ChangeFeed;
 import cr.ac.una.flowfx.service.PersonService;
+import cr.ac.una.flowfx.service.SyncService;
 import cr.ac.una.flowfx.util.AnimationManager;
 import cr.ac.una.flowfx.util.AppContext;
+import cr.ac.una.flowfx.util.AsyncTasks;
 import cr.ac.una.flowfx.util.FlowController;
 import cr.ac.una.flowfx.util.Mensaje;
+import cr.ac.una.flowfx.util.PagedObservableList;
+import cr.ac.una.flowfx.util.PersonUniquenessValidator;
 import cr.ac.una.flowfx.util.Respuesta;
 import io.github.palexdev.materialfx.controls.MFXCheckbox;
 import io.github.palexdev.materialfx.controls.MFXPasswordField;
 import io.github.palexdev.materialfx.controls.MFXTextField;
+import java.io.File;
 import java.net.URL;
+import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 import java.util.ResourceBundle;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
 import java.util.logging.Level;
 import java.util.logging.Logger;
+import javafx.application.Platform;
+import javafx.beans.binding.Bindings;
 import javafx.beans.property.ReadOnlyObjectWrapper;
-import javafx.collections.FXCollections;
-import javafx.collections.ObservableList;
+import javafx.concurrent.Task;
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
 import javafx.fxml.Initializable;
 import javafx.scene.control.Alert;
+import javafx.scene.control.Labeled;
 import javafx.scene.control.TableColumn;
 import javafx.scene.control.TableRow;
 import javafx.scene.control.TableView;
@@ -31,6 +45,7 @@ import javafx.scene.input.KeyEvent;
 import javafx.scene.input.MouseButton;
 import javafx.scene.layout.AnchorPane;
 import javafx.scene.layout.VBox;
+import javafx.stage.FileChooser;
 
 /**
  * Controller to sign up a new Person. Allows optional id (server generates).
@@ -56,7 +71,17 @@ public class PersonSignUpController extends Controller implements Initializable
 
     private static final Logger LOGGER = Logger.getLogger(PersonSignUpController.class.getName());
 
-    private final ObservableList<PersonViewModel> persons = FXCollections.observableArrayList();
+    /** People fetched per page while the table scrolls. */
+    private static final int PAGE_SIZE = 100;
+
+    private final PagedObservableList<PersonViewModel> persons =
+        new PagedObservableList<>(this, "person-directory-page", PAGE_SIZE, this::loadPeoplePage);
+
+    private PersonUniquenessValidator uniqueness;
+    // Whether the list was loaded after a baseline, so the change feed keeps it current
+    private boolean tracked;
+    // The running bulk export or import; its button cancels it
+    private Task<Respuesta> transferTask;
 
     @Override
     public void initialize(URL url, ResourceBundle rb) {
@@ -76,11 +101,14 @@ public class PersonSignUpController extends Controller implements Initializable
                 txfPersonId.setText(digits);
             }
         });
+        uniqueness = new PersonUniquenessValidator(this, txfPersonId, txfPersonEmail, txfPersonUsername);
 
         tbvPersonid.setCellValueFactory(data -> new ReadOnlyObjectWrapper<>(data.getValue().getId()));
         tbvPersonName.setCellValueFactory(data -> data.getValue().firstNameProperty());
         tbcPersonLastName.setCellValueFactory(data -> data.getValue().lastNameProperty());
         tbvPersonMail.setCellValueFactory(data -> data.getValue().emailProperty());
+        // Rows arrive in id order page by page; the paged list cannot be re-sorted
+        tbvPersons.getColumns().forEach(c -> c.setSortable(false));
         tbvPersons.setItems(persons);
 
         tbvPersons.setRowFactory(tv -> {
@@ -96,13 +124,30 @@ public class PersonSignUpController extends Controller implements Initializable
             return row;
         });
 
-        refreshPersons();
+        SyncService.getInstance().persons().addListener(
+            changes -> Platform.runLater(() -> applyPersonChanges(changes))
+        );
     }
 
     @Override
     public void initialize() {
-        // Check if person list needs refresh (e.g., after edit from PersonExpandView)
-        checkAndRefreshPersonList();
+        SyncService.SyncedCollection<PersonDTO> synced = SyncService.getInstance().persons();
+        // Edits made anywhere reach the list through the change feed
+        if (tracked && synced.isPrimed()) return;
+        // Take the watermark before the first page so edits made meanwhile are not missed
+        AsyncTasks.submit(
+            this,
+            "person-directory-baseline",
+            synced::baseline,
+            ok -> {
+                tracked = ok;
+                refreshPersons();
+            },
+            ex -> {
+                LOGGER.log(Level.WARNING, "Error starting person change tracking", ex);
+                refreshPersons();
+            }
+        );
     }
 
     private void setTextFieldLimit(MFXTextField txf, int i) {
@@ -119,47 +164,45 @@ public class PersonSignUpController extends Controller implements Initializable
 
     private void refreshPersons() {
         LOGGER.info("Refrescando lista de personas");
-        persons.clear();
-        PersonService s = new PersonService();
-        Respuesta r = s.findAll();
-        
-        if (r == null) {
-            LOGGER.warning("PersonService.findAll() devolvió null");
-            return;
-        }
-        
+        persons.reset();
+    }
+
+    /**
+     * Loads the page of people that follows the last row shown.
+     */
+    private List<PersonViewModel> loadPeoplePage(PersonViewModel last, int limit) {
+        Long afterId = last == null ? null : last.getId();
+        Respuesta r = new PersonService().findPage(afterId, limit, null);
         if (!Boolean.TRUE.equals(r.getEstado())) {
-            LOGGER.warning("Error al obtener personas: " + r.getMensaje());
-            return;
+            throw new IllegalStateException("Error al obtener personas: " + r.getMensaje());
         }
-        
         @SuppressWarnings("unchecked")
         List<PersonDTO> list = (List<PersonDTO>) r.getResultado("Persons");
-        if (list == null) {
-            LOGGER.warning("Lista de personas es null en la respuesta");
-            return;
-        }
-        
-        LOGGER.info("Obtenidas " + list.size() + " personas del servicio");
         List<PersonViewModel> vms = new ArrayList<>();
-        for (PersonDTO dto : list) {
-            vms.add(new PersonViewModel(dto));
+        if (list != null) {
+            for (PersonDTO dto : list) {
+                vms.add(new PersonViewModel(dto));
+            }
         }
-        persons.addAll(vms);
-        LOGGER.fine("Lista de personas actualizada con " + persons.size() + " elementos");
+        LOGGER.fine("Obtenidas " + vms.size() + " personas después de id=" + afterId);
+        return vms;
     }
-    
+
     /**
-     * Checks if the person list needs refresh (e.g., after updates from other views).
+     * Applies people created, edited or deleted elsewhere to the loaded rows.
      */
-    private void checkAndRefreshPersonList() {
-        Boolean needsRefresh = (Boolean) AppContext.getInstance().get("personListNeedsRefresh");
-        if (Boolean.TRUE.equals(needsRefresh)) {
-            LOGGER.info("Person list refresh requested, refreshing list");
-            refreshPersons();
-            // Clear the flag
-            AppContext.getInstance().delete("personListNeedsRefresh");
+    private void applyPersonChanges(ChangeSetDTO<PersonDTO> changes) {
+        if (!tracked) return;
+        List<PersonViewModel> changed = new ArrayList<>();
+        for (PersonDTO dto : changes.getChanged()) {
+            changed.add(new PersonViewModel(dto));
         }
+        persons.applyChanges(
+            changed,
+            changes.getDeletedIds(),
+            PersonViewModel::getId,
+            Comparator.comparingLong(PersonViewModel::getId)
+        );
     }
 
     @FXML
@@ -167,6 +210,175 @@ public class PersonSignUpController extends Controller implements Initializable
         AnimationManager.showPopup(vbSignUpDisplay, vbCover);
     }
 
+    /**
+     * Exports people, projects, activities and trackings to the file chosen,
+     * as a zip of CSV files or a columnar file. Pressed again, cancels.
+     */
+    @FXML
+    private void onActionBtnExportData(ActionEvent event) {
+        if (cancelTransfer()) return;
+        FileChooser chooser = transferChooser("Exportar datos");
+        chooser.setInitialFileName("flowfx-datos");
+        File file = chooser.showSaveDialog(root.getScene().getWindow());
+        if (file == null) return;
+        Path target = withExtension(file.toPath(), chooser.getSelectedExtensionFilter());
+        startTransfer(
+            (Labeled) event.getSource(),
+            "bulk-export",
+            false,
+            (service, progress) -> service.exportTo(target, progress)
+        );
+    }
+
+    /**
+     * Validates and loads a file written by {@link #onActionBtnExportData}, or
+     * one with the same columns. Rows whose id exists are updated. Pressed
+     * again, cancels; batches already sent stay stored.
+     */
+    @FXML
+    private void onActionBtnImportData(ActionEvent event) {
+        if (cancelTransfer()) return;
+        File file = transferChooser("Importar datos").showOpenDialog(root.getScene().getWindow());
+        if (file == null) return;
+        boolean confirmed = new Mensaje().showConfirmation(
+            "Importar datos",
+            root.getScene().getWindow(),
+            "Se cargarán los datos de " + file.getName() + ". Los registros con el mismo ID se actualizarán. ¿Desea continuar?"
+        );
+        if (!confirmed) return;
+        startTransfer(
+            (Labeled) event.getSource(),
+            "bulk-import",
+            true,
+            (service, progress) -> service.importFrom(file.toPath(), progress)
+        );
+    }
+
+    private boolean cancelTransfer() {
+        if (transferTask == null || transferTask.isDone()) return false;
+        transferTask.cancel();
+        return true;
+    }
+
+    private FileChooser transferChooser(String title) {
+        FileChooser chooser = new FileChooser();
+        chooser.setTitle(title);
+        chooser.getExtensionFilters().addAll(
+            new FileChooser.ExtensionFilter(
+                "CSV (*" + BulkTransferService.Format.CSV.getExtension() + ")",
+                "*" + BulkTransferService.Format.CSV.getExtension()
+            ),
+            new FileChooser.ExtensionFilter(
+                "Columnar (*" + BulkTransferService.Format.COLUMNAR.getExtension() + ")",
+                "*" + BulkTransferService.Format.COLUMNAR.getExtension()
+            )
+        );
+        return chooser;
+    }
+
+    private Path withExtension(Path file, FileChooser.ExtensionFilter filter) {
+        if (BulkTransferService.Format.of(file) != null) return file;
+        String extension = filter != null && filter.getExtensions().get(0).endsWith(BulkTransferService.Format.COLUMNAR.getExtension())
+            ? BulkTransferService.Format.COLUMNAR.getExtension()
+            : BulkTransferService.Format.CSV.getExtension();
+        return file.resolveSibling(file.getFileName() + extension);
+    }
+
+    /**
+     * Runs a transfer in the background, showing its progress on the button
+     * that started it, and reports the outcome when done.
+     */
+    private void startTransfer(
+        Labeled button,
+        String name,
+        boolean isImport,
+        BiFunction<BulkTransferService, Consumer<BulkTransferService.Progress>, Respuesta> work
+    ) {
+        Task<Respuesta> task = new Task<>() {
+            @Override
+            protected Respuesta call() {
+                return work.apply(
+                    new BulkTransferService(),
+                    p -> updateMessage(String.format(
+                        "Cancelar (%s: %,d filas, %,.0f filas/s)",
+                        p.table(),
+                        p.rows(),
+                        p.rowsPerSecond()
+                    ))
+                );
+            }
+        };
+        String text = button.getText();
+        button.textProperty().bind(
+            Bindings.when(task.messageProperty().isEmpty())
+                .then("Cancelar")
+                .otherwise(task.messageProperty())
+        );
+        task.stateProperty().addListener((obs, oldState, state) -> {
+            if (!task.isDone()) return;
+            button.textProperty().unbind();
+            button.setText(text);
+            String title = isImport ? "Importar datos" : "Exportar datos";
+            switch (state) {
+                case SUCCEEDED -> {
+                    Respuesta r = task.getValue();
+                    if (isImport && r.getResultado(BulkTransferService.ROWS_KEY) != null) {
+                        // Rows were stored even when some batches failed
+                        for (BulkTransferService.Table table : BulkTransferService.Table.values()) {
+                            ChangeFeed.getInstance().refresh(table.entityType());
+                        }
+                    }
+                    new Mensaje().show(
+                        Boolean.TRUE.equals(r.getEstado()) ? Alert.AlertType.INFORMATION : Alert.AlertType.WARNING,
+                        title,
+                        transferSummary(r)
+                    );
+                }
+                case FAILED -> {
+                    LOGGER.log(Level.WARNING, "Bulk transfer failed", task.getException());
+                    new Mensaje().show(Alert.AlertType.ERROR, title, "No se pudo completar la operación.");
+                }
+                case CANCELLED -> new Mensaje().show(
+                    Alert.AlertType.INFORMATION,
+                    title,
+                    isImport ? "Importación cancelada. Los lotes ya enviados se conservan." : "Exportación cancelada."
+                );
+                default -> {}
+            }
+        });
+        transferTask = task;
+        // Leaving the view does not stop an import halfway; the button still can
+        AsyncTasks.execute(isImport ? null : this, name, task);
+    }
+
+    private String transferSummary(Respuesta r) {
+        StringBuilder sb = new StringBuilder(r.getMensaje() == null ? "" : r.getMensaje());
+        Object rows = r.getResultado(BulkTransferService.ROWS_KEY);
+        if (rows == null) return sb.toString();
+        sb.append(String.format("%n%nFilas: %,d", (Long) rows));
+        Object rejected = r.getResultado(BulkTransferService.REJECTED_KEY);
+        if (rejected instanceof Long count && count > 0) {
+            sb.append(String.format("%nRechazadas: %,d", count));
+        }
+        Object rate = r.getResultado(BulkTransferService.ROWS_PER_SECOND_KEY);
+        if (rate instanceof Double perSecond) {
+            sb.append(String.format("%nVelocidad: %,.0f filas/s", perSecond));
+        }
+        Object errors = r.getResultado(BulkTransferService.ERRORS_KEY);
+        if (errors instanceof List<?> list && !list.isEmpty()) {
+            sb.append("\n");
+            int shown = 0;
+            for (Object error : list) {
+                if (shown++ == 10) {
+                    sb.append("\n… y ").append(list.size() - 10).append(" más.");
+                    break;
+                }
+                sb.append("\n- ").append(error);
+            }
+        }
+        return sb.toString();
+    }
+
     @FXML
     private void onKeyPressedTxfPersonId(KeyEvent event) {
         String text = event.getText();
@@ -206,7 +418,8 @@ public class PersonSignUpController extends Controller implements Initializable
             );
             AnimationManager.hidePopup(vbSignUpDisplay, vbCover);
             clearSignUpFields();
-            refreshPersons();
+            if (tracked) ChangeFeed.getInstance().refresh("person");
+            else refreshPersons();
         } else {
             String errorMsg = r != null ? r.getMensaje() : "Error desconocido";
             String errorDetail = r != null ? r.getMensajeInterno() : "";
@@ -291,6 +504,19 @@ public class PersonSignUpController extends Controller implements Initializable
                 return null;
             }
 
+            // Cédula, correo o usuario ya registrados (comprobados al salir de cada campo)
+            String conflict = uniqueness.conflictMessage();
+            if (conflict != null) {
+                LOGGER.warning("Datos duplicados: " + conflict);
+                new Mensaje().showModal(
+                    Alert.AlertType.ERROR,
+                    "Datos Duplicados",
+                    root.getScene().getWindow(),
+                    conflict
+                );
+                return null;
+            }
+
             // Validación de usuario/contraseña
             boolean usernameEmpty = username.isEmpty();
             boolean passwordEmpty = (password == null || password.isEmpty());
@@ -359,5 +585,6 @@ public class PersonSignUpController extends Controller implements Initializable
         pswPersonPassword.clear();
         cbIsAdmin.setSelected(false);
         cbIsActive.setSelected(false);
+        uniqueness.clear();
     }
 }
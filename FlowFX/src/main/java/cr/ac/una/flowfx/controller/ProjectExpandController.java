@@ -10,8 +10,10 @@ import cr.ac.una.flowfx.service.ProjectActivityService;
 import cr.ac.una.flowfx.service.ProjectService;
 import cr.ac.una.flowfx.util.ActivityTableUtil;
 import cr.ac.una.flowfx.util.AnimationManager;
+import cr.ac.una.flowfx.util.AsyncTasks;
 import cr.ac.una.flowfx.util.AppContext;
 import cr.ac.una.flowfx.util.BindingUtils;
+import cr.ac.una.flowfx.util.FanOut;
 import cr.ac.una.flowfx.util.FlowController;
 import cr.ac.una.flowfx.util.PersonLabelUtil;
 import cr.ac.una.flowfx.util.ProjectExcelExportUtil;
@@ -31,6 +33,7 @@ import javafx.fxml.FXML;
 import javafx.fxml.Initializable;
 import javafx.scene.control.Alert;
 import javafx.scene.control.Label;
+import javafx.scene.control.Labeled;
 import javafx.scene.control.TableColumn;
 import javafx.scene.control.TableView;
 import javafx.scene.control.TextArea;
@@ -40,14 +43,18 @@ import javafx.scene.layout.VBox;
 import javafx.stage.Stage;
 import cr.ac.una.flowfx.util.Mensaje;
 
+import java.io.File;
 import java.net.URL;
+import java.time.Duration;
 import java.time.Instant;
 import java.time.LocalDate;
 import java.time.ZoneId;
+import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.Date;
 import java.util.List;
 import java.util.ResourceBundle;
+import java.util.concurrent.CompletableFuture;
 import java.util.logging.Level;
 
 /**
@@ -84,6 +91,9 @@ public class ProjectExpandController extends Controller implements Initializable
     private static final java.util.logging.Logger LOGGER =
         java.util.logging.Logger.getLogger(ProjectExpandController.class.getName());
 
+    // Time budget for the initial parallel load; slower parts load on their own
+    private static final Duration LOAD_DEADLINE = Duration.ofSeconds(4);
+
     // FXML injected components
     @FXML private AnchorPane root;
     @FXML private VBox vbCover;
@@ -126,6 +136,10 @@ public class ProjectExpandController extends Controller implements Initializable
     private final ObservableList<ProjectActivityViewModel> activities = FXCollections.observableArrayList();
     private ProjectActivityViewModel selectedActivity;
     private boolean statusPersistInProgress = false;
+    private boolean activityCreationInProgress = false;
+    // Activity updates are sent one after another so a later edit is never overtaken
+    private CompletableFuture<Void> activityWrites = CompletableFuture.completedFuture(null);
+    private Task<File> exportTask;
     
     // Activity creation form status property for proper binding
     private final javafx.beans.property.ObjectProperty<String> activityCreationStatusProperty = 
@@ -249,10 +263,7 @@ public class ProjectExpandController extends Controller implements Initializable
         initializeProjectData();
         bindFields();
         setupActivitiesTable();
-        loadActivitiesForProject();
-        loadPersonNamesImmediately();
-        refreshProjectFromServer();
-        loadProjectProgress();
+        loadViewData();
 
         // Bind activity change buttons to change detection
         if (btnConfirmActivityChanges != null) {
@@ -495,14 +506,23 @@ public class ProjectExpandController extends Controller implements Initializable
 
     @FXML
     private void onActionBtnPrintReport(ActionEvent event) {
+        if (exportTask != null && exportTask.isRunning()) {
+            // The button reads "Cancelar exportación" while the export runs
+            exportTask.cancel();
+            return;
+        }
         Stage stage = (Stage) root.getScene().getWindow();
-        ProjectExcelExportUtil.exportProjectSchedule(
+        exportTask = ProjectExcelExportUtil.exportProjectSchedule(
+            this,
             stage,
             vm,
             activities,
             PersonLabelUtil::resolvePersonNameSync,
             ProjectExpandController::mapStatusToSpanish
         );
+        if (exportTask != null && event.getSource() instanceof Labeled button) {
+            ProjectExcelExportUtil.showProgressOn(button, exportTask);
+        }
     }
 
     @FXML
@@ -580,9 +600,16 @@ public class ProjectExpandController extends Controller implements Initializable
             return;
         }
         
-        PersonService service = new PersonService();
-        cr.ac.una.flowfx.util.Respuesta response = service.find(personId);
-        
+        AsyncTasks.submit(
+            this,
+            "person-expand-open",
+            () -> new PersonService().find(personId),
+            response -> showPersonExpandView(personId, roleLabel, response),
+            ex -> LOGGER.warning("Could not retrieve person with ID " + personId + ": " + ex.getMessage())
+        );
+    }
+
+    private void showPersonExpandView(long personId, String roleLabel, Respuesta response) {
         if (!Boolean.TRUE.equals(response.getEstado())) {
             LOGGER.warning("Could not retrieve person with ID " + personId + ": " + 
                 (response != null ? response.getMensaje() : "null response"));
@@ -761,17 +788,6 @@ public class ProjectExpandController extends Controller implements Initializable
         PersonLabelUtil.updatePersonLabelIntoField(sponsorId, txfSponsorId);
     }
 
-    /**
-     * Loads person names immediately during initialization using PersonLabelUtil.
-     */
-    private void loadPersonNamesImmediately() {
-        PersonLabelUtil.loadPersonNamesImmediately(
-            new PersonLabelUtil.PersonField(vm.getLeaderUserId(), txfLeaderId),
-            new PersonLabelUtil.PersonField(vm.getTechLeaderId(), txfTechLeaderId),
-            new PersonLabelUtil.PersonField(vm.getSponsorId(), txfSponsorId)
-        );
-    }
-
     // Date Binding Utilities
 
     /**
@@ -892,28 +908,38 @@ public class ProjectExpandController extends Controller implements Initializable
     }
 
     /**
-     * Persists project status asynchronously.
+     * Persists project status asynchronously. Only the status and the actual
+     * dates it implies are sent, guarded by the version the view last loaded.
      */
     private void persistProjectStatusAsync(String statusCode) {
-        new Thread(() -> {
-            try {
-                ProjectService service = new ProjectService();
-                Respuesta response = service.update(vm.toDTO());
-                
-                Platform.runLater(() -> handleStatusUpdateResponse(response));
-            } catch (Exception ex) {
-                Platform.runLater(() -> {
-                    LOGGER.warning("Exception during project status update: " + ex.getMessage());
-                    statusPersistInProgress = false;
-                });
+        ProjectDTO values = vm.toDTO();
+        List<String> fields = new ArrayList<>(List.of(ProjectService.FIELD_STATUS));
+        if (values.getActualStartDate() != null) fields.add(ProjectService.FIELD_ACTUAL_START_DATE);
+        if (values.getActualEndDate() != null) fields.add(ProjectService.FIELD_ACTUAL_END_DATE);
+
+        // Application scope: the write must finish even if the view is left
+        AsyncTasks.submit(
+            null,
+            "project-status-update",
+            () -> new ProjectService().patch(values.getId(), fields, values),
+            this::handleStatusUpdateResponse,
+            ex -> {
+                LOGGER.warning("Exception during project status update: " + ex.getMessage());
+                statusPersistInProgress = false;
             }
-        }, "project-status-update").start();
+        );
     }
 
     /**
      * Handles the response from status update.
      */
     private void handleStatusUpdateResponse(Respuesta response) {
+        if (ProjectService.isPatchConflict(response)) {
+            LOGGER.warning("Project was modified elsewhere; reloading before applying further changes");
+            statusPersistInProgress = false;
+            refreshProjectFromServer();
+            return;
+        }
         if (!Boolean.TRUE.equals(response.getEstado())) {
             LOGGER.warning("Project status update failed: " +
                 (response != null ? response.getMensaje() : "null") + " | " +
@@ -949,6 +975,125 @@ public class ProjectExpandController extends Controller implements Initializable
 
     // Server Synchronization
 
+    /**
+     * Everything the view shows besides the cached project, fetched in
+     * parallel. Parts that missed the deadline are unavailable.
+     */
+    private record ViewData(
+        long projectId,
+        FanOut.Part<Respuesta> project,
+        FanOut.Part<List<ProjectActivityDTO>> activities,
+        long leaderId,
+        long techLeaderId,
+        long sponsorId,
+        FanOut.Part<String> leaderLabel,
+        FanOut.Part<String> techLeaderLabel,
+        FanOut.Part<String> sponsorLabel,
+        FanOut.Part<Integer> progress
+    ) {}
+
+    /**
+     * Loads the project, its activities, the person labels and the progress
+     * in parallel, and fills the view once all of them arrived or
+     * {@link #LOAD_DEADLINE} expired, whichever comes first.
+     */
+    private void loadViewData() {
+        long projectId = vm.getId();
+        if (projectId <= 0) {
+            activities.clear();
+            LOGGER.warning("Cannot load project data - invalid project ID: " + projectId);
+            return;
+        }
+        long leaderId = vm.getLeaderUserId();
+        long techLeaderId = vm.getTechLeaderId();
+        long sponsorId = vm.getSponsorId();
+        AsyncTasks.load(
+            this,
+            "project-expand-loader",
+            () -> fetchViewData(projectId, leaderId, techLeaderId, sponsorId),
+            this::applyViewData,
+            ex -> {
+                LOGGER.log(Level.WARNING, "Project view load failed", ex);
+                // Fall back to the individual loaders
+                loadActivitiesForProject();
+                refreshProjectFromServer();
+                loadProjectProgress();
+            }
+        );
+    }
+
+    /**
+     * Issues the independent service calls of the view at once. Runs on a
+     * background thread; the wait is bounded by {@link #LOAD_DEADLINE}.
+     */
+    private ViewData fetchViewData(long projectId, long leaderId, long techLeaderId, long sponsorId)
+            throws InterruptedException {
+        try (FanOut scope = FanOut.open(LOAD_DEADLINE)) {
+            FanOut.Part<Respuesta> project = scope.fork("project", () -> new ProjectService().find(projectId));
+            FanOut.Part<List<ProjectActivityDTO>> projectActivities =
+                scope.fork("activities", () -> fetchActivities(projectId));
+            FanOut.Part<String> leader = scope.fork("leader-label", () -> PersonLabelUtil.resolvePersonNameSync(leaderId));
+            FanOut.Part<String> techLeader = scope.fork("tech-leader-label", () -> PersonLabelUtil.resolvePersonNameSync(techLeaderId));
+            FanOut.Part<String> sponsor = scope.fork("sponsor-label", () -> PersonLabelUtil.resolvePersonNameSync(sponsorId));
+            FanOut.Part<Integer> progress = scope.fork("tracking", () -> ProjectProgressUtil.loadProgress(projectId));
+            scope.join();
+            return new ViewData(projectId, project, projectActivities, leaderId, techLeaderId, sponsorId,
+                leader, techLeader, sponsor, progress);
+        }
+    }
+
+    /**
+     * Fills the view from the parallel load. Each unavailable part falls back
+     * to its own asynchronous loader so the view still completes.
+     */
+    private void applyViewData(ViewData data) {
+        if (vm.getId() != data.projectId()) return;
+
+        Respuesta projectResponse = data.project().getOrElse(null);
+        if (projectResponse == null) {
+            refreshProjectFromServer();
+        } else if (Boolean.TRUE.equals(projectResponse.getEstado())
+            && projectResponse.getResultado("Project") instanceof ProjectDTO project) {
+            AppContext.getInstance().set("currentProject", project);
+            updateViewModelFromProject(project);
+            selectToggleForStatus(project.getStatus());
+        }
+
+        applyPersonLabel(data.leaderLabel(), data.leaderId(), vm.getLeaderUserId(), txfLeaderId);
+        applyPersonLabel(data.techLeaderLabel(), data.techLeaderId(), vm.getTechLeaderId(), txfTechLeaderId);
+        applyPersonLabel(data.sponsorLabel(), data.sponsorId(), vm.getSponsorId(), txfSponsorId);
+
+        List<ProjectActivityDTO> dtos = data.activities().getOrElse(null);
+        if (dtos != null) {
+            updateActivitiesFromDTOs(dtos, data.projectId());
+            prefetchResponsibleLabels();
+        } else {
+            loadActivitiesForProject();
+        }
+
+        Integer progress = data.progress().getOrElse(null);
+        if (progress != null) {
+            ProjectProgressUtil.setProgressDisplayImmediate(progress, pgProjectProgress, lblProjectProgressPercentage);
+        } else {
+            loadProjectProgress();
+        }
+    }
+
+    /**
+     * Shows a resolved label when it still belongs to the person in the view
+     * model; otherwise resolves it again asynchronously. The loaded project
+     * may have replaced the person the label was requested for.
+     */
+    private void applyPersonLabel(FanOut.Part<String> label, long requestedId, long personId, MFXTextField field) {
+        String resolved = requestedId == personId ? label.getOrElse(null) : null;
+        // resolvePersonNameSync answers the bare id when the person could not be found
+        if (personId > 0 && resolved != null && !resolved.equals(String.valueOf(personId))) {
+            field.setText(resolved);
+        } else {
+            PersonLabelUtil.updatePersonLabelIntoField(personId, field);
+        }
+    }
+
     /**
      * Refreshes project data from the server.
      */
@@ -959,9 +1104,7 @@ public class ProjectExpandController extends Controller implements Initializable
         Task<Respuesta> refreshTask = createProjectRefreshTask(projectId);
         configureRefreshTaskHandlers(refreshTask);
         
-        Thread refreshThread = new Thread(refreshTask, "project-refresh");
-        refreshThread.setDaemon(true);
-        refreshThread.start();
+        AsyncTasks.execute(this, "project-refresh", refreshTask);
     }
 
     /**
@@ -1081,9 +1224,10 @@ public class ProjectExpandController extends Controller implements Initializable
         vm.setPlannedEndDate(project.getPlannedEndDate());
         vm.setActualStartDate(project.getActualStartDate());
         vm.setActualEndDate(project.getActualEndDate());
+        // Version first: a status change below is patched against it
+        vm.setUpdatedAt(project.getUpdatedAt());
         vm.setStatus(project.getStatus());
         vm.setCreatedAt(project.getCreatedAt());
-        vm.setUpdatedAt(project.getUpdatedAt());
         vm.setLeaderUserId(project.getLeaderUserId() == null ? 0L : project.getLeaderUserId());
         vm.setTechLeaderId(project.getTechLeaderId() == null ? 0L : project.getTechLeaderId());
         vm.setSponsorId(project.getSponsorId() == null ? 0L : project.getSponsorId());
@@ -1145,37 +1289,42 @@ public class ProjectExpandController extends Controller implements Initializable
             return;
         }
         
-        Task<List<ProjectActivityDTO>> loadTask = createActivityLoadTask();
+        Task<List<ProjectActivityDTO>> loadTask = createActivityLoadTask(projectId);
         configureActivityLoadTaskHandlers(loadTask, projectId);
         
-        Thread loadThread = new Thread(loadTask, "load-activities");
-        loadThread.setDaemon(true);
-        loadThread.start();
+        AsyncTasks.execute(this, "load-activities", loadTask);
     }
 
     /**
-     * Creates a task to load activities.
+     * Creates a task that loads only the activities of the given project.
      */
-    private Task<List<ProjectActivityDTO>> createActivityLoadTask() {
+    private Task<List<ProjectActivityDTO>> createActivityLoadTask(long projectId) {
         return new Task<>() {
             @Override
             protected List<ProjectActivityDTO> call() {
-                ProjectActivityService service = new ProjectActivityService();
-                Respuesta response = service.findAll();
-                
-                if (response != null && Boolean.TRUE.equals(response.getEstado())) {
-                    Object listData = response.getResultado("ProjectActivities");
-                    if (listData instanceof List<?> list) {
-                        @SuppressWarnings("unchecked")
-                        List<ProjectActivityDTO> dtos = (List<ProjectActivityDTO>) list;
-                        return dtos;
-                    }
-                }
-                return List.of();
+                return fetchActivities(projectId);
             }
         };
     }
 
+    /**
+     * Fetches the activities of a project. Blocks on the web service.
+     */
+    private List<ProjectActivityDTO> fetchActivities(long projectId) {
+        ProjectActivityService service = new ProjectActivityService();
+        Respuesta response = service.findByProject(projectId);
+        
+        if (response != null && Boolean.TRUE.equals(response.getEstado())) {
+            Object listData = response.getResultado("ProjectActivities");
+            if (listData instanceof List<?> list) {
+                @SuppressWarnings("unchecked")
+                List<ProjectActivityDTO> dtos = (List<ProjectActivityDTO>) list;
+                return dtos;
+            }
+        }
+        return List.of();
+    }
+
     /**
      * Configures handlers for the activity load task.
      */
@@ -1184,7 +1333,7 @@ public class ProjectExpandController extends Controller implements Initializable
             List<ProjectActivityDTO> dtos = loadTask.getValue();
             LOGGER.fine("Activities loaded from service: " + 
                 (dtos != null ? dtos.size() : 0) + 
-                " total, filtering by project ID " + projectId);
+                " for project ID " + projectId);
             
             updateActivitiesFromDTOs(dtos, projectId);
             prefetchResponsibleLabels();
@@ -1237,13 +1386,37 @@ public class ProjectExpandController extends Controller implements Initializable
      * Creates a new activity based on the form data.
      */
     private void createNewActivity() {
+        if (activityCreationInProgress) return;
         ProjectActivityDTO activityDto = buildActivityDto();
         if (activityDto == null) return;
 
+        long projectId = vm.getId();
         Long responsibleId = getResponsibleIdForNewActivity();
-        ProjectActivityService service = new ProjectActivityService();
-        Respuesta response = service.create(activityDto, vm.getId(), responsibleId);
+        activityCreationInProgress = true;
+        // Application scope: the activity is created even if the view is left
+        AsyncTasks.submit(
+            null,
+            "activity-create",
+            () -> new ProjectActivityService().create(activityDto, projectId, responsibleId),
+            response -> handleActivityCreationResponse(projectId, response),
+            ex -> {
+                LOGGER.warning("Activity creation failed: " + ex.getMessage());
+                new Mensaje().show(Alert.AlertType.ERROR, "Error",
+                    "No se pudo crear la actividad: " + ex.getMessage());
+            },
+            () -> activityCreationInProgress = false
+        );
+    }
 
+    /**
+     * Adds the created activity to the table, unless another project is
+     * shown by now, and reports the outcome.
+     */
+    private void handleActivityCreationResponse(long projectId, Respuesta response) {
+        if (vm.getId() != projectId) {
+            LOGGER.info("Activity created for project " + projectId + " after the view moved on.");
+            return;
+        }
         if (Boolean.TRUE.equals(response.getEstado())) {
             LOGGER.info("Activity created successfully.");
             handleSuccessfulActivityCreation(response);
@@ -1318,13 +1491,13 @@ public class ProjectExpandController extends Controller implements Initializable
             renumberExecutionOrder();
             ActivityTableUtil.refreshTable(tbvActivities);
             
-            // Send activity creation notification
+            // Queue activity creation notification
             sendActivityCreationNotification(createdDto.getId());
         }
     }
     
     /**
-     * Sends notification when an activity is created.
+     * Queues the notification for a created activity.
      */
     private void sendActivityCreationNotification(Long activityId) {
         if (activityId == null) return;
@@ -1336,17 +1509,17 @@ public class ProjectExpandController extends Controller implements Initializable
             notificationService.notifyActivityCreatedAsync(activityId)
                 .thenAccept(response -> {
                     if (Boolean.TRUE.equals(response.getEstado())) {
-                        LOGGER.log(Level.INFO, "Activity creation notification sent successfully for activity {0}", activityId);
+                        LOGGER.log(Level.INFO, "Activity creation notification queued for activity {0}", activityId);
                     } else {
-                        LOGGER.log(Level.WARNING, "Failed to send activity creation notification: {0}", response.getMensaje());
+                        LOGGER.log(Level.WARNING, "Failed to queue activity creation notification: {0}", response.getMensaje());
                     }
                 })
                 .exceptionally(throwable -> {
-                    LOGGER.log(Level.SEVERE, "Error sending activity creation notification", throwable);
+                    LOGGER.log(Level.SEVERE, "Error queuing activity creation notification", throwable);
                     return null;
                 });
         } catch (Exception ex) {
-            LOGGER.log(Level.WARNING, "Error sending activity creation notification for activity " + activityId, ex);
+            LOGGER.log(Level.WARNING, "Error queuing activity creation notification for activity " + activityId, ex);
         }
     }
 
@@ -1391,18 +1564,20 @@ public class ProjectExpandController extends Controller implements Initializable
      * Persists activity changes to the web service.
      */
     private void persistActivityChanges(ProjectActivityViewModel activity) {
-        try {
-            ProjectActivityService service = new ProjectActivityService();
-            Respuesta response = service.update(activity.toDTO());
-            
-            if (!Boolean.TRUE.equals(response.getEstado())) {
-                LOGGER.warning("Activity update failed: " + 
-                    (response != null ? response.getMensaje() : "null") + 
-                    " | " + (response != null ? response.getMensajeInterno() : "null"));
-            }
-        } catch (Exception ex) {
-            LOGGER.warning("Exception while persisting activity changes: " + ex.getMessage());
-        }
+        ProjectActivityDTO dto = activity.toDTO();
+        activityWrites = activityWrites
+            .thenRunAsync(() -> {
+                Respuesta response = new ProjectActivityService().update(dto);
+                if (!Boolean.TRUE.equals(response.getEstado())) {
+                    LOGGER.warning("Activity update failed: " + 
+                        (response != null ? response.getMensaje() : "null") + 
+                        " | " + (response != null ? response.getMensajeInterno() : "null"));
+                }
+            }, AsyncTasks.executor())
+            .exceptionally(ex -> {
+                LOGGER.warning("Exception while persisting activity changes: " + ex.getMessage());
+                return null;
+            });
     }
 
     /**
@@ -1435,19 +1610,30 @@ public class ProjectExpandController extends Controller implements Initializable
         AnimationManager.showPopup(vbDisplayActivityExpand, vbCover);
     }
 
+    /**
+     * Shows a person's name in a detail field once resolved, unless another
+     * activity was opened meanwhile.
+     */
+    private void showPersonLabel(ProjectActivityViewModel activity, long personId, MFXTextField field) {
+        if (personId <= 0) {
+            field.setText("-");
+            return;
+        }
+        field.setText(String.valueOf(personId));
+        PersonLabelUtil.resolvePersonNameAsync(personId, name -> Platform.runLater(() -> {
+            if (selectedActivity == activity && name != null) field.setText(name);
+        }));
+    }
+
     /**
      * Populates the activity detail form.
      */
     private void populateActivityDetailForm(ProjectActivityViewModel activity) {
         // Resolve and display responsible person
-        long responsibleId = activity.getResponsibleId();
-        String responsibleName = responsibleId > 0 ? PersonLabelUtil.resolvePersonNameSync(responsibleId) : "-";
-        txfResponsible.setText(responsibleName);
+        showPersonLabel(activity, activity.getResponsibleId(), txfResponsible);
         
         // Resolve and display creator
-        long createdById = activity.getCreatedById();
-        String createdByName = createdById > 0 ? PersonLabelUtil.resolvePersonNameSync(createdById) : "-";
-        txfCreatedBy.setText(createdByName);
+        showPersonLabel(activity, activity.getCreatedById(), txfCreatedBy);
         
         // Set form fields
         txaDescription.setText(activity.getDescription());
@@ -1550,9 +1736,8 @@ public class ProjectExpandController extends Controller implements Initializable
     }
 
     /**
-     * Sends status change notifications to the backend notification system.
-     * Uses the comprehensive notification integration service to persist notifications to the database
-     * and trigger email delivery automatically.
+     * Queues a status change notification. The notification outbox delivers
+     * it to the backend later, so a logged success only means it was queued.
      */
     private void enqueueStatusChangeNotification(String entityType, long entityId, String newStatus) {
         try {
@@ -1563,17 +1748,17 @@ public class ProjectExpandController extends Controller implements Initializable
                 // Get the old status for comparison - we need to determine it from the current state
                 String oldStatus = determinePreviousStatus(entityType, entityId, newStatus);
                 
-                // Send project status change notification asynchronously
+                // Queue project status change notification
                 notificationService.notifyProjectStatusChangedAsync(entityId, newStatus, oldStatus)
                     .thenAccept(response -> {
                         if (Boolean.TRUE.equals(response.getEstado())) {
-                            LOGGER.log(Level.INFO, "Project status change notification sent successfully for project {0}", entityId);
+                            LOGGER.log(Level.INFO, "Project status change notification queued for project {0}", entityId);
                         } else {
-                            LOGGER.log(Level.WARNING, "Failed to send project status change notification: {0}", response.getMensaje());
+                            LOGGER.log(Level.WARNING, "Failed to queue project status change notification: {0}", response.getMensaje());
                         }
                     })
                     .exceptionally(throwable -> {
-                        LOGGER.log(Level.SEVERE, "Error sending project status change notification", throwable);
+                        LOGGER.log(Level.SEVERE, "Error queuing project status change notification", throwable);
                         return null;
                     });
                     
@@ -1581,17 +1766,17 @@ public class ProjectExpandController extends Controller implements Initializable
                 // Get the old status for comparison
                 String oldStatus = determinePreviousStatus(entityType, entityId, newStatus);
                 
-                // Send activity status change notification asynchronously
+                // Queue activity status change notification
                 notificationService.notifyActivityStatusChangedAsync(entityId, newStatus, oldStatus)
                     .thenAccept(response -> {
                         if (Boolean.TRUE.equals(response.getEstado())) {
-                            LOGGER.log(Level.INFO, "Activity status change notification sent successfully for activity {0}", entityId);
+                            LOGGER.log(Level.INFO, "Activity status change notification queued for activity {0}", entityId);
                         } else {
-                            LOGGER.log(Level.WARNING, "Failed to send activity status change notification: {0}", response.getMensaje());
+                            LOGGER.log(Level.WARNING, "Failed to queue activity status change notification: {0}", response.getMensaje());
                         }
                     })
                     .exceptionally(throwable -> {
-                        LOGGER.log(Level.SEVERE, "Error sending activity status change notification", throwable);
+                        LOGGER.log(Level.SEVERE, "Error queuing activity status change notification", throwable);
                         return null;
                     });
             }
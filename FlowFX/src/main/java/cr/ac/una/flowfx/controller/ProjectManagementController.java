@@ -1,36 +1,48 @@
 package cr.ac.una.flowfx.controller;
 
+import cr.ac.una.flowfx.model.ChangeSetDTO;
 import cr.ac.una.flowfx.model.PersonDTO;
 import cr.ac.una.flowfx.model.ProjectDTO;
-import cr.ac.una.flowfx.model.SearchResultDTO;
-import cr.ac.una.flowfx.service.PersonService;
 import cr.ac.una.flowfx.service.ProjectService;
+import cr.ac.una.flowfx.service.SearchService;
+import cr.ac.una.flowfx.service.SyncService;
 import cr.ac.una.flowfx.util.AnimationManager;
 import cr.ac.una.flowfx.util.AppContext;
+import cr.ac.una.flowfx.util.AsyncTasks;
+import cr.ac.una.flowfx.util.EntityCaches;
 import cr.ac.una.flowfx.util.FlowController;
 import cr.ac.una.flowfx.util.Mensaje;
+import cr.ac.una.flowfx.util.PersonLabelUtil;
+import cr.ac.una.flowfx.util.ProjectExcelExportUtil;
 import cr.ac.una.flowfx.util.Respuesta;
 import io.github.palexdev.materialfx.controls.MFXButton;
 import io.github.palexdev.materialfx.controls.MFXDatePicker;
 import io.github.palexdev.materialfx.controls.MFXTextField;
+import java.io.File;
 import java.net.URL;
 import java.time.ZoneId;
-import java.util.ArrayList;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.ResourceBundle;
-import java.util.stream.Collectors;
+import java.util.Set;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import javafx.animation.Interpolator;
+import javafx.animation.PauseTransition;
 import javafx.animation.RotateTransition;
+import javafx.application.Platform;
+import javafx.concurrent.Task;
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
 import javafx.fxml.Initializable;
+import javafx.scene.control.Labeled;
 import javafx.scene.control.TextArea;
 import javafx.scene.layout.AnchorPane;
 import javafx.scene.layout.TilePane;
@@ -55,6 +67,18 @@ public class ProjectManagementController
     // Delete mode and animation constants
     private boolean deleteMode = false;
     private final Map<MFXButton, RotateTransition> wiggleAnimations = new HashMap<>();
+
+    /** Quiet time after the last keystroke before the boards are filtered. */
+    private static final Duration BOARD_FILTER_DEBOUNCE = Duration.millis(150);
+    /** People considered when matching boards by sponsor or leaders. */
+    private static final int MAX_PERSON_MATCHES = 500;
+
+    private final PauseTransition boardFilterDebounce = new PauseTransition(BOARD_FILTER_DEBOUNCE);
+    private List<ProjectDTO> userProjects = List.of();
+    /** User whose boards were loaded with change tracking on; later visits only sync. */
+    private Long syncedUserId;
+    private Task<File> exportTask;
+    private boolean projectCreationInProgress = false;
     
     private static final double WIGGLE_ANGLE = 2.0;
     private static final Duration WIGGLE_DURATION = Duration.millis(150);
@@ -73,8 +97,9 @@ public class ProjectManagementController
     @FXML private MFXTextField txfSearchBar;
 
     /**
-     * Comprehensive search method using streams to find projects and associated persons.
-     * Searches across project names, person names, emails, and usernames.
+     * Searches project names and the names, emails and usernames of the
+     * people involved in the user's projects. Matching runs on the server;
+     * the first page is shown and the popup loads the rest on demand.
      */
     @FXML private void onActionBtnSearch(){
         String searchTerm = getTrimmedText(txfSearchBar);
@@ -88,120 +113,52 @@ public class ProjectManagementController
             );
             return;
         }
-        
-        List<SearchResultDTO> results = performSearch(searchTerm);
-        showSearchResults(searchTerm, results);
-        txfSearchBar.clear();
-    }
-    
-    /**
-     * Performs comprehensive search using streams across all projects and persons.
-     * 
-     * @param searchTerm the term to search for
-     * @return list of search results
-     */
-    private List<SearchResultDTO> performSearch(String searchTerm) {
-        if (searchTerm == null || searchTerm.trim().isEmpty()) {
-            return new ArrayList<>();
-        }
-        
-        String normalizedTerm = searchTerm.toLowerCase().trim();
-        
-        // Get all projects for the current user
         Object userObj = AppContext.getInstance().get("user");
-        if (!(userObj instanceof PersonDTO)) {
-            return new ArrayList<>();
-        }
-        
-        PersonDTO currentUser = (PersonDTO) userObj;
-        ProjectService projectService = new ProjectService();
-        PersonService personService = new PersonService();
-        
-        // Get user projects
-        Respuesta projectsResponse = projectService.findProjectsForUser(currentUser.getId());
-        if (!Boolean.TRUE.equals(projectsResponse.getEstado())) {
-            return new ArrayList<>();
-        }
-        
-        @SuppressWarnings("unchecked")
-        List<ProjectDTO> projects = (List<ProjectDTO>) projectsResponse.getResultado("Projects");
-        if (projects == null) {
-            return new ArrayList<>();
+        if (!(userObj instanceof PersonDTO currentUser)) {
+            return;
         }
-        
-        // Get all persons for searching
-        Respuesta personsResponse = personService.findAll();
-        Map<Long, PersonDTO> personMap = new HashMap<>();
-        if (Boolean.TRUE.equals(personsResponse.getEstado())) {
-            @SuppressWarnings("unchecked")
-            List<PersonDTO> persons = (List<PersonDTO>) personsResponse.getResultado("Persons");
-            if (persons != null) {
-                personMap = persons.stream()
-                    .filter(p -> p.getId() != null)
-                    .collect(Collectors.toMap(PersonDTO::getId, p -> p));
+
+        txfSearchBar.setDisable(true);
+        AsyncTasks.submit(
+            this,
+            "project-search",
+            () -> new SearchService().search(
+                searchTerm,
+                currentUser.getId(),
+                SearchService.DEFAULT_PAGE_SIZE,
+                null
+            ),
+            r -> {
+                txfSearchBar.setDisable(false);
+                showSearchResults(searchTerm, currentUser.getId(), r);
+                txfSearchBar.clear();
+            },
+            ex -> {
+                txfSearchBar.setDisable(false);
+                LOGGER.log(Level.SEVERE, "Error en la búsqueda", ex);
             }
-        }
-        
-        final Map<Long, PersonDTO> finalPersonMap = personMap;
-        
-        // Search using streams
-        return projects.stream()
-            .flatMap(project -> {
-                List<SearchResultDTO> projectResults = new ArrayList<>();
-                
-                // Search in project name
-                if (safe(project.getName()).toLowerCase().contains(normalizedTerm)) {
-                    projectResults.add(new SearchResultDTO(null, project, "Proyecto"));
-                }
-                
-                // Search in project persons (sponsor, leader, tech leader)
-                addPersonSearchResults(projectResults, project, project.getSponsorId(), 
-                    "Patrocinador", finalPersonMap, normalizedTerm);
-                addPersonSearchResults(projectResults, project, project.getLeaderUserId(), 
-                    "Líder", finalPersonMap, normalizedTerm);
-                addPersonSearchResults(projectResults, project, project.getTechLeaderId(), 
-                    "Líder Técnico", finalPersonMap, normalizedTerm);
-                
-                return projectResults.stream();
-            })
-            .distinct()
-            .limit(50) // Si no lo limito tira un mega error
-            .collect(Collectors.toList());
+        );
     }
     
     /**
-     * Helper method to add person search results for a specific role in a project.
+     * Shows the first page of search results in a popup window.
      */
-    private void addPersonSearchResults(List<SearchResultDTO> results, ProjectDTO project, 
-            Long personId, String role, Map<Long, PersonDTO> personMap, String searchTerm) {
-        if (personId == null) {
-            return;
-        }
-        
-        PersonDTO person = personMap.get(personId);
-        if (person == null) {
+    private void showSearchResults(String searchTerm, Long userId, Respuesta response) {
+        if (!Boolean.TRUE.equals(response.getEstado())) {
+            new Mensaje().showModal(
+                javafx.scene.control.Alert.AlertType.ERROR,
+                "Búsqueda",
+                root.getScene().getWindow(),
+                response.getMensaje()
+            );
             return;
         }
-        
-        // Check if person matches search term
-        boolean matches = safe(person.getFirstName()).toLowerCase().contains(searchTerm) ||
-                         safe(person.getLastName()).toLowerCase().contains(searchTerm) ||
-                         safe(person.getEmail()).toLowerCase().contains(searchTerm) ||
-                         safe(person.getUsername()).toLowerCase().contains(searchTerm);
-        
-        if (matches) {
-            results.add(new SearchResultDTO(person, project, role));
-        }
-    }
-    
-    /**
-     * Shows the search results in a popup window.
-     */
-    private void showSearchResults(String searchTerm, List<SearchResultDTO> results) {
         try {
-            // Store search results and term in context for the SearchResultsController
-            AppContext.getInstance().set("searchResults", results);
+            // Store the first page, term and paging state for the SearchResultsController
+            AppContext.getInstance().set("searchResults", response.getResultado("SearchResults"));
             AppContext.getInstance().set("searchTerm", searchTerm);
+            AppContext.getInstance().set("searchUserId", userId);
+            AppContext.getInstance().set("searchNextCursor", response.getResultado("NextCursor"));
             
             // Show the search results popup
             Stage currentStage = (Stage) root.getScene().getWindow();
@@ -223,6 +180,10 @@ public class ProjectManagementController
 
     @Override
     public void initialize(URL url, ResourceBundle rb) {
+        configureBoardFilter();
+        SyncService.getInstance().projects().addListener(
+            changes -> Platform.runLater(() -> applyProjectChanges(changes))
+        );
         loadUserProjects();
     }
 
@@ -246,6 +207,7 @@ public class ProjectManagementController
 
     @FXML
     private void onActionConfirmProjectCreation(ActionEvent event) {
+        if (projectCreationInProgress) return;
         ProjectDTO dto = new ProjectDTO();
         dto.setName(getTrimmedText(txfProjectName));
         dto.setPlannedStartDate(getDateFromPicker(dpProjectStartDate));
@@ -278,16 +240,38 @@ public class ProjectManagementController
         if (techId == null && user != null) techId = user.getId();
         if (sponsorId == null && user != null) sponsorId = user.getId();
 
-        ProjectService service = new ProjectService();
-        Respuesta response = service.create(dto, leaderId, techId, sponsorId);
+        Long leader = leaderId;
+        Long tech = techId;
+        Long sponsor = sponsorId;
+        projectCreationInProgress = true;
+        // Application scope: the project is created even if the view is left
+        AsyncTasks.submit(
+            null,
+            "project-create",
+            () -> new ProjectService().create(dto, leader, tech, sponsor),
+            this::handleProjectCreationResponse,
+            ex -> {
+                LOGGER.log(Level.WARNING, "Creacion de proyecto fallida", ex);
+                new Mensaje().showModal(
+                    javafx.scene.control.Alert.AlertType.ERROR,
+                    "Proyecto",
+                    window(),
+                    "No se pudo crear el proyecto."
+                );
+            },
+            () -> projectCreationInProgress = false
+        );
+    }
+
+    private void handleProjectCreationResponse(Respuesta response) {
         if (Boolean.TRUE.equals(response.getEstado())) {
-            // Send project creation notification
+            // Queue project creation notification
             sendProjectCreationNotification(response);
             
             new Mensaje().showModal(
                 javafx.scene.control.Alert.AlertType.INFORMATION,
                 "Proyecto",
-                root.getScene().getWindow(),
+                window(),
                 "Proyecto creado correctamente."
             );
             AnimationManager.hidePopup(vbProjectCreationDisplay, vbCover);
@@ -301,7 +285,7 @@ public class ProjectManagementController
             new Mensaje().showModal(
                 javafx.scene.control.Alert.AlertType.ERROR,
                 "Proyecto",
-                root.getScene().getWindow(),
+                window(),
                 response.getMensaje() + detail
             );
             LOGGER.log(
@@ -315,19 +299,143 @@ public class ProjectManagementController
         }
     }
 
+    /**
+     * @return the window of this view, or {@code null} once it was left
+     */
+    private javafx.stage.Window window() {
+        return root.getScene() != null ? root.getScene().getWindow() : null;
+    }
+
     private void loadUserProjects() {
-        tpProjects.getChildren().clear();
         Object userObj = AppContext.getInstance().get("user");
-        if (!(userObj instanceof PersonDTO)) return;
+        if (!(userObj instanceof PersonDTO)) {
+            tpProjects.getChildren().clear();
+            return;
+        }
         PersonDTO user = (PersonDTO) userObj;
-        ProjectService s = new ProjectService();
-        Respuesta r = s.findProjectsForUser(user.getId());
-        if (!Boolean.TRUE.equals(r.getEstado())) return;
-        @SuppressWarnings("unchecked")
-        List<ProjectDTO> projects = (List<ProjectDTO>) r.getResultado(
-            "Projects"
+        SyncService.SyncedCollection<ProjectDTO> synced = SyncService.getInstance().projects();
+        if (user.getId().equals(syncedUserId) && synced.isPrimed()) {
+            // Boards already shown: fetch only what changed, applied by the listener
+            AsyncTasks.submit(
+                this,
+                "project-boards-sync",
+                synced::sync,
+                null,
+                ex -> LOGGER.log(Level.WARNING, "Error syncing user projects", ex)
+            );
+            return;
+        }
+        AsyncTasks.load(
+            this,
+            "project-boards-loader",
+            () -> {
+                // Take the watermark first so edits made during the load are not missed
+                boolean tracked = synced.baseline();
+                Respuesta r = new ProjectService().findProjectsForUser(user.getId());
+                if (tracked && r.getResultado("Projects") instanceof List<?> list) {
+                    @SuppressWarnings("unchecked")
+                    List<ProjectDTO> projects = (List<ProjectDTO>) list;
+                    synced.putAll(projects);
+                }
+                return new BoardsLoad(r, tracked && Boolean.TRUE.equals(r.getEstado()));
+            },
+            load -> {
+                syncedUserId = load.tracked() ? user.getId() : null;
+                showUserProjects(load.response());
+            },
+            ex -> LOGGER.log(Level.WARNING, "Error loading user projects", ex)
         );
-        if (projects == null) return;
+    }
+
+    /**
+     * Result of a full boards load and whether change tracking started with it.
+     */
+    private record BoardsLoad(Respuesta response, boolean tracked) {}
+
+    /**
+     * Applies synced project changes to the boards: changed boards are
+     * replaced, new projects where the user has a role are added and deleted
+     * ones removed.
+     */
+    private void applyProjectChanges(ChangeSetDTO<ProjectDTO> changes) {
+        Long userId = syncedUserId;
+        if (userId == null) return;
+        Map<Long, ProjectDTO> byId = new LinkedHashMap<>();
+        for (ProjectDTO p : userProjects) byId.put(p.getId(), p);
+        for (ProjectDTO p : changes.getChanged()) {
+            if (
+                byId.containsKey(p.getId()) ||
+                userId.equals(p.getSponsorId()) ||
+                userId.equals(p.getLeaderUserId()) ||
+                userId.equals(p.getTechLeaderId())
+            ) byId.put(p.getId(), p);
+        }
+        changes.getDeletedIds().forEach(byId::remove);
+        userProjects = List.copyOf(byId.values());
+        applyBoardFilter();
+    }
+
+    private void showUserProjects(Respuesta r) {
+        userProjects = List.of();
+        if (Boolean.TRUE.equals(r.getEstado())) {
+            @SuppressWarnings("unchecked")
+            List<ProjectDTO> projects = (List<ProjectDTO>) r.getResultado(
+                "Projects"
+            );
+            if (projects != null) userProjects = projects;
+        }
+        applyBoardFilter();
+    }
+
+    /**
+     * Filters the project boards as the user types, once typing pauses.
+     */
+    private void configureBoardFilter() {
+        boardFilterDebounce.setOnFinished(e -> applyBoardFilter());
+        txfSearchBar.textProperty().addListener((obs, oldText, text) -> boardFilterDebounce.playFromStart());
+    }
+
+    /**
+     * Shows the user's projects whose name matches the search bar, or whose
+     * sponsor, leader or technical leader does, using the shared local
+     * indexes. Projects matched by name come first, in ranking order.
+     */
+    private void applyBoardFilter() {
+        String filter = txfSearchBar.getText();
+        if (filter == null || filter.isBlank()) {
+            renderProjects(userProjects);
+            return;
+        }
+        Map<Long, ProjectDTO> byId = new LinkedHashMap<>();
+        for (ProjectDTO p : userProjects) {
+            if (p.getId() != null) byId.put(p.getId(), p);
+        }
+        Set<ProjectDTO> matches = new LinkedHashSet<>();
+        for (ProjectDTO p : EntityCaches.projectIndex().search(
+            filter,
+            EntityCaches.projectIndex().size()
+        )) {
+            ProjectDTO own = byId.get(p.getId());
+            if (own != null) matches.add(own);
+        }
+        Set<Long> people = new HashSet<>();
+        for (PersonDTO person : EntityCaches.personIndex().search(filter, MAX_PERSON_MATCHES)) {
+            people.add(person.getId());
+        }
+        for (ProjectDTO p : byId.values()) {
+            if (
+                people.contains(p.getSponsorId()) ||
+                people.contains(p.getLeaderUserId()) ||
+                people.contains(p.getTechLeaderId())
+            ) matches.add(p);
+        }
+        renderProjects(List.copyOf(matches));
+    }
+
+    private void renderProjects(List<ProjectDTO> projects) {
+        wiggleAnimations.values().forEach(RotateTransition::stop);
+        wiggleAnimations.clear();
+        tpProjects.getChildren().clear();
         for (ProjectDTO p : projects) {
             Board b = new Board();
             b.getLblTitle().setText(p.getName());
@@ -527,32 +635,23 @@ public class ProjectManagementController
             );
 
             if (confirmed) {
-                ProjectService service = new ProjectService();
-                Respuesta response = service.delete(project.getId());
-                
-                if (Boolean.TRUE.equals(response.getEstado())) {
-                    new Mensaje().showModal(
-                        javafx.scene.control.Alert.AlertType.INFORMATION,
-                        "Eliminar Proyecto",
-                        root.getScene().getWindow(),
-                        "El proyecto ha sido eliminado correctamente. GGWP."
-                    );
-                    
-                    // Reload projects to refresh the view
-                    loadUserProjects();
-                    
-                    LOGGER.log(Level.INFO, "Project deleted successfully: " + project.getId());
-                } else {
-                    new Mensaje().showModal(
-                        javafx.scene.control.Alert.AlertType.ERROR,
-                        "Eliminar Proyecto",
-                        root.getScene().getWindow(),
-                        "Error al eliminar el proyecto: " + response.getMensaje()
-                    );
-                    
-                    LOGGER.log(Level.WARNING, 
-                        "Project deletion failed: " + response.getMensaje());
-                }
+                Long projectId = project.getId();
+                // Application scope: the delete must finish even if the view is left
+                AsyncTasks.submit(
+                    null,
+                    "project-delete",
+                    () -> new ProjectService().delete(projectId),
+                    response -> handleProjectDeletionResponse(projectId, response),
+                    ex -> {
+                        LOGGER.log(Level.SEVERE, "Error deleting project", ex);
+                        new Mensaje().showModal(
+                            javafx.scene.control.Alert.AlertType.ERROR,
+                            "Eliminar Proyecto",
+                            window(),
+                            "Error inesperado al eliminar el proyecto </3."
+                        );
+                    }
+                );
             }
         } catch (Exception ex) {
             LOGGER.log(Level.SEVERE, "Error deleting project", ex);
@@ -565,6 +664,32 @@ public class ProjectManagementController
         }
     }
 
+    private void handleProjectDeletionResponse(Long projectId, Respuesta response) {
+        if (Boolean.TRUE.equals(response.getEstado())) {
+            new Mensaje().showModal(
+                javafx.scene.control.Alert.AlertType.INFORMATION,
+                "Eliminar Proyecto",
+                window(),
+                "El proyecto ha sido eliminado correctamente. GGWP."
+            );
+            
+            // Reload projects to refresh the view
+            loadUserProjects();
+            
+            LOGGER.log(Level.INFO, "Project deleted successfully: " + projectId);
+        } else {
+            new Mensaje().showModal(
+                javafx.scene.control.Alert.AlertType.ERROR,
+                "Eliminar Proyecto",
+                window(),
+                "Error al eliminar el proyecto: " + response.getMensaje()
+            );
+            
+            LOGGER.log(Level.WARNING, 
+                "Project deletion failed: " + response.getMensaje());
+        }
+    }
+
     /**
      * Toggles delete mode and updates all existing Board components.
      */
@@ -596,9 +721,36 @@ public class ProjectManagementController
     private void onActionDeleteMode(ActionEvent event) {
         toggleDeleteMode();
     }
+
+    /**
+     * Exports the schedules of all the user's projects to one workbook, one
+     * sheet per project. Pressed again while running, cancels the export.
+     */
+    @FXML
+    private void onActionExportProjects(ActionEvent event) {
+        if (exportTask != null && exportTask.isRunning()) {
+            exportTask.cancel();
+            return;
+        }
+        if (userProjects.isEmpty()) {
+            new Mensaje().show(javafx.scene.control.Alert.AlertType.INFORMATION, "Exportar proyectos", "No tiene proyectos para exportar.");
+            return;
+        }
+        Stage stage = (Stage) root.getScene().getWindow();
+        exportTask = ProjectExcelExportUtil.exportProjects(
+            this,
+            stage,
+            userProjects,
+            PersonLabelUtil::resolvePersonNameSync,
+            this::mapStatusToSpanish
+        );
+        if (exportTask != null && event.getSource() instanceof Labeled button) {
+            ProjectExcelExportUtil.showProgressOn(button, exportTask);
+        }
+    }
     
     /**
-     * Sends notification when a project is created.
+     * Queues the notification for a created project.
      */
     private void sendProjectCreationNotification(Respuesta response) {
         try {
@@ -610,18 +762,18 @@ public class ProjectManagementController
                 notificationService.notifyProjectCreatedAsync(projectDto.getId())
                     .thenAccept(notificationResponse -> {
                         if (Boolean.TRUE.equals(notificationResponse.getEstado())) {
-                            LOGGER.log(Level.INFO, "Project creation notification sent successfully for project {0}", projectDto.getId());
+                            LOGGER.log(Level.INFO, "Project creation notification queued for project {0}", projectDto.getId());
                         } else {
-                            LOGGER.log(Level.WARNING, "Failed to send project creation notification: {0}", notificationResponse.getMensaje());
+                            LOGGER.log(Level.WARNING, "Failed to queue project creation notification: {0}", notificationResponse.getMensaje());
                         }
                     })
                     .exceptionally(throwable -> {
-                        LOGGER.log(Level.SEVERE, "Error sending project creation notification", throwable);
+                        LOGGER.log(Level.SEVERE, "Error queuing project creation notification", throwable);
                         return null;
                     });
             }
         } catch (Exception ex) {
-            LOGGER.log(Level.WARNING, "Error sending project creation notification", ex);
+            LOGGER.log(Level.WARNING, "Error queuing project creation notification", ex);
         }
     }
 }
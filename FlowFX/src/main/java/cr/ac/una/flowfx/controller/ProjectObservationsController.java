@@ -10,6 +10,7 @@ import cr.ac.una.flowfx.model.ProjectTrackingDTO;
 import cr.ac.una.flowfx.model.ProjectTrackingViewModel;
 import cr.ac.una.flowfx.service.ProjectTrackingService;
 import cr.ac.una.flowfx.util.AnimationManager;
+import cr.ac.una.flowfx.util.AsyncTasks;
 import cr.ac.una.flowfx.util.AppContext;
 import cr.ac.una.flowfx.util.FlowController;
 import cr.ac.una.flowfx.util.Mensaje;
@@ -244,9 +245,7 @@ public class ProjectObservationsController extends Controller implements Initial
         Task<List<ProjectTrackingDTO>> loadTask = createObservationLoadTask();
         configureObservationLoadTaskHandlers(loadTask);
         
-        Thread taskThread = new Thread(loadTask);
-        taskThread.setDaemon(true);
-        taskThread.start();
+        AsyncTasks.execute(this, "load-observations", loadTask);
     }
 
     /**
@@ -449,9 +448,7 @@ public class ProjectObservationsController extends Controller implements Initial
                 });
             });
             
-            Thread createThread = new Thread(createTask);
-            createThread.setDaemon(true);
-            createThread.start();
+            AsyncTasks.execute(null, "create-observation", createTask);
             
         } catch (Exception ex) {
             LOGGER.log(Level.SEVERE, "Error building observation DTO", ex);
@@ -510,7 +507,7 @@ public class ProjectObservationsController extends Controller implements Initial
             if (Boolean.TRUE.equals(response.getEstado())) {
                 LOGGER.info("Observation created successfully");
                 
-                // Send tracking creation notification
+                // Queue tracking creation notification
                 sendTrackingCreationNotification(response);
                 
                 // Hide popup and clear form
@@ -530,7 +527,7 @@ public class ProjectObservationsController extends Controller implements Initial
     }
     
     /**
-     * Sends notification when a tracking/observation is created.
+     * Queues the notification for a created tracking/observation.
      */
     private void sendTrackingCreationNotification(Respuesta response) {
         try {
@@ -542,18 +539,18 @@ public class ProjectObservationsController extends Controller implements Initial
                 notificationService.notifyTrackingCreatedAsync(trackingDto.getId())
                     .thenAccept(notificationResponse -> {
                         if (Boolean.TRUE.equals(notificationResponse.getEstado())) {
-                            LOGGER.log(Level.INFO, "Tracking creation notification sent successfully for tracking {0}", trackingDto.getId());
+                            LOGGER.log(Level.INFO, "Tracking creation notification queued for tracking {0}", trackingDto.getId());
                         } else {
-                            LOGGER.log(Level.WARNING, "Failed to send tracking creation notification: {0}", notificationResponse.getMensaje());
+                            LOGGER.log(Level.WARNING, "Failed to queue tracking creation notification: {0}", notificationResponse.getMensaje());
                         }
                     })
                     .exceptionally(throwable -> {
-                        LOGGER.log(Level.SEVERE, "Error sending tracking creation notification", throwable);
+                        LOGGER.log(Level.SEVERE, "Error queuing tracking creation notification", throwable);
                         return null;
                     });
             }
         } catch (Exception ex) {
-            LOGGER.log(Level.WARNING, "Error sending tracking creation notification", ex);
+            LOGGER.log(Level.WARNING, "Error queuing tracking creation notification", ex);
         }
     }
 
@@ -1,8 +1,11 @@
 package cr.ac.una.flowfx.controller;
 
 import cr.ac.una.flowfx.model.SearchResultDTO;
+import cr.ac.una.flowfx.service.SearchService;
 import cr.ac.una.flowfx.util.AppContext;
+import cr.ac.una.flowfx.util.AsyncTasks;
 import cr.ac.una.flowfx.util.FlowController;
+import cr.ac.una.flowfx.util.Respuesta;
 import io.github.palexdev.materialfx.controls.MFXButton;
 import java.net.URL;
 import java.util.List;
@@ -25,6 +28,8 @@ import javafx.stage.Stage;
  * Controller for the search results popup window.
  * 
  * Displays search results in a ListView and handles navigation to selected projects.
+ * The first page comes from the caller; further pages are requested with the
+ * server cursor when the last result scrolls into view.
  */
 public class SearchResultsController extends Controller implements Initializable {
 
@@ -39,6 +44,10 @@ public class SearchResultsController extends Controller implements Initializable
     @FXML private ListView<SearchResultDTO> lvSearchResults;
 
     private ObservableList<SearchResultDTO> searchResults;
+    private String searchTerm;
+    private Long searchUserId;
+    private String nextCursor;
+    private boolean loadingNextPage;
 
     @Override
     public void initialize(URL url, ResourceBundle rb) {
@@ -78,7 +87,12 @@ public class SearchResultsController extends Controller implements Initializable
         try {
             // Get search term
             Object searchTermObj = AppContext.getInstance().get("searchTerm");
-            String searchTerm = searchTermObj instanceof String ? (String) searchTermObj : "";
+            searchTerm = searchTermObj instanceof String ? (String) searchTermObj : "";
+            Object userIdObj = AppContext.getInstance().get("searchUserId");
+            searchUserId = userIdObj instanceof Long ? (Long) userIdObj : null;
+            Object cursorObj = AppContext.getInstance().get("searchNextCursor");
+            nextCursor = cursorObj instanceof String ? (String) cursorObj : null;
+            loadingNextPage = false;
             
             // Update search prompt label
             if (!searchTerm.isEmpty()) {
@@ -106,6 +120,52 @@ public class SearchResultsController extends Controller implements Initializable
         }
     }
 
+    /**
+     * Requests the next page of results unless it is already loading or the
+     * last page has been reached.
+     */
+    private void loadNextPage() {
+        if (loadingNextPage || nextCursor == null || searchUserId == null) {
+            return;
+        }
+        loadingNextPage = true;
+        String cursor = nextCursor;
+        AsyncTasks.submit(
+            this,
+            "search-next-page",
+            () -> new SearchService().search(
+                searchTerm,
+                searchUserId,
+                SearchService.DEFAULT_PAGE_SIZE,
+                cursor
+            ),
+            this::appendPage,
+            ex -> {
+                loadingNextPage = false;
+                LOGGER.log(Level.WARNING, "Error cargando más resultados de búsqueda", ex);
+            }
+        );
+    }
+
+    /**
+     * Appends a page of results and keeps its cursor for the next request.
+     */
+    private void appendPage(Respuesta r) {
+        loadingNextPage = false;
+        if (!Boolean.TRUE.equals(r.getEstado())) {
+            LOGGER.log(Level.WARNING, "Búsqueda sin más resultados: {0}", r.getMensaje());
+            nextCursor = null;
+            return;
+        }
+        @SuppressWarnings("unchecked")
+        List<SearchResultDTO> page = (List<SearchResultDTO>) r.getResultado("SearchResults");
+        Object cursorObj = r.getResultado("NextCursor");
+        nextCursor = cursorObj instanceof String ? (String) cursorObj : null;
+        if (page != null) {
+            searchResults.addAll(page);
+        }
+    }
+
     /**
      * Handles mouse click events on the ListView.
      */
@@ -155,9 +215,13 @@ public class SearchResultsController extends Controller implements Initializable
      */
     private void closeWindow() {
         try {
+            AsyncTasks.cancelAll(this);
+
             // Clean up search data from context
             AppContext.getInstance().remove("searchResults");
             AppContext.getInstance().remove("searchTerm");
+            AppContext.getInstance().remove("searchUserId");
+            AppContext.getInstance().remove("searchNextCursor");
             
             // Close the window
             Stage stage = (Stage) root.getScene().getWindow();
@@ -171,8 +235,9 @@ public class SearchResultsController extends Controller implements Initializable
 
     /**
      * Custom ListCell implementation for displaying SearchResultDTO objects.
+     * Showing the last loaded result triggers the next page.
      */
-    private static class SearchResultListCell extends javafx.scene.control.ListCell<SearchResultDTO> {
+    private class SearchResultListCell extends javafx.scene.control.ListCell<SearchResultDTO> {
         
         @Override
         protected void updateItem(SearchResultDTO item, boolean empty) {
@@ -191,6 +256,9 @@ public class SearchResultsController extends Controller implements Initializable
                 } else {
                     getStyleClass().add("search-result-person");
                 }
+                if (getIndex() == searchResults.size() - 1) {
+                    loadNextPage();
+                }
             }
         }
     }
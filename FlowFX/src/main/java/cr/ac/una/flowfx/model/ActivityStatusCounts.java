@@ -0,0 +1,180 @@
+package cr.ac.una.flowfx.model;
+
+import java.util.Arrays;
+
+/**
+ * Activity counts per project and status, keyed by primitive project ids.
+ *
+ * <p>Backed by an open-addressing table of {@code long} keys with one row of
+ * counters per project, so reads never box ids or counts. Statuses are the
+ * activity codes in {@link #STATUSES}; blank or unknown codes, and totals that
+ * come without a status, are kept in an extra "other" bucket.</p>
+ *
+ * <p>Instances are filled once by the service that decodes the response and
+ * are not thread-safe for concurrent writes.</p>
+ */
+public final class ActivityStatusCounts {
+
+    /** Known activity status codes, in display order. */
+    public static final String STATUSES = "PRSC";
+
+    /** Bucket index used for counts without a known status. */
+    public static final int OTHER = STATUSES.length();
+
+    private static final int BUCKETS = OTHER + 1;
+    private static final long EMPTY = Long.MIN_VALUE;
+
+    private long[] keys;
+    private long[] counts;
+    private int size;
+
+    /**
+     * Creates an empty instance sized for a few projects.
+     */
+    public ActivityStatusCounts() {
+        this(8);
+    }
+
+    /**
+     * Creates an empty instance sized for the expected number of projects.
+     *
+     * @param expectedProjects expected number of distinct project ids
+     */
+    public ActivityStatusCounts(int expectedProjects) {
+        int capacity = Integer.highestOneBit(Math.max(4, expectedProjects) * 2 - 1) << 1;
+        allocate(capacity);
+    }
+
+    /**
+     * Adds {@code count} activities of the given status to a project.
+     *
+     * @param projectId the project id
+     * @param status    activity status code; {@code null} or unknown goes to {@link #OTHER}
+     * @param count     number of activities to add
+     */
+    public void add(long projectId, String status, long count) {
+        if (projectId == EMPTY) return;
+        int slot = slotOf(projectId);
+        if (slot < 0) {
+            if ((size + 1) * 2 > keys.length) rehash(keys.length << 1);
+            slot = insert(projectId);
+        }
+        counts[slot * BUCKETS + bucketOf(status)] += count;
+    }
+
+    /**
+     * @return activities of the project with the given status code
+     */
+    public long get(long projectId, char status) {
+        int slot = slotOf(projectId);
+        return slot < 0 ? 0L : counts[slot * BUCKETS + bucketOf(status)];
+    }
+
+    /**
+     * @return activities of the project in the given bucket (0..{@link #OTHER})
+     */
+    public long getBucket(long projectId, int bucket) {
+        int slot = slotOf(projectId);
+        return slot < 0 ? 0L : counts[slot * BUCKETS + bucket];
+    }
+
+    /**
+     * @return all activities of the project, whatever their status
+     */
+    public long total(long projectId) {
+        int slot = slotOf(projectId);
+        if (slot < 0) return 0L;
+        long total = 0L;
+        for (int b = 0, base = slot * BUCKETS; b < BUCKETS; b++) total += counts[base + b];
+        return total;
+    }
+
+    /**
+     * @return activities in the given bucket (0..{@link #OTHER}) across all projects
+     */
+    public long totalForBucket(int bucket) {
+        long total = 0L;
+        for (int slot = 0; slot < keys.length; slot++) {
+            if (keys[slot] != EMPTY) total += counts[slot * BUCKETS + bucket];
+        }
+        return total;
+    }
+
+    public boolean contains(long projectId) {
+        return slotOf(projectId) >= 0;
+    }
+
+    /**
+     * @return number of distinct projects
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return the project ids present, in no particular order
+     */
+    public long[] projectIds() {
+        long[] ids = new long[size];
+        int i = 0;
+        for (long key : keys) if (key != EMPTY) ids[i++] = key;
+        return ids;
+    }
+
+    /**
+     * Maps a status code to its bucket index.
+     *
+     * @param status status code; only the first non-blank character is used
+     * @return index in {@link #STATUSES}, or {@link #OTHER}
+     */
+    public static int bucketOf(String status) {
+        if (status == null || status.isBlank()) return OTHER;
+        return bucketOf(status.trim().charAt(0));
+    }
+
+    private static int bucketOf(char status) {
+        int i = STATUSES.indexOf(Character.toUpperCase(status));
+        return i < 0 ? OTHER : i;
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        Arrays.fill(keys, EMPTY);
+        counts = new long[capacity * BUCKETS];
+        size = 0;
+    }
+
+    private int slotOf(long key) {
+        int mask = keys.length - 1;
+        for (int i = hash(key) & mask; ; i = (i + 1) & mask) {
+            long k = keys[i];
+            if (k == key) return i;
+            if (k == EMPTY) return -1;
+        }
+    }
+
+    private int insert(long key) {
+        int mask = keys.length - 1;
+        int i = hash(key) & mask;
+        while (keys[i] != EMPTY) i = (i + 1) & mask;
+        keys[i] = key;
+        size++;
+        return i;
+    }
+
+    private void rehash(int capacity) {
+        long[] oldKeys = keys;
+        long[] oldCounts = counts;
+        allocate(capacity);
+        for (int slot = 0; slot < oldKeys.length; slot++) {
+            if (oldKeys[slot] == EMPTY) continue;
+            int to = insert(oldKeys[slot]);
+            System.arraycopy(oldCounts, slot * BUCKETS, counts, to * BUCKETS, BUCKETS);
+        }
+    }
+
+    private static int hash(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+}
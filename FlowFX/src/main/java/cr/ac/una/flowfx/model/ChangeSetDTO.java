@@ -0,0 +1,79 @@
+package cr.ac.una.flowfx.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Rows of one entity type created, updated or deleted after a watermark.
+ *
+ * <p>Returned by the {@code getChangesSince} operation. Deleted rows arrive as
+ * tombstones and only their ids are kept. {@code watermark} is the value to
+ * send with the next request; when {@code hasMore} is set the server had more
+ * changes than the requested limit and the next page should be asked for at
+ * once.</p>
+ *
+ * @param <T> the DTO type of the changed rows
+ */
+public class ChangeSetDTO<T> {
+
+    private List<T> changed = new ArrayList<>();
+    private List<Long> deletedIds = new ArrayList<>();
+    private Long watermark;
+    private boolean hasMore;
+
+    /**
+     * Default constructor.
+     */
+    public ChangeSetDTO() {}
+
+    /**
+     * @return rows created or updated after the watermark, oldest first
+     */
+    public List<T> getChanged() {
+        return changed;
+    }
+
+    public void setChanged(List<T> changed) {
+        this.changed = changed != null ? changed : new ArrayList<>();
+    }
+
+    /**
+     * @return ids of the rows deleted after the watermark
+     */
+    public List<Long> getDeletedIds() {
+        return deletedIds;
+    }
+
+    public void setDeletedIds(List<Long> deletedIds) {
+        this.deletedIds = deletedIds != null ? deletedIds : new ArrayList<>();
+    }
+
+    /**
+     * @return the watermark to send with the next request
+     */
+    public Long getWatermark() {
+        return watermark;
+    }
+
+    public void setWatermark(Long watermark) {
+        this.watermark = watermark;
+    }
+
+    /**
+     * @return whether more changes are waiting after this page
+     */
+    public boolean isHasMore() {
+        return hasMore;
+    }
+
+    public void setHasMore(boolean hasMore) {
+        this.hasMore = hasMore;
+    }
+
+    /**
+     * @return whether the page carries no change and no tombstone
+     */
+    public boolean isEmpty() {
+        return changed.isEmpty() && deletedIds.isEmpty();
+    }
+}
@@ -0,0 +1,79 @@
+package cr.ac.una.flowfx.model;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Data Transfer Object for the user dashboard.
+ *
+ * <p>Aggregates everything the main view shows after login: the user's projects,
+ * the latest tracking entry of each project, the most recent activities with the
+ * names of their projects and, when provided by the server, the number of
+ * activities per project.</p>
+ */
+public class DashboardDTO {
+
+    private List<ProjectDTO> projects = new ArrayList<>();
+    private Map<Long, ProjectTrackingDTO> latestTrackings = new HashMap<>();
+    private List<ProjectActivityDTO> recentActivities = new ArrayList<>();
+    private Map<Long, String> projectNames = new HashMap<>();
+    private Map<Long, Long> activityCounts;
+
+    /**
+     * Default constructor.
+     */
+    public DashboardDTO() {}
+
+    public List<ProjectDTO> getProjects() {
+        return projects;
+    }
+
+    public void setProjects(List<ProjectDTO> projects) {
+        this.projects = projects != null ? projects : new ArrayList<>();
+    }
+
+    /**
+     * @return latest tracking entry per project id
+     */
+    public Map<Long, ProjectTrackingDTO> getLatestTrackings() {
+        return latestTrackings;
+    }
+
+    public void setLatestTrackings(Map<Long, ProjectTrackingDTO> latestTrackings) {
+        this.latestTrackings = latestTrackings != null ? latestTrackings : new HashMap<>();
+    }
+
+    public List<ProjectActivityDTO> getRecentActivities() {
+        return recentActivities;
+    }
+
+    public void setRecentActivities(List<ProjectActivityDTO> recentActivities) {
+        this.recentActivities = recentActivities != null ? recentActivities : new ArrayList<>();
+    }
+
+    /**
+     * @return project names by project id, covering every project referenced by
+     *         the recent activities
+     */
+    public Map<Long, String> getProjectNames() {
+        return projectNames;
+    }
+
+    public void setProjectNames(Map<Long, String> projectNames) {
+        this.projectNames = projectNames != null ? projectNames : new HashMap<>();
+    }
+
+    /**
+     * @return activity count per project id, or null when the server did not
+     *         include counts in the dashboard payload
+     */
+    public Map<Long, Long> getActivityCounts() {
+        return activityCounts;
+    }
+
+    public void setActivityCounts(Map<Long, Long> activityCounts) {
+        this.activityCounts = activityCounts;
+    }
+}
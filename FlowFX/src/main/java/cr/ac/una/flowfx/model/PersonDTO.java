@@ -57,6 +57,24 @@ public class PersonDTO {
         this.isAdmin = isAdmin;
     }
 
+    /**
+     * Copy constructor.
+     *
+     * @param other the person to copy
+     */
+    public PersonDTO(PersonDTO other) {
+        this(
+            other.id,
+            other.firstName,
+            other.lastName,
+            other.email,
+            other.username,
+            other.password,
+            other.status,
+            other.isAdmin
+        );
+    }
+
     /**
      * Returns the identifier.
      */
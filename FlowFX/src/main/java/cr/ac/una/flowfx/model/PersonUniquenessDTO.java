@@ -0,0 +1,52 @@
+package cr.ac.una.flowfx.model;
+
+/**
+ * Result of a person uniqueness check.
+ *
+ * <p>Each flag tells whether the value sent for that field already belongs to
+ * a person; it is {@code null} when the field was not part of the check.</p>
+ */
+public class PersonUniquenessDTO {
+
+    private Boolean idTaken;
+    private Boolean emailTaken;
+    private Boolean usernameTaken;
+
+    /**
+     * Default constructor.
+     */
+    public PersonUniquenessDTO() {}
+
+    public Boolean getIdTaken() {
+        return idTaken;
+    }
+
+    public void setIdTaken(Boolean idTaken) {
+        this.idTaken = idTaken;
+    }
+
+    public Boolean getEmailTaken() {
+        return emailTaken;
+    }
+
+    public void setEmailTaken(Boolean emailTaken) {
+        this.emailTaken = emailTaken;
+    }
+
+    public Boolean getUsernameTaken() {
+        return usernameTaken;
+    }
+
+    public void setUsernameTaken(Boolean usernameTaken) {
+        this.usernameTaken = usernameTaken;
+    }
+
+    /**
+     * @return {@code true} when none of the checked values is taken
+     */
+    public boolean isUnique() {
+        return !Boolean.TRUE.equals(idTaken)
+            && !Boolean.TRUE.equals(emailTaken)
+            && !Boolean.TRUE.equals(usernameTaken);
+    }
+}
@@ -121,6 +121,32 @@ public class ProjectActivityDTO {
         );
     }
 
+    /**
+     * Copy constructor. Dates are copied too, so the copy shares no mutable
+     * state with {@code other}.
+     */
+    public ProjectActivityDTO(ProjectActivityDTO other) {
+        this(
+            other.id,
+            other.projectId,
+            other.description,
+            other.status,
+            other.executionOrder,
+            copy(other.plannedStartDate),
+            copy(other.plannedEndDate),
+            copy(other.actualStartDate),
+            copy(other.actualEndDate),
+            copy(other.createdAt),
+            copy(other.updatedAt)
+        );
+        this.responsibleId = other.responsibleId;
+        this.createdById = other.createdById;
+    }
+
+    private static Date copy(Date date) {
+        return date == null ? null : new Date(date.getTime());
+    }
+
     // --- Getters / Setters ---
 
     public Long getId() {
@@ -87,6 +87,31 @@ public class ProjectDTO {
         this.sponsorId = sponsorId;
     }
 
+    /**
+     * Copy constructor. Dates are copied too, so the copy shares no mutable
+     * state with {@code other}.
+     */
+    public ProjectDTO(ProjectDTO other) {
+        this(
+            other.id,
+            other.name,
+            copy(other.plannedStartDate),
+            copy(other.plannedEndDate),
+            copy(other.actualStartDate),
+            copy(other.actualEndDate),
+            other.status,
+            copy(other.createdAt),
+            copy(other.updatedAt),
+            other.leaderUserId,
+            other.techLeaderId,
+            other.sponsorId
+        );
+    }
+
+    private static Date copy(Date date) {
+        return date == null ? null : new Date(date.getTime());
+    }
+
     /** Identifier. */
     public Long getId() {
         return id;
@@ -80,6 +80,10 @@ public class ProjectTracking implements Serializable {
     @Temporal(TemporalType.TIMESTAMP)
     private Date createdAt;
 
+    @Column(name = "UPDATED_AT")
+    @Temporal(TemporalType.TIMESTAMP)
+    private Date updatedAt;
+
     @JoinColumn(name = "CREATED_BY", referencedColumnName = "PER_ID")
     @ManyToOne(optional = false, fetch = FetchType.LAZY)
     private Person createdBy;
@@ -154,6 +158,14 @@ public class ProjectTracking implements Serializable {
         this.createdAt = createdAt;
     }
 
+    public Date getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(Date updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
     public Person getCreatedBy() {
         return createdBy;
     }
@@ -0,0 +1,594 @@
+package cr.ac.una.flowfx.service;
+
+import cr.ac.una.flowfx.service.BulkTransferService.Column;
+import cr.ac.una.flowfx.service.BulkTransferService.ColumnType;
+import cr.ac.una.flowfx.service.BulkTransferService.Table;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * File formats of the bulk transfer: CSV files in a zip archive, and a
+ * columnar file.
+ *
+ * <p>Both hold the four tables of {@link Table} with their values in the
+ * canonical text form of {@link BulkTransferService}, {@code null} for an
+ * empty cell. Writers and readers stream: CSV keeps one row in memory, the
+ * columnar format one row group of {@value #ROW_GROUP_SIZE} rows.</p>
+ *
+ * <p><strong>CSV archive ({@code .zip}).</strong> One RFC&nbsp;4180 file per
+ * table ({@code people.csv}, {@code projects.csv}, {@code activities.csv},
+ * {@code trackings.csv}), UTF-8, with a header row of column names. Fields
+ * holding a comma, quote or line break are quoted. Empty fields are read as
+ * {@code null}. Columns are matched by name, so BI tools may reorder them.</p>
+ *
+ * <p><strong>Columnar file ({@code .fxcol}).</strong> The magic
+ * {@code FXCOL} and a version byte, then a GZIP stream of:</p>
+ * <pre>
+ * per table:  'T', entity type, column count, (name, type ordinal) per column
+ *             row groups: row count, then column after column:
+ *               presence bitmap, one bit per row
+ *               values of the present cells:
+ *                 LONG, TIMESTAMP  zigzag varint of the difference to the previous value
+ *                 DECIMAL          8-byte double
+ *                 TEXT             varint byte length and UTF-8 bytes
+ *             row count 0 ends the table
+ * 'E' ends the file
+ * </pre>
+ * <p>Storing a column's values together makes ids, dates and status codes
+ * runs of similar bytes, so the file is several times smaller than the CSV
+ * archive and typed, which makes it the format to move data between
+ * environments.</p>
+ *
+ * @author FlowFX Development Team
+ * @version 1.0
+ * @since 3.0
+ */
+final class BulkFiles {
+
+    /** Rows buffered per row group of the columnar format. */
+    static final int ROW_GROUP_SIZE = 4096;
+
+    private static final byte[] MAGIC = "FXCOL".getBytes(StandardCharsets.US_ASCII);
+    private static final int VERSION = 1;
+    private static final int TABLE_MARK = 'T';
+    private static final int END_MARK = 'E';
+
+    private BulkFiles() {
+        throw new UnsupportedOperationException(
+            "This is a utility class and cannot be instantiated"
+        );
+    }
+
+    /**
+     * Receives the tables of an export, one after the other.
+     */
+    interface TableWriter extends Closeable {
+        void startTable(Table table) throws IOException;
+
+        void row(String[] values) throws IOException;
+
+        void endTable() throws IOException;
+    }
+
+    /**
+     * Rows of one table being imported.
+     */
+    interface TableReader {
+        /**
+         * @return column names in file order
+         */
+        List<String> columns();
+
+        /**
+         * @return the next row in file order, or {@code null} at the end of the table
+         */
+        String[] next() throws IOException;
+
+        /**
+         * @return where the last row came from, for error messages
+         */
+        String position();
+    }
+
+    /**
+     * The tables of an import file.
+     */
+    interface TableSource extends Closeable {
+        /**
+         * Opens a table, or returns {@code null} when the file does not hold it.
+         * Tables are opened in {@link Table} order.
+         */
+        TableReader open(Table table) throws IOException;
+    }
+
+    static TableWriter writer(Path file, BulkTransferService.Format format) throws IOException {
+        return format == BulkTransferService.Format.COLUMNAR
+            ? new ColumnarWriter(Files.newOutputStream(file))
+            : new CsvZipWriter(Files.newOutputStream(file));
+    }
+
+    static TableSource source(Path file, BulkTransferService.Format format) throws IOException {
+        return format == BulkTransferService.Format.COLUMNAR
+            ? new ColumnarSource(Files.newInputStream(file))
+            : new CsvZipSource(file);
+    }
+
+    // ======== CSV archive ========
+
+    private static final class CsvZipWriter implements TableWriter {
+
+        private final ZipOutputStream zip;
+        private final Writer out;
+
+        CsvZipWriter(OutputStream target) {
+            zip = new ZipOutputStream(new BufferedOutputStream(target));
+            out = new BufferedWriter(new OutputStreamWriter(zip, StandardCharsets.UTF_8));
+        }
+
+        @Override
+        public void startTable(Table table) throws IOException {
+            zip.putNextEntry(new ZipEntry(table.fileName() + ".csv"));
+            List<Column> columns = table.columns();
+            String[] header = new String[columns.size()];
+            for (int i = 0; i < header.length; i++) header[i] = columns.get(i).name();
+            row(header);
+        }
+
+        @Override
+        public void row(String[] values) throws IOException {
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) out.write(',');
+                writeField(values[i]);
+            }
+            out.write("\r\n");
+        }
+
+        private void writeField(String value) throws IOException {
+            if (value == null) return;
+            // Quoting keeps an empty string apart from null
+            boolean quote = value.isEmpty();
+            for (int i = 0; i < value.length() && !quote; i++) {
+                char c = value.charAt(i);
+                quote = c == ',' || c == '"' || c == '\r' || c == '\n';
+            }
+            if (!quote) {
+                out.write(value);
+                return;
+            }
+            out.write('"');
+            out.write(value.replace("\"", "\"\""));
+            out.write('"');
+        }
+
+        @Override
+        public void endTable() throws IOException {
+            out.flush();
+            zip.closeEntry();
+        }
+
+        @Override
+        public void close() throws IOException {
+            out.close();
+        }
+    }
+
+    private static final class CsvZipSource implements TableSource {
+
+        private final ZipFile zip;
+        private InputStream current;
+
+        CsvZipSource(Path file) throws IOException {
+            zip = new ZipFile(file.toFile(), StandardCharsets.UTF_8);
+        }
+
+        @Override
+        public TableReader open(Table table) throws IOException {
+            if (current != null) current.close();
+            current = null;
+            String name = table.fileName() + ".csv";
+            ZipEntry entry = zip.getEntry(name);
+            if (entry == null) return null;
+            current = zip.getInputStream(entry);
+            CsvReader reader = new CsvReader(
+                new BufferedReader(new InputStreamReader(current, StandardCharsets.UTF_8)),
+                name
+            );
+            String[] header = reader.next();
+            if (header == null) return null;
+            if (header.length > 0 && header[0] != null && header[0].startsWith("\uFEFF")) {
+                // Byte order mark left by spreadsheet editors
+                header[0] = header[0].substring(1);
+            }
+            List<String> columns = new ArrayList<>(header.length);
+            for (String h : header) columns.add(h == null ? "" : h.trim());
+            reader.columns = columns;
+            return reader;
+        }
+
+        @Override
+        public void close() throws IOException {
+            zip.close();
+        }
+    }
+
+    /**
+     * RFC 4180 reader; quoted fields may span lines.
+     */
+    private static final class CsvReader implements TableReader {
+
+        private final Reader in;
+        private final String name;
+        private final StringBuilder field = new StringBuilder();
+        private final List<String> fields = new ArrayList<>();
+        private List<String> columns = List.of();
+        private long line = 1;
+        private long rowLine;
+        private int pending = -2;
+
+        CsvReader(Reader in, String name) {
+            this.in = in;
+            this.name = name;
+        }
+
+        @Override
+        public List<String> columns() {
+            return columns;
+        }
+
+        @Override
+        public String position() {
+            return name + ":" + rowLine;
+        }
+
+        private int read() throws IOException {
+            if (pending != -2) {
+                int c = pending;
+                pending = -2;
+                return c;
+            }
+            return in.read();
+        }
+
+        @Override
+        public String[] next() throws IOException {
+            int c = read();
+            // Skip blank lines between records
+            while (c == '\r' || c == '\n') {
+                if (c == '\n') line++;
+                c = read();
+            }
+            if (c == -1) return null;
+            rowLine = line;
+            fields.clear();
+            field.setLength(0);
+            boolean quoted = false;
+            boolean wasQuoted = false;
+            while (true) {
+                if (quoted) {
+                    if (c == -1) throw new EOFException(name + ":" + rowLine + ": unterminated quoted field");
+                    if (c == '"') {
+                        int n = read();
+                        if (n == '"') {
+                            field.append('"');
+                        } else {
+                            quoted = false;
+                            c = n;
+                            continue;
+                        }
+                    } else {
+                        if (c == '\n') line++;
+                        field.append((char) c);
+                    }
+                } else if (c == ',') {
+                    endField(wasQuoted);
+                    wasQuoted = false;
+                } else if (c == '\r' || c == '\n' || c == -1) {
+                    if (c == '\r') {
+                        int n = read();
+                        if (n != '\n') pending = n;
+                    }
+                    if (c != -1) line++;
+                    endField(wasQuoted);
+                    return fields.toArray(new String[0]);
+                } else if (c == '"' && field.length() == 0 && !wasQuoted) {
+                    quoted = true;
+                    wasQuoted = true;
+                } else {
+                    field.append((char) c);
+                }
+                c = read();
+            }
+        }
+
+        private void endField(boolean wasQuoted) {
+            // An unquoted empty field is null; "" is an empty string
+            fields.add(field.length() == 0 && !wasQuoted ? null : field.toString());
+            field.setLength(0);
+        }
+    }
+
+    // ======== Columnar file ========
+
+    private static final class ColumnarWriter implements TableWriter {
+
+        private final DataOutputStream out;
+        private ColumnType[] types;
+        private String[][] group;
+        private int rows;
+
+        ColumnarWriter(OutputStream target) throws IOException {
+            OutputStream buffered = new BufferedOutputStream(target);
+            buffered.write(MAGIC);
+            buffered.write(VERSION);
+            out = new DataOutputStream(new BufferedOutputStream(new GZIPOutputStream(buffered, 1 << 16)));
+        }
+
+        @Override
+        public void startTable(Table table) throws IOException {
+            List<Column> columns = table.columns();
+            out.writeByte(TABLE_MARK);
+            out.writeUTF(table.entityType());
+            out.writeInt(columns.size());
+            types = new ColumnType[columns.size()];
+            for (int i = 0; i < types.length; i++) {
+                types[i] = columns.get(i).type();
+                out.writeUTF(columns.get(i).name());
+                out.writeByte(types[i].ordinal());
+            }
+            group = new String[types.length][ROW_GROUP_SIZE];
+            rows = 0;
+        }
+
+        @Override
+        public void row(String[] values) throws IOException {
+            for (int c = 0; c < types.length; c++) group[c][rows] = values[c];
+            if (++rows == ROW_GROUP_SIZE) flushGroup();
+        }
+
+        private void flushGroup() throws IOException {
+            if (rows == 0) return;
+            out.writeInt(rows);
+            byte[] present = new byte[(rows + 7) / 8];
+            for (int c = 0; c < types.length; c++) {
+                String[] column = group[c];
+                Arrays.fill(present, (byte) 0);
+                for (int r = 0; r < rows; r++) {
+                    if (column[r] != null) present[r >> 3] |= (byte) (1 << (r & 7));
+                }
+                out.write(present);
+                long previous = 0;
+                for (int r = 0; r < rows; r++) {
+                    String value = column[r];
+                    if (value == null) continue;
+                    switch (types[c]) {
+                        case LONG, TIMESTAMP -> {
+                            long v = types[c] == ColumnType.LONG
+                                ? Long.parseLong(value)
+                                : Instant.parse(value).toEpochMilli();
+                            writeVarLong(out, zigzag(v - previous));
+                            previous = v;
+                        }
+                        case DECIMAL -> out.writeDouble(Double.parseDouble(value));
+                        case TEXT -> {
+                            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+                            writeVarLong(out, bytes.length);
+                            out.write(bytes);
+                        }
+                    }
+                }
+                Arrays.fill(column, 0, rows, null);
+            }
+            rows = 0;
+        }
+
+        @Override
+        public void endTable() throws IOException {
+            flushGroup();
+            out.writeInt(0);
+            group = null;
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                out.writeByte(END_MARK);
+            } finally {
+                out.close();
+            }
+        }
+    }
+
+    private static final class ColumnarSource implements TableSource {
+
+        private final DataInputStream in;
+        // A table read ahead while looking for an earlier one
+        private String aheadType;
+        private boolean ended;
+
+        ColumnarSource(InputStream source) throws IOException {
+            InputStream buffered = new BufferedInputStream(source);
+            byte[] magic = buffered.readNBytes(MAGIC.length);
+            int version = buffered.read();
+            if (!Arrays.equals(magic, MAGIC) || version != VERSION) {
+                buffered.close();
+                throw new IOException("Not a FlowFX columnar file (version " + VERSION + ")");
+            }
+            in = new DataInputStream(new BufferedInputStream(new GZIPInputStream(buffered, 1 << 16)));
+        }
+
+        @Override
+        public TableReader open(Table table) throws IOException {
+            // Tables are written in Table order, so a later one means this one is absent
+            while (true) {
+                String type = aheadType != null ? aheadType : nextTableType();
+                if (type == null) return null;
+                Table found = Table.of(type);
+                if (found == table) {
+                    aheadType = null;
+                    return new ColumnarReader(in, type);
+                }
+                if (found != null && found.ordinal() > table.ordinal()) {
+                    aheadType = type;
+                    return null;
+                }
+                // Unknown table: read its schema and skip its rows
+                aheadType = null;
+                ColumnarReader skipped = new ColumnarReader(in, type);
+                while (skipped.next() != null) {
+                    // discard
+                }
+            }
+        }
+
+        private String nextTableType() throws IOException {
+            if (ended) return null;
+            int mark = in.readUnsignedByte();
+            if (mark == END_MARK) {
+                ended = true;
+                return null;
+            }
+            if (mark != TABLE_MARK) throw new IOException("Corrupt columnar file: unexpected mark " + mark);
+            return in.readUTF();
+        }
+
+        @Override
+        public void close() throws IOException {
+            in.close();
+        }
+    }
+
+    private static final class ColumnarReader implements TableReader {
+
+        private final DataInputStream in;
+        private final String entityType;
+        private final List<String> columns;
+        private final ColumnType[] types;
+        private String[][] group;
+        private int rows;
+        private int cursor;
+        private long rowNumber;
+        private boolean done;
+
+        ColumnarReader(DataInputStream in, String entityType) throws IOException {
+            this.in = in;
+            this.entityType = entityType;
+            int count = in.readInt();
+            columns = new ArrayList<>(count);
+            types = new ColumnType[count];
+            ColumnType[] all = ColumnType.values();
+            for (int i = 0; i < count; i++) {
+                columns.add(in.readUTF());
+                int ordinal = in.readUnsignedByte();
+                if (ordinal >= all.length) throw new IOException("Unknown column type " + ordinal);
+                types[i] = all[ordinal];
+            }
+        }
+
+        @Override
+        public List<String> columns() {
+            return columns;
+        }
+
+        @Override
+        public String position() {
+            return entityType + " row " + rowNumber;
+        }
+
+        @Override
+        public String[] next() throws IOException {
+            if (cursor == rows) {
+                if (done || !readGroup()) return null;
+            }
+            String[] row = new String[types.length];
+            for (int c = 0; c < types.length; c++) row[c] = group[c][cursor];
+            cursor++;
+            rowNumber++;
+            return row;
+        }
+
+        private boolean readGroup() throws IOException {
+            int count = in.readInt();
+            if (count <= 0) {
+                done = true;
+                return false;
+            }
+            if (count > ROW_GROUP_SIZE * 16) throw new IOException("Corrupt columnar file: row group of " + count);
+            if (group == null || group[0].length < count) group = new String[types.length][count];
+            byte[] present = new byte[(count + 7) / 8];
+            for (int c = 0; c < types.length; c++) {
+                in.readFully(present);
+                long previous = 0;
+                for (int r = 0; r < count; r++) {
+                    if ((present[r >> 3] & (1 << (r & 7))) == 0) {
+                        group[c][r] = null;
+                        continue;
+                    }
+                    group[c][r] = switch (types[c]) {
+                        case LONG -> String.valueOf(previous += unzigzag(readVarLong(in)));
+                        case TIMESTAMP -> Instant.ofEpochMilli(previous += unzigzag(readVarLong(in))).toString();
+                        case DECIMAL -> BulkTransferService.formatDecimal(in.readDouble());
+                        case TEXT -> {
+                            long length = readVarLong(in);
+                            if (length > Integer.MAX_VALUE) throw new IOException("Corrupt columnar file: text of " + length + " bytes");
+                            yield new String(in.readNBytes((int) length), StandardCharsets.UTF_8);
+                        }
+                    };
+                }
+            }
+            rows = count;
+            cursor = 0;
+            return true;
+        }
+    }
+
+    private static long zigzag(long v) {
+        return (v << 1) ^ (v >> 63);
+    }
+
+    private static long unzigzag(long v) {
+        return (v >>> 1) ^ -(v & 1);
+    }
+
+    private static void writeVarLong(DataOutputStream out, long v) throws IOException {
+        while ((v & ~0x7FL) != 0) {
+            out.writeByte((int) ((v & 0x7F) | 0x80));
+            v >>>= 7;
+        }
+        out.writeByte((int) v);
+    }
+
+    private static long readVarLong(DataInputStream in) throws IOException {
+        long v = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = in.readUnsignedByte();
+            v |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) return v;
+        }
+        throw new IOException("Corrupt columnar file: varint too long");
+    }
+}
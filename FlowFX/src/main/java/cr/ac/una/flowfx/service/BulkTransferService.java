@@ -0,0 +1,772 @@
+package cr.ac.una.flowfx.service;
+
+import cr.ac.una.flowfx.model.ChangeSetDTO;
+import cr.ac.una.flowfx.model.PersonDTO;
+import cr.ac.una.flowfx.model.ProjectActivityDTO;
+import cr.ac.una.flowfx.model.ProjectDTO;
+import cr.ac.una.flowfx.model.ProjectTrackingDTO;
+import cr.ac.una.flowfx.util.AsyncTasks;
+import cr.ac.una.flowfx.util.JsonStreamDecoder;
+import cr.ac.una.flowfx.util.Respuesta;
+import cr.ac.una.flowfx.ws.FlowFXWS;
+import cr.ac.una.flowfx.ws.ImportRow;
+import jakarta.json.JsonException;
+import jakarta.json.stream.JsonParser;
+import jakarta.json.stream.JsonParser.Event;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Moves people, projects, activities and trackings in bulk between a FlowFX
+ * server and a file, for BI tooling or for copying data between environments.
+ *
+ * <p><strong>Export</strong> reads each table with the keyset-paged
+ * {@code getChangesSince} operation of {@link SyncService}, starting from a
+ * {@code null} watermark, {@value #EXPORT_PAGE_SIZE} rows per page, and
+ * writes the rows as they arrive. Passwords are never exported. A row edited
+ * while the export runs may appear twice; the later copy is the newer one,
+ * and the import keeps the last one.</p>
+ *
+ * <p><strong>Import</strong> reads the tables in dependency order (people,
+ * projects, activities, trackings), checks every row against the constraints
+ * of the schema (required values, lengths, status codes, date order,
+ * progress range) and sends the valid rows with the {@code importRows}
+ * operation in batches of {@value #IMPORT_BATCH_SIZE}. The server upserts
+ * each batch in one statement per table, keyed by id, so ids and the
+ * relations between rows are kept and a repeated import updates instead of
+ * duplicating. Imported people without an account in the target must set a
+ * password before they can log in. While a batch is being stored the next one
+ * is read and checked; a table's last batch is stored before the next table
+ * starts, so referenced rows always exist first. Rejected rows, locally or
+ * by the server, are counted and reported, and do not stop the import.</p>
+ *
+ * <p>Both directions stream: memory holds one page, one batch or one row
+ * group, whatever the size of the tables. Progress is reported every
+ * {@value #PROGRESS_INTERVAL} rows with the throughput in rows per second. An
+ * interrupted thread stops the transfer; an export then leaves no file, an
+ * import keeps the batches already stored.</p>
+ *
+ * <p>Values travel in a canonical text form: integers in decimal, decimals
+ * without trailing zeros, timestamps as ISO-8601 UTC instants
+ * ({@code 2025-03-01T06:00:00Z}). The import also accepts local dates and
+ * date-times, read in the system time zone, as a spreadsheet would write
+ * them. Expected {@code importRows} {@code mensajeInterno} shape:</p>
+ * <pre>
+ * { "inserted": 480, "updated": 18,
+ *   "rejected": [ { "row": 3, "message": "project 77 does not exist" } ] }
+ * </pre>
+ * <p>where {@code row} is the zero-based position in the batch.</p>
+ *
+ * @author FlowFX Development Team
+ * @version 1.0
+ * @since 3.0
+ */
+public class BulkTransferService {
+
+    private static final Logger LOG = Logger.getLogger(
+        BulkTransferService.class.getName()
+    );
+
+    static final int EXPORT_PAGE_SIZE = 1000;
+    static final int IMPORT_BATCH_SIZE = 500;
+    static final int PROGRESS_INTERVAL = 1000;
+    // Rejections listed in the result; the rest are only counted
+    private static final int MAX_ERRORS = 50;
+
+    /** Result keys of {@link #exportTo} and {@link #importFrom}. */
+    public static final String ROWS_KEY = "Rows";
+    public static final String REJECTED_KEY = "Rejected";
+    public static final String ERRORS_KEY = "Errors";
+    public static final String ROWS_PER_SECOND_KEY = "RowsPerSecond";
+
+    /**
+     * File format, chosen by extension.
+     */
+    public enum Format {
+        /** A zip archive with one CSV file per table. */
+        CSV(".zip"),
+        /** A compressed columnar file. */
+        COLUMNAR(".fxcol");
+
+        private final String extension;
+
+        Format(String extension) {
+            this.extension = extension;
+        }
+
+        /**
+         * @return the file extension, with its dot
+         */
+        public String getExtension() {
+            return extension;
+        }
+
+        /**
+         * @param file a transfer file
+         * @return the format of the file, or {@code null} for an unknown extension
+         */
+        public static Format of(Path file) {
+            String name = file.getFileName().toString().toLowerCase(Locale.ROOT);
+            for (Format f : values()) {
+                if (name.endsWith(f.extension)) return f;
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Storage type of a column.
+     */
+    public enum ColumnType {
+        LONG,
+        DECIMAL,
+        TEXT,
+        TIMESTAMP
+    }
+
+    /**
+     * One column of a transferred table, with the constraints checked on import.
+     *
+     * @param name      column name in the files
+     * @param type      storage type
+     * @param required  whether a value is mandatory
+     * @param maxLength longest accepted text, 0 for no limit
+     * @param allowed   accepted codes, empty for any value
+     */
+    public record Column(String name, ColumnType type, boolean required, int maxLength, Set<String> allowed) {
+
+        static Column number(String name, boolean required) {
+            return new Column(name, ColumnType.LONG, required, 0, Set.of());
+        }
+
+        static Column decimal(String name, boolean required) {
+            return new Column(name, ColumnType.DECIMAL, required, 0, Set.of());
+        }
+
+        static Column text(String name, int maxLength, boolean required) {
+            return new Column(name, ColumnType.TEXT, required, maxLength, Set.of());
+        }
+
+        static Column code(String name, String... allowed) {
+            return new Column(name, ColumnType.TEXT, true, 1, Set.of(allowed));
+        }
+
+        static Column timestamp(String name, boolean required) {
+            return new Column(name, ColumnType.TIMESTAMP, required, 0, Set.of());
+        }
+    }
+
+    /**
+     * The transferred tables, in dependency order.
+     */
+    public enum Table {
+        PEOPLE(
+            "person",
+            "people",
+            List.of(
+                Column.number("id", true),
+                Column.text("first_name", 50, true),
+                Column.text("last_name", 50, true),
+                Column.text("email", 250, true),
+                Column.text("username", 50, false),
+                Column.code("status", "A", "I"),
+                Column.code("is_admin", "N", "Y")
+            ),
+            o -> {
+                PersonDTO p = (PersonDTO) o;
+                return new Object[] {
+                    p.getId(), p.getFirstName(), p.getLastName(), p.getEmail(),
+                    p.getUsername(), p.getStatus(), p.getIsAdmin()
+                };
+            }
+        ),
+        PROJECTS(
+            "project",
+            "projects",
+            List.of(
+                Column.number("id", true),
+                Column.text("name", 100, true),
+                Column.code("status", "C", "P", "R", "S"),
+                Column.number("sponsor_id", true),
+                Column.number("leader_user_id", true),
+                Column.number("tech_leader_id", true),
+                Column.timestamp("planned_start_date", true),
+                Column.timestamp("planned_end_date", true),
+                Column.timestamp("actual_start_date", false),
+                Column.timestamp("actual_end_date", false),
+                Column.timestamp("created_at", false),
+                Column.timestamp("updated_at", false)
+            ),
+            o -> {
+                ProjectDTO p = (ProjectDTO) o;
+                return new Object[] {
+                    p.getId(), p.getName(), p.getStatus(), p.getSponsorId(),
+                    p.getLeaderUserId(), p.getTechLeaderId(),
+                    p.getPlannedStartDate(), p.getPlannedEndDate(),
+                    p.getActualStartDate(), p.getActualEndDate(),
+                    p.getCreatedAt(), p.getUpdatedAt()
+                };
+            }
+        ),
+        ACTIVITIES(
+            "project_activity",
+            "activities",
+            List.of(
+                Column.number("id", true),
+                Column.number("project_id", true),
+                Column.text("description", 500, true),
+                Column.code("status", "C", "D", "P", "R"),
+                Column.number("responsible_id", true),
+                Column.number("created_by", true),
+                Column.number("execution_order", true),
+                Column.timestamp("planned_start_date", true),
+                Column.timestamp("planned_end_date", true),
+                Column.timestamp("actual_start_date", false),
+                Column.timestamp("actual_end_date", false),
+                Column.timestamp("created_at", false),
+                Column.timestamp("updated_at", false)
+            ),
+            o -> {
+                ProjectActivityDTO a = (ProjectActivityDTO) o;
+                return new Object[] {
+                    a.getId(), a.getProjectId(), a.getDescription(), a.getStatus(),
+                    a.getResponsibleId(), a.getCreatedById(), a.getExecutionOrder(),
+                    a.getPlannedStartDate(), a.getPlannedEndDate(),
+                    a.getActualStartDate(), a.getActualEndDate(),
+                    a.getCreatedAt(), a.getUpdatedAt()
+                };
+            }
+        ),
+        TRACKINGS(
+            "project_tracking",
+            "trackings",
+            List.of(
+                Column.number("id", true),
+                Column.number("project_id", true),
+                Column.number("created_by", true),
+                Column.text("observations", 1000, true),
+                Column.decimal("progress_percentage", true),
+                Column.timestamp("tracking_date", true),
+                Column.timestamp("created_at", false)
+            ),
+            o -> {
+                ProjectTrackingDTO t = (ProjectTrackingDTO) o;
+                return new Object[] {
+                    t.getId(), t.getProjectId(), t.getCreatedBy(), t.getObservations(),
+                    t.getProgressPercentage(), t.getTrackingDate(), t.getCreatedAt()
+                };
+            }
+        );
+
+        private final String entityType;
+        private final String fileName;
+        private final List<Column> columns;
+        private final Function<Object, Object[]> values;
+
+        Table(String entityType, String fileName, List<Column> columns, Function<Object, Object[]> values) {
+            this.entityType = entityType;
+            this.fileName = fileName;
+            this.columns = columns;
+            this.values = values;
+        }
+
+        /**
+         * @return the table name used by the web service
+         */
+        public String entityType() {
+            return entityType;
+        }
+
+        /**
+         * @return the file name of the table, without extension
+         */
+        public String fileName() {
+            return fileName;
+        }
+
+        /**
+         * @return the columns of the table, in file order
+         */
+        public List<Column> columns() {
+            return columns;
+        }
+
+        int indexOf(String column) {
+            for (int i = 0; i < columns.size(); i++) {
+                if (columns.get(i).name().equals(column)) return i;
+            }
+            return -1;
+        }
+
+        static Table of(String entityType) {
+            for (Table t : values()) {
+                if (t.entityType.equals(entityType)) return t;
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Progress of a running transfer.
+     *
+     * @param table         file name of the table being transferred
+     * @param rows          rows transferred so far, all tables included
+     * @param rejected      rows rejected so far
+     * @param rowsPerSecond rows transferred per second since the start
+     */
+    public record Progress(String table, long rows, long rejected, double rowsPerSecond) {}
+
+    /**
+     * One row of the {@code rejected} array of an {@code importRows} answer.
+     */
+    private static final class Rejection {
+
+        Integer row;
+        String message;
+    }
+
+    private static final JsonStreamDecoder<Rejection> REJECTION_DECODER =
+        JsonStreamDecoder.<Rejection>builder(Rejection::new)
+            .integer((r, v) -> r.row = v, "row", "index")
+            .string((r, v) -> r.message = v, "message", "error", "mensaje")
+            .build();
+
+    // ======== Export ========
+
+    /**
+     * Exports every table to a file, replacing it. Blocks until done.
+     *
+     * @param target   the file to write; its extension selects the {@link Format}
+     * @param progress receives the progress on the calling thread (may be null)
+     * @return a Respuesta with the number of rows under {@code Rows} and the
+     *         throughput under {@code RowsPerSecond}
+     */
+    public Respuesta exportTo(Path target, Consumer<Progress> progress) {
+        Format format = Format.of(target);
+        if (format == null) {
+            return new Respuesta(false, "Unsupported file type: " + target.getFileName(), "bulk.format.invalid");
+        }
+        Meter meter = new Meter(progress);
+        Path partial = null;
+        try {
+            Path absolute = target.toAbsolutePath();
+            partial = Files.createTempFile(absolute.getParent(), ".flowfx-export-", format.getExtension() + ".part");
+            SyncService sync = SyncService.getInstance();
+            try (BulkFiles.TableWriter writer = BulkFiles.writer(partial, format)) {
+                for (Table table : Table.values()) {
+                    meter.table = table.fileName();
+                    writer.startTable(table);
+                    Long watermark = null;
+                    while (true) {
+                        Respuesta r = sync.findChangesSince(table.entityType(), watermark, EXPORT_PAGE_SIZE);
+                        if (!Boolean.TRUE.equals(r.getEstado())) return r;
+                        ChangeSetDTO<?> page = (ChangeSetDTO<?>) r.getResultado("ChangeSet");
+                        for (Object row : page.getChanged()) {
+                            writer.row(format(table, row));
+                            meter.row();
+                        }
+                        if (!page.isHasMore() || page.getWatermark() == null) break;
+                        watermark = page.getWatermark();
+                    }
+                    writer.endTable();
+                    meter.report();
+                }
+            }
+            moveIntoPlace(partial, absolute);
+            LOG.log(
+                Level.INFO,
+                "Exported {0} rows to {1} at {2} rows/s",
+                new Object[] { meter.rows, absolute, Math.round(meter.rate()) }
+            );
+            return meter.result("Export completed.");
+        } catch (CancellationException ex) {
+            return new Respuesta(false, "Export cancelled.", "bulk.export.cancelled");
+        } catch (Exception ex) {
+            if (Thread.currentThread().isInterrupted()) {
+                return new Respuesta(false, "Export cancelled.", "bulk.export.cancelled");
+            }
+            LOG.log(Level.SEVERE, "Error exporting to " + target, ex);
+            return new Respuesta(false, "Error exporting data.", "bulk.export " + ex.getMessage());
+        } finally {
+            if (partial != null) {
+                try {
+                    Files.deleteIfExists(partial);
+                } catch (IOException ex) {
+                    LOG.log(Level.FINE, "Could not delete " + partial, ex);
+                }
+            }
+        }
+    }
+
+    private static String[] format(Table table, Object dto) {
+        Object[] values = table.values.apply(dto);
+        String[] out = new String[values.length];
+        for (int i = 0; i < values.length; i++) {
+            Object v = values[i];
+            if (v == null) {
+                out[i] = null;
+            } else if (v instanceof Date d) {
+                out[i] = Instant.ofEpochMilli(d.getTime()).toString();
+            } else if (v instanceof Double d) {
+                out[i] = formatDecimal(d);
+            } else {
+                out[i] = v.toString();
+            }
+        }
+        return out;
+    }
+
+    static String formatDecimal(double value) {
+        return BigDecimal.valueOf(value).stripTrailingZeros().toPlainString();
+    }
+
+    private static void moveIntoPlace(Path source, Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException ex) {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    // ======== Import ========
+
+    /**
+     * Imports the tables found in a file. Blocks until done.
+     *
+     * @param source   the file to read; its extension selects the {@link Format}
+     * @param progress receives the progress on the calling thread (may be null)
+     * @return a Respuesta with the rows stored under {@code Rows}, the rows
+     *         rejected under {@code Rejected}, the first rejection messages
+     *         under {@code Errors} and the throughput under {@code RowsPerSecond}
+     */
+    public Respuesta importFrom(Path source, Consumer<Progress> progress) {
+        Format format = Format.of(source);
+        if (format == null) {
+            return new Respuesta(false, "Unsupported file type: " + source.getFileName(), "bulk.format.invalid");
+        }
+        FlowFXWS port = FlowFXWSPortProvider.getInstance().getPort();
+        if (port == null) {
+            return new Respuesta(false, "Web service port is not available.", "ws.port.null");
+        }
+        Meter meter = new Meter(progress);
+        Batch inFlight = null;
+        try (BulkFiles.TableSource tables = BulkFiles.source(source, format)) {
+            for (Table table : Table.values()) {
+                BulkFiles.TableReader reader = tables.open(table);
+                if (reader == null) continue;
+                meter.table = table.fileName();
+                int[] mapping = mapColumns(table, reader.columns());
+                Batch batch = new Batch(table);
+                String[] raw;
+                while ((raw = reader.next()) != null) {
+                    meter.checkCancelled();
+                    String[] row = new String[mapping.length];
+                    String error = normalize(table, mapping, raw, row);
+                    if (error != null) {
+                        meter.reject(reader.position() + ": " + error);
+                        continue;
+                    }
+                    batch.add(row, reader.position());
+                    if (batch.size() == IMPORT_BATCH_SIZE) {
+                        // Store this batch while the next one is read
+                        if (inFlight != null) inFlight.await(meter);
+                        inFlight = batch.send(port);
+                        batch = new Batch(table);
+                    }
+                }
+                if (inFlight != null) inFlight.await(meter);
+                inFlight = batch.size() > 0 ? batch.send(port) : null;
+                if (inFlight != null) inFlight.await(meter);
+                inFlight = null;
+                meter.report();
+            }
+            LOG.log(
+                Level.INFO,
+                "Imported {0} rows from {1} at {2} rows/s, {3} rejected",
+                new Object[] { meter.rows, source, Math.round(meter.rate()), meter.rejected }
+            );
+            return meter.result("Import completed.");
+        } catch (CancellationException | InterruptedException ex) {
+            return meter.result("Import cancelled.", false);
+        } catch (IllegalArgumentException ex) {
+            return new Respuesta(false, ex.getMessage(), "bulk.import.columns");
+        } catch (Exception ex) {
+            LOG.log(Level.SEVERE, "Error importing from " + source, ex);
+            Respuesta r = meter.result("Error importing data.", false);
+            r.setMensajeInterno("bulk.import " + ex.getMessage());
+            return r;
+        } finally {
+            if (inFlight != null) inFlight.future.cancel(true);
+        }
+    }
+
+    /**
+     * Maps each column of the table to its position in the file, -1 when absent.
+     *
+     * @throws IllegalArgumentException if a required column is missing
+     */
+    private static int[] mapColumns(Table table, List<String> fileColumns) {
+        List<Column> columns = table.columns();
+        int[] mapping = new int[columns.size()];
+        for (int i = 0; i < mapping.length; i++) {
+            Column column = columns.get(i);
+            mapping[i] = -1;
+            for (int j = 0; j < fileColumns.size(); j++) {
+                if (column.name().equalsIgnoreCase(fileColumns.get(j))) {
+                    mapping[i] = j;
+                    break;
+                }
+            }
+            if (mapping[i] < 0 && column.required()) {
+                throw new IllegalArgumentException(
+                    table.fileName() + ": required column " + column.name() + " is missing"
+                );
+            }
+        }
+        return mapping;
+    }
+
+    /**
+     * Checks a row and converts its values to the canonical form.
+     *
+     * @return an error message, or {@code null} when the row is valid
+     */
+    private static String normalize(Table table, int[] mapping, String[] raw, String[] row) {
+        List<Column> columns = table.columns();
+        for (int i = 0; i < mapping.length; i++) {
+            Column column = columns.get(i);
+            String value = mapping[i] >= 0 && mapping[i] < raw.length ? raw[mapping[i]] : null;
+            if (value != null && column.type() != ColumnType.TEXT) value = value.trim();
+            if (value != null && value.isEmpty() && column.type() != ColumnType.TEXT) value = null;
+            if (value == null || (column.required() && value.isBlank())) {
+                if (column.required()) return column.name() + " is required";
+                row[i] = null;
+                continue;
+            }
+            try {
+                row[i] = switch (column.type()) {
+                    case LONG -> String.valueOf(Long.parseLong(value));
+                    case DECIMAL -> new BigDecimal(value).stripTrailingZeros().toPlainString();
+                    case TIMESTAMP -> parseTimestamp(value).toString();
+                    case TEXT -> value;
+                };
+            } catch (NumberFormatException | DateTimeException ex) {
+                return column.name() + ": invalid value '" + value + "'";
+            }
+            if (!column.allowed().isEmpty()) {
+                row[i] = row[i].trim().toUpperCase(Locale.ROOT);
+                if (!column.allowed().contains(row[i])) {
+                    return column.name() + " must be one of " + column.allowed();
+                }
+            }
+            if (column.maxLength() > 0 && row[i].codePointCount(0, row[i].length()) > column.maxLength()) {
+                return column.name() + " is longer than " + column.maxLength() + " characters";
+            }
+        }
+        return checkRow(table, row);
+    }
+
+    private static String checkRow(Table table, String[] row) {
+        switch (table) {
+            case PROJECTS, ACTIVITIES -> {
+                String start = row[table.indexOf("planned_start_date")];
+                String end = row[table.indexOf("planned_end_date")];
+                if (Instant.parse(end).isBefore(Instant.parse(start))) {
+                    return "planned_end_date is before planned_start_date";
+                }
+            }
+            case TRACKINGS -> {
+                BigDecimal progress = new BigDecimal(row[table.indexOf("progress_percentage")]);
+                if (progress.signum() < 0 || progress.compareTo(BigDecimal.valueOf(100)) > 0) {
+                    return "progress_percentage must be between 0 and 100";
+                }
+            }
+            default -> {
+                // No cross-column constraint
+            }
+        }
+        return null;
+    }
+
+    private static Instant parseTimestamp(String value) {
+        if (value.endsWith("Z") || value.matches(".*[+-]\\d\\d:\\d\\d$")) {
+            return value.endsWith("Z") ? Instant.parse(value) : OffsetDateTime.parse(value).toInstant();
+        }
+        if (value.chars().allMatch(Character::isDigit) && value.length() > 8) {
+            return Instant.ofEpochMilli(Long.parseLong(value));
+        }
+        if (value.indexOf('T') > 0 || value.indexOf(' ') > 0) {
+            return LocalDateTime.parse(value.replace(' ', 'T')).atZone(ZoneId.systemDefault()).toInstant();
+        }
+        return LocalDate.parse(value).atStartOfDay(ZoneId.systemDefault()).toInstant();
+    }
+
+    /**
+     * Valid rows of one table waiting to be stored together.
+     */
+    private static final class Batch {
+
+        private final Table table;
+        private final List<ImportRow> rows = new ArrayList<>(IMPORT_BATCH_SIZE);
+        private final List<String> positions = new ArrayList<>(IMPORT_BATCH_SIZE);
+        private Future<cr.ac.una.flowfx.ws.Respuesta> future;
+
+        Batch(Table table) {
+            this.table = table;
+        }
+
+        int size() {
+            return rows.size();
+        }
+
+        void add(String[] values, String position) {
+            ImportRow row = new ImportRow();
+            // The generated list cannot hold null; an empty value is stored as null
+            for (String v : values) row.getValues().add(v == null ? "" : v);
+            rows.add(row);
+            positions.add(position);
+        }
+
+        Batch send(FlowFXWS port) {
+            List<String> columns = new ArrayList<>(table.columns().size());
+            for (Column c : table.columns()) columns.add(c.name());
+            future = AsyncTasks.executor().submit(() -> port.importRows(table.entityType(), columns, rows));
+            return this;
+        }
+
+        /**
+         * Waits for the server's answer and records it.
+         *
+         * @throws IOException if the batch could not be stored at all
+         */
+        void await(Meter meter) throws IOException, InterruptedException {
+            cr.ac.una.flowfx.ws.Respuesta ws;
+            try {
+                ws = future.get();
+            } catch (ExecutionException ex) {
+                throw new IOException("importRows failed for " + table.fileName(), ex.getCause());
+            }
+            if (ws == null || !ws.isEstado()) {
+                throw new IOException(
+                    table.fileName() + ": " + (ws == null ? "null response" : ws.getMensaje())
+                );
+            }
+            List<Rejection> rejected = new ArrayList<>();
+            try {
+                parseResult(ws.getMensajeInterno(), rejected);
+            } catch (JsonException ex) {
+                LOG.log(Level.WARNING, "Unable to parse importRows result", ex);
+            }
+            for (Rejection r : rejected) {
+                String where = r.row != null && r.row >= 0 && r.row < positions.size()
+                    ? positions.get(r.row)
+                    : table.fileName();
+                meter.reject(where + ": " + r.message);
+            }
+            meter.stored(rows.size() - rejected.size());
+        }
+    }
+
+    private static void parseResult(String mi, List<Rejection> rejected) {
+        if (mi == null || mi.isBlank()) return;
+        try (JsonParser p = JsonStreamDecoder.parser(mi)) {
+            if (!p.hasNext() || p.next() != Event.START_OBJECT) return;
+            while (p.hasNext()) {
+                Event e = p.next();
+                if (e == Event.END_OBJECT) break;
+                String key = p.getString();
+                Event v = p.next();
+                if (v == Event.START_ARRAY && ("rejected".equals(key) || "errors".equals(key))) {
+                    REJECTION_DECODER.readArray(p, rejected::add);
+                } else {
+                    JsonStreamDecoder.skip(p, v);
+                }
+            }
+        }
+    }
+
+    /**
+     * Counts rows and reports throughput.
+     */
+    private static final class Meter {
+
+        private final Consumer<Progress> listener;
+        private final long started = System.nanoTime();
+        private final List<String> errors = new ArrayList<>();
+        private String table = "";
+        private long rows;
+        private long rejected;
+        private long lastReport;
+
+        Meter(Consumer<Progress> listener) {
+            this.listener = listener;
+        }
+
+        void checkCancelled() {
+            if (Thread.currentThread().isInterrupted()) throw new CancellationException();
+        }
+
+        void row() {
+            checkCancelled();
+            rows++;
+            if (rows - lastReport >= PROGRESS_INTERVAL) report();
+        }
+
+        void stored(long count) {
+            rows += count;
+            checkCancelled();
+            if (rows - lastReport >= PROGRESS_INTERVAL) report();
+        }
+
+        void reject(String message) {
+            checkCancelled();
+            rejected++;
+            if (errors.size() < MAX_ERRORS) errors.add(message);
+        }
+
+        double rate() {
+            double seconds = (System.nanoTime() - started) / 1e9;
+            return seconds > 0 ? rows / seconds : 0;
+        }
+
+        void report() {
+            lastReport = rows;
+            if (listener != null) listener.accept(new Progress(table, rows, rejected, rate()));
+        }
+
+        Respuesta result(String message) {
+            return result(message, true);
+        }
+
+        Respuesta result(String message, boolean ok) {
+            Respuesta r = new Respuesta(ok, message, "");
+            r.setResultado(ROWS_KEY, rows);
+            r.setResultado(REJECTED_KEY, rejected);
+            r.setResultado(ERRORS_KEY, List.copyOf(errors));
+            r.setResultado(ROWS_PER_SECOND_KEY, rate());
+            return r;
+        }
+    }
+}
@@ -0,0 +1,253 @@
+package cr.ac.una.flowfx.service;
+
+import cr.ac.una.flowfx.util.AsyncTasks;
+import cr.ac.una.flowfx.util.JsonStreamDecoder;
+import cr.ac.una.flowfx.util.Respuesta;
+import cr.ac.una.flowfx.ws.FlowFXWS;
+import jakarta.json.JsonException;
+import jakarta.json.stream.JsonParser;
+import jakarta.json.stream.JsonParser.Event;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Subscribes the client to the server's change notifications so open views
+ * learn about edits made elsewhere without reloading.
+ *
+ * <p>While running, one virtual thread keeps a {@code waitForChanges} call
+ * open. The server answers as soon as a project, activity, tracking or
+ * person changes after the watermark sent, or after
+ * {@value #POLL_TIMEOUT_SECONDS} s with nothing. The answer only names the
+ * tables that changed; their rows are then fetched with
+ * {@link SyncService.SyncedCollection#syncIfPrimed()}, whose listeners apply
+ * them to the views. Tables no view has primed are skipped.</p>
+ *
+ * <p>Expected {@code mensajeInterno} shape (snake_case keys are also accepted):</p>
+ * <pre>
+ * { "entityTypes": [ "project", "person" ], "watermark": 1700000000000 }
+ * </pre>
+ * <p>The server compares write times, not commit times, so a row whose
+ * transaction commits after a later one never wakes the feed. For
+ * {@link SyncService#CHANGE_OVERLAP_MS} after the last change it reported,
+ * an answer with nothing changed therefore syncs every primed table anyway;
+ * the sync looks back over that window and picks such rows up.</p>
+ *
+ * <p>A {@code null} watermark is answered at once with the current one.
+ * When the server cannot be reached the feed waits with exponential backoff,
+ * from {@value #MIN_BACKOFF_MS} ms up to {@value #MAX_BACKOFF_MS} ms.</p>
+ *
+ * @author FlowFX Development Team
+ * @version 1.0
+ * @since 3.0
+ */
+public final class ChangeFeed {
+
+    private static final Logger LOG = Logger.getLogger(
+        ChangeFeed.class.getName()
+    );
+    private static final String ENTITY_TYPES_KEY = "EntityTypes";
+    private static final String WATERMARK_KEY = "Watermark";
+
+    private static final int POLL_TIMEOUT_SECONDS = 25;
+    private static final long MIN_BACKOFF_MS = 1_000;
+    private static final long MAX_BACKOFF_MS = 60_000;
+
+    private static final Set<String> ENTITY_TYPE_KEYS = Set.of(
+        "entityTypes",
+        "entity_types",
+        "changed"
+    );
+    private static final Set<String> WATERMARK_KEYS = Set.of(
+        "watermark",
+        "nextWatermark",
+        "next_watermark"
+    );
+
+    // Guarded by this
+    private Thread worker;
+    private int generation;
+
+    private ChangeFeed() {}
+
+    private static class Holder {
+
+        private static final ChangeFeed INSTANCE = new ChangeFeed();
+    }
+
+    /**
+     * Returns the application-wide feed.
+     *
+     * @return the singleton instance
+     */
+    public static ChangeFeed getInstance() {
+        return Holder.INSTANCE;
+    }
+
+    /**
+     * Starts listening, e.g. after login. Does nothing when already running.
+     */
+    public synchronized void start() {
+        if (worker != null) return;
+        int started = ++generation;
+        worker = Thread.ofVirtual().name("change-feed").start(() -> listen(started));
+        LOG.fine("Change feed started");
+    }
+
+    /**
+     * Stops listening, e.g. on logout. A call still open is abandoned and its
+     * answer ignored.
+     */
+    public synchronized void stop() {
+        if (worker == null) return;
+        generation++;
+        worker.interrupt();
+        worker = null;
+        LOG.fine("Change feed stopped");
+    }
+
+    /**
+     * Fetches the changes of one table now instead of waiting for the feed,
+     * e.g. right after this client saved a row. Runs in the background.
+     *
+     * @param entityType the table, as named by {@link SyncService#collection(String)}
+     */
+    public void refresh(String entityType) {
+        SyncService.SyncedCollection<?> collection = SyncService.getInstance().collection(entityType);
+        if (collection == null || !collection.isPrimed()) return;
+        AsyncTasks.run(null, "change-feed-refresh", collection::syncIfPrimed);
+    }
+
+    private synchronized boolean isCurrent(int started) {
+        return started == generation;
+    }
+
+    private void listen(int started) {
+        Long watermark = null;
+        long backoffMs = 0;
+        // System.nanoTime() of the last answer that named a table, 0 before any
+        long lastChange = 0;
+        while (isCurrent(started)) {
+            Respuesta r = waitForChanges(watermark, POLL_TIMEOUT_SECONDS);
+            if (!isCurrent(started)) return;
+            if (!Boolean.TRUE.equals(r.getEstado()) || r.getResultado(WATERMARK_KEY) == null) {
+                backoffMs = backoffMs == 0 ? MIN_BACKOFF_MS : Math.min(MAX_BACKOFF_MS, backoffMs * 2);
+                long delay = backoffMs / 2 + ThreadLocalRandom.current().nextLong(backoffMs / 2 + 1);
+                LOG.log(Level.FINE, "Change feed unavailable ({0}); retrying in {1} ms", new Object[] { r.getMensaje(), delay });
+                try {
+                    Thread.sleep(delay);
+                } catch (InterruptedException ex) {
+                    return;
+                }
+                continue;
+            }
+            backoffMs = 0;
+            @SuppressWarnings("unchecked")
+            List<String> types = (List<String>) r.getResultado(ENTITY_TYPES_KEY);
+            if (watermark == null) {
+                // Changes made before the feed started are not reported; catch up once
+                for (SyncService.SyncedCollection<?> c : SyncService.getInstance().collections()) c.syncIfPrimed();
+            } else if (!types.isEmpty()) {
+                lastChange = System.nanoTime();
+                for (String type : types) {
+                    SyncService.SyncedCollection<?> c = SyncService.getInstance().collection(type);
+                    if (c != null) c.syncIfPrimed();
+                }
+            } else if (lastChange != 0
+                && System.nanoTime() - lastChange < SyncService.CHANGE_OVERLAP_MS * 1_000_000) {
+                // Late commits behind the last change do not wake the feed
+                for (SyncService.SyncedCollection<?> c : SyncService.getInstance().collections()) c.syncIfPrimed();
+            }
+            watermark = (Long) r.getResultado(WATERMARK_KEY);
+        }
+    }
+
+    // ======== Remote calls ========
+
+    /**
+     * Waits until something changes after {@code watermark}.
+     *
+     * @param watermark      the watermark of the previous answer, or null for the current one
+     * @param timeoutSeconds longest time the server may hold the call
+     * @return a Respuesta with the changed tables under key {@code EntityTypes}
+     *         and the next watermark under key {@code Watermark}
+     */
+    public Respuesta waitForChanges(Long watermark, int timeoutSeconds) {
+        try {
+            FlowFXWS port = FlowFXWSPortProvider.getInstance().getPort();
+            if (port == null) {
+                return new Respuesta(
+                    false,
+                    "Web service port is not available.",
+                    "ws.port.null"
+                );
+            }
+            Respuesta r = mapRespuesta(port.waitForChanges(watermark, Math.max(0, timeoutSeconds)));
+            if (Boolean.TRUE.equals(r.getEstado())) {
+                parseFeed(r);
+            }
+            return r;
+        } catch (Exception ex) {
+            LOG.log(Level.FINE, "Error waiting for changes since " + watermark, ex);
+            return new Respuesta(
+                false,
+                "Error waiting for changes.",
+                "waitForChanges " + ex.getMessage()
+            );
+        }
+    }
+
+    // ======== Helpers ========
+
+    private Respuesta mapRespuesta(cr.ac.una.flowfx.ws.Respuesta ws) {
+        if (ws == null) {
+            return new Respuesta(
+                false,
+                "Null response from web service",
+                "ws.response.null"
+            );
+        }
+        return new Respuesta(
+            ws.isEstado(),
+            ws.getMensaje(),
+            ws.getMensajeInterno()
+        );
+    }
+
+    private void parseFeed(Respuesta r) {
+        String mi = r.getMensajeInterno();
+        if (mi == null || mi.isBlank()) return;
+        Set<String> types = new LinkedHashSet<>();
+        Long watermark = null;
+        try (JsonParser p = JsonStreamDecoder.parser(mi)) {
+            if (!p.hasNext() || p.next() != Event.START_OBJECT) return;
+            while (p.hasNext()) {
+                Event e = p.next();
+                if (e == Event.END_OBJECT) break;
+                String key = p.getString();
+                Event v = p.next();
+                if (v == Event.START_ARRAY && ENTITY_TYPE_KEYS.contains(key)) {
+                    while (p.hasNext()) {
+                        Event item = p.next();
+                        if (item == Event.END_ARRAY) break;
+                        if (item == Event.VALUE_STRING) types.add(p.getString());
+                        else JsonStreamDecoder.skip(p, item);
+                    }
+                } else if (WATERMARK_KEYS.contains(key) && (v == Event.VALUE_NUMBER || v == Event.VALUE_STRING)) {
+                    watermark = JsonStreamDecoder.asLong(v, p.getString());
+                } else {
+                    JsonStreamDecoder.skip(p, v);
+                }
+            }
+        } catch (JsonException | NumberFormatException ex) {
+            LOG.log(Level.WARNING, "Unable to parse change feed payload", ex);
+            return;
+        }
+        r.setResultado(ENTITY_TYPES_KEY, new ArrayList<>(types));
+        r.setResultado(WATERMARK_KEY, watermark);
+    }
+}
@@ -0,0 +1,474 @@
+package cr.ac.una.flowfx.service;
+
+import cr.ac.una.flowfx.model.DashboardDTO;
+import cr.ac.una.flowfx.model.ProjectActivityDTO;
+import cr.ac.una.flowfx.model.ProjectDTO;
+import cr.ac.una.flowfx.model.ProjectTrackingDTO;
+import cr.ac.una.flowfx.util.JsonStreamDecoder;
+import cr.ac.una.flowfx.util.Respuesta;
+import cr.ac.una.flowfx.util.SingleFlight;
+import cr.ac.una.flowfx.ws.FlowFXWS;
+import jakarta.json.JsonException;
+import jakarta.json.stream.JsonParser;
+import jakarta.json.stream.JsonParser.Event;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Client service for the aggregated user dashboard.
+ *
+ * <p>A single {@code getDashboardForUser} call returns the user's projects, the
+ * latest tracking entry per project, the most recent activities with their
+ * project names and, optionally, activity counts per project. The payload is
+ * read in a single streaming pass and each section is decoded with the
+ * decoder of the service that owns the entity, so aliases, caching and label
+ * resolution behave exactly as for the individual queries.</p>
+ *
+ * <p>Expected {@code mensajeInterno} shape (snake_case keys are also accepted):</p>
+ * <pre>
+ * { "projects": [ ... ],
+ *   "latestTrackings": [ ... ],
+ *   "recentActivities": [ { ..., "projectName": "..." } ],
+ *   "activityCounts": [ { "projectId": 1, "count": 4 } ] }
+ * </pre>
+ *
+ * <p>{@code getDashboardChangesSince} answers with the same shape restricted
+ * to the rows created or updated after a watermark, plus the ids of every
+ * project the user still sees and the server clock to use as the next
+ * watermark:</p>
+ * <pre>
+ * { "projects": [ ... ], ..., "projectIds": [ 1, 2 ], "serverTime": 1700000000000 }
+ * </pre>
+ */
+public class DashboardService {
+
+    private static final Logger LOG = Logger.getLogger(
+        DashboardService.class.getName()
+    );
+    private static final String ENTITY_KEY = "Dashboard";
+    private static final String PROJECT_IDS_KEY = "ProjectIds";
+    private static final String SERVER_TIME_KEY = "ServerTime";
+    private static final Set<String> PROJECT_KEYS = Set.of("projects", "Projects");
+    private static final Set<String> TRACKING_KEYS = Set.of(
+        "latestTrackings",
+        "latest_trackings",
+        "trackings"
+    );
+    private static final Set<String> ACTIVITY_KEYS = Set.of(
+        "recentActivities",
+        "recent_activities",
+        "activities"
+    );
+    private static final Set<String> COUNT_KEYS = Set.of(
+        "activityCounts",
+        "activity_counts"
+    );
+    private static final Set<String> PROJECT_ID_KEYS = Set.of(
+        "projectIds",
+        "project_ids"
+    );
+    private static final Set<String> SERVER_TIME_KEYS = Set.of(
+        "serverTime",
+        "server_time"
+    );
+
+    /**
+     * One entry of the {@code activityCounts} array.
+     */
+    private static final class ActivityCount {
+
+        Long projectId;
+        Long count;
+    }
+
+    private static final JsonStreamDecoder<ActivityCount> COUNT_DECODER =
+        JsonStreamDecoder.<ActivityCount>builder(ActivityCount::new)
+            .longValue((c, id) -> c.projectId = id, "projectId", "project_id")
+            .longValue((c, n) -> c.count = n, "count", "total")
+            .build();
+
+    /**
+     * Read calls identical to one already in flight share its response.
+     */
+    private static final SingleFlight<List<Object>, cr.ac.una.flowfx.ws.Respuesta> READS =
+        SingleFlight.named("DashboardService");
+
+    private FlowFXWS port;
+
+    /**
+     * Constructs the service client using the shared port from
+     * {@link FlowFXWSPortProvider}, where the endpoint address is configured.
+     */
+    public DashboardService() {
+        port = FlowFXWSPortProvider.getInstance().getPort();
+    }
+
+    /**
+     * Retrieves the dashboard of a user in one call.
+     *
+     * @param userId        the user id (required)
+     * @param maxActivities maximum recent activities (if <= 0 defaults to 20)
+     * @return a Respuesta with a {@link DashboardDTO} under key {@code Dashboard}
+     */
+    public Respuesta findForUser(Long userId, int maxActivities) {
+        try {
+            if (userId == null) {
+                return new Respuesta(
+                    false,
+                    "The parameter 'userId' is required.",
+                    "dashboard.userId.null"
+                );
+            }
+            if (port == null) {
+                return new Respuesta(
+                    false,
+                    "Web service port is not available.",
+                    "ws.port.null"
+                );
+            }
+            int max = maxActivities > 0 ? maxActivities : 20;
+
+            cr.ac.una.flowfx.ws.Respuesta wsResp = READS.call(
+                SingleFlight.key("getDashboardForUser", userId, max),
+                () -> port.getDashboardForUser(userId, max)
+            );
+            Respuesta r = mapRespuesta(wsResp);
+            if (Boolean.TRUE.equals(r.getEstado())) {
+                DashboardDTO dashboard = parseDashboard(r.getMensajeInterno(), r);
+                if (dashboard == null) {
+                    return new Respuesta(
+                        false,
+                        "Invalid dashboard payload.",
+                        "dashboard.payload.invalid"
+                    );
+                }
+                r.setResultado(ENTITY_KEY, dashboard);
+            }
+            return r;
+        } catch (Exception ex) {
+            LOG.log(
+                Level.SEVERE,
+                "Error retrieving dashboard for userId=" + userId,
+                ex
+            );
+            return new Respuesta(
+                false,
+                "Error retrieving the dashboard.",
+                "dashboard.find " + ex.getMessage()
+            );
+        }
+    }
+
+    /**
+     * Retrieves what changed in the dashboard of a user after a watermark.
+     * Rows written up to {@link SyncService#CHANGE_OVERLAP_MS} before it are
+     * returned again, so rows committed late are not missed.
+     *
+     * @param userId        the user id (required)
+     * @param since         server time of the previous sync in epoch millis,
+     *                      or null to receive the whole dashboard
+     * @param maxActivities maximum recent activities (if <= 0 defaults to 20)
+     * @return a Respuesta with the changed rows as a {@link DashboardDTO} under
+     *         key {@code Dashboard}, the ids of the projects the user still
+     *         sees under {@code ProjectIds} and the next watermark under
+     *         {@code ServerTime}
+     */
+    public Respuesta findChangesSince(Long userId, Long since, int maxActivities) {
+        try {
+            if (userId == null) {
+                return new Respuesta(
+                    false,
+                    "The parameter 'userId' is required.",
+                    "dashboard.userId.null"
+                );
+            }
+            if (port == null) {
+                return new Respuesta(
+                    false,
+                    "Web service port is not available.",
+                    "ws.port.null"
+                );
+            }
+            int max = maxActivities > 0 ? maxActivities : 20;
+            // Look back over rows written before since but committed after it;
+            // merge() replaces them by id
+            Long from = since == null ? null : since - SyncService.CHANGE_OVERLAP_MS;
+
+            cr.ac.una.flowfx.ws.Respuesta wsResp = READS.call(
+                SingleFlight.key("getDashboardChangesSince", userId, from, max),
+                () -> port.getDashboardChangesSince(userId, from, max)
+            );
+            Respuesta r = mapRespuesta(wsResp);
+            if (Boolean.TRUE.equals(r.getEstado())) {
+                DashboardDTO changes = parseDashboard(r.getMensajeInterno(), r);
+                if (changes == null || !(r.getResultado(SERVER_TIME_KEY) instanceof Long)) {
+                    return new Respuesta(
+                        false,
+                        "Invalid dashboard changes payload.",
+                        "dashboard.changes.payload.invalid"
+                    );
+                }
+                r.setResultado(ENTITY_KEY, changes);
+            }
+            return r;
+        } catch (Exception ex) {
+            LOG.log(
+                Level.SEVERE,
+                "Error retrieving dashboard changes for userId=" + userId + " since=" + since,
+                ex
+            );
+            return new Respuesta(
+                false,
+                "Error retrieving the dashboard changes.",
+                "dashboard.changes " + ex.getMessage()
+            );
+        }
+    }
+
+    /**
+     * Applies the result of {@link #findChangesSince} to a cached dashboard.
+     * Changed projects, trackings and activities replace the cached ones by
+     * id, projects the user no longer sees are dropped with their rows, and
+     * the recent activities are re-ranked by last update.
+     *
+     * @param cached        the cached dashboard; not modified
+     * @param changes       the changed rows
+     * @param projectIds    ids of every project the user sees, or null to keep the cached set
+     * @param maxActivities maximum recent activities kept
+     * @return the merged dashboard
+     */
+    public static DashboardDTO merge(
+        DashboardDTO cached,
+        DashboardDTO changes,
+        List<Long> projectIds,
+        int maxActivities
+    ) {
+        Set<Long> visible = projectIds == null ? null : Set.copyOf(projectIds);
+
+        Map<Long, ProjectDTO> projects = new LinkedHashMap<>();
+        for (ProjectDTO p : cached.getProjects()) projects.put(p.getId(), p);
+        for (ProjectDTO p : changes.getProjects()) projects.put(p.getId(), p);
+        Set<Long> dropped = new HashSet<>(projects.keySet());
+        if (visible != null) {
+            projects.keySet().retainAll(visible);
+            dropped.removeAll(visible);
+        } else {
+            dropped.clear();
+        }
+
+        Map<Long, ProjectTrackingDTO> latest = new HashMap<>(cached.getLatestTrackings());
+        latest.putAll(changes.getLatestTrackings());
+        latest.keySet().retainAll(projects.keySet());
+
+        Map<Long, ProjectActivityDTO> activities = new LinkedHashMap<>();
+        for (ProjectActivityDTO a : cached.getRecentActivities()) activities.put(a.getId(), a);
+        for (ProjectActivityDTO a : changes.getRecentActivities()) activities.put(a.getId(), a);
+        List<ProjectActivityDTO> recent = new ArrayList<>();
+        for (ProjectActivityDTO a : activities.values()) {
+            // Recent activities may belong to projects the user is not part of;
+            // only those of projects that were dropped go away
+            if (a.getProjectId() == null || !dropped.contains(a.getProjectId())) recent.add(a);
+        }
+        recent.sort(Comparator.comparingLong(DashboardService::lastChange).reversed());
+        if (recent.size() > maxActivities) recent = new ArrayList<>(recent.subList(0, maxActivities));
+
+        Map<Long, String> names = new HashMap<>(cached.getProjectNames());
+        names.putAll(changes.getProjectNames());
+
+        Map<Long, Long> counts = null;
+        if (cached.getActivityCounts() != null && changes.getActivityCounts() != null) {
+            counts = new HashMap<>(cached.getActivityCounts());
+            counts.putAll(changes.getActivityCounts());
+            counts.keySet().retainAll(projects.keySet());
+        } else if (changes.getProjects().isEmpty() && changes.getRecentActivities().isEmpty()) {
+            counts = cached.getActivityCounts();
+        }
+
+        DashboardDTO merged = new DashboardDTO();
+        merged.setProjects(new ArrayList<>(projects.values()));
+        merged.setLatestTrackings(latest);
+        merged.setRecentActivities(recent);
+        merged.setProjectNames(names);
+        merged.setActivityCounts(counts);
+        return merged;
+    }
+
+    /**
+     * @return whether the changes carry no row and drop no project
+     */
+    public static boolean isUnchanged(DashboardDTO cached, DashboardDTO changes, List<Long> projectIds) {
+        if (!changes.getProjects().isEmpty()
+            || !changes.getLatestTrackings().isEmpty()
+            || !changes.getRecentActivities().isEmpty()) {
+            return false;
+        }
+        if (projectIds == null) return true;
+        Set<Long> cachedIds = new HashSet<>();
+        for (ProjectDTO p : cached.getProjects()) cachedIds.add(p.getId());
+        return cachedIds.equals(Set.copyOf(projectIds));
+    }
+
+    private static long lastChange(ProjectActivityDTO a) {
+        if (a.getUpdatedAt() != null) return a.getUpdatedAt().getTime();
+        return a.getCreatedAt() == null ? Long.MIN_VALUE : a.getCreatedAt().getTime();
+    }
+
+    // ======== Helpers ========
+
+    private Respuesta mapRespuesta(cr.ac.una.flowfx.ws.Respuesta ws) {
+        if (ws == null) {
+            return new Respuesta(
+                false,
+                "Null response from web service",
+                "ws.response.null"
+            );
+        }
+        return new Respuesta(
+            ws.isEstado(),
+            ws.getMensaje(),
+            ws.getMensajeInterno()
+        );
+    }
+
+    /**
+     * Walks the payload once, decoding each section in place with the owning
+     * service's streaming decoder.
+     */
+    private DashboardDTO parseDashboard(String mi, Respuesta r) {
+        if (mi == null || mi.isBlank()) return null;
+
+        List<ProjectDTO> projects = new ArrayList<>();
+        List<Long> projectIds = null;
+        Long serverTime = null;
+        Map<Long, ProjectTrackingDTO> latest = new HashMap<>();
+        List<ProjectActivityDTO> activities = new ArrayList<>();
+        Map<Long, String> activityProjectNames = new HashMap<>();
+        Map<Long, Long> counts = null;
+
+        try (JsonParser p = JsonStreamDecoder.parser(mi)) {
+            if (!p.hasNext() || p.next() != Event.START_OBJECT) return null;
+            while (p.hasNext()) {
+                Event e = p.next();
+                if (e == Event.END_OBJECT) break;
+                String key = p.getString();
+                Event v = p.next();
+                if (v == Event.START_ARRAY && PROJECT_KEYS.contains(key)) {
+                    ProjectService.DECODER.readArray(p, projects::add);
+                } else if (
+                    v == Event.START_ARRAY && TRACKING_KEYS.contains(key)
+                ) {
+                    ProjectTrackingService.DECODER.readArray(p, t -> {
+                        if (t.getProjectId() != null) latest.put(t.getProjectId(), t);
+                    });
+                } else if (
+                    v == Event.START_ARRAY && ACTIVITY_KEYS.contains(key)
+                ) {
+                    ProjectActivityService.DECODER.readArray(p, row -> {
+                        ProjectActivityDTO a = ProjectActivityService.toActivity(row);
+                        activities.add(a);
+                        if (a.getProjectId() != null && row.projectName != null) {
+                            activityProjectNames.putIfAbsent(
+                                a.getProjectId(),
+                                row.projectName
+                            );
+                        }
+                    });
+                } else if (COUNT_KEYS.contains(key) && v != Event.VALUE_NULL) {
+                    counts = readCounts(p, v);
+                } else if (
+                    v == Event.START_ARRAY && PROJECT_ID_KEYS.contains(key)
+                ) {
+                    projectIds = readIds(p);
+                } else if (SERVER_TIME_KEYS.contains(key)) {
+                    serverTime = JsonStreamDecoder.asLong(v, textOf(p, v));
+                    JsonStreamDecoder.skip(p, v);
+                } else {
+                    JsonStreamDecoder.skip(p, v);
+                }
+            }
+        } catch (JsonException ex) {
+            LOG.log(Level.WARNING, "Unable to parse dashboard payload", ex);
+            return null;
+        }
+
+        ProjectService projectService = new ProjectService();
+        projects.forEach(projectService::cacheProject);
+        new ProjectActivityService().cacheParsedActivities(activities);
+
+        Map<Long, String> projectNames = new HashMap<>();
+        for (ProjectDTO pr : projects) {
+            if (pr.getId() != null && pr.getName() != null) {
+                projectNames.put(pr.getId(), pr.getName());
+            }
+        }
+        activityProjectNames.forEach(projectNames::putIfAbsent);
+
+        DashboardDTO dto = new DashboardDTO();
+        dto.setProjects(projects);
+        dto.setLatestTrackings(latest);
+        dto.setRecentActivities(activities);
+        dto.setProjectNames(projectNames);
+        dto.setActivityCounts(counts);
+        if (projectIds != null) r.setResultado(PROJECT_IDS_KEY, projectIds);
+        if (serverTime != null) r.setResultado(SERVER_TIME_KEY, serverTime);
+        return dto;
+    }
+
+    private List<Long> readIds(JsonParser p) {
+        List<Long> ids = new ArrayList<>();
+        while (p.hasNext()) {
+            Event e = p.next();
+            if (e == Event.END_ARRAY) break;
+            try {
+                Long id = JsonStreamDecoder.asLong(e, textOf(p, e));
+                if (id != null) ids.add(id);
+            } catch (NumberFormatException ignore) {}
+            JsonStreamDecoder.skip(p, e);
+        }
+        return ids;
+    }
+
+    /**
+     * Reads activity counts given either as an array of
+     * {@code {projectId, count}} objects or as an object keyed by project id.
+     */
+    private Map<Long, Long> readCounts(JsonParser p, Event v) {
+        Map<Long, Long> counts = new HashMap<>();
+        if (v == Event.START_ARRAY) {
+            COUNT_DECODER.readArray(p, c -> {
+                if (c.projectId != null && c.count != null) {
+                    counts.put(c.projectId, c.count);
+                }
+            });
+        } else if (v == Event.START_OBJECT) {
+            while (p.hasNext()) {
+                Event e = p.next();
+                if (e == Event.END_OBJECT) break;
+                String key = p.getString();
+                Event value = p.next();
+                try {
+                    Long count = JsonStreamDecoder.asLong(value, textOf(p, value));
+                    if (count != null) counts.put(Long.parseLong(key), count);
+                } catch (NumberFormatException ignore) {}
+                JsonStreamDecoder.skip(p, value);
+            }
+        } else {
+            return null;
+        }
+        return counts;
+    }
+
+    private String textOf(JsonParser p, Event v) {
+        return v == Event.VALUE_NUMBER || v == Event.VALUE_STRING
+            ? p.getString()
+            : null;
+    }
+}
@@ -0,0 +1,286 @@
+package cr.ac.una.flowfx.service;
+
+import cr.ac.una.flowfx.ws.FlowFXWS;
+import cr.ac.una.flowfx.ws.FlowFXWS_Service;
+import jakarta.xml.ws.BindingProvider;
+import jakarta.xml.ws.WebServiceException;
+import jakarta.xml.ws.soap.SOAPFaultException;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Shared, pooled provider of {@link FlowFXWS} ports for every client service.
+ *
+ * <p>Building a JAX-WS port is expensive: {@code new FlowFXWS_Service()} parses
+ * the WSDL and creating the proxy builds the binding runtime. Previously every
+ * service constructor paid that cost. This provider parses the WSDL once, keeps
+ * a bounded pool of configured proxies and hands services a lightweight facade
+ * that borrows a proxy for the duration of a single invocation, so a proxy is
+ * never used by two threads at the same time. At most pool size proxies are
+ * in use or idle at once; further invocations wait for a proxy to be
+ * returned instead of creating more.</p>
+ *
+ * <p>Long-poll operations such as {@code waitForChanges} hold their proxy for
+ * up to the server's timeout, so they use proxies of their own outside the
+ * pool instead of taking one of its permits for that long.</p>
+ *
+ * <p>The endpoint address and pool size are configured in one place through the
+ * system properties {@code flowfx.ws.endpoint} and {@code flowfx.ws.pool.size}.
+ * Pool hits and misses are recorded so the reuse rate can be inspected via
+ * {@link #getStats()}.</p>
+ */
+public final class FlowFXWSPortProvider {
+
+    private static final Logger LOG = Logger.getLogger(
+        FlowFXWSPortProvider.class.getName()
+    );
+
+    /** Default development endpoint of the FlowFX web service. */
+    public static final String DEFAULT_ENDPOINT =
+        "http://localhost:8080/FlowFXWS/FlowFXWS";
+
+    private static final int DEFAULT_POOL_SIZE = 8;
+
+    private static final Set<String> LONG_POLL_OPERATIONS = Set.of("waitForChanges");
+
+    private final String endpoint;
+    private final BlockingQueue<FlowFXWS> idlePorts;
+    private final Semaphore permits;
+    private final ConcurrentLinkedQueue<FlowFXWS> longPollPorts = new ConcurrentLinkedQueue<>();
+    private final FlowFXWS facade;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder discarded = new LongAdder();
+
+    private volatile FlowFXWS_Service service;
+
+    private FlowFXWSPortProvider() {
+        this.endpoint = System.getProperty(
+            "flowfx.ws.endpoint",
+            DEFAULT_ENDPOINT
+        );
+        int poolSize = resolvePoolSize();
+        this.idlePorts = new ArrayBlockingQueue<>(poolSize);
+        this.permits = new Semaphore(poolSize, true);
+        this.facade = (FlowFXWS) Proxy.newProxyInstance(
+            FlowFXWS.class.getClassLoader(),
+            new Class<?>[] { FlowFXWS.class },
+            new PooledInvocationHandler()
+        );
+        LOG.log(
+            Level.INFO,
+            "[FlowFXWSPortProvider] WS endpoint set to: {0} (pool size {1})",
+            new Object[] { endpoint, poolSize }
+        );
+    }
+
+    private static class Holder {
+
+        private static final FlowFXWSPortProvider INSTANCE =
+            new FlowFXWSPortProvider();
+    }
+
+    /**
+     * Returns the application-wide provider instance.
+     *
+     * @return the singleton provider
+     */
+    public static FlowFXWSPortProvider getInstance() {
+        return Holder.INSTANCE;
+    }
+
+    /**
+     * Returns a port usable by client services.
+     *
+     * <p>The returned object is a thread-safe facade: each call borrows a pooled
+     * proxy, invokes the operation and returns the proxy to the pool. Returns
+     * {@code null} when the web service definition could not be loaded, which
+     * preserves the {@code port == null} checks performed by the services.</p>
+     *
+     * @return shared port facade, or {@code null} if the service is unavailable
+     */
+    public FlowFXWS getPort() {
+        return ensureService() != null ? facade : null;
+    }
+
+    /**
+     * Returns the configured endpoint address.
+     *
+     * @return endpoint URL used by every pooled proxy
+     */
+    public String getEndpoint() {
+        return endpoint;
+    }
+
+    /**
+     * Returns a snapshot of pool usage counters.
+     *
+     * @return hits, misses, discarded proxies and idle pool size
+     */
+    public Stats getStats() {
+        return new Stats(
+            hits.sum(),
+            misses.sum(),
+            discarded.sum(),
+            idlePorts.size()
+        );
+    }
+
+    /**
+     * Usage counters of the port pool.
+     *
+     * @param hits invocations served by an idle pooled proxy
+     * @param misses invocations that had to create a new proxy
+     * @param discarded pooled proxies dropped after a transport failure
+     * @param idle proxies currently waiting in the pool
+     */
+    public record Stats(long hits, long misses, long discarded, int idle) {
+        /**
+         * Fraction of invocations served from the pool.
+         *
+         * @return hit rate between 0 and 1
+         */
+        public double hitRate() {
+            long total = hits + misses;
+            return total == 0 ? 0d : (double) hits / total;
+        }
+    }
+
+    // ======= POOL =======
+
+    private FlowFXWS_Service ensureService() {
+        FlowFXWS_Service s = service;
+        if (s != null) return s;
+        synchronized (this) {
+            if (service == null) {
+                try {
+                    service = new FlowFXWS_Service();
+                } catch (Exception e) {
+                    LOG.log(Level.SEVERE, "Error initializing FlowFXWS service", e);
+                }
+            }
+            return service;
+        }
+    }
+
+    private FlowFXWS acquire() {
+        try {
+            permits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new WebServiceException(
+                "Interrupted while waiting for a FlowFXWS port",
+                e
+            );
+        }
+        try {
+            FlowFXWS port = idlePorts.poll();
+            if (port != null) {
+                hits.increment();
+                return port;
+            }
+            misses.increment();
+            return createPort();
+        } catch (RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    private FlowFXWS createPort() {
+        FlowFXWS_Service s = ensureService();
+        if (s == null) {
+            throw new IllegalStateException("FlowFXWS service is not available");
+        }
+        FlowFXWS port = s.getFlowFXWSPort();
+        if (port instanceof BindingProvider) {
+            ((BindingProvider) port).getRequestContext().put(
+                BindingProvider.ENDPOINT_ADDRESS_PROPERTY,
+                endpoint
+            );
+        }
+        return port;
+    }
+
+    private void release(FlowFXWS port, boolean healthy) {
+        try {
+            if (!healthy || !idlePorts.offer(port)) {
+                discarded.increment();
+            }
+        } finally {
+            permits.release();
+        }
+    }
+
+    private static int resolvePoolSize() {
+        String raw = System.getProperty("flowfx.ws.pool.size");
+        if (raw == null || raw.isBlank()) return DEFAULT_POOL_SIZE;
+        try {
+            return Math.max(1, Integer.parseInt(raw.trim()));
+        } catch (NumberFormatException e) {
+            LOG.log(Level.WARNING, "Invalid flowfx.ws.pool.size: {0}", raw);
+            return DEFAULT_POOL_SIZE;
+        }
+    }
+
+    /** Borrows a pooled proxy for each invocation made through the facade. */
+    private final class PooledInvocationHandler implements InvocationHandler {
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args)
+            throws Throwable {
+            if (method.getDeclaringClass() == Object.class) {
+                return switch (method.getName()) {
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    default -> "FlowFXWS[" + endpoint + "]";
+                };
+            }
+            if (LONG_POLL_OPERATIONS.contains(method.getName())) {
+                return invokeLongPoll(method, args);
+            }
+            FlowFXWS port = acquire();
+            boolean healthy = true;
+            try {
+                return method.invoke(port, args);
+            } catch (InvocationTargetException e) {
+                healthy = isHealthyAfter(e.getCause());
+                throw e.getCause();
+            } finally {
+                release(port, healthy);
+            }
+        }
+
+        private Object invokeLongPoll(Method method, Object[] args) throws Throwable {
+            FlowFXWS port = longPollPorts.poll();
+            if (port == null) port = createPort();
+            boolean healthy = true;
+            try {
+                return method.invoke(port, args);
+            } catch (InvocationTargetException e) {
+                healthy = isHealthyAfter(e.getCause());
+                throw e.getCause();
+            } finally {
+                if (healthy) longPollPorts.offer(port);
+            }
+        }
+
+        // A SOAP fault is a complete answer, such as an operation an older
+        // server lacks; only transport failures leave the proxy in doubt.
+        private boolean isHealthyAfter(Throwable failure) {
+            return failure instanceof SOAPFaultException
+                || !(failure instanceof WebServiceException);
+        }
+    }
+}
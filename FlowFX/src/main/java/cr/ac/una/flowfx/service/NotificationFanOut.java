@@ -0,0 +1,267 @@
+package cr.ac.una.flowfx.service;
+
+import cr.ac.una.flowfx.util.JsonStreamDecoder;
+import cr.ac.una.flowfx.util.Respuesta;
+import cr.ac.una.flowfx.ws.FlowFXWS;
+import cr.ac.una.flowfx.ws.NotificationDigest;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Turns a batch of queued notification events into one digest per recipient.
+ *
+ * <p>The sponsor, leader and technical leader of every project in the batch,
+ * and the responsible person of every activity, are resolved with a single
+ * {@code getNotificationRecipients} call, which the server answers with one
+ * query. The events are then grouped by recipient email, so a person who is
+ * concerned by twenty changes receives one notification listing them, and
+ * all digests are written with one {@code createNotificationDigests} call,
+ * which inserts the notification and recipient rows as a batch. Writes
+ * therefore grow with the number of recipients in the window, not with
+ * events times recipients.</p>
+ *
+ * <p>Each digest carries the keys of the events it covers so the server can
+ * skip a batch it already stored.</p>
+ *
+ * @author FlowFX Development Team
+ * @version 1.0
+ * @since 3.0
+ */
+final class NotificationFanOut {
+
+    private static final Logger LOG = Logger.getLogger(
+        NotificationFanOut.class.getName()
+    );
+    private static final String RECIPIENTS_KEY = "Recipients";
+    // Longer digests end with a count of the changes left out
+    private static final int MAX_LINES = 50;
+
+    /**
+     * A queued event as handed over by {@link NotificationOutbox}.
+     *
+     * @param key         stable event key
+     * @param kind        what happened
+     * @param entityId    the project, activity or tracking concerned
+     * @param recipientId the only person to notify, or {@code null} for everyone concerned
+     * @param oldStatus   previous status for status changes
+     * @param newStatus   new status for status changes
+     * @param count       number of events coalesced into this one
+     */
+    record Change(
+        String key,
+        NotificationOutbox.Kind kind,
+        long entityId,
+        Long recipientId,
+        String oldStatus,
+        String newStatus,
+        int count
+    ) {}
+
+    /**
+     * A person to notify about one entity.
+     */
+    static final class RecipientRow {
+
+        String entityType;
+        Long entityId;
+        Long projectId;
+        String entityName;
+        Long personId;
+        String name;
+        String email;
+        String role;
+    }
+
+    /**
+     * Field aliases accepted in recipient payloads.
+     */
+    static final JsonStreamDecoder<RecipientRow> DECODER = JsonStreamDecoder
+        .<RecipientRow>builder(RecipientRow::new)
+        .string((row, v) -> row.entityType = v, "entityType", "entity_type", "ENTITY_TYPE")
+        .longValue((row, v) -> row.entityId = v, "entityId", "entity_id", "ENTITY_ID")
+        .longValue((row, v) -> row.projectId = v, "projectId", "project_id", "PROJECT_ID")
+        .string((row, v) -> row.entityName = v, "entityName", "entity_name", "ENTITY_NAME")
+        .longValue((row, v) -> row.personId = v, "personId", "person_id", "PERSON_ID")
+        .string((row, v) -> row.name = v, "name", "NAME")
+        .string((row, v) -> row.email = v, "email", "EMAIL")
+        .string((row, v) -> row.role = v, "role", "ROLE")
+        .build();
+
+    /**
+     * Resolves the recipients of {@code changes} and stores one digest per
+     * recipient.
+     *
+     * @param changes events to deliver
+     * @return a successful {@link Respuesta} once every digest is stored
+     */
+    Respuesta deliver(List<Change> changes) {
+        try {
+            FlowFXWS port = FlowFXWSPortProvider.getInstance().getPort();
+            if (port == null) {
+                return new Respuesta(false, "Web service not available.", "ws.port.null");
+            }
+            Set<Long> projectIds = new LinkedHashSet<>();
+            Set<Long> activityIds = new LinkedHashSet<>();
+            Set<Long> trackingIds = new LinkedHashSet<>();
+            for (Change c : changes) {
+                switch (c.kind().entityType()) {
+                    case "PROJECT" -> projectIds.add(c.entityId());
+                    case "ACTIVITY" -> activityIds.add(c.entityId());
+                    default -> trackingIds.add(c.entityId());
+                }
+            }
+            Respuesta r = mapRespuesta(
+                port.getNotificationRecipients(
+                    new ArrayList<>(projectIds),
+                    new ArrayList<>(activityIds),
+                    new ArrayList<>(trackingIds)
+                )
+            );
+            if (!Boolean.TRUE.equals(r.getEstado())) return r;
+            List<RecipientRow> rows = DECODER.decodeList(r.getMensajeInterno(), RECIPIENTS_KEY, "recipients");
+
+            List<NotificationDigest> digests = digest(changes, rows);
+            if (digests.isEmpty()) {
+                LOG.log(Level.FINE, "No recipients for {0} notification event(s)", changes.size());
+                return new Respuesta(true, "No recipients.", "");
+            }
+            r = mapRespuesta(port.createNotificationDigests(digests));
+            if (Boolean.TRUE.equals(r.getEstado())) {
+                LOG.log(
+                    Level.FINE,
+                    "Stored {0} digest(s) for {1} notification event(s)",
+                    new Object[] { digests.size(), changes.size() }
+                );
+            }
+            return r;
+        } catch (Exception ex) {
+            LOG.log(Level.FINE, "Notification fan-out failed", ex);
+            return new Respuesta(false, "Error delivering notifications.", "fanOut " + ex.getMessage());
+        }
+    }
+
+    private static List<NotificationDigest> digest(List<Change> changes, List<RecipientRow> rows) {
+        Map<String, List<RecipientRow>> byEntity = new HashMap<>();
+        for (RecipientRow row : rows) {
+            if (row.email == null || row.email.isBlank()) continue;
+            byEntity.computeIfAbsent(row.entityType + ":" + row.entityId, k -> new ArrayList<>()).add(row);
+        }
+        Map<String, Digest> byEmail = new LinkedHashMap<>();
+        for (Change c : changes) {
+            for (RecipientRow row : byEntity.getOrDefault(c.kind().entityType() + ":" + c.entityId(), List.of())) {
+                if (c.recipientId() != null && !c.recipientId().equals(row.personId)) continue;
+                String email = row.email.trim().toLowerCase(Locale.ROOT);
+                byEmail.computeIfAbsent(email, e -> new Digest(e, row)).add(c, row);
+            }
+        }
+        List<NotificationDigest> digests = new ArrayList<>(byEmail.size());
+        for (Digest d : byEmail.values()) digests.add(d.toWs());
+        return digests;
+    }
+
+    /**
+     * Changes collected for one recipient.
+     */
+    private static final class Digest {
+
+        private final String email;
+        private final String name;
+        private final String role;
+        // One line per event; the same event may reach a person through two roles
+        private final Map<String, String> lines = new LinkedHashMap<>();
+        private NotificationOutbox.Kind kind;
+        private Long projectId;
+        private boolean sameProject = true;
+
+        private Digest(String email, RecipientRow first) {
+            this.email = email;
+            this.name = first.name;
+            this.role = first.role;
+        }
+
+        private void add(Change c, RecipientRow row) {
+            if (lines.containsKey(c.key())) return;
+            lines.put(c.key(), describe(c, row));
+            kind = lines.size() == 1 ? c.kind() : null;
+            if (lines.size() == 1) projectId = row.projectId;
+            else if (!Objects.equals(projectId, row.projectId)) sameProject = false;
+        }
+
+        private NotificationDigest toWs() {
+            NotificationDigest d = new NotificationDigest();
+            d.getEventKeys().addAll(lines.keySet());
+            d.setRecipientEmail(email);
+            d.setRecipientName(name);
+            d.setRecipientRole(role);
+            d.setProjectId(sameProject ? projectId : null);
+            if (kind != null) {
+                String line = lines.values().iterator().next();
+                d.setEventType(kind.name());
+                d.setSubject("FlowFX: " + line);
+                d.setMessage(greeting() + line);
+            } else {
+                d.setEventType("DIGEST");
+                d.setSubject("FlowFX: resumen de " + lines.size() + " cambios");
+                StringBuilder message = new StringBuilder(greeting());
+                message.append("Estos son los cambios recientes en sus proyectos:\n");
+                int shown = 0;
+                for (String line : lines.values()) {
+                    if (shown++ == MAX_LINES) {
+                        message.append("\n… y ").append(lines.size() - MAX_LINES).append(" cambios más.");
+                        break;
+                    }
+                    message.append("\n- ").append(line);
+                }
+                d.setMessage(message.toString());
+            }
+            return d;
+        }
+
+        private String greeting() {
+            return name == null || name.isBlank() ? "" : "Hola " + name + ",\n\n";
+        }
+    }
+
+    private static String describe(Change c, RecipientRow row) {
+        String entity = row.entityName == null || row.entityName.isBlank()
+            ? "#" + c.entityId()
+            : "«" + row.entityName + "»";
+        String change = statusLabel(c.oldStatus()) + " → " + statusLabel(c.newStatus())
+            + (c.count() > 1 ? " (" + c.count() + " cambios)" : "");
+        return switch (c.kind()) {
+            case PROJECT_CREATED -> "Se creó el proyecto " + entity + ".";
+            case PROJECT_STATUS_CHANGED -> "El proyecto " + entity + " cambió de estado: " + change + ".";
+            case ACTIVITY_CREATED -> "Se le asignó la actividad " + entity + ".";
+            case ACTIVITY_STATUS_CHANGED -> "La actividad " + entity + " cambió de estado: " + change + ".";
+            case TRACKING_CREATED -> "Nuevo seguimiento en el proyecto " + entity + ".";
+        };
+    }
+
+    private static String statusLabel(String code) {
+        if (code == null || code.isBlank()) return "Sin estado";
+        return switch (code.trim().toUpperCase(Locale.ROOT)) {
+            case "P" -> "Planificado";
+            case "R" -> "En curso";
+            case "D" -> "Detenido";
+            case "S" -> "Suspendido";
+            case "C" -> "Finalizado";
+            default -> code.trim();
+        };
+    }
+
+    private static Respuesta mapRespuesta(cr.ac.una.flowfx.ws.Respuesta ws) {
+        if (ws == null) {
+            return new Respuesta(false, "Null response from web service", "ws.response.null");
+        }
+        return new Respuesta(ws.isEstado(), ws.getMensaje(), ws.getMensajeInterno());
+    }
+}
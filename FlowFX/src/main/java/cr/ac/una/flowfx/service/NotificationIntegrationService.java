@@ -1,9 +1,7 @@
 package cr.ac.una.flowfx.service;
 
 import cr.ac.una.flowfx.util.Respuesta;
-import cr.ac.una.flowfx.ws.FlowFXWS;
-import cr.ac.una.flowfx.ws.FlowFXWS_Service;
-import jakarta.xml.ws.BindingProvider;
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -25,8 +23,13 @@ import java.util.logging.Logger;
  * </ul>
  * </p>
  * 
- * <p>All notification operations are performed asynchronously to avoid blocking
- * the UI and provide a responsive user experience.</p>
+ * <p>Events are not sent one by one. Each call writes the event to the
+ * {@link NotificationOutbox}, which keeps it on disk until the server has it,
+ * coalesces bursts per recipient and delivers them in batches on its own
+ * thread. The returned futures complete as soon as the event is safely
+ * queued. Recipients are resolved when the batch is delivered, by
+ * {@link NotificationFanOut}, so each person receives one digest per
+ * window.</p>
  * 
  * @author FlowFX Development Team
  * @version 1.0
@@ -36,59 +39,31 @@ public class NotificationIntegrationService {
 
     private static final Logger LOG = Logger.getLogger(NotificationIntegrationService.class.getName());
 
-    private FlowFXWS port;
+    private final NotificationOutbox outbox;
 
     /**
-     * Constructs the notification integration service and configures the web service endpoint.
+     * Constructs the service on top of the shared {@link NotificationOutbox}.
      */
     public NotificationIntegrationService() {
-        try {
-            FlowFXWS_Service service = new FlowFXWS_Service();
-            port = service.getFlowFXWSPort();
-            if (port instanceof BindingProvider) {
-                ((BindingProvider) port).getRequestContext().put(
-                    BindingProvider.ENDPOINT_ADDRESS_PROPERTY,
-                    "http://localhost:8080/FlowFXWS/FlowFXWS"
-                );
-            }
-        } catch (Exception e) {
-            LOG.log(Level.SEVERE, "Error initializing FlowFXWS notification port", e);
-        }
+        outbox = NotificationOutbox.getInstance();
     }
 
     /**
-     * Sends notification when a project is created asynchronously.
+     * Queues the notification for a created project.
      * Notifies sponsor, leader, and technical leader.
      *
      * @param projectId the ID of the created project
      * @return CompletableFuture containing the response
      */
     public CompletableFuture<Respuesta> notifyProjectCreatedAsync(Long projectId) {
-        return CompletableFuture.supplyAsync(() -> {
-            try {
-                if (projectId == null) {
-                    return new Respuesta(false, "Project ID is required.", "projectId.null");
-                }
-                if (port == null) {
-                    return new Respuesta(false, "Web service not available.", "ws.port.null");
-                }
-
-                // TODO: Replace with actual SOAP call once stubs are regenerated
-                // cr.ac.una.flowfx.ws.Respuesta wsResponse = port.notifyProjectCreated(projectId);
-                // return mapRespuesta(wsResponse);
-                
-                LOG.log(Level.INFO, "Project creation notification queued for project: {0}", projectId);
-                return new Respuesta(true, "Project creation notification queued.", "notification.queued");
-
-            } catch (Exception ex) {
-                LOG.log(Level.SEVERE, "Error sending project creation notification", ex);
-                return new Respuesta(false, "Error sending notification.", "notification.error: " + ex.getMessage());
-            }
-        });
+        if (projectId == null) {
+            return CompletableFuture.completedFuture(new Respuesta(false, "Project ID is required.", "projectId.null"));
+        }
+        return enqueue(NotificationOutbox.Kind.PROJECT_CREATED, projectId, null, null);
     }
 
     /**
-     * Sends notification when a project status changes asynchronously.
+     * Queues the notification for a project status change.
      * Notifies sponsor, leader, and technical leader.
      *
      * @param projectId the ID of the project
@@ -97,63 +72,28 @@ public class NotificationIntegrationService {
      * @return CompletableFuture containing the response
      */
     public CompletableFuture<Respuesta> notifyProjectStatusChangedAsync(Long projectId, String newStatus, String oldStatus) {
-        return CompletableFuture.supplyAsync(() -> {
-            try {
-                if (projectId == null) {
-                    return new Respuesta(false, "Project ID is required.", "projectId.null");
-                }
-                if (port == null) {
-                    return new Respuesta(false, "Web service not available.", "ws.port.null");
-                }
-
-                // TODO: Replace with actual SOAP call once stubs are regenerated
-                // cr.ac.una.flowfx.ws.Respuesta wsResponse = port.notifyProjectStatusChanged(projectId, newStatus, oldStatus);
-                // return mapRespuesta(wsResponse);
-
-                LOG.log(Level.INFO, "Project status change notification queued for project: {0}, oldStatus: {1}, newStatus: {2}", 
-                        new Object[]{projectId, oldStatus, newStatus});
-                return new Respuesta(true, "Project status change notification queued.", "notification.queued");
-
-            } catch (Exception ex) {
-                LOG.log(Level.SEVERE, "Error sending project status change notification", ex);
-                return new Respuesta(false, "Error sending notification.", "notification.error: " + ex.getMessage());
-            }
-        });
+        if (projectId == null) {
+            return CompletableFuture.completedFuture(new Respuesta(false, "Project ID is required.", "projectId.null"));
+        }
+        return enqueue(NotificationOutbox.Kind.PROJECT_STATUS_CHANGED, projectId, oldStatus, newStatus);
     }
 
     /**
-     * Sends notification when an activity is created asynchronously.
+     * Queues the notification for a created activity.
      * Notifies the responsible person.
      *
      * @param activityId the ID of the created activity
      * @return CompletableFuture containing the response
      */
     public CompletableFuture<Respuesta> notifyActivityCreatedAsync(Long activityId) {
-        return CompletableFuture.supplyAsync(() -> {
-            try {
-                if (activityId == null) {
-                    return new Respuesta(false, "Activity ID is required.", "activityId.null");
-                }
-                if (port == null) {
-                    return new Respuesta(false, "Web service not available.", "ws.port.null");
-                }
-
-                // TODO: Replace with actual SOAP call once stubs are regenerated
-                // cr.ac.una.flowfx.ws.Respuesta wsResponse = port.notifyActivityCreated(activityId);
-                // return mapRespuesta(wsResponse);
-
-                LOG.log(Level.INFO, "Activity creation notification queued for activity: {0}", activityId);
-                return new Respuesta(true, "Activity creation notification queued.", "notification.queued");
-
-            } catch (Exception ex) {
-                LOG.log(Level.SEVERE, "Error sending activity creation notification", ex);
-                return new Respuesta(false, "Error sending notification.", "notification.error: " + ex.getMessage());
-            }
-        });
+        if (activityId == null) {
+            return CompletableFuture.completedFuture(new Respuesta(false, "Activity ID is required.", "activityId.null"));
+        }
+        return enqueue(NotificationOutbox.Kind.ACTIVITY_CREATED, activityId, null, null);
     }
 
     /**
-     * Sends notification when an activity status changes asynchronously.
+     * Queues the notification for an activity status change.
      * Notifies the responsible person.
      *
      * @param activityId the ID of the activity
@@ -162,132 +102,105 @@ public class NotificationIntegrationService {
      * @return CompletableFuture containing the response
      */
     public CompletableFuture<Respuesta> notifyActivityStatusChangedAsync(Long activityId, String newStatus, String oldStatus) {
-        return CompletableFuture.supplyAsync(() -> {
-            try {
-                if (activityId == null) {
-                    return new Respuesta(false, "Activity ID is required.", "activityId.null");
-                }
-                if (port == null) {
-                    return new Respuesta(false, "Web service not available.", "ws.port.null");
-                }
-
-                // TODO: Replace with actual SOAP call once stubs are regenerated
-                // cr.ac.una.flowfx.ws.Respuesta wsResponse = port.notifyActivityStatusChanged(activityId, newStatus, oldStatus);
-                // return mapRespuesta(wsResponse);
-
-                LOG.log(Level.INFO, "Activity status change notification queued for activity: {0}, oldStatus: {1}, newStatus: {2}", 
-                        new Object[]{activityId, oldStatus, newStatus});
-                return new Respuesta(true, "Activity status change notification queued.", "notification.queued");
-
-            } catch (Exception ex) {
-                LOG.log(Level.SEVERE, "Error sending activity status change notification", ex);
-                return new Respuesta(false, "Error sending notification.", "notification.error: " + ex.getMessage());
-            }
-        });
+        if (activityId == null) {
+            return CompletableFuture.completedFuture(new Respuesta(false, "Activity ID is required.", "activityId.null"));
+        }
+        return enqueue(NotificationOutbox.Kind.ACTIVITY_STATUS_CHANGED, activityId, oldStatus, newStatus);
     }
 
     /**
-     * Sends notification when project tracking/observations are added asynchronously.
+     * Queues the notification for added project tracking/observations.
      * Notifies sponsor, leader, and technical leader.
      *
      * @param trackingId the ID of the created tracking record
      * @return CompletableFuture containing the response
      */
     public CompletableFuture<Respuesta> notifyTrackingCreatedAsync(Long trackingId) {
-        return CompletableFuture.supplyAsync(() -> {
-            try {
-                if (trackingId == null) {
-                    return new Respuesta(false, "Tracking ID is required.", "trackingId.null");
-                }
-                if (port == null) {
-                    return new Respuesta(false, "Web service not available.", "ws.port.null");
-                }
-
-                // TODO: Replace with actual SOAP call once stubs are regenerated
-                // cr.ac.una.flowfx.ws.Respuesta wsResponse = port.notifyTrackingCreated(trackingId);
-                // return mapRespuesta(wsResponse);
-
-                LOG.log(Level.INFO, "Tracking creation notification queued for tracking: {0}", trackingId);
-                return new Respuesta(true, "Tracking creation notification queued.", "notification.queued");
-
-            } catch (Exception ex) {
-                LOG.log(Level.SEVERE, "Error sending tracking creation notification", ex);
-                return new Respuesta(false, "Error sending notification.", "notification.error: " + ex.getMessage());
-            }
-        });
+        if (trackingId == null) {
+            return CompletableFuture.completedFuture(new Respuesta(false, "Tracking ID is required.", "trackingId.null"));
+        }
+        return enqueue(NotificationOutbox.Kind.TRACKING_CREATED, trackingId, null, null);
     }
 
     /**
-     * Synchronous version of project creation notification for immediate feedback.
+     * Synchronous version of the project creation notification. Blocks only until the
+     * event is queued in the outbox, not until it is delivered.
      */
     public Respuesta notifyProjectCreated(Long projectId) {
         try {
             return notifyProjectCreatedAsync(projectId).get();
         } catch (Exception ex) {
             LOG.log(Level.WARNING, "Error in synchronous project creation notification", ex);
-            return new Respuesta(false, "Error sending notification.", "notification.sync.error");
+            return new Respuesta(false, "Error queuing notification.", "notification.sync.error");
         }
     }
 
     /**
-     * Synchronous version of project status change notification for immediate feedback.
+     * Synchronous version of the project status change notification. Blocks only until the
+     * event is queued in the outbox, not until it is delivered.
      */
     public Respuesta notifyProjectStatusChanged(Long projectId, String newStatus, String oldStatus) {
         try {
             return notifyProjectStatusChangedAsync(projectId, newStatus, oldStatus).get();
         } catch (Exception ex) {
             LOG.log(Level.WARNING, "Error in synchronous project status change notification", ex);
-            return new Respuesta(false, "Error sending notification.", "notification.sync.error");
+            return new Respuesta(false, "Error queuing notification.", "notification.sync.error");
         }
     }
 
     /**
-     * Synchronous version of activity creation notification for immediate feedback.
+     * Synchronous version of the activity creation notification. Blocks only until the
+     * event is queued in the outbox, not until it is delivered.
      */
     public Respuesta notifyActivityCreated(Long activityId) {
         try {
             return notifyActivityCreatedAsync(activityId).get();
         } catch (Exception ex) {
             LOG.log(Level.WARNING, "Error in synchronous activity creation notification", ex);
-            return new Respuesta(false, "Error sending notification.", "notification.sync.error");
+            return new Respuesta(false, "Error queuing notification.", "notification.sync.error");
         }
     }
 
     /**
-     * Synchronous version of activity status change notification for immediate feedback.
+     * Synchronous version of the activity status change notification. Blocks only until the
+     * event is queued in the outbox, not until it is delivered.
      */
     public Respuesta notifyActivityStatusChanged(Long activityId, String newStatus, String oldStatus) {
         try {
             return notifyActivityStatusChangedAsync(activityId, newStatus, oldStatus).get();
         } catch (Exception ex) {
             LOG.log(Level.WARNING, "Error in synchronous activity status change notification", ex);
-            return new Respuesta(false, "Error sending notification.", "notification.sync.error");
+            return new Respuesta(false, "Error queuing notification.", "notification.sync.error");
         }
     }
 
     /**
-     * Synchronous version of tracking creation notification for immediate feedback.
+     * Synchronous version of the tracking creation notification. Blocks only until the
+     * event is queued in the outbox, not until it is delivered.
      */
     public Respuesta notifyTrackingCreated(Long trackingId) {
         try {
             return notifyTrackingCreatedAsync(trackingId).get();
         } catch (Exception ex) {
             LOG.log(Level.WARNING, "Error in synchronous tracking creation notification", ex);
-            return new Respuesta(false, "Error sending notification.", "notification.sync.error");
+            return new Respuesta(false, "Error queuing notification.", "notification.sync.error");
         }
     }
 
-    /**
-     * Maps the web service response to the client response (placeholder for future implementation).
-     */
-    private Respuesta mapRespuesta(cr.ac.una.flowfx.ws.Respuesta wsResponse) {
-        if (wsResponse == null) {
-            return new Respuesta(false, "Null response from web service", "ws.response.null");
-        }
-        return new Respuesta(
-            wsResponse.isEstado(),
-            wsResponse.getMensaje(),
-            wsResponse.getMensajeInterno()
-        );
+    private CompletableFuture<Respuesta> enqueue(
+        NotificationOutbox.Kind kind,
+        Long entityId,
+        String oldStatus,
+        String newStatus
+    ) {
+        return outbox.enqueue(kind, entityId, List.of(), oldStatus, newStatus).handle((v, ex) -> {
+            if (ex == null) {
+                LOG.log(Level.FINE, "{0} notification queued for {1}", new Object[]{kind, entityId});
+                return new Respuesta(true, "Notification queued.", "notification.queued");
+            }
+            // Still held in memory and delivered unless the application exits first
+            LOG.log(Level.WARNING, "Notification " + kind + " for " + entityId + " could not be stored", ex);
+            return new Respuesta(false, "Error storing notification.", "notification.outbox: " + ex.getMessage());
+        });
     }
-}
\ No newline at end of file
+}
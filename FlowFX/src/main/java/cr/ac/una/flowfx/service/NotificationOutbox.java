@@ -0,0 +1,494 @@
+package cr.ac.una.flowfx.service;
+
+import cr.ac.una.flowfx.util.Respuesta;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Durable queue of notification events waiting to be delivered to the server.
+ *
+ * <p>Events are appended to a local log ({@code ~/.flowfx/outbox/notifications.log})
+ * before {@link #enqueue} completes, so a crash or a closed application does
+ * not lose them; the log is replayed the next time the outbox starts. Events
+ * for the same entity, kind and recipient that arrive within the digest
+ * window are coalesced into one: creations are counted and consecutive
+ * status changes keep the first old status and the last new one, so a change
+ * that is reverted inside the window is dropped altogether. When the window
+ * closes, up to {@value #MAX_BATCH_SIZE} events are handed to
+ * {@link NotificationFanOut}, which sends each recipient one digest of them.</p>
+ *
+ * <p>The window defaults to {@value #DEFAULT_DIGEST_WINDOW_MS} ms and can be
+ * set with the {@code flowfx.notifications.digest.window.ms} system
+ * property.</p>
+ *
+ * <p>A failed delivery is retried with exponential backoff and jitter, from
+ * {@value #MIN_BACKOFF_MS} ms up to {@value #MAX_BACKOFF_MS} ms. Each event
+ * carries a stable key, so the server can ignore a batch it already stored
+ * when only the acknowledgement was lost.</p>
+ *
+ * <p>All work runs on one dedicated daemon thread; nothing here touches the
+ * common pool or the FX thread.</p>
+ *
+ * @author FlowFX Development Team
+ * @version 1.0
+ * @since 3.0
+ */
+public final class NotificationOutbox {
+
+    private static final Logger LOG = Logger.getLogger(
+        NotificationOutbox.class.getName()
+    );
+
+    private static final Path DIRECTORY = Path.of(System.getProperty("user.home"), ".flowfx", "outbox");
+    private static final Path FILE = DIRECTORY.resolve("notifications.log");
+
+    private static final byte EVENT = 'E';
+    private static final byte ACK = 'A';
+
+    private static final long DEFAULT_DIGEST_WINDOW_MS = 30_000;
+    private static final int MAX_BATCH_SIZE = 1_000;
+    private static final long MIN_BACKOFF_MS = 1_000;
+    private static final long MAX_BACKOFF_MS = 300_000;
+    // Rewrite the log with only the undelivered events once it grows past this
+    private static final long COMPACT_BYTES = 1L << 20;
+
+    /**
+     * Kinds of notification event.
+     */
+    public enum Kind {
+        PROJECT_CREATED,
+        PROJECT_STATUS_CHANGED,
+        ACTIVITY_CREATED,
+        ACTIVITY_STATUS_CHANGED,
+        TRACKING_CREATED;
+
+        boolean isStatusChange() {
+            return this == PROJECT_STATUS_CHANGED || this == ACTIVITY_STATUS_CHANGED;
+        }
+
+        String entityType() {
+            return switch (this) {
+                case PROJECT_CREATED, PROJECT_STATUS_CHANGED -> "PROJECT";
+                case ACTIVITY_CREATED, ACTIVITY_STATUS_CHANGED -> "ACTIVITY";
+                case TRACKING_CREATED -> "TRACKING";
+            };
+        }
+    }
+
+    private final ScheduledExecutorService executor =
+        Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "notification-outbox");
+            t.setDaemon(true);
+            return t;
+        });
+    private final NotificationFanOut fanOut = new NotificationFanOut();
+    private final long digestWindowMs = resolveDigestWindow();
+    // Appends waiting for the outbox thread, guarded by itself
+    private final List<Append> incoming = new ArrayList<>();
+
+    // Everything below is confined to the outbox thread
+    private final Map<String, Event> pending = new LinkedHashMap<>();
+    // Events already sent once; resent as they are so their keys stay valid
+    private final Deque<Event> retry = new ArrayDeque<>();
+    private FileChannel log;
+    private long nextSeq = 1;
+    private long backoffMs;
+    private ScheduledFuture<?> flush;
+
+    private NotificationOutbox() {
+        executor.execute(this::open);
+    }
+
+    private static class Holder {
+
+        private static final NotificationOutbox INSTANCE = new NotificationOutbox();
+    }
+
+    /**
+     * Returns the application-wide outbox, replaying events left over from a
+     * previous session the first time it is called.
+     *
+     * @return the singleton instance
+     */
+    public static NotificationOutbox getInstance() {
+        return Holder.INSTANCE;
+    }
+
+    /**
+     * Queues an event for each recipient.
+     *
+     * @param kind         what happened
+     * @param entityId     the project, activity or tracking concerned
+     * @param recipientIds people to notify; empty to let the server resolve them
+     * @param oldStatus    previous status for status changes, otherwise {@code null}
+     * @param newStatus    new status for status changes, otherwise {@code null}
+     * @return future completed once the events are written to the local log,
+     *         or completed exceptionally when they could only be kept in memory
+     */
+    public CompletableFuture<Void> enqueue(
+        Kind kind,
+        Long entityId,
+        Collection<Long> recipientIds,
+        String oldStatus,
+        String newStatus
+    ) {
+        Objects.requireNonNull(kind, "kind");
+        Objects.requireNonNull(entityId, "entityId");
+        Set<Long> recipients = new LinkedHashSet<>();
+        if (recipientIds != null) {
+            for (Long id : recipientIds) if (id != null) recipients.add(id);
+        }
+        if (recipients.isEmpty()) recipients.add(null);
+
+        List<Event> events = new ArrayList<>(recipients.size());
+        for (Long recipientId : recipients) {
+            events.add(new Event(UUID.randomUUID().toString(), kind, entityId, recipientId, oldStatus, newStatus));
+        }
+        Append append = new Append(events, new CompletableFuture<>());
+        boolean first;
+        synchronized (incoming) {
+            first = incoming.isEmpty();
+            incoming.add(append);
+        }
+        // One drain writes and syncs every append made in the meantime
+        if (first) executor.execute(this::drain);
+        return append.done();
+    }
+
+    // ======== Outbox thread ========
+
+    private void open() {
+        try {
+            createDirectory();
+            List<Event> undelivered = new ArrayList<>();
+            long valid = replay(undelivered);
+            log = FileChannel.open(FILE, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+            if (log.size() > valid) {
+                LOG.warning("Discarding a torn record at the end of the notification outbox");
+                log.truncate(valid);
+            }
+            log.position(valid);
+            if (!undelivered.isEmpty()) {
+                LOG.log(Level.INFO, "Replaying {0} undelivered notification(s)", undelivered.size());
+                // The log holds events as they were queued; coalesce them again
+                List<Event> dropped = new ArrayList<>();
+                for (Event e : undelivered) coalesce(e, dropped);
+                if (!dropped.isEmpty()) acknowledge(dropped);
+                if (!pending.isEmpty()) schedule(digestWindowMs);
+            }
+        } catch (IOException ex) {
+            LOG.log(Level.WARNING, "Notification outbox unavailable; events will be kept in memory only", ex);
+            log = null;
+        }
+    }
+
+    private long replay(List<Event> undelivered) throws IOException {
+        if (!Files.exists(FILE)) return 0;
+        byte[] bytes = Files.readAllBytes(FILE);
+        Map<Long, Event> live = new LinkedHashMap<>();
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes));
+        long valid = 0;
+        try {
+            while (in.available() > 0) {
+                byte type = in.readByte();
+                if (type == EVENT) {
+                    Event e = readEvent(in);
+                    long seq = e.seqs.get(0);
+                    live.put(seq, e);
+                    nextSeq = Math.max(nextSeq, seq + 1);
+                } else if (type == ACK) {
+                    live.remove(in.readLong());
+                } else {
+                    break;
+                }
+                valid = bytes.length - in.available();
+            }
+        } catch (EOFException | IllegalArgumentException ex) {
+            // A record cut short by a crash; everything before it is intact
+        }
+        undelivered.addAll(live.values());
+        return valid;
+    }
+
+    private void drain() {
+        List<Append> appends;
+        synchronized (incoming) {
+            appends = new ArrayList<>(incoming);
+            incoming.clear();
+        }
+        List<Event> events = new ArrayList<>();
+        for (Append a : appends) events.addAll(a.events());
+        IOException failure = null;
+        try {
+            ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+            DataOutputStream out = new DataOutputStream(buffer);
+            for (Event e : events) {
+                e.seqs.add(nextSeq);
+                out.writeByte(EVENT);
+                writeEvent(out, e, nextSeq++);
+            }
+            write(buffer.toByteArray(), true);
+        } catch (IOException ex) {
+            LOG.log(Level.WARNING, "Could not write notification events to the outbox", ex);
+            failure = ex;
+        }
+        // Acknowledge only once the whole batch is coalesced: compacting any
+        // earlier would drop events of the batch that are not pending yet
+        List<Event> dropped = new ArrayList<>();
+        for (Event e : events) coalesce(e, dropped);
+        if (!dropped.isEmpty()) acknowledge(dropped);
+        for (Append a : appends) {
+            if (failure == null) a.done().complete(null);
+            else a.done().completeExceptionally(failure);
+        }
+        if (!pending.isEmpty()) schedule(digestWindowMs);
+    }
+
+    // Reverted status changes go to dropped for the caller to acknowledge
+    private void coalesce(Event e, List<Event> dropped) {
+        String key = e.kind + ":" + e.entityId + ":" + e.recipientId;
+        Event current = pending.get(key);
+        if (current == null) {
+            pending.put(key, e);
+            current = e;
+        } else {
+            current.merge(e);
+        }
+        if (current.kind.isStatusChange() && Objects.equals(current.oldStatus, current.newStatus)) {
+            // Changed back within the window: nobody needs to hear about it
+            pending.remove(key);
+            dropped.add(current);
+        }
+    }
+
+    private void deliver() {
+        flush = null;
+        List<Event> batch = new ArrayList<>(MAX_BATCH_SIZE);
+        while (batch.size() < MAX_BATCH_SIZE && !retry.isEmpty()) batch.add(retry.poll());
+        Iterator<Event> it = pending.values().iterator();
+        while (batch.size() < MAX_BATCH_SIZE && it.hasNext()) {
+            batch.add(it.next());
+            it.remove();
+        }
+        if (batch.isEmpty()) return;
+
+        Respuesta r = send(batch);
+        if (Boolean.TRUE.equals(r.getEstado())) {
+            backoffMs = 0;
+            acknowledge(batch);
+            LOG.log(Level.FINE, "Delivered {0} notification(s)", batch.size());
+            if (!retry.isEmpty() || !pending.isEmpty()) schedule(0);
+            return;
+        }
+        for (int i = batch.size() - 1; i >= 0; i--) retry.addFirst(batch.get(i));
+        backoffMs = backoffMs == 0 ? MIN_BACKOFF_MS : Math.min(MAX_BACKOFF_MS, backoffMs * 2);
+        long delay = backoffMs / 2 + ThreadLocalRandom.current().nextLong(backoffMs / 2 + 1);
+        LOG.log(
+            Level.WARNING,
+            "Notification delivery failed ({0}); {1} event(s) will be retried in {2} ms",
+            new Object[] { r.getMensaje(), retry.size() + pending.size(), delay }
+        );
+        schedule(delay);
+    }
+
+    private Respuesta send(List<Event> batch) {
+        List<NotificationFanOut.Change> changes = new ArrayList<>(batch.size());
+        for (Event e : batch) {
+            changes.add(new NotificationFanOut.Change(e.key, e.kind, e.entityId, e.recipientId, e.oldStatus, e.newStatus, e.count));
+        }
+        return fanOut.deliver(changes);
+    }
+
+    private void acknowledge(List<Event> events) {
+        try {
+            ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+            DataOutputStream out = new DataOutputStream(buffer);
+            for (Event e : events) {
+                for (Long seq : e.seqs) {
+                    out.writeByte(ACK);
+                    out.writeLong(seq);
+                }
+            }
+            // A lost acknowledgement only means a resend the server recognises
+            write(buffer.toByteArray(), false);
+            compact();
+        } catch (IOException ex) {
+            LOG.log(Level.WARNING, "Could not record delivered notifications", ex);
+        }
+    }
+
+    private void compact() throws IOException {
+        if (log == null) return;
+        if (pending.isEmpty() && retry.isEmpty()) {
+            log.truncate(0);
+            log.position(0);
+            return;
+        }
+        if (log.size() < COMPACT_BYTES) return;
+        Path tmp = Files.createTempFile(DIRECTORY, "notifications", ".tmp");
+        try {
+            ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+            DataOutputStream out = new DataOutputStream(buffer);
+            List<Event> live = new ArrayList<>(retry);
+            live.addAll(pending.values());
+            for (Event e : live) {
+                e.seqs.clear();
+                e.seqs.add(nextSeq);
+                out.writeByte(EVENT);
+                writeEvent(out, e, nextSeq++);
+            }
+            Files.write(tmp, buffer.toByteArray(), StandardOpenOption.SYNC);
+            log.close();
+            Files.move(tmp, FILE, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tmp);
+            if (!log.isOpen()) {
+                log = FileChannel.open(FILE, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+                log.position(log.size());
+            }
+        }
+    }
+
+    private void write(byte[] bytes, boolean sync) throws IOException {
+        if (log == null) throw new IOException("Notification outbox is not open");
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        while (buffer.hasRemaining()) log.write(buffer);
+        if (sync) log.force(false);
+    }
+
+    private void schedule(long delayMs) {
+        // A pending flush, including a backoff, is never brought forward
+        if (flush != null && !flush.isDone()) return;
+        flush = executor.schedule(this::deliver, delayMs, TimeUnit.MILLISECONDS);
+    }
+
+    private static long resolveDigestWindow() {
+        String raw = System.getProperty("flowfx.notifications.digest.window.ms");
+        if (raw == null || raw.isBlank()) return DEFAULT_DIGEST_WINDOW_MS;
+        try {
+            return Math.max(0, Long.parseLong(raw.trim()));
+        } catch (NumberFormatException e) {
+            LOG.log(Level.WARNING, "Invalid flowfx.notifications.digest.window.ms: {0}", raw);
+            return DEFAULT_DIGEST_WINDOW_MS;
+        }
+    }
+
+    private static void createDirectory() throws IOException {
+        if (Files.isDirectory(DIRECTORY)) return;
+        Files.createDirectories(DIRECTORY);
+        try {
+            Files.setPosixFilePermissions(DIRECTORY, PosixFilePermissions.fromString("rwx------"));
+        } catch (UnsupportedOperationException ignore) {}
+    }
+
+    // ======== Records ========
+
+    private static void writeEvent(DataOutputStream out, Event e, long seq) throws IOException {
+        out.writeLong(seq);
+        writeString(out, e.key);
+        writeString(out, e.kind.name());
+        out.writeLong(e.entityId);
+        out.writeBoolean(e.recipientId != null);
+        if (e.recipientId != null) out.writeLong(e.recipientId);
+        writeString(out, e.oldStatus);
+        writeString(out, e.newStatus);
+        out.writeInt(e.count);
+    }
+
+    private static Event readEvent(DataInputStream in) throws IOException {
+        long seq = in.readLong();
+        String key = readString(in);
+        Kind kind = Kind.valueOf(readString(in));
+        long entityId = in.readLong();
+        Long recipientId = in.readBoolean() ? in.readLong() : null;
+        String oldStatus = readString(in);
+        String newStatus = readString(in);
+        Event e = new Event(key, kind, entityId, recipientId, oldStatus, newStatus);
+        e.count = in.readInt();
+        e.seqs.add(seq);
+        return e;
+    }
+
+    private static void writeString(DataOutputStream out, String v) throws IOException {
+        if (v == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = v.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < 0) return null;
+        if (length > in.available()) throw new EOFException();
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private record Append(List<Event> events, CompletableFuture<Void> done) {}
+
+    /**
+     * One event, or several coalesced ones, with the log records it stands for.
+     */
+    private static final class Event {
+
+        private final String key;
+        private final Kind kind;
+        private final long entityId;
+        private final Long recipientId;
+        private final String oldStatus;
+        private String newStatus;
+        private int count = 1;
+        private final List<Long> seqs = new ArrayList<>();
+
+        private Event(String key, Kind kind, long entityId, Long recipientId, String oldStatus, String newStatus) {
+            this.key = key;
+            this.kind = kind;
+            this.entityId = entityId;
+            this.recipientId = recipientId;
+            this.oldStatus = oldStatus;
+            this.newStatus = newStatus;
+        }
+
+        private void merge(Event later) {
+            newStatus = later.newStatus;
+            count += later.count;
+            seqs.addAll(later.seqs);
+        }
+    }
+}
@@ -3,11 +3,9 @@ package cr.ac.una.flowfx.service;
 import cr.ac.una.flowfx.model.NotificationRecipientPK;
 import cr.ac.una.flowfx.util.Respuesta;
 import cr.ac.una.flowfx.ws.FlowFXWS;
-import cr.ac.una.flowfx.ws.FlowFXWS_Service;
 import jakarta.json.Json;
 import jakarta.json.JsonObject;
 import jakarta.json.JsonReader;
-import jakarta.xml.ws.BindingProvider;
 import java.io.StringReader;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -35,22 +33,11 @@ public class NotificationRecipientPKService {
     private FlowFXWS port;
 
     /**
-     * Initializes the web service port and configures the endpoint address.
-     * The endpoint address is set to the local development URL by default.
+     * Constructs the service client using the shared port from
+     * {@link FlowFXWSPortProvider}, where the endpoint address is configured.
      */
     public NotificationRecipientPKService() {
-        try {
-            FlowFXWS_Service service = new FlowFXWS_Service();
-            port = service.getFlowFXWSPort();
-            if (port instanceof BindingProvider) {
-                ((BindingProvider) port).getRequestContext().put(
-                    BindingProvider.ENDPOINT_ADDRESS_PROPERTY,
-                    "http://localhost:8080/FlowFXWS/FlowFXWS"
-                );
-            }
-        } catch (Exception e) {
-            LOG.log(Level.SEVERE, "Error initializing FlowFXWS port", e);
-        }
+        port = FlowFXWSPortProvider.getInstance().getPort();
     }
 
     /**
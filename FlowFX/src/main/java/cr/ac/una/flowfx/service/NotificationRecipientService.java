@@ -3,8 +3,6 @@ package cr.ac.una.flowfx.service;
 import cr.ac.una.flowfx.model.NotificationRecipientDTO;
 import cr.ac.una.flowfx.util.Respuesta;
 import cr.ac.una.flowfx.ws.FlowFXWS;
-import cr.ac.una.flowfx.ws.FlowFXWS_Service;
-import jakarta.xml.ws.BindingProvider;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -30,22 +28,11 @@ public class NotificationRecipientService {
     private FlowFXWS port;
 
     /**
-     * Constructs the service client and configures the WS endpoint to the
-     * default development address. Adjust the endpoint here if required.
+     * Constructs the service client using the shared port from
+     * {@link FlowFXWSPortProvider}, where the endpoint address is configured.
      */
     public NotificationRecipientService() {
-        try {
-            FlowFXWS_Service service = new FlowFXWS_Service();
-            port = service.getFlowFXWSPort();
-            if (port instanceof BindingProvider) {
-                ((BindingProvider) port).getRequestContext().put(
-                    BindingProvider.ENDPOINT_ADDRESS_PROPERTY,
-                    "http://localhost:8080/FlowFXWS/FlowFXWS"
-                );
-            }
-        } catch (Exception e) {
-            LOG.log(Level.SEVERE, "Error initializing FlowFXWS port", e);
-        }
+        port = FlowFXWSPortProvider.getInstance().getPort();
     }
 
     /**
@@ -145,7 +132,8 @@ public class NotificationRecipientService {
             );
 
             // TODO: Map to WS DTO and call the port:
-            // cr.ac.una.flowfx.ws.NotificationRecipientDTO wsDto = toWs(dto);
+            // cr.ac.una.flowfx.ws.NotificationRecipientDTO wsDto =
+            //     (cr.ac.una.flowfx.ws.NotificationRecipientDTO) WsMapper.toWs(dto);
             // cr.ac.una.flowfx.ws.Respuesta wsResp = port.createNotificationRecipient(wsDto);
             // return mapRespuesta(wsResp);
             return new Respuesta(
@@ -208,7 +196,8 @@ public class NotificationRecipientService {
             );
 
             // TODO: Map to WS DTO and call the port:
-            // cr.ac.una.flowfx.ws.NotificationRecipientDTO wsDto = toWs(dto);
+            // cr.ac.una.flowfx.ws.NotificationRecipientDTO wsDto =
+            //     (cr.ac.una.flowfx.ws.NotificationRecipientDTO) WsMapper.toWs(dto);
             // cr.ac.una.flowfx.ws.Respuesta wsResp = port.updateNotificationRecipient(wsDto);
             // return mapRespuesta(wsResp);
             return new Respuesta(
@@ -313,129 +302,4 @@ public class NotificationRecipientService {
             ws.getMensajeInterno()
         );
     }
-
-    /**
-     * Prepares a web-service DTO instance from the application DTO.
-     *
-     * <p>
-     * The generated web-service DTO classes live in {@code cr.ac.una.flowfx.ws}.
-     * The local model uses the same simple name, so this helper constructs and
-     * populates the generated WS DTO using fully-qualified types to avoid name
-     * clashes. This method returns an instance of the generated WS DTO
-     * ({@code cr.ac.una.flowfx.ws.NotificationRecipientDTO}) or {@code null}
-     * when the mapping fails.
-     * </p>
-     *
-     * @param dto application model DTO
-     * @return populated generated WS DTO or {@code null}
-     */
-    private NotificationRecipientDTO toWs(NotificationRecipientDTO dto) {
-        if (dto == null) return null;
-
-        /*
-         * Best-effort: if the generated WS DTO classes are present at runtime,
-         * attempt to construct and populate one via reflection so it can be used
-         * when invoking the real web-service methods. This helper intentionally
-         * avoids compile-time references to generated stub types to remain
-         * compatible when those classes are absent.
-         *
-         * We return the original application DTO (unchanged) so existing client
-         * code calling this helper continues to receive the model type. The
-         * reflective WS instance is created/populated only to support wiring the
-         * real port calls if you choose to do so later.
-         */
-        try {
-            Class<?> wsClazz = Class.forName(
-                "cr.ac.una.flowfx.ws.NotificationRecipientDTO"
-            );
-            Object wsInstance = wsClazz.getDeclaredConstructor().newInstance();
-
-            // Map composite PK -> generated PK when possible
-            if (dto.getNotificationRecipientPK() != null) {
-                try {
-                    Class<?> wpkClazz = Class.forName(
-                        "cr.ac.una.flowfx.ws.NotificationRecipientPK"
-                    );
-                    Object wpk = wpkClazz
-                        .getDeclaredConstructor()
-                        .newInstance();
-                    try {
-                        java.lang.reflect.Method setId = wpkClazz.getMethod(
-                            "setId",
-                            Long.class
-                        );
-                        setId.invoke(
-                            wpk,
-                            dto.getNotificationRecipientPK().getId()
-                        );
-                    } catch (Exception ignore) {}
-                    try {
-                        java.lang.reflect.Method setEmail = wpkClazz.getMethod(
-                            "setEmail",
-                            String.class
-                        );
-                        setEmail.invoke(
-                            wpk,
-                            dto.getNotificationRecipientPK().getEmail()
-                        );
-                    } catch (Exception ignore) {}
-                    try {
-                        java.lang.reflect.Method setPk = wsClazz.getMethod(
-                            "setNotificationRecipientPK",
-                            wpkClazz
-                        );
-                        setPk.invoke(wsInstance, wpk);
-                    } catch (Exception ignore) {}
-                } catch (ClassNotFoundException ignore) {
-                    // generated PK class not available - ignore
-                }
-            }
-
-            // Map simple String properties if setters exist
-            try {
-                java.lang.reflect.Method mName = wsClazz.getMethod(
-                    "setName",
-                    String.class
-                );
-                mName.invoke(wsInstance, dto.getName());
-            } catch (Exception ignore) {}
-            try {
-                java.lang.reflect.Method mRole = wsClazz.getMethod(
-                    "setRole",
-                    String.class
-                );
-                mRole.invoke(wsInstance, dto.getRole());
-            } catch (Exception ignore) {}
-
-            // Top-level email setter (if present) using email from PK
-            if (
-                dto.getNotificationRecipientPK() != null &&
-                dto.getNotificationRecipientPK().getEmail() != null
-            ) {
-                try {
-                    java.lang.reflect.Method mEmail = wsClazz.getMethod(
-                        "setEmail",
-                        String.class
-                    );
-                    mEmail.invoke(
-                        wsInstance,
-                        dto.getNotificationRecipientPK().getEmail()
-                    );
-                } catch (Exception ignore) {}
-            }
-
-            // Note: the reflective instance is not returned because the method must
-            // continue to return the application DTO for backward compatibility.
-        } catch (ClassNotFoundException cnf) {
-            // Generated WS DTO classes not present at runtime - nothing to do.
-        } catch (Exception ex) {
-            LOG.log(
-                Level.FINE,
-                "Could not construct or populate WS NotificationRecipientDTO via reflection",
-                ex
-            );
-        }
-
-        return dto;
-    }
 }
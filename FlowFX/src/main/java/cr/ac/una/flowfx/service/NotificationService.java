@@ -1,24 +1,10 @@
 package cr.ac.una.flowfx.service;
 
 import cr.ac.una.flowfx.model.NotificationDTO;
+import cr.ac.una.flowfx.util.JsonStreamDecoder;
 import cr.ac.una.flowfx.util.Respuesta;
 import cr.ac.una.flowfx.ws.FlowFXWS;
-import cr.ac.una.flowfx.ws.FlowFXWS_Service;
-import jakarta.json.Json;
-import jakarta.json.JsonArray;
-import jakarta.json.JsonNumber;
-import jakarta.json.JsonObject;
-import jakarta.json.JsonReader;
-import jakarta.json.JsonString;
-import jakarta.json.JsonValue;
-import jakarta.xml.ws.BindingProvider;
-import java.io.StringReader;
-import java.text.ParseException;
-import java.text.SimpleDateFormat;
-import java.time.Instant;
-import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
-import java.util.Date;
 import java.util.List;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -50,26 +36,51 @@ public class NotificationService {
     private static final String ENTITY_KEY = "Notification";
     private static final String LIST_KEY = "Notifications";
 
+    /**
+     * Field aliases accepted in notification payloads.
+     */
+    private static final JsonStreamDecoder<NotificationDTO> DECODER =
+        JsonStreamDecoder.<NotificationDTO>builder(NotificationDTO::new)
+            .longValue(
+                NotificationDTO::setId,
+                "id",
+                "notification_id",
+                "notificationId",
+                "NOTIFICATION_ID"
+            )
+            .string(NotificationDTO::setSubject, "subject", "SUBJECT")
+            .string(
+                NotificationDTO::setMessage,
+                "message",
+                "MESSAGE",
+                "body",
+                "BODY"
+            )
+            .character(NotificationDTO::setStatus, "status", "STATUS")
+            // eventType is a String in NotificationDTO; keep the full value
+            .string(
+                NotificationDTO::setEventType,
+                "event_type",
+                "eventType",
+                "EVENT_TYPE"
+            )
+            .date(
+                NotificationDTO::setSentAt,
+                "sent_at",
+                "sentAt",
+                "SENT_AT",
+                "sentAtMillis"
+            )
+            .build();
+
     private FlowFXWS port;
 
     /**
-     * Constructs the service client and configures the WS endpoint to the local
-     * development address. Adjust the endpoint string if a different address is
-     * required.
+     * Constructs the service client using the shared port from
+     * {@link FlowFXWSPortProvider}, where the endpoint address is configured.
      */
     public NotificationService() {
-        try {
-            FlowFXWS_Service service = new FlowFXWS_Service();
-            port = service.getFlowFXWSPort();
-            if (port instanceof BindingProvider) {
-                ((BindingProvider) port).getRequestContext().put(
-                    BindingProvider.ENDPOINT_ADDRESS_PROPERTY,
-                    "http://localhost:8080/FlowFXWS/FlowFXWS"
-                );
-            }
-        } catch (Exception e) {
-            LOG.log(Level.SEVERE, "Error initializing FlowFXWS port", e);
-        }
+        port = FlowFXWSPortProvider.getInstance().getPort();
     }
 
     /**
@@ -432,56 +443,20 @@ public class NotificationService {
         String mi = r.getMensajeInterno();
         if (mi == null || mi.isBlank()) return;
 
-        try (JsonReader jr = Json.createReader(new StringReader(mi))) {
-            JsonValue value = jr.readValue();
-            switch (value.getValueType()) {
-                case OBJECT: {
-                    JsonObject obj = (JsonObject) value;
-                    obj = unwrapObject(
-                        obj,
-                        "notification",
-                        "Notification",
-                        "NOTIFICATION"
-                    );
-                    NotificationDTO dto = fromJsonNotification(obj);
-                    if (dto != null) r.setResultado(ENTITY_KEY, dto);
-                    break;
-                }
-                case ARRAY: {
-                    JsonArray arr = (JsonArray) value;
-                    if (
-                        !arr.isEmpty() &&
-                        arr.get(0).getValueType() == JsonValue.ValueType.OBJECT
-                    ) {
-                        NotificationDTO dto = fromJsonNotification(
-                            arr.getJsonObject(0)
-                        );
-                        if (dto != null) r.setResultado(ENTITY_KEY, dto);
-                    }
-                    break;
-                }
-                default:
-                    break;
-            }
+        try {
+            NotificationDTO dto = DECODER.decodeSingle(
+                mi,
+                "notification",
+                "Notification",
+                "NOTIFICATION"
+            );
+            if (dto != null) r.setResultado(ENTITY_KEY, dto);
         } catch (Exception ex) {
-            // Fallback: attempt to parse strictly as object
-            try (JsonReader jr = Json.createReader(new StringReader(mi))) {
-                JsonObject obj = jr.readObject();
-                obj = unwrapObject(
-                    obj,
-                    "notification",
-                    "Notification",
-                    "NOTIFICATION"
-                );
-                NotificationDTO dto = fromJsonNotification(obj);
-                if (dto != null) r.setResultado(ENTITY_KEY, dto);
-            } catch (Exception e) {
-                LOG.log(
-                    Level.FINE,
-                    "Unable to parse mensajeInterno to single NotificationDTO",
-                    e
-                );
-            }
+            LOG.log(
+                Level.FINE,
+                "Unable to parse mensajeInterno to single NotificationDTO",
+                ex
+            );
         }
     }
 
@@ -496,47 +471,16 @@ public class NotificationService {
         if (mi == null || mi.isBlank()) return;
 
         List<NotificationDTO> list = new ArrayList<>();
-
-        // 1) Try direct array
-        try (JsonReader jr = Json.createReader(new StringReader(mi))) {
-            JsonArray arr = jr.readArray();
-            for (int i = 0; i < arr.size(); i++) {
-                if (arr.get(i).getValueType() == JsonValue.ValueType.OBJECT) {
-                    NotificationDTO dto = fromJsonNotification(
-                        arr.getJsonObject(i)
-                    );
-                    if (dto != null) list.add(dto);
-                }
-            }
-            r.setResultado(LIST_KEY, list);
-            return;
-        } catch (Exception ignore) {
-            // continue to other strategies
-        }
-
-        // 2) Try object with array inside under common keys
-        try (JsonReader jr = Json.createReader(new StringReader(mi))) {
-            JsonObject root = jr.readObject();
-            JsonArray arr = unwrapArray(
-                root,
+        try {
+            DECODER.decodeList(
+                mi,
+                list::add,
                 "notifications",
                 "Notifications",
                 "NOTIFICATIONS",
                 "data",
                 "list"
             );
-            if (arr != null) {
-                for (int i = 0; i < arr.size(); i++) {
-                    if (
-                        arr.get(i).getValueType() == JsonValue.ValueType.OBJECT
-                    ) {
-                        NotificationDTO dto = fromJsonNotification(
-                            arr.getJsonObject(i)
-                        );
-                        if (dto != null) list.add(dto);
-                    }
-                }
-            }
         } catch (Exception ex) {
             LOG.log(
                 Level.WARNING,
@@ -547,209 +491,4 @@ public class NotificationService {
 
         r.setResultado(LIST_KEY, list);
     }
-
-    /**
-     * If the provided object contains a nested object under any of the supplied
-     * keys, returns that nested object; otherwise returns the original object.
-     */
-    private JsonObject unwrapObject(JsonObject obj, String... keys) {
-        if (obj == null) return null;
-        for (String k : keys) {
-            if (
-                obj.containsKey(k) &&
-                obj.get(k).getValueType() == JsonValue.ValueType.OBJECT
-            ) {
-                return obj.getJsonObject(k);
-            }
-        }
-        return obj;
-    }
-
-    /**
-     * If the provided object contains an array under any of the supplied keys,
-     * returns that array; otherwise returns null.
-     */
-    private JsonArray unwrapArray(JsonObject obj, String... keys) {
-        if (obj == null) return null;
-        for (String k : keys) {
-            if (
-                obj.containsKey(k) &&
-                obj.get(k).getValueType() == JsonValue.ValueType.ARRAY
-            ) {
-                return obj.getJsonArray(k);
-            }
-        }
-        return null;
-    }
-
-    /**
-     * Converts a JSON object representing a notification into a {@link NotificationDTO}.
-     * The method is tolerant to common field aliases and formats.
-     *
-     * @param o the JSON object to transform
-     * @return the constructed NotificationDTO or {@code null} when input is null
-     */
-    private NotificationDTO fromJsonNotification(JsonObject o) {
-        if (o == null) return null;
-        NotificationDTO d = new NotificationDTO();
-
-        d.setId(
-            getLong(
-                o,
-                "id",
-                "notification_id",
-                "notificationId",
-                "NOTIFICATION_ID"
-            )
-        );
-
-        d.setSubject(getString(o, "subject", "SUBJECT"));
-        d.setMessage(getString(o, "message", "MESSAGE", "body", "BODY"));
-
-        d.setStatus(getChar(o, "status", "STATUS"));
-        // eventType in NotificationDTO is a String; map using getString to preserve full value
-        d.setEventType(getString(o, "event_type", "eventType", "EVENT_TYPE"));
-
-        d.setSentAt(getDate(o, "sent_at", "sentAt", "SENT_AT", "sentAtMillis"));
-
-        return d;
-    }
-
-    // ------------------------ JSON helper utilities ------------------------
-
-    private String getString(JsonObject obj, String... keys) {
-        if (obj == null) return null;
-        for (String k : keys) {
-            if (obj.containsKey(k) && !obj.isNull(k)) {
-                try {
-                    JsonValue.ValueType vt = obj.get(k).getValueType();
-                    switch (vt) {
-                        case STRING:
-                            return ((JsonString) obj.get(k)).getString();
-                        case NUMBER:
-                            return ((JsonNumber) obj.get(k)).toString();
-                        case TRUE:
-                            return "true";
-                        case FALSE:
-                            return "false";
-                        default:
-                            return obj.get(k).toString();
-                    }
-                } catch (Exception ignore) {
-                    // continue to next candidate
-                }
-            }
-        }
-        return null;
-    }
-
-    private Long getLong(JsonObject obj, String... keys) {
-        if (obj == null) return null;
-        for (String k : keys) {
-            if (obj.containsKey(k) && !obj.isNull(k)) {
-                try {
-                    JsonValue v = obj.get(k);
-                    switch (v.getValueType()) {
-                        case NUMBER:
-                            return obj.getJsonNumber(k).longValue();
-                        case STRING:
-                            String s = obj.getString(k);
-                            if (
-                                s != null && !s.isBlank()
-                            ) return Long.parseLong(s.trim());
-                            break;
-                        default:
-                            String raw = v.toString();
-                            if (raw != null && !raw.isBlank()) {
-                                raw = raw.replace("\"", "").trim();
-                                return Long.parseLong(raw);
-                            }
-                    }
-                } catch (Exception ignore) {
-                    // continue to next candidate
-                }
-            }
-        }
-        return null;
-    }
-
-    private Character getChar(JsonObject obj, String... keys) {
-        String s = getString(obj, keys);
-        if (s != null) {
-            s = s.trim();
-            if (!s.isEmpty()) return s.charAt(0);
-        }
-        return null;
-    }
-
-    /**
-     * Attempts to parse a date value from various formats:
-     * - ISO-8601 instant strings
-     * - common date/time formats ("yyyy-MM-dd HH:mm:ss", "yyyy-MM-dd")
-     * - numeric epoch seconds/milliseconds
-     */
-    private Date getDate(JsonObject obj, String... keys) {
-        if (obj == null) return null;
-        // 1) Try textual representations first
-        String s = getString(obj, keys);
-        if (s != null && !s.isBlank()) {
-            s = s.trim();
-            // ISO-8601
-            try {
-                Instant inst = Instant.parse(s);
-                return Date.from(inst);
-            } catch (DateTimeParseException ignore) {
-                // try other common formats
-            }
-            try {
-                return new SimpleDateFormat("yyyy-MM-dd HH:mm:ss").parse(s);
-            } catch (ParseException ignore) {
-                // try next
-            }
-            try {
-                return new SimpleDateFormat("yyyy-MM-dd").parse(s);
-            } catch (ParseException ignore) {
-                // ignore and try numeric below
-            }
-        }
-
-        // 2) Try numeric epoch values (seconds or milliseconds)
-        for (String k : keys) {
-            if (
-                obj.containsKey(k) &&
-                obj.get(k).getValueType() == JsonValue.ValueType.NUMBER
-            ) {
-                try {
-                    long epoch = obj.getJsonNumber(k).longValue();
-                    // Heuristic: if length <= 10 treat as seconds
-                    if (String.valueOf(Math.abs(epoch)).length() <= 10) {
-                        epoch = epoch * 1000L;
-                    }
-                    return new Date(epoch);
-                } catch (Exception ignore) {
-                    // try next candidate
-                }
-            }
-            // Also consider numeric encoded as string
-            if (
-                obj.containsKey(k) &&
-                obj.get(k).getValueType() == JsonValue.ValueType.STRING
-            ) {
-                try {
-                    String v = obj.getString(k);
-                    if (v != null && !v.isBlank()) {
-                        long epoch = Long.parseLong(v.trim());
-                        if (String.valueOf(Math.abs(epoch)).length() <= 10) {
-                            epoch = epoch * 1000L;
-                        }
-                        return new Date(epoch);
-                    }
-                } catch (Exception ignore) {
-                    // continue
-                }
-            }
-        }
-
-        return null;
-    }
 }
@@ -0,0 +1,228 @@
+package cr.ac.una.flowfx.service;
+
+import cr.ac.una.flowfx.model.PersonDTO;
+import cr.ac.una.flowfx.util.AsyncTasks;
+import cr.ac.una.flowfx.util.EntityCache;
+import cr.ac.una.flowfx.util.EntityCaches;
+import cr.ac.una.flowfx.util.Respuesta;
+import cr.ac.una.flowfx.util.SingleFlight;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Client-side directory of {@link PersonDTO} instances keyed by id.
+ *
+ * <p>Lookups that miss the directory are not sent one by one. Ids requested
+ * within a short window ({@value #BATCH_WINDOW_MS} ms) are collected and
+ * resolved with a single {@link PersonService#findByIds(List)} call, and
+ * concurrent requests for the same id share the same pending future through
+ * a {@link SingleFlight}. Rendering
+ * a table with hundreds of rows therefore costs one round trip for names.</p>
+ *
+ * <p>Resolved people are kept in {@link EntityCaches#persons()}, so entries
+ * follow that cache's size bound, TTL and write-through invalidation.</p>
+ */
+public final class PersonDirectory {
+
+    private static final Logger LOG = Logger.getLogger(
+        PersonDirectory.class.getName()
+    );
+    private static final long BATCH_WINDOW_MS = 15;
+    private static final int MAX_BATCH_SIZE = 500;
+
+    private final EntityCache<Long, PersonDTO> people = EntityCaches.persons();
+    private final SingleFlight<Long, PersonDTO> lookups =
+        SingleFlight.named("PersonDirectory");
+    // Lookups waiting for the next batch, guarded by itself
+    private final Map<Long, CompletableFuture<PersonDTO>> pending =
+        new LinkedHashMap<>();
+    private final ScheduledExecutorService scheduler =
+        Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "person-directory-batcher");
+            t.setDaemon(true);
+            return t;
+        });
+    private boolean flushScheduled;
+
+    private PersonDirectory() {}
+
+    private static class Holder {
+
+        private static final PersonDirectory INSTANCE = new PersonDirectory();
+    }
+
+    /**
+     * Returns the application-wide directory.
+     *
+     * @return the singleton instance
+     */
+    public static PersonDirectory getInstance() {
+        return Holder.INSTANCE;
+    }
+
+    /**
+     * Returns the person if it is already known, without contacting the service.
+     *
+     * @param id person identifier
+     * @return the cached person or {@code null}
+     */
+    public PersonDTO getIfPresent(Long id) {
+        return id == null ? null : people.get(id);
+    }
+
+    /**
+     * Resolves a person asynchronously. Misses are batched with other misses
+     * requested in the same window.
+     *
+     * @param id person identifier
+     * @return future completed with the person, or {@code null} when not found
+     */
+    public CompletableFuture<PersonDTO> get(Long id) {
+        if (id == null || id <= 0) return CompletableFuture.completedFuture(null);
+        PersonDTO known = people.get(id);
+        if (known != null) return CompletableFuture.completedFuture(known);
+
+        return lookups.share(id, this::enqueue);
+    }
+
+    /**
+     * Resolves several people at once.
+     *
+     * @param ids person identifiers
+     * @return future completed with the people found, keyed by id
+     */
+    public CompletableFuture<Map<Long, PersonDTO>> getAll(Collection<Long> ids) {
+        if (ids == null || ids.isEmpty()) {
+            return CompletableFuture.completedFuture(Map.of());
+        }
+        Map<Long, CompletableFuture<PersonDTO>> futures = new HashMap<>();
+        for (Long id : ids) {
+            if (id != null && id > 0) futures.putIfAbsent(id, get(id));
+        }
+        return CompletableFuture.allOf(
+            futures.values().toArray(CompletableFuture[]::new)
+        ).handle((v, ex) -> {
+            Map<Long, PersonDTO> result = new HashMap<>();
+            futures.forEach((id, f) -> {
+                PersonDTO p = f.isCompletedExceptionally() ? null : f.getNow(null);
+                if (p != null) result.put(id, p);
+            });
+            return result;
+        });
+    }
+
+    /**
+     * Resolves a person and waits for the result.
+     *
+     * @param id person identifier
+     * @return the person, or {@code null} when not found or the lookup failed
+     */
+    public PersonDTO find(Long id) {
+        try {
+            return get(id).join();
+        } catch (Exception ex) {
+            LOG.log(Level.FINE, "Person lookup failed for id " + id, ex);
+            return null;
+        }
+    }
+
+    /**
+     * Records a person obtained elsewhere (for example from a list query).
+     *
+     * @param person person to store; ignored when it has no id
+     */
+    public void put(PersonDTO person) {
+        if (person == null || person.getId() == null) return;
+        EntityCaches.putPerson(person);
+    }
+
+    /**
+     * Forgets a person so the next lookup fetches it again.
+     *
+     * @param id person identifier
+     */
+    public void invalidate(Long id) {
+        EntityCaches.invalidatePerson(id);
+    }
+
+    // ======= BATCHING =======
+
+    private CompletableFuture<PersonDTO> enqueue(Long id) {
+        CompletableFuture<PersonDTO> future = new CompletableFuture<>();
+        boolean flushNow;
+        synchronized (pending) {
+            pending.put(id, future);
+            flushNow = pending.size() >= MAX_BATCH_SIZE;
+            if (!flushNow && !flushScheduled) {
+                flushScheduled = true;
+                scheduler.schedule(
+                    this::flush,
+                    BATCH_WINDOW_MS,
+                    TimeUnit.MILLISECONDS
+                );
+            }
+        }
+        if (flushNow) scheduler.execute(this::flush);
+        return future;
+    }
+
+    private void flush() {
+        Map<Long, CompletableFuture<PersonDTO>> batch;
+        synchronized (pending) {
+            flushScheduled = false;
+            if (pending.isEmpty()) return;
+            batch = new LinkedHashMap<>(pending);
+            pending.clear();
+        }
+        // The SOAP call blocks; keep it off the common pool
+        CompletableFuture.runAsync(() -> resolveBatch(batch), AsyncTasks.executor());
+    }
+
+    private void resolveBatch(Map<Long, CompletableFuture<PersonDTO>> batch) {
+        try {
+            Respuesta r = new PersonService().findByIds(new ArrayList<>(batch.keySet()));
+            if (!Boolean.TRUE.equals(r.getEstado())) {
+                failBatch(
+                    batch,
+                    new IllegalStateException(r.getMensaje())
+                );
+                return;
+            }
+            Map<Long, PersonDTO> found = new HashMap<>();
+            Object data = r.getResultado("Persons");
+            if (data instanceof List<?> list) {
+                for (Object o : list) {
+                    if (o instanceof PersonDTO p && p.getId() != null) {
+                        put(p);
+                        found.put(p.getId(), p);
+                    }
+                }
+            }
+            batch.forEach((id, f) -> f.complete(found.get(id)));
+        } catch (Exception ex) {
+            failBatch(batch, ex);
+        }
+    }
+
+    private void failBatch(
+        Map<Long, CompletableFuture<PersonDTO>> batch,
+        Exception cause
+    ) {
+        LOG.log(
+            Level.WARNING,
+            "Batched person lookup failed for " + batch.size() + " ids",
+            cause
+        );
+        batch.values().forEach(f -> f.completeExceptionally(cause));
+    }
+}
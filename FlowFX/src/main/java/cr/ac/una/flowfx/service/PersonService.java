@@ -1,17 +1,12 @@
 package cr.ac.una.flowfx.service;
 
 import cr.ac.una.flowfx.model.PersonDTO;
-import cr.ac.una.flowfx.util.AppContext;
+import cr.ac.una.flowfx.model.PersonUniquenessDTO;
+import cr.ac.una.flowfx.util.EntityCaches;
+import cr.ac.una.flowfx.util.JsonStreamDecoder;
 import cr.ac.una.flowfx.util.Respuesta;
+import cr.ac.una.flowfx.util.SingleFlight;
 import cr.ac.una.flowfx.ws.FlowFXWS;
-import cr.ac.una.flowfx.ws.FlowFXWS_Service;
-import jakarta.json.Json;
-import jakarta.json.JsonArray;
-import jakarta.json.JsonObject;
-import jakarta.json.JsonReader;
-import jakarta.json.JsonString;
-import jakarta.xml.ws.BindingProvider;
-import java.io.StringReader;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.logging.Level;
@@ -43,26 +38,60 @@ public class PersonService {
     private static final String ENTITY_KEY = "Person";
     private static final String LIST_KEY = "Persons";
 
+    /**
+     * Field aliases accepted in person payloads. Status and admin flags keep
+     * their first character.
+     */
+    static final JsonStreamDecoder<PersonDTO> DECODER =
+        JsonStreamDecoder.<PersonDTO>builder(PersonDTO::new)
+            .longValue(PersonDTO::setId, "id", "per_id", "person_id", "PER_ID")
+            .string(
+                PersonDTO::setFirstName,
+                "firstName",
+                "per_first_name",
+                "first_name",
+                "FIRST_NAME"
+            )
+            .string(
+                PersonDTO::setLastName,
+                "lastName",
+                "per_last_name",
+                "last_name",
+                "LAST_NAME"
+            )
+            .string(PersonDTO::setEmail, "email", "EMAIL")
+            .string(PersonDTO::setUsername, "username", "USERNAME")
+            .string(PersonDTO::setPassword, "password", "PASSWORD")
+            .character(PersonDTO::setStatus, "status", "STATUS")
+            .character(PersonDTO::setIsAdmin, "isAdmin", "is_admin", "IS_ADMIN")
+            .build();
+
+    private static final JsonStreamDecoder<PersonUniquenessDTO> UNIQUENESS_DECODER =
+        JsonStreamDecoder.<PersonUniquenessDTO>builder(PersonUniquenessDTO::new)
+            .field(PersonUniquenessDTO::setIdTaken, JsonStreamDecoder::asBoolean, "idTaken", "id_taken")
+            .field(PersonUniquenessDTO::setEmailTaken, JsonStreamDecoder::asBoolean, "emailTaken", "email_taken")
+            .field(
+                PersonUniquenessDTO::setUsernameTaken,
+                JsonStreamDecoder::asBoolean,
+                "usernameTaken",
+                "username_taken"
+            )
+            .build();
+
+    /**
+     * Read calls identical to one already in flight share its response.
+     */
+    private static final SingleFlight<List<Object>, cr.ac.una.flowfx.ws.Respuesta> READS =
+        SingleFlight.named("PersonService");
+
     private FlowFXWS port;
 
     /**
-     * Initializes the FlowFX web service port and configures a default endpoint.
-     * Adjust the endpoint address here if your deployment uses a different URL.
+     * Constructs the service client using the shared port from
+     * {@link FlowFXWSPortProvider}, where the endpoint address is configured.
      */
     public PersonService() {
-        try {
-            FlowFXWS_Service service = new FlowFXWS_Service();
-            port = service.getFlowFXWSPort();
-
-            if (port instanceof BindingProvider) {
-                ((BindingProvider) port).getRequestContext().put(
-                    BindingProvider.ENDPOINT_ADDRESS_PROPERTY,
-                    "http://localhost:8080/FlowFXWS/FlowFXWS"
-                );
-            }
-        } catch (Exception e) {
-            LOG.log(Level.SEVERE, "Error initializing FlowFXWS port", e);
-        }
+        port = FlowFXWSPortProvider.getInstance().getPort();
     }
 
     // ======= CRUD =======
@@ -81,7 +110,10 @@ public class PersonService {
                 "find.id.null"
             );
 
-            cr.ac.una.flowfx.ws.Respuesta wsResp = port.getPerson(id);
+            cr.ac.una.flowfx.ws.Respuesta wsResp = READS.call(
+                SingleFlight.key("getPerson", id),
+                () -> port.getPerson(id)
+            );
             Respuesta r = mapRespuesta(wsResp);
             if (
                 Boolean.TRUE.equals(r.getEstado())
@@ -111,7 +143,7 @@ public class PersonService {
                 "create.person.null"
             );
 
-            cr.ac.una.flowfx.ws.PersonDTO wsPerson = toWsPerson(person);
+            cr.ac.una.flowfx.ws.PersonDTO wsPerson = WsMapper.toWs(person);
             cr.ac.una.flowfx.ws.Respuesta wsResp = port.createPerson(wsPerson);
             Respuesta r = mapRespuesta(wsResp);
             if (
@@ -142,12 +174,14 @@ public class PersonService {
                 "update.person.null"
             );
 
-            cr.ac.una.flowfx.ws.PersonDTO wsPerson = toWsPerson(person);
+            cr.ac.una.flowfx.ws.PersonDTO wsPerson = WsMapper.toWs(person);
             cr.ac.una.flowfx.ws.Respuesta wsResp = port.updatePerson(wsPerson);
             Respuesta r = mapRespuesta(wsResp);
-            if (
-                Boolean.TRUE.equals(r.getEstado())
-            ) fillSingleFromMensajeInterno(r);
+            if (Boolean.TRUE.equals(r.getEstado())) {
+                // Drop the stale entry; the parsed response re-populates it
+                EntityCaches.invalidatePerson(person.getId());
+                fillSingleFromMensajeInterno(r);
+            }
             return r;
         } catch (Exception ex) {
             LOG.log(
@@ -180,7 +214,11 @@ public class PersonService {
             );
 
             cr.ac.una.flowfx.ws.Respuesta wsResp = port.deletePerson(id);
-            return mapRespuesta(wsResp);
+            Respuesta r = mapRespuesta(wsResp);
+            if (Boolean.TRUE.equals(r.getEstado())) EntityCaches.removePerson(
+                id
+            );
+            return r;
         } catch (Exception ex) {
             LOG.log(Level.SEVERE, "Error deleting person [" + id + "]", ex);
             return new Respuesta(
@@ -198,7 +236,10 @@ public class PersonService {
      */
     public Respuesta findAll() {
         try {
-            cr.ac.una.flowfx.ws.Respuesta wsResp = port.getAllPeople();
+            cr.ac.una.flowfx.ws.Respuesta wsResp = READS.call(
+                SingleFlight.key("getAllPeople"),
+                () -> port.getAllPeople()
+            );
             Respuesta r = mapRespuesta(wsResp);
             if (Boolean.TRUE.equals(r.getEstado())) fillListFromMensajeInterno(
                 r
@@ -214,6 +255,133 @@ public class PersonService {
         }
     }
 
+    /**
+     * Retrieves one page of people ordered by id, starting after a given id
+     * (keyset pagination). The server applies the optional filter to names,
+     * email and username before paging, so a filtered page is as cheap as an
+     * unfiltered one.
+     *
+     * @param afterId id of the last person of the previous page, or null for the first page
+     * @param limit   maximum people in the page (if <= 0 defaults to 100)
+     * @param filter  optional case-insensitive text filter
+     * @return Respuesta with a List<PersonDTO> under key {@code Persons}; a
+     *         page shorter than {@code limit} is the last one
+     */
+    public Respuesta findPage(Long afterId, int limit, String filter) {
+        try {
+            if (port == null) {
+                return new Respuesta(
+                    false,
+                    "Web service port is not available.",
+                    "ws.port.null"
+                );
+            }
+            int size = limit > 0 ? limit : 100;
+            String text = filter == null || filter.isBlank() ? null : filter.trim();
+            cr.ac.una.flowfx.ws.Respuesta wsResp = READS.call(
+                SingleFlight.key("getPeoplePage", afterId, size, text),
+                () -> port.getPeoplePage(afterId, size, text)
+            );
+            Respuesta r = mapRespuesta(wsResp);
+            if (Boolean.TRUE.equals(r.getEstado())) fillListFromMensajeInterno(
+                r
+            );
+            return r;
+        } catch (Exception ex) {
+            LOG.log(
+                Level.SEVERE,
+                "Error retrieving people page after " + afterId,
+                ex
+            );
+            return new Respuesta(
+                false,
+                "Error retrieving persons",
+                "findPage " + ex.getMessage()
+            );
+        }
+    }
+
+    /**
+     * Retrieves several Person entries in a single call.
+     *
+     * @param ids person identifiers (required, non-empty)
+     * @return Respuesta with a List<PersonDTO> under key {@code Persons}
+     */
+    public Respuesta findByIds(List<Long> ids) {
+        try {
+            if (ids == null || ids.isEmpty()) return new Respuesta(
+                false,
+                "The list 'ids' is required.",
+                "findByIds.ids.null"
+            );
+            cr.ac.una.flowfx.ws.Respuesta wsResp = READS.call(
+                SingleFlight.key("getPeopleByIds", ids),
+                () -> port.getPeopleByIds(ids)
+            );
+            Respuesta r = mapRespuesta(wsResp);
+            if (Boolean.TRUE.equals(r.getEstado())) fillListFromMensajeInterno(
+                r
+            );
+            return r;
+        } catch (Exception ex) {
+            LOG.log(Level.SEVERE, "Error retrieving persons " + ids, ex);
+            return new Respuesta(
+                false,
+                "Error retrieving persons",
+                "findByIds " + ex.getMessage()
+            );
+        }
+    }
+
+    /**
+     * Checks whether an id, email or username already belongs to a person.
+     * The server answers from the primary key and the {@code uk_email} and
+     * {@code uk_username} unique indexes, so the cost does not grow with the
+     * number of people. Only the non-null arguments are checked.
+     *
+     * @param id       person id to check, or null
+     * @param email    email to check (case-insensitive), or null
+     * @param username username to check (case-insensitive), or null
+     * @return Respuesta with a {@link PersonUniquenessDTO} under key {@code Uniqueness}
+     */
+    public Respuesta checkUniqueness(Long id, String email, String username) {
+        try {
+            String mail = email == null || email.isBlank() ? null : email.trim();
+            String user = username == null || username.isBlank() ? null : username.trim();
+            if (id == null && mail == null && user == null) return new Respuesta(
+                false,
+                "At least one of 'id', 'email' or 'username' is required.",
+                "checkUniqueness.params.null"
+            );
+            cr.ac.una.flowfx.ws.Respuesta wsResp = READS.call(
+                SingleFlight.key("checkPersonUniqueness", id, mail, user),
+                () -> port.checkPersonUniqueness(id, mail, user)
+            );
+            Respuesta r = mapRespuesta(wsResp);
+            if (Boolean.TRUE.equals(r.getEstado())) {
+                PersonUniquenessDTO dto = UNIQUENESS_DECODER.decodeSingle(
+                    r.getMensajeInterno(),
+                    "uniqueness",
+                    "Uniqueness"
+                );
+                if (dto == null) return new Respuesta(
+                    false,
+                    "Invalid uniqueness payload.",
+                    "checkUniqueness.payload.invalid"
+                );
+                r.setResultado("Uniqueness", dto);
+            }
+            return r;
+        } catch (Exception ex) {
+            LOG.log(Level.SEVERE, "Error checking person uniqueness", ex);
+            return new Respuesta(
+                false,
+                "Error checking person uniqueness",
+                "checkUniqueness " + ex.getMessage()
+            );
+        }
+    }
+
     /**
      * Validates credentials against the remote service.
      *
@@ -269,25 +437,6 @@ public class PersonService {
         );
     }
 
-    private cr.ac.una.flowfx.ws.PersonDTO toWsPerson(PersonDTO p) {
-        if (p == null) return null;
-        cr.ac.una.flowfx.ws.PersonDTO w = new cr.ac.una.flowfx.ws.PersonDTO();
-        w.setId(p.getId());
-        w.setFirstName(p.getFirstName());
-        w.setLastName(p.getLastName());
-        w.setEmail(p.getEmail());
-        w.setUsername(p.getUsername());
-        w.setPassword(p.getPassword());
-        // Map Character flags to WS String fields
-        w.setStatus(
-            p.getStatus() != null ? String.valueOf(p.getStatus()) : null
-        );
-        w.setIsAdmin(
-            p.getIsAdmin() != null ? String.valueOf(p.getIsAdmin()) : null
-        );
-        return w;
-    }
-
     /**
      * Fills a single PersonDTO from the internal message contained in Respuesta.
      * Supports:
@@ -301,46 +450,11 @@ public class PersonService {
         String mi = r.getMensajeInterno();
         if (mi == null || mi.isBlank()) return;
 
-        // 1) Attempt: direct object (or wrapped)
-        try (JsonReader jr = Json.createReader(new StringReader(mi))) {
-            JsonObject obj = jr.readObject();
-
-            if (
-                obj.containsKey("person") &&
-                obj.get("person") instanceof JsonObject
-            ) {
-                obj = obj.getJsonObject("person");
-            } else if (
-                obj.containsKey("Person") &&
-                obj.get("Person") instanceof JsonObject
-            ) {
-                obj = obj.getJsonObject("Person");
-            } else if (
-                obj.containsKey("PERSON") &&
-                obj.get("PERSON") instanceof JsonObject
-            ) {
-                obj = obj.getJsonObject("PERSON");
-            }
-            PersonDTO dto = fromJsonPerson(obj);
+        try {
+            PersonDTO dto = DECODER.decodeSingle(mi, "person", "Person", "PERSON");
             if (dto != null) {
                 r.setResultado(ENTITY_KEY, dto);
                 cachePersonLabel(dto);
-                return;
-            }
-        } catch (Exception ignore) {
-            // Might not be an object, try next approach.
-        }
-
-        // 2) Attempt: array (take first)
-        try (JsonReader jr = Json.createReader(new StringReader(mi))) {
-            JsonArray arr = jr.readArray();
-            if (!arr.isEmpty()) {
-                JsonObject obj = arr.getJsonObject(0);
-                PersonDTO dto = fromJsonPerson(obj);
-                if (dto != null) {
-                    r.setResultado(ENTITY_KEY, dto);
-                    cachePersonLabel(dto);
-                }
             }
         } catch (Exception ignore) {
             // Leave mensajeInterno as-is for diagnostics
@@ -360,65 +474,19 @@ public class PersonService {
         if (mi == null || mi.isBlank()) return;
 
         List<PersonDTO> list = new ArrayList<>();
-
-        // 1) Attempt: direct array
-        try (JsonReader jr = Json.createReader(new StringReader(mi))) {
-            JsonArray arr = jr.readArray();
-            for (int i = 0; i < arr.size(); i++) {
-                JsonObject obj = arr.getJsonObject(i);
-                PersonDTO dto = fromJsonPerson(obj);
-                if (dto != null) {
+        try {
+            DECODER.decodeList(
+                mi,
+                dto -> {
                     list.add(dto);
                     cachePersonLabel(dto);
-                }
-            }
-            r.setResultado(LIST_KEY, list);
-            return;
-        } catch (Exception ignore) {
-            // proceed to object-with-array attempt
-        }
-
-        // 2) Attempt: object with internal array
-        try (JsonReader jr = Json.createReader(new StringReader(mi))) {
-            JsonObject root = jr.readObject();
-            JsonArray arr = null;
-            if (
-                root.containsKey("persons") &&
-                root.get("persons") instanceof JsonArray
-            ) {
-                arr = root.getJsonArray("persons");
-            } else if (
-                root.containsKey("Persons") &&
-                root.get("Persons") instanceof JsonArray
-            ) {
-                arr = root.getJsonArray("Persons");
-            } else if (
-                root.containsKey("PERSONS") &&
-                root.get("PERSONS") instanceof JsonArray
-            ) {
-                arr = root.getJsonArray("PERSONS");
-            } else if (
-                root.containsKey("data") &&
-                root.get("data") instanceof JsonArray
-            ) {
-                arr = root.getJsonArray("data");
-            } else if (
-                root.containsKey("list") &&
-                root.get("list") instanceof JsonArray
-            ) {
-                arr = root.getJsonArray("list");
-            }
-
-            if (arr != null) {
-                for (int i = 0; i < arr.size(); i++) {
-                    JsonObject obj = arr.getJsonObject(i);
-                    PersonDTO dto = fromJsonPerson(obj);
-                    if (dto != null) {
-                        list.add(dto);
-                        cachePersonLabel(dto);
-                    }
-                }
-            }
+                },
+                "persons",
+                "Persons",
+                "PERSONS",
+                "data",
+                "list"
+            );
         } catch (Exception ex) {
             LOG.log(
                 Level.FINE,
@@ -430,128 +498,7 @@ public class PersonService {
         r.setResultado(LIST_KEY, list);
     }
 
-    /**
-     * Converts a JsonObject to PersonDTO accepting aliases for keys and tolerant parsing.
-     *
-     * @param o the JsonObject
-     * @return a populated PersonDTO or null if input is null
-     */
-    private PersonDTO fromJsonPerson(JsonObject o) {
-        if (o == null) return null;
-        PersonDTO p = new PersonDTO();
-
-        // id: id | per_id | person_id
-        Long id = getLong(o, "id", "per_id", "person_id", "PER_ID");
-        p.setId(id);
-
-        // firstName: firstName | per_first_name | first_name | FIRST_NAME
-        p.setFirstName(
-            getString(
-                o,
-                "firstName",
-                "per_first_name",
-                "first_name",
-                "FIRST_NAME"
-            )
-        );
-
-        // lastName: lastName | per_last_name | last_name | LAST_NAME
-        p.setLastName(
-            getString(o, "lastName", "per_last_name", "last_name", "LAST_NAME")
-        );
-
-        // email: email | EMAIL
-        p.setEmail(getString(o, "email", "EMAIL"));
-
-        // username: username | USERNAME
-        p.setUsername(getString(o, "username", "USERNAME"));
-
-        // password: password | PASSWORD
-        p.setPassword(getString(o, "password", "PASSWORD"));
-
-        // status: status | STATUS (string -> first char)
-        Character status = getChar(o, "status", "STATUS");
-        p.setStatus(status);
-
-        // isAdmin: isAdmin | is_admin | IS_ADMIN (string -> first char)
-        Character isAdmin = getChar(o, "isAdmin", "is_admin", "IS_ADMIN");
-        p.setIsAdmin(isAdmin);
-
-        return p;
-    }
-
-    // ======== Safe JSON readers ========
-
-    private String getString(JsonObject obj, String... keys) {
-        for (String k : keys) {
-            if (obj.containsKey(k) && !obj.isNull(k)) {
-                try {
-                    switch (obj.get(k).getValueType()) {
-                        case STRING:
-                            return ((JsonString) obj.get(k)).getString();
-                        case NUMBER:
-                            return obj.getJsonNumber(k).toString();
-                        case TRUE:
-                            return "true";
-                        case FALSE:
-                            return "false";
-                        default:
-                            // fallback: textual representation
-                            return obj.get(k).toString();
-                    }
-                } catch (Exception ignore) {
-                    // continue with other keys
-                }
-            }
-        }
-        return null;
-    }
-
-    private Long getLong(JsonObject obj, String... keys) {
-        for (String k : keys) {
-            if (obj.containsKey(k) && !obj.isNull(k)) {
-                try {
-                    switch (obj.get(k).getValueType()) {
-                        case NUMBER:
-                            return obj.getJsonNumber(k).longValue();
-                        case STRING:
-                            String s = obj.getString(k);
-                            if (
-                                s != null && !s.isBlank()
-                            ) return Long.parseLong(s.trim());
-                            break;
-                        default:
-                            String raw = obj.get(k).toString();
-                            if (
-                                raw != null && !raw.isBlank()
-                            ) return Long.parseLong(
-                                raw.replace("\"", "").trim()
-                            );
-                    }
-                } catch (Exception ignore) {
-                    // continue with other keys
-                }
-            }
-        }
-        return null;
-    }
-
-    private Character getChar(JsonObject obj, String... keys) {
-        String s = getString(obj, keys);
-        if (s != null) {
-            s = s.trim();
-            if (!s.isEmpty()) return s.charAt(0);
-        }
-        return null;
-    }
-
     private void cachePersonLabel(PersonDTO p) {
-        if (p == null || p.getId() == null) return;
-        String first = p.getFirstName() == null ? "" : p.getFirstName().trim();
-        String last = p.getLastName() == null ? "" : p.getLastName().trim();
-        String nm = (first + " " + last).trim();
-        if (!nm.isBlank()) {
-            AppContext.getInstance().set("person." + p.getId() + ".label", nm);
-        }
+        EntityCaches.putPerson(p);
     }
 }
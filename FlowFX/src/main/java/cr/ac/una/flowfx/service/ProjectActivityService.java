@@ -1,28 +1,25 @@
 package cr.ac.una.flowfx.service;
 
-import cr.ac.una.flowfx.model.PersonDTO;
+import cr.ac.una.flowfx.model.ActivityStatusCounts;
 import cr.ac.una.flowfx.model.ProjectActivityDTO;
-import cr.ac.una.flowfx.util.AppContext;
+import cr.ac.una.flowfx.util.EntityCaches;
+import cr.ac.una.flowfx.util.JsonStreamDecoder;
 import cr.ac.una.flowfx.util.Respuesta;
+import cr.ac.una.flowfx.util.SingleFlight;
+import cr.ac.una.flowfx.ws.ActivityOrder;
 import cr.ac.una.flowfx.ws.FlowFXWS;
-import cr.ac.una.flowfx.ws.FlowFXWS_Service;
 import jakarta.json.Json;
-import jakarta.json.JsonArray;
 import jakarta.json.JsonNumber;
 import jakarta.json.JsonObject;
 import jakarta.json.JsonReader;
 import jakarta.json.JsonString;
 import jakarta.json.JsonValue;
-import jakarta.xml.ws.BindingProvider;
 import java.io.StringReader;
-import java.lang.reflect.Method;
-import java.text.ParseException;
-import java.text.SimpleDateFormat;
-import java.time.Instant;
-import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
-import java.util.Date;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -50,26 +47,140 @@ public class ProjectActivityService {
     );
     private static final String ENTITY_KEY = "ProjectActivity";
     private static final String LIST_KEY = "ProjectActivities";
+    private static final int DEFAULT_PAGE_SIZE = 200;
+
+    /**
+     * A decoded activity plus the names the server sends alongside it.
+     */
+    static final class ActivityRow {
+
+        final ProjectActivityDTO activity = new ProjectActivityDTO();
+        String responsibleName;
+        String createdByName;
+        String projectName;
+    }
+
+    /**
+     * Field aliases accepted in activity payloads.
+     */
+    static final JsonStreamDecoder<ActivityRow> DECODER = JsonStreamDecoder
+        .<ActivityRow>builder(ActivityRow::new)
+        .longValue(
+            (row, id) -> row.activity.setId(id),
+            "id",
+            "activity_id",
+            "activityId"
+        )
+        .longValue(
+            (row, id) -> row.activity.setProjectId(id),
+            "project_id",
+            "projectId"
+        )
+        .string(
+            (row, text) -> row.activity.setDescription(text),
+            "description",
+            "desc"
+        )
+        .string((row, text) -> row.activity.setStatus(text), "status", "STATUS")
+        .integer(
+            (row, order) -> row.activity.setExecutionOrder(order),
+            "execution_order",
+            "executionOrder"
+        )
+        .date(
+            (row, d) -> row.activity.setPlannedStartDate(d),
+            "planned_start_date",
+            "plannedStartDate"
+        )
+        .date(
+            (row, d) -> row.activity.setPlannedEndDate(d),
+            "planned_end_date",
+            "plannedEndDate"
+        )
+        .date(
+            (row, d) -> row.activity.setActualStartDate(d),
+            "actual_start_date",
+            "actualStartDate"
+        )
+        .date(
+            (row, d) -> row.activity.setActualEndDate(d),
+            "actual_end_date",
+            "actualEndDate"
+        )
+        .date(
+            (row, d) -> row.activity.setCreatedAt(d),
+            "created_at",
+            "createdAt"
+        )
+        .date(
+            (row, d) -> row.activity.setUpdatedAt(d),
+            "updated_at",
+            "updatedAt"
+        )
+        .longValue(
+            (row, id) -> row.activity.setResponsibleId(id),
+            "responsible_id",
+            "responsibleId",
+            "RESPONSIBLE_ID",
+            "RESPONSIBLEID"
+        )
+        .string(
+            (row, name) -> row.responsibleName = name,
+            "responsibleName",
+            "responsible_name",
+            "RESPONSIBLE_NAME"
+        )
+        .longValue(
+            (row, id) -> row.activity.setCreatedById(id),
+            "created_by_id",
+            "createdById",
+            "CREATED_BY_ID",
+            "CREATEDBYID"
+        )
+        .string(
+            (row, name) -> row.createdByName = name,
+            "createdByName",
+            "created_by_name",
+            "CREATED_BY_NAME"
+        )
+        .string(
+            (row, name) -> row.projectName = name,
+            "projectName",
+            "project_name"
+        )
+        .build();
+
+    /**
+     * One row of a grouped count: activities of a project in one status.
+     */
+    private static final class StatusCountRow {
+
+        Long projectId;
+        String status;
+        Long count;
+    }
+
+    private static final JsonStreamDecoder<StatusCountRow> STATUS_COUNT_DECODER =
+        JsonStreamDecoder.<StatusCountRow>builder(StatusCountRow::new)
+            .longValue((c, id) -> c.projectId = id, "projectId", "project_id")
+            .string((c, st) -> c.status = st, "status", "STATUS")
+            .longValue((c, n) -> c.count = n, "count", "total")
+            .build();
+
+    /**
+     * Read calls identical to one already in flight share its response.
+     */
+    private static final SingleFlight<List<Object>, cr.ac.una.flowfx.ws.Respuesta> READS =
+        SingleFlight.named("ProjectActivityService");
 
     private FlowFXWS port;
 
     /**
-     * Constructs the client and configures the default endpoint address.
-     * Adjust the endpoint if your deployment uses a different URL.
+     * Constructs the service client using the shared port from
+     * {@link FlowFXWSPortProvider}, where the endpoint address is configured.
      */
     public ProjectActivityService() {
-        try {
-            FlowFXWS_Service service = new FlowFXWS_Service();
-            port = service.getFlowFXWSPort();
-            if (port instanceof BindingProvider) {
-                ((BindingProvider) port).getRequestContext().put(
-                    BindingProvider.ENDPOINT_ADDRESS_PROPERTY,
-                    "http://localhost:8080/FlowFXWS/FlowFXWS"
-                );
-            }
-        } catch (Exception e) {
-            LOG.log(Level.SEVERE, "Error initializing FlowFXWS port", e);
-        }
+        port = FlowFXWSPortProvider.getInstance().getPort();
     }
 
     /**
@@ -87,7 +198,10 @@ public class ProjectActivityService {
                     "activity.find.id.null"
                 );
             }
-            cr.ac.una.flowfx.ws.Respuesta wsResp = port.getProjectActivity(id);
+            cr.ac.una.flowfx.ws.Respuesta wsResp = READS.call(
+                SingleFlight.key("getProjectActivity", id),
+                () -> port.getProjectActivity(id)
+            );
             Respuesta r = mapRespuesta(wsResp);
             if (
                 Boolean.TRUE.equals(r.getEstado())
@@ -110,8 +224,10 @@ public class ProjectActivityService {
      */
     public Respuesta findAll() {
         try {
-            cr.ac.una.flowfx.ws.Respuesta wsResp =
-                port.getAllProjectActivities();
+            cr.ac.una.flowfx.ws.Respuesta wsResp = READS.call(
+                SingleFlight.key("getAllProjectActivities"),
+                () -> port.getAllProjectActivities()
+            );
             Respuesta r = mapRespuesta(wsResp);
             if (Boolean.TRUE.equals(r.getEstado())) fillListFromMensajeInterno(
                 r
@@ -127,6 +243,82 @@ public class ProjectActivityService {
         }
     }
 
+    /**
+     * Retrieves one page of the activities that belong to a project, ordered by
+     * execution order.
+     *
+     * @param projectId project identifier (required)
+     * @param offset    number of rows to skip (negative values are treated as 0)
+     * @param limit     maximum rows to return (if <= 0 defaults to {@value #DEFAULT_PAGE_SIZE})
+     * @return a Respuesta with a list of activities or an error
+     */
+    public Respuesta findByProject(Long projectId, int offset, int limit) {
+        try {
+            if (projectId == null) {
+                return new Respuesta(
+                    false,
+                    "The parameter 'projectId' is required.",
+                    "activity.findByProject.projectId.null"
+                );
+            }
+            if (port == null) {
+                return new Respuesta(
+                    false,
+                    "Web service port is not available.",
+                    "ws.port.null"
+                );
+            }
+            int first = Math.max(offset, 0);
+            int size = limit > 0 ? limit : DEFAULT_PAGE_SIZE;
+
+            cr.ac.una.flowfx.ws.Respuesta wsResp = READS.call(
+                SingleFlight.key("getActivitiesByProject", projectId, first, size),
+                () -> port.getActivitiesByProject(projectId, first, size)
+            );
+            Respuesta r = mapRespuesta(wsResp);
+            if (Boolean.TRUE.equals(r.getEstado())) {
+                fillListFromMensajeInterno(r);
+                assignProjectId(r, projectId);
+            }
+            return r;
+        } catch (Exception ex) {
+            LOG.log(
+                Level.SEVERE,
+                "Error retrieving activities for projectId=" + projectId,
+                ex
+            );
+            return new Respuesta(
+                false,
+                "Error retrieving project activities.",
+                "activity.findByProject " + ex.getMessage()
+            );
+        }
+    }
+
+    /**
+     * Retrieves every activity of a project by walking the pages returned by
+     * {@link #findByProject(Long, int, int)}.
+     *
+     * @param projectId project identifier (required)
+     * @return a Respuesta with the full list of the project's activities or an error
+     */
+    public Respuesta findByProject(Long projectId) {
+        List<ProjectActivityDTO> all = new ArrayList<>();
+        int offset = 0;
+        while (true) {
+            Respuesta page = findByProject(projectId, offset, DEFAULT_PAGE_SIZE);
+            if (!Boolean.TRUE.equals(page.getEstado())) return page;
+            Object data = page.getResultado(LIST_KEY);
+            if (!(data instanceof List<?> list) || list.isEmpty()) break;
+            for (Object o : list) {
+                if (o instanceof ProjectActivityDTO dto) all.add(dto);
+            }
+            if (list.size() < DEFAULT_PAGE_SIZE) break;
+            offset += list.size();
+        }
+        return new Respuesta(true, "", "", LIST_KEY, all);
+    }
+
     /**
      * Deprecated create method. Use {@link #create(ProjectActivityDTO, Long, Long)}.
      *
@@ -171,7 +363,7 @@ public class ProjectActivityService {
                 );
             }
 
-            cr.ac.una.flowfx.ws.ProjectActivityDTO wsDto = toWs(activity);
+            cr.ac.una.flowfx.ws.ProjectActivityDTO wsDto = WsMapper.toWs(activity);
             cr.ac.una.flowfx.ws.Respuesta wsResp = port.createProjectActivity(
                 wsDto,
                 projectId,
@@ -208,14 +400,16 @@ public class ProjectActivityService {
                     "activity.update.null"
                 );
             }
-            cr.ac.una.flowfx.ws.ProjectActivityDTO wsDto = toWs(activity);
+            cr.ac.una.flowfx.ws.ProjectActivityDTO wsDto = WsMapper.toWs(activity);
             cr.ac.una.flowfx.ws.Respuesta wsResp = port.updateProjectActivity(
                 wsDto
             );
             Respuesta r = mapRespuesta(wsResp);
-            if (
-                Boolean.TRUE.equals(r.getEstado())
-            ) fillSingleFromMensajeInterno(r);
+            if (Boolean.TRUE.equals(r.getEstado())) {
+                // Drop the stale entry; the parsed response re-populates it
+                EntityCaches.activities().invalidate(activity.getId());
+                fillSingleFromMensajeInterno(r);
+            }
             return r;
         } catch (Exception ex) {
             LOG.log(
@@ -251,7 +445,11 @@ public class ProjectActivityService {
             cr.ac.una.flowfx.ws.Respuesta wsResp = port.deleteProjectActivity(
                 id
             );
-            return mapRespuesta(wsResp);
+            Respuesta r = mapRespuesta(wsResp);
+            if (Boolean.TRUE.equals(r.getEstado())) EntityCaches.activities().invalidate(
+                id
+            );
+            return r;
         } catch (Exception ex) {
             LOG.log(Level.SEVERE, "Error deleting activity [" + id + "]", ex);
             return new Respuesta(
@@ -278,10 +476,12 @@ public class ProjectActivityService {
                     "activity.recent.userId.null"
                 );
             }
-            if (maxResults <= 0) maxResults = 10;
+            int max = maxResults > 0 ? maxResults : 10;
 
-            cr.ac.una.flowfx.ws.Respuesta wsResp =
-                port.getRecentActivitiesForUser(userId, maxResults);
+            cr.ac.una.flowfx.ws.Respuesta wsResp = READS.call(
+                SingleFlight.key("getRecentActivitiesForUser", userId, max),
+                () -> port.getRecentActivitiesForUser(userId, max)
+            );
             Respuesta r = mapRespuesta(wsResp);
             if (Boolean.TRUE.equals(r.getEstado())) fillListFromMensajeInterno(
                 r
@@ -316,8 +516,10 @@ public class ProjectActivityService {
                     "activity.count.projectIds.null"
                 );
             }
-            cr.ac.una.flowfx.ws.Respuesta wsResp =
-                port.countActivitiesByProjectIds(projectIds);
+            cr.ac.una.flowfx.ws.Respuesta wsResp = READS.call(
+                SingleFlight.key("countActivitiesByProjectIds", projectIds),
+                () -> port.countActivitiesByProjectIds(projectIds)
+            );
             Respuesta r = mapRespuesta(wsResp);
             if (Boolean.TRUE.equals(r.getEstado())) {
                 Long count = tryParseCount(r.getMensajeInterno());
@@ -339,36 +541,134 @@ public class ProjectActivityService {
     }
 
     /**
-     * Converts an application DTO to the generated WS DTO.
-     * Uses reflection for optional setters (for instance projectId) so the code
-     * remains resilient to stub variations.
+     * Counts activities per project and status for several projects in a
+     * single call.
      *
-     * @param dto source DTO
-     * @return generated WS DTO
+     * <p>The server answers with rows of {@code {projectId, status, count}};
+     * projects without activities may be omitted.</p>
+     *
+     * @param projectIds list of project ids (required)
+     * @return a Respuesta with an {@link ActivityStatusCounts} under key
+     *         {@code StatusCounts} or an error
      */
-    private cr.ac.una.flowfx.ws.ProjectActivityDTO toWs(
-        ProjectActivityDTO dto
-    ) {
-        cr.ac.una.flowfx.ws.ProjectActivityDTO w =
-            new cr.ac.una.flowfx.ws.ProjectActivityDTO();
-        w.setId(dto.getId());
-        // Use reflection so code compiles even if WS stub lacks setProjectId(Long)
-        trySetLong(w, "setProjectId", dto.getProjectId());
-
-        w.setDescription(dto.getDescription());
-        if (dto.getStatus() != null) w.setStatus(dto.getStatus());
-        if (dto.getExecutionOrder() != null) w.setExecutionOrder(
-            dto.getExecutionOrder()
-        );
+    public Respuesta countByProjectIdsGrouped(List<Long> projectIds) {
+        try {
+            if (projectIds == null || projectIds.isEmpty()) {
+                return new Respuesta(
+                    false,
+                    "The list 'projectIds' is required.",
+                    "activity.countGrouped.projectIds.null"
+                );
+            }
+            if (port == null) {
+                return new Respuesta(
+                    false,
+                    "Web service port is not available.",
+                    "ws.port.null"
+                );
+            }
+            cr.ac.una.flowfx.ws.Respuesta wsResp = READS.call(
+                SingleFlight.key("countActivitiesByProjectIdsGrouped", projectIds),
+                () -> port.countActivitiesByProjectIdsGrouped(projectIds)
+            );
+            Respuesta r = mapRespuesta(wsResp);
+            if (Boolean.TRUE.equals(r.getEstado())) {
+                ActivityStatusCounts counts = new ActivityStatusCounts(
+                    projectIds.size()
+                );
+                String mi = r.getMensajeInterno();
+                if (mi != null && !mi.isBlank()) {
+                    STATUS_COUNT_DECODER.decodeList(
+                        mi,
+                        row -> {
+                            if (row.projectId != null && row.count != null) {
+                                counts.add(row.projectId, row.status, row.count);
+                            }
+                        },
+                        "counts",
+                        "data"
+                    );
+                }
+                r.setResultado("StatusCounts", counts);
+            }
+            return r;
+        } catch (Exception ex) {
+            LOG.log(
+                Level.SEVERE,
+                "Error counting activities by status for projects " + projectIds,
+                ex
+            );
+            return new Respuesta(
+                false,
+                "Error obtaining activity counts.",
+                "activity.countGrouped " + ex.getMessage()
+            );
+        }
+    }
 
-        // Attempt to set date fields using XMLGregorianCalendar if the stub exposes them
-        trySetXmlCal(w, "setPlannedStartDate", dto.getPlannedStartDate());
-        trySetXmlCal(w, "setPlannedEndDate", dto.getPlannedEndDate());
-        trySetXmlCal(w, "setActualStartDate", dto.getActualStartDate());
-        trySetXmlCal(w, "setActualEndDate", dto.getActualEndDate());
-        trySetXmlCal(w, "setCreatedAt", dto.getCreatedAt());
-        trySetXmlCal(w, "setUpdatedAt", dto.getUpdatedAt());
-        return w;
+    /**
+     * Persists a new execution order for several activities of a project in a
+     * single transactional call.
+     *
+     * <p>Only the rows whose order actually changed should be supplied; the
+     * server applies the whole batch or nothing.</p>
+     *
+     * @param projectId       owning project id (required)
+     * @param executionOrders activity id to new execution order (required)
+     * @return a Respuesta indicating success or failure
+     */
+    public Respuesta reorder(Long projectId, Map<Long, Integer> executionOrders) {
+        try {
+            if (projectId == null || projectId <= 0) {
+                return new Respuesta(
+                    false,
+                    "The parameter 'projectId' is required.",
+                    "activity.reorder.projectId.null"
+                );
+            }
+            if (executionOrders == null || executionOrders.isEmpty()) {
+                return new Respuesta(
+                    false,
+                    "The map 'executionOrders' is required.",
+                    "activity.reorder.orders.null"
+                );
+            }
+            if (port == null) {
+                return new Respuesta(
+                    false,
+                    "Web service port is not available.",
+                    "ws.port.null"
+                );
+            }
+            List<ActivityOrder> orders = new ArrayList<>(
+                executionOrders.size()
+            );
+            for (Map.Entry<Long, Integer> e : executionOrders.entrySet()) {
+                if (e.getKey() == null || e.getValue() == null) continue;
+                ActivityOrder order = new ActivityOrder();
+                order.setId(e.getKey());
+                order.setExecutionOrder(e.getValue());
+                orders.add(order);
+            }
+            cr.ac.una.flowfx.ws.Respuesta wsResp =
+                port.reorderProjectActivities(projectId, orders);
+            Respuesta r = mapRespuesta(wsResp);
+            if (Boolean.TRUE.equals(r.getEstado())) {
+                executionOrders.keySet().forEach(EntityCaches.activities()::invalidate);
+            }
+            return r;
+        } catch (Exception ex) {
+            LOG.log(
+                Level.SEVERE,
+                "Error reordering activities of project " + projectId,
+                ex
+            );
+            return new Respuesta(
+                false,
+                "Error reordering activities.",
+                "activity.reorder " + ex.getMessage()
+            );
+        }
     }
 
     /**
@@ -400,53 +700,9 @@ public class ProjectActivityService {
         String mi = r.getMensajeInterno();
         if (mi == null || mi.isBlank()) return;
 
-        try (JsonReader jr = Json.createReader(new StringReader(mi))) {
-            JsonValue val = jr.readValue();
-            switch (val.getValueType()) {
-                case OBJECT: {
-                    JsonObject obj = (JsonObject) val;
-                    obj = unwrapObject(
-                        obj,
-                        "activity",
-                        "Activity",
-                        "projectActivity",
-                        "ProjectActivity",
-                        "PROJECT_ACTIVITY",
-                        "PROJECTACTIVITY"
-                    );
-                    ProjectActivityDTO dto = fromJsonActivity(obj);
-                    if (dto != null) {
-                        r.setResultado(ENTITY_KEY, dto);
-                        return;
-                    }
-                    break;
-                }
-                case ARRAY: {
-                    JsonArray arr = (JsonArray) val;
-                    if (
-                        !arr.isEmpty() &&
-                        arr.get(0).getValueType() == JsonValue.ValueType.OBJECT
-                    ) {
-                        ProjectActivityDTO dto = fromJsonActivity(
-                            arr.getJsonObject(0)
-                        );
-                        if (dto != null) {
-                            r.setResultado(ENTITY_KEY, dto);
-                            return;
-                        }
-                    }
-                    break;
-                }
-                default:
-                    break;
-            }
-        } catch (Exception ignore) {}
-
-        // Fallback: try strict object parse
-        try (JsonReader jr = Json.createReader(new StringReader(mi))) {
-            JsonObject obj = jr.readObject();
-            obj = unwrapObject(
-                obj,
+        try {
+            ActivityRow row = DECODER.decodeSingle(
+                mi,
                 "activity",
                 "Activity",
                 "projectActivity",
@@ -454,44 +710,88 @@ public class ProjectActivityService {
                 "PROJECT_ACTIVITY",
                 "PROJECTACTIVITY"
             );
-            ProjectActivityDTO dto = fromJsonActivity(obj);
-            if (dto != null) {
+            if (row != null) {
+                ProjectActivityDTO dto = toActivity(row);
+                cacheParsedActivities(List.of(dto));
                 r.setResultado(ENTITY_KEY, dto);
             }
         } catch (Exception ignore) {}
     }
 
+    /**
+     * Stores parsed activities in {@link EntityCaches#activities()} and starts
+     * resolving their person labels.
+     *
+     * @param activities parsed activities
+     */
+    void cacheParsedActivities(List<ProjectActivityDTO> activities) {
+        for (ProjectActivityDTO a : activities) {
+            if (a.getId() != null) EntityCaches.activities().put(a.getId(), a);
+        }
+        resolvePersonLabels(activities);
+    }
+
+    /**
+     * Starts caching responsible and creator labels for the given activities.
+     * Ids whose names were not included in the payload are resolved together
+     * through {@link PersonDirectory} in one batched call. Does not wait for
+     * it: parsing may run on the FX thread, and views that show the labels
+     * already fall back to {@link cr.ac.una.flowfx.util.PersonLabelUtil}.
+     *
+     * @param activities parsed activities
+     */
+    private void resolvePersonLabels(List<ProjectActivityDTO> activities) {
+        Set<Long> missing = new HashSet<>();
+        for (ProjectActivityDTO a : activities) {
+            addIfLabelMissing(missing, a.getResponsibleId());
+            addIfLabelMissing(missing, a.getCreatedById());
+        }
+        if (missing.isEmpty()) return;
+        PersonDirectory.getInstance()
+            .getAll(missing)
+            .whenComplete((people, ex) -> {
+                if (ex != null) {
+                    LOG.log(Level.FINE, "Unable to resolve person labels " + missing, ex);
+                    return;
+                }
+                // Re-derive labels for people that were cached without one
+                people.values().forEach(EntityCaches::putPerson);
+            });
+    }
+
+    private void addIfLabelMissing(Set<Long> ids, Long personId) {
+        if (personId == null || personId <= 0) return;
+        if (EntityCaches.personLabels().get(personId) == null) ids.add(personId);
+    }
+
+    /**
+     * Fills in the project id on activities returned by a project-scoped query
+     * when the payload omitted it.
+     */
+    private void assignProjectId(Respuesta r, Long projectId) {
+        Object data = r.getResultado(LIST_KEY);
+        if (!(data instanceof List<?> list)) return;
+        for (Object o : list) {
+            if (
+                o instanceof ProjectActivityDTO dto && dto.getProjectId() == null
+            ) dto.setProjectId(projectId);
+        }
+    }
+
     /**
      * Parses mensajeInterno and populates a list of ProjectActivityDTO in the Respuesta.
      *
      * @param r response container to populate
      */
-    private void fillListFromMensajeInterno(Respuesta r) {
+    void fillListFromMensajeInterno(Respuesta r) {
         String mi = r.getMensajeInterno();
         if (mi == null || mi.isBlank()) return;
 
         List<ProjectActivityDTO> list = new ArrayList<>();
-
-        // 1) Try direct array
-        try (JsonReader jr = Json.createReader(new StringReader(mi))) {
-            JsonArray arr = jr.readArray();
-            for (int i = 0; i < arr.size(); i++) {
-                if (arr.get(i).getValueType() == JsonValue.ValueType.OBJECT) {
-                    ProjectActivityDTO dto = fromJsonActivity(
-                        arr.getJsonObject(i)
-                    );
-                    if (dto != null) list.add(dto);
-                }
-            }
-            r.setResultado(LIST_KEY, list);
-            return;
-        } catch (Exception ignore) {}
-
-        // 2) Try object with array inside under common wrapper keys
-        try (JsonReader jr = Json.createReader(new StringReader(mi))) {
-            JsonObject root = jr.readObject();
-            JsonArray arr = unwrapArray(
-                root,
+        try {
+            DECODER.decodeList(
+                mi,
+                row -> list.add(toActivity(row)),
                 "activities",
                 "Activities",
                 "ACTIVITIES",
@@ -502,18 +802,6 @@ public class ProjectActivityService {
                 "data",
                 "list"
             );
-            if (arr != null) {
-                for (int i = 0; i < arr.size(); i++) {
-                    if (
-                        arr.get(i).getValueType() == JsonValue.ValueType.OBJECT
-                    ) {
-                        ProjectActivityDTO dto = fromJsonActivity(
-                            arr.getJsonObject(i)
-                        );
-                        if (dto != null) list.add(dto);
-                    }
-                }
-            }
         } catch (Exception ex) {
             LOG.log(
                 Level.WARNING,
@@ -522,163 +810,37 @@ public class ProjectActivityService {
             );
         }
 
+        cacheParsedActivities(list);
         r.setResultado(LIST_KEY, list);
     }
 
-    private JsonObject unwrapObject(JsonObject obj, String... keys) {
-        for (String k : keys) {
-            if (
-                obj.containsKey(k) &&
-                obj.get(k).getValueType() == JsonValue.ValueType.OBJECT
-            ) {
-                return obj.getJsonObject(k);
-            }
-        }
-        return obj;
-    }
-
-    private JsonArray unwrapArray(JsonObject obj, String... keys) {
-        for (String k : keys) {
-            if (
-                obj.containsKey(k) &&
-                obj.get(k).getValueType() == JsonValue.ValueType.ARRAY
-            ) {
-                return obj.getJsonArray(k);
-            }
-        }
-        return null;
-    }
-
-    private ProjectActivityDTO fromJsonActivity(JsonObject obj) {
-        if (obj == null) return null;
-
-        ProjectActivityDTO dto = new ProjectActivityDTO();
-        dto.setId(getLong(obj, "id", "activity_id", "activityId"));
-        dto.setProjectId(getLong(obj, "project_id", "projectId"));
-        dto.setDescription(getString(obj, "description", "desc"));
-
-        String st = getString(obj, "status", "STATUS");
-        dto.setStatus(st);
-
-        Integer order = getInteger(obj, "execution_order", "executionOrder");
-        if (order != null) dto.setExecutionOrder(order);
-
-        Date psd = getDate(obj, "planned_start_date", "plannedStartDate");
-        Date ped = getDate(obj, "planned_end_date", "plannedEndDate");
-        Date asd = getDate(obj, "actual_start_date", "actualStartDate");
-        Date aed = getDate(obj, "actual_end_date", "actualEndDate");
-        Date cat = getDate(obj, "created_at", "createdAt");
-        Date uat = getDate(obj, "updated_at", "updatedAt");
-
-        dto.setPlannedStartDate(psd);
-        dto.setPlannedEndDate(ped);
-        dto.setActualStartDate(asd);
-        dto.setActualEndDate(aed);
-        dto.setCreatedAt(cat);
-        dto.setUpdatedAt(uat);
-
-        // Extract responsibleId & responsibleName (server now includes them)
-        Long respId = getLong(
-            obj,
-            "responsible_id",
-            "responsibleId",
-            "RESPONSIBLE_ID",
-            "RESPONSIBLEID"
-        );
-        String respName = getString(
-            obj,
-            "responsibleName",
-            "responsible_name",
-            "RESPONSIBLE_NAME"
-        );
-        if (respId != null) {
-            try {
-                var m = dto
-                    .getClass()
-                    .getMethod("setResponsibleId", Long.class);
-                m.invoke(dto, respId);
-            } catch (Exception ignore) {
-                // Field might not exist in older client DTOs
-            }
-            if (respName != null && !respName.isBlank()) {
-                AppContext.getInstance().set(
-                    "person." + respId + ".label",
-                    respName.trim()
-                );
-            }
+    /**
+     * Returns the activity of a decoded row and records the responsible and
+     * creator names the server sent with it as person labels.
+     *
+     * @param row decoded row
+     * @return the activity
+     */
+    static ProjectActivityDTO toActivity(ActivityRow row) {
+        ProjectActivityDTO dto = row.activity;
+        Long respId = dto.getResponsibleId();
+        if (
+            respId != null &&
+            row.responsibleName != null &&
+            !row.responsibleName.isBlank()
+        ) {
+            EntityCaches.personLabels().put(respId, row.responsibleName.trim());
         }
-
-        // Extract createdById & createdByName (newly added)
-        Long createdById = getLong(
-            obj,
-            "created_by_id",
-            "createdById",
-            "CREATED_BY_ID",
-            "CREATEDBYID"
-        );
-        String createdByName = getString(
-            obj,
-            "createdByName",
-            "created_by_name",
-            "CREATED_BY_NAME"
-        );
-        if (createdById != null) {
-            try {
-                var m = dto.getClass().getMethod("setCreatedById", Long.class);
-                m.invoke(dto, createdById);
-            } catch (Exception ignore) {
-                // Field might not exist in older client DTOs
-            }
-            if (createdByName != null && !createdByName.isBlank()) {
-                // Only set label if not already cached (responsible/creator can overlap)
-                String cacheKey = "person." + createdById + ".label";
-                Object existing = AppContext.getInstance().get(cacheKey);
-                if (existing == null || String.valueOf(existing).isBlank()) {
-                    AppContext.getInstance().set(
-                        cacheKey,
-                        createdByName.trim()
-                    );
-                }
-            }
+        Long createdById = dto.getCreatedById();
+        if (
+            createdById != null &&
+            row.createdByName != null &&
+            !row.createdByName.isBlank() &&
+            // Only set label if not already cached (responsible/creator can overlap)
+            EntityCaches.personLabels().get(createdById) == null
+        ) {
+            EntityCaches.personLabels().put(createdById, row.createdByName.trim());
         }
-
-        // If names were not provided by the WS, opportunistically fetch and cache them once.
-        try {
-            PersonService ps = new PersonService();
-            if (respId != null) {
-                String key = "person." + respId + ".label";
-                Object lbl = AppContext.getInstance().get(key);
-                if (!(lbl instanceof String s) || s.isBlank()) {
-                    Respuesta rr = ps.find(respId);
-                    if (Boolean.TRUE.equals(rr.getEstado())) {
-                        Object po = rr.getResultado("Person");
-                        if (po instanceof PersonDTO pp) {
-                            String nm = ((pp.getFirstName() == null ? "" : pp.getFirstName().trim()) +
-                                         " " +
-                                         (pp.getLastName() == null ? "" : pp.getLastName().trim())).trim();
-                            if (!nm.isBlank()) AppContext.getInstance().set(key, nm);
-                        }
-                    }
-                }
-            }
-            if (createdById != null) {
-                String key = "person." + createdById + ".label";
-                Object lbl = AppContext.getInstance().get(key);
-                if (!(lbl instanceof String s) || s.isBlank()) {
-                    Respuesta rr = ps.find(createdById);
-                    if (Boolean.TRUE.equals(rr.getEstado())) {
-                        Object po = rr.getResultado("Person");
-                        if (po instanceof PersonDTO pp) {
-                            String nm = ((pp.getFirstName() == null ? "" : pp.getFirstName().trim()) +
-                                         " " +
-                                         (pp.getLastName() == null ? "" : pp.getLastName().trim())).trim();
-                            if (!nm.isBlank()) AppContext.getInstance().set(key, nm);
-                        }
-                    }
-                }
-            }
-        } catch (Exception ignore) {}
-
         return dto;
     }
 
@@ -703,41 +865,11 @@ public class ProjectActivityService {
                     } catch (NumberFormatException ignore) {}
                     break;
                 case OBJECT:
-                    JsonObject obj = (JsonObject) val;
-                    Long c = getLong(obj, "count", "total", "value");
-                    if (c != null) return c;
-                    break;
+                    return getLong((JsonObject) val, "count", "total", "value");
                 default:
                     break;
             }
         } catch (Exception ignore) {}
-
-        try (JsonReader jr = Json.createReader(new StringReader(mi))) {
-            JsonObject obj = jr.readObject();
-            return getLong(obj, "count", "total", "value");
-        } catch (Exception ignore) {}
-        return null;
-    }
-
-    private String getString(JsonObject obj, String... keys) {
-        for (String k : keys) {
-            if (obj.containsKey(k) && !obj.isNull(k)) {
-                try {
-                    switch (obj.get(k).getValueType()) {
-                        case STRING:
-                            return ((JsonString) obj.get(k)).getString();
-                        case NUMBER:
-                            return ((JsonNumber) obj.get(k)).toString();
-                        case TRUE:
-                            return "true";
-                        case FALSE:
-                            return "false";
-                        default:
-                            return obj.get(k).toString();
-                    }
-                } catch (Exception ignore) {}
-            }
-        }
         return null;
     }
 
@@ -768,128 +900,4 @@ public class ProjectActivityService {
         }
         return null;
     }
-
-    private Integer getInteger(JsonObject obj, String... keys) {
-        for (String k : keys) {
-            if (obj.containsKey(k) && !obj.isNull(k)) {
-                try {
-                    JsonValue v = obj.get(k);
-                    switch (v.getValueType()) {
-                        case NUMBER:
-                            return obj.getJsonNumber(k).intValue();
-                        case STRING:
-                            String s = obj.getString(k);
-                            if (
-                                s != null && !s.isBlank()
-                            ) return Integer.parseInt(s.trim());
-                            break;
-                        default:
-                            String raw = v.toString();
-                            if (
-                                raw != null && !raw.isBlank()
-                            ) return Integer.parseInt(
-                                raw.replace("\"", "").trim()
-                            );
-                    }
-                } catch (Exception ignore) {}
-            }
-        }
-        return null;
-    }
-
-    private Date getDate(JsonObject obj, String... keys) {
-        String s = getString(obj, keys);
-        if (s != null && !s.isBlank()) {
-            try {
-                Instant inst = Instant.parse(s);
-                return Date.from(inst);
-            } catch (DateTimeParseException ignore) {}
-            try {
-                return new SimpleDateFormat("yyyy-MM-dd HH:mm:ss").parse(s);
-            } catch (ParseException ignore) {}
-            try {
-                return new SimpleDateFormat("yyyy-MM-dd").parse(s);
-            } catch (ParseException ignore) {}
-        }
-        for (String k : keys) {
-            if (
-                obj.containsKey(k) &&
-                obj.get(k).getValueType() == JsonValue.ValueType.NUMBER
-            ) {
-                try {
-                    long epoch = obj.getJsonNumber(k).longValue();
-                    if (String.valueOf(epoch).length() <= 10) {
-                        epoch = epoch * 1000L;
-                    }
-                    return new Date(epoch);
-                } catch (Exception ignore) {}
-            }
-        }
-        return null;
-    }
-
-    /**
-     * Reflection helper to set optional Long fields on WS DTOs without compile-time dependency.
-     *
-     * @param target     the generated WS DTO
-     * @param setterName setter name to try (e.g. "setProjectId")
-     * @param value      Long value to set
-     */
-    private void trySetLong(Object target, String setterName, Long value) {
-        if (target == null || value == null || setterName == null) return;
-        Class<?> cls = target.getClass();
-        try {
-            Method m = cls.getMethod(setterName, Long.class);
-            m.invoke(target, value);
-            return;
-        } catch (NoSuchMethodException e1) {
-            try {
-                Method m2 = cls.getMethod(setterName, long.class);
-                m2.invoke(target, value.longValue());
-                return;
-            } catch (Exception ignore) {}
-        } catch (Exception ignore) {}
-        // If neither exists, just skip silently
-    }
-
-    /**
-     * Reflection helper to set XMLGregorianCalendar fields if present in the stub.
-     */
-    private void trySetXmlCal(
-        Object target,
-        String setterName,
-        Date value
-    ) {
-        if (target == null || value == null || setterName == null) return;
-        try {
-            javax.xml.datatype.XMLGregorianCalendar xgc = toXmlDate(value);
-            Method m = target.getClass()
-                .getMethod(
-                    setterName,
-                    javax.xml.datatype.XMLGregorianCalendar.class
-                );
-            m.invoke(target, xgc);
-        } catch (NoSuchMethodException nsme) {
-            // Try java.util.Date signature if stub happens to use that
-            try {
-                Method m2 = target.getClass().getMethod(
-                    setterName,
-                    java.util.Date.class
-                );
-                m2.invoke(target, value);
-            } catch (Exception ignore) {}
-        } catch (Exception ignore) {}
-    }
-
-    private javax.xml.datatype.XMLGregorianCalendar toXmlDate(Date date) {
-        try {
-            java.util.GregorianCalendar gc = new java.util.GregorianCalendar();
-            gc.setTime(date);
-            return javax.xml.datatype.DatatypeFactory
-                .newInstance()
-                .newXMLGregorianCalendar(gc);
-        } catch (Exception e) {
-            return null;
-        }
-    }
 }
@@ -1,30 +1,18 @@
 package cr.ac.una.flowfx.service;
 
 import cr.ac.una.flowfx.model.ProjectDTO;
+import cr.ac.una.flowfx.util.EntityCaches;
+import cr.ac.una.flowfx.util.JsonStreamDecoder;
 import cr.ac.una.flowfx.util.Respuesta;
+import cr.ac.una.flowfx.util.SingleFlight;
 import cr.ac.una.flowfx.ws.FlowFXWS;
-import cr.ac.una.flowfx.ws.FlowFXWS_Service;
-import cr.ac.una.flowfx.ws.PersonDTO;
-import jakarta.json.Json;
-import jakarta.json.JsonArray;
-import jakarta.json.JsonNumber;
-import jakarta.json.JsonObject;
-import jakarta.json.JsonReader;
-import jakarta.json.JsonString;
-import jakarta.json.JsonValue;
-import jakarta.xml.ws.BindingProvider;
-import java.io.StringReader;
-import java.lang.reflect.Method;
 import java.util.ArrayList;
-import java.util.Date;
-import java.util.GregorianCalendar;
+import java.util.Collection;
+import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.Objects;
+import java.util.Set;
 import java.util.logging.Level;
 import java.util.logging.Logger;
-import javax.xml.datatype.DatatypeConfigurationException;
-import javax.xml.datatype.DatatypeFactory;
-import javax.xml.datatype.XMLGregorianCalendar;
 
 /**
  * Client helper for Project-related operations against the FlowFX web service.
@@ -46,35 +34,117 @@ public class ProjectService {
     );
     private static final String ENTITY_KEY = "Project";
     private static final String LIST_KEY = "Projects";
-    private static final String DEFAULT_ENDPOINT =
-        "http://localhost:8080/FlowFXWS/FlowFXWS";
+
+    /** Field names accepted in a {@link #patch} field mask. */
+    public static final String FIELD_NAME = "name";
+    public static final String FIELD_PLANNED_START_DATE = "plannedStartDate";
+    public static final String FIELD_PLANNED_END_DATE = "plannedEndDate";
+    public static final String FIELD_ACTUAL_START_DATE = "actualStartDate";
+    public static final String FIELD_ACTUAL_END_DATE = "actualEndDate";
+    public static final String FIELD_STATUS = "status";
+    public static final String FIELD_LEADER = "leaderUserId";
+    public static final String FIELD_TECH_LEADER = "techLeaderId";
+    public static final String FIELD_SPONSOR = "sponsorId";
+
+    /** Internal message prefix of a patch rejected by the version check. */
+    public static final String PATCH_CONFLICT = "project.patch.conflict";
+
+    private static final Set<String> PATCHABLE_FIELDS = Set.of(
+        FIELD_NAME,
+        FIELD_PLANNED_START_DATE,
+        FIELD_PLANNED_END_DATE,
+        FIELD_ACTUAL_START_DATE,
+        FIELD_ACTUAL_END_DATE,
+        FIELD_STATUS,
+        FIELD_LEADER,
+        FIELD_TECH_LEADER,
+        FIELD_SPONSOR
+    );
+
+    /**
+     * Field aliases accepted in project payloads. Dates arrive as epoch millis;
+     * the status keeps only its first character, upper-cased.
+     */
+    static final JsonStreamDecoder<ProjectDTO> DECODER = JsonStreamDecoder
+        .<ProjectDTO>builder(ProjectDTO::new)
+        .longValue(ProjectDTO::setId, "id", "project_id", "projectId")
+        .string(ProjectDTO::setName, "name", "project_name", "projectName")
+        .field(
+            ProjectDTO::setPlannedStartDate,
+            JsonStreamDecoder::asEpochMillis,
+            "plannedStartDate",
+            "planned_start_date",
+            "plannedStart"
+        )
+        .field(
+            ProjectDTO::setPlannedEndDate,
+            JsonStreamDecoder::asEpochMillis,
+            "plannedEndDate",
+            "planned_end_date",
+            "plannedEnd"
+        )
+        .field(
+            ProjectDTO::setActualStartDate,
+            JsonStreamDecoder::asEpochMillis,
+            "actualStartDate",
+            "actual_start_date",
+            "actualStart"
+        )
+        .field(
+            ProjectDTO::setActualEndDate,
+            JsonStreamDecoder::asEpochMillis,
+            "actualEndDate",
+            "actual_end_date",
+            "actualEnd"
+        )
+        .string(
+            (dto, st) -> {
+                if (!st.isBlank()) dto.setStatus(st.substring(0, 1).toUpperCase());
+            },
+            "status",
+            "statusCode"
+        )
+        .longValue(
+            ProjectDTO::setLeaderUserId,
+            "leaderUserId",
+            "leaderId",
+            "leader_user_id"
+        )
+        .longValue(
+            ProjectDTO::setTechLeaderId,
+            "techLeaderId",
+            "technicalLeaderId",
+            "tech_leader_id"
+        )
+        .longValue(ProjectDTO::setSponsorId, "sponsorId", "sponsor_id")
+        .field(
+            ProjectDTO::setCreatedAt,
+            JsonStreamDecoder::asEpochMillis,
+            "createdAt",
+            "created_at"
+        )
+        .field(
+            ProjectDTO::setUpdatedAt,
+            JsonStreamDecoder::asEpochMillis,
+            "updatedAt",
+            "updated_at"
+        )
+        .build();
+
+    /**
+     * Read calls identical to one already in flight share its response.
+     */
+    private static final SingleFlight<List<Object>, cr.ac.una.flowfx.ws.Respuesta> READS =
+        SingleFlight.named("ProjectService");
 
     private FlowFXWS port;
 
     /**
-     * Constructs the service client and configures the web service endpoint to
-     * the default development address. Adjust the endpoint here if necessary.
+     * Constructs the service client using the shared port from
+     * {@link FlowFXWSPortProvider}, where the endpoint address is configured.
      */
     public ProjectService() {
-        try {
-            FlowFXWS_Service service = new FlowFXWS_Service();
-            port = service.getFlowFXWSPort();
-
-            if (port instanceof BindingProvider) {
-                ((BindingProvider) port).getRequestContext().put(
-                    BindingProvider.ENDPOINT_ADDRESS_PROPERTY,
-                    DEFAULT_ENDPOINT
-                );
-                try {
-                    Object ep = ((BindingProvider) port)
-                        .getRequestContext()
-                        .get(BindingProvider.ENDPOINT_ADDRESS_PROPERTY);
-                    LOG.log(Level.INFO, "[ProjectService] WS endpoint set to: {0}", ep);
-                } catch (Exception ignore) {}
-            }
-        } catch (Exception e) {
-            LOG.log(Level.SEVERE, "Error initializing FlowFXWS port", e);
-        }
+        port = FlowFXWSPortProvider.getInstance().getPort();
     }
 
     // ======= CRUD / QUERY METHODS =======
@@ -107,7 +177,10 @@ public class ProjectService {
                 );
             }
 
-            cr.ac.una.flowfx.ws.Respuesta wsResp = port.getProject(id);
+            cr.ac.una.flowfx.ws.Respuesta wsResp = READS.call(
+                SingleFlight.key("getProject", id),
+                () -> port.getProject(id)
+            );
             Respuesta r = mapRespuesta(wsResp);
 
             if (Boolean.TRUE.equals(r.getEstado())) {
@@ -152,8 +225,9 @@ public class ProjectService {
                 );
             }
 
-            cr.ac.una.flowfx.ws.Respuesta wsResp = port.getProjectsForUser(
-                userId
+            cr.ac.una.flowfx.ws.Respuesta wsResp = READS.call(
+                SingleFlight.key("getProjectsForUser", userId),
+                () -> port.getProjectsForUser(userId)
             );
             Respuesta r = mapRespuesta(wsResp);
 
@@ -195,7 +269,10 @@ public class ProjectService {
                 );
             }
 
-            cr.ac.una.flowfx.ws.Respuesta wsResp = port.getAllProjects();
+            cr.ac.una.flowfx.ws.Respuesta wsResp = READS.call(
+                SingleFlight.key("getAllProjects"),
+                () -> port.getAllProjects()
+            );
             Respuesta r = mapRespuesta(wsResp);
 
             if (Boolean.TRUE.equals(r.getEstado())) {
@@ -259,7 +336,7 @@ public class ProjectService {
                 }
             );
 
-            cr.ac.una.flowfx.ws.ProjectDTO wsProject = toWs(
+            cr.ac.una.flowfx.ws.ProjectDTO wsProject = WsMapper.toWs(
                 project,
                 leaderId,
                 techLeaderId,
@@ -285,7 +362,10 @@ public class ProjectService {
     }
 
     /**
-     * Updates an existing project.
+     * Updates an existing project, replacing all of its fields.
+     *
+     * <p>The project must be complete; use
+     * {@link #patch(Long, Collection, ProjectDTO)} to change only some fields.</p>
      *
      * @param project project data (required, must contain id)
      * @return Respuesta with the result; when successful, the {@code Project} key
@@ -312,16 +392,6 @@ public class ProjectService {
                 );
             }
 
-            // Read-before-write merge: fill missing required fields to satisfy server validation
-            try {
-                ProjectDTO merged = mergeWithCurrent(project);
-                if (merged != null) {
-                    project = merged;
-                }
-            } catch (Exception mergeEx) {
-                LOG.log(Level.FINE, "[Project.update] Merge with current failed (continuing)", mergeEx);
-            }
-
             LOG.log(
                 Level.INFO,
                 "[Project.update] id={0}, status={1}, plannedStart={2}, plannedEnd={3}, actualStart={4}, actualEnd={5}, leaderId={6}, techLeaderId={7}, sponsorId={8}",
@@ -338,7 +408,7 @@ public class ProjectService {
                 }
             );
 
-            cr.ac.una.flowfx.ws.ProjectDTO wsProject = toWs(
+            cr.ac.una.flowfx.ws.ProjectDTO wsProject = WsMapper.toWs(
                 project,
                 project.getLeaderUserId(),
                 project.getTechLeaderId(),
@@ -361,6 +431,8 @@ public class ProjectService {
             );
 
             if (Boolean.TRUE.equals(r.getEstado())) {
+                // Drop the stale entry; the parsed response re-populates it
+                EntityCaches.projects().invalidate(project.getId());
                 fillSingleFromMensajeInterno(r);
             }
             return r;
@@ -381,61 +453,97 @@ public class ProjectService {
     }
 
     /**
-     * Merge the provided patch DTO with the current server-side state to ensure required
-     * fields (e.g., name, planned dates) are present for validation on update.
-     * Only null fields in the patch are populated from the current state; non-null values
-     * in {@code patch} take precedence.
+     * Changes only the listed fields of a project, without reading it first.
+     *
+     * <p>Only the fields named in {@code fieldMask} (see the {@code FIELD_*}
+     * constants) are sent. {@code values.getUpdatedAt()} is the version the
+     * caller last saw: when set, the server rejects the change with
+     * {@value #PATCH_CONFLICT} if the project was modified since then.</p>
+     *
+     * @param id        project identifier (required)
+     * @param fieldMask names of the fields to change (required, non-empty)
+     * @param values    source of the new values and of the expected version
+     * @return Respuesta with the updated {@link ProjectDTO} under key
+     *         {@code Project} when successful
      */
-    private ProjectDTO mergeWithCurrent(ProjectDTO patch) {
+    public Respuesta patch(
+        Long id,
+        Collection<String> fieldMask,
+        ProjectDTO values
+    ) {
         try {
-            Respuesta curResp = find(patch.getId());
-            if (!Boolean.TRUE.equals(curResp.getEstado())) {
-                return patch; // cannot fetch current, proceed as-is
+            if (id == null || values == null) {
+                return new Respuesta(
+                    false,
+                    "The parameters 'id' and 'values' are required.",
+                    "patch.project.null"
+                );
+            }
+            if (fieldMask == null || fieldMask.isEmpty()) {
+                return new Respuesta(
+                    false,
+                    "At least one field to change is required.",
+                    "patch.fieldMask.empty"
+                );
             }
-            Object curObj = curResp.getResultado("Project");
-            if (!(curObj instanceof ProjectDTO current)) {
-                return patch;
+            for (String field : fieldMask) {
+                if (!PATCHABLE_FIELDS.contains(field)) {
+                    return new Respuesta(
+                        false,
+                        "Field '" + field + "' cannot be patched.",
+                        "patch.fieldMask.invalid"
+                    );
+                }
+            }
+            if (port == null) {
+                return new Respuesta(
+                    false,
+                    "Web service port is not available.",
+                    "ws.port.null"
+                );
             }
 
-            ProjectDTO merged = new ProjectDTO();
-            merged.setId(patch.getId());
-
-            // Preserve existing values unless patch overrides
-            merged.setName(patch.getName() != null ? patch.getName() : current.getName());
-            merged.setPlannedStartDate(
-                patch.getPlannedStartDate() != null ? patch.getPlannedStartDate() : current.getPlannedStartDate()
-            );
-            merged.setPlannedEndDate(
-                patch.getPlannedEndDate() != null ? patch.getPlannedEndDate() : current.getPlannedEndDate()
-            );
-            merged.setActualStartDate(
-                patch.getActualStartDate() != null ? patch.getActualStartDate() : current.getActualStartDate()
-            );
-            merged.setActualEndDate(
-                patch.getActualEndDate() != null ? patch.getActualEndDate() : current.getActualEndDate()
-            );
-            merged.setStatus(patch.getStatus() != null ? patch.getStatus() : current.getStatus());
-            merged.setCreatedAt(current.getCreatedAt());
-            merged.setUpdatedAt(new Date());
-
-            // Relations: keep current if not provided in patch
-            merged.setLeaderUserId(
-                patch.getLeaderUserId() != null ? patch.getLeaderUserId() : current.getLeaderUserId()
-            );
-            merged.setTechLeaderId(
-                patch.getTechLeaderId() != null ? patch.getTechLeaderId() : current.getTechLeaderId()
-            );
-            merged.setSponsorId(
-                patch.getSponsorId() != null ? patch.getSponsorId() : current.getSponsorId()
+            List<String> mask = new ArrayList<>(new LinkedHashSet<>(fieldMask));
+            cr.ac.una.flowfx.ws.Respuesta wsResp = port.patchProject(
+                id,
+                mask,
+                WsMapper.toWsPatch(id, mask, values)
             );
-
-            return merged;
+            Respuesta r = mapRespuesta(wsResp);
+            if (Boolean.TRUE.equals(r.getEstado())) {
+                EntityCaches.projects().invalidate(id);
+                fillSingleFromMensajeInterno(r);
+            } else if (isPatchConflict(r)) {
+                // Our copy is stale; the next read must reach the server
+                EntityCaches.projects().invalidate(id);
+            }
+            return r;
         } catch (Exception ex) {
-            LOG.log(Level.FINE, "mergeWithCurrent failed", ex);
-            return patch;
+            LOG.log(Level.SEVERE, "Error patching project [" + id + "]", ex);
+            return new Respuesta(
+                false,
+                "Error updating project.",
+                "patch " + ex.getMessage()
+            );
         }
     }
 
+    /**
+     * Tells whether a failed {@link #patch} was rejected because the project
+     * changed since the version sent by the caller.
+     *
+     * @param r a response returned by {@link #patch}
+     * @return {@code true} on a version conflict
+     */
+    public static boolean isPatchConflict(Respuesta r) {
+        return (
+            r != null &&
+            !Boolean.TRUE.equals(r.getEstado()) &&
+            r.getMensajeInterno() != null &&
+            r.getMensajeInterno().startsWith(PATCH_CONFLICT)
+        );
+    }
+
     /**
      * Deletes a project by id.
      *
@@ -464,7 +572,11 @@ public class ProjectService {
             }
 
             cr.ac.una.flowfx.ws.Respuesta wsResp = port.deleteProject(id);
-            return mapRespuesta(wsResp);
+            Respuesta r = mapRespuesta(wsResp);
+            if (Boolean.TRUE.equals(r.getEstado())) {
+                EntityCaches.removeProject(id);
+            }
+            return r;
         } catch (Exception ex) {
             LOG.log(Level.SEVERE, "Error deleting project [" + id + "]", ex);
             return new Respuesta(
@@ -505,53 +617,24 @@ public class ProjectService {
             return;
         }
 
-        try (JsonReader jr = Json.createReader(new StringReader(mi))) {
-            JsonValue v = jr.readValue();
-            switch (v.getValueType()) {
-                case OBJECT: {
-                    JsonObject obj = (JsonObject) v;
-                    obj = unwrapObject(obj, "project", "Project", "PROJECT");
-                    ProjectDTO dto = fromJsonProject(obj);
-                    if (dto != null) r.setResultado(ENTITY_KEY, dto);
-                    break;
-                }
-                case ARRAY: {
-                    JsonArray arr = (JsonArray) v;
-                    if (
-                        !arr.isEmpty() &&
-                        arr.get(0).getValueType() == JsonValue.ValueType.OBJECT
-                    ) {
-                        ProjectDTO dto = fromJsonProject(arr.getJsonObject(0));
-                        if (dto != null) r.setResultado(ENTITY_KEY, dto);
-                    }
-                    break;
-                }
-                default:
-                    break;
-            }
+        try {
+            ProjectDTO dto = DECODER.decodeSingle(
+                mi,
+                "project",
+                "Project",
+                "PROJECT"
+            );
+            if (dto != null) r.setResultado(ENTITY_KEY, cacheProject(dto));
         } catch (Exception ex) {
             LOG.log(
                 Level.FINE,
-                "Unable to parse mensajeInterno to single ProjectDTO, attempting fallback",
+                "Unable to parse mensajeInterno to single ProjectDTO",
                 ex
             );
-            // fallback: try strict object
-            try (JsonReader jr = Json.createReader(new StringReader(mi))) {
-                JsonObject obj = jr.readObject();
-                obj = unwrapObject(obj, "project", "Project", "PROJECT");
-                ProjectDTO dto = fromJsonProject(obj);
-                if (dto != null) r.setResultado(ENTITY_KEY, dto);
-            } catch (Exception e) {
-                LOG.log(
-                    Level.FINE,
-                    "Fallback parsing failed for mensajeInterno",
-                    e
-                );
-            }
         }
     }
 
-    private void fillListFromMensajeInterno(Respuesta r) {
+    void fillListFromMensajeInterno(Respuesta r) {
         String mi = r.getMensajeInterno();
         if (mi == null || mi.isBlank()) return;
 
@@ -565,43 +648,16 @@ public class ProjectService {
         }
 
         List<ProjectDTO> projects = new ArrayList<>();
-
-        // 1) Try direct array
-        try (JsonReader jr = Json.createReader(new StringReader(mi))) {
-            JsonArray arr = jr.readArray();
-            for (int i = 0; i < arr.size(); i++) {
-                if (arr.get(i).getValueType() == JsonValue.ValueType.OBJECT) {
-                    ProjectDTO dto = fromJsonProject(arr.getJsonObject(i));
-                    if (dto != null) projects.add(dto);
-                }
-            }
-            r.setResultado(LIST_KEY, projects);
-            return;
-        } catch (Exception ignore) {
-            // proceed to other shapes
-        }
-
-        // 2) Try object wrapper with common keys
-        try (JsonReader jr = Json.createReader(new StringReader(mi))) {
-            JsonObject root = jr.readObject();
-            JsonArray arr = unwrapArray(
-                root,
+        try {
+            DECODER.decodeList(
+                mi,
+                dto -> projects.add(cacheProject(dto)),
                 "projects",
                 "Projects",
                 "PROJECTS",
                 "data",
                 "list"
             );
-            if (arr != null) {
-                for (int i = 0; i < arr.size(); i++) {
-                    if (
-                        arr.get(i).getValueType() == JsonValue.ValueType.OBJECT
-                    ) {
-                        ProjectDTO dto = fromJsonProject(arr.getJsonObject(i));
-                        if (dto != null) projects.add(dto);
-                    }
-                }
-            }
         } catch (Exception ex) {
             LOG.log(
                 Level.WARNING,
@@ -609,10 +665,14 @@ public class ProjectService {
                 ex
             );
         }
-
         r.setResultado(LIST_KEY, projects);
     }
 
+    ProjectDTO cacheProject(ProjectDTO dto) {
+        EntityCaches.putProject(dto);
+        return dto;
+    }
+
     private boolean looksLikeJson(String s) {
         if (s == null) return false;
         String t = s.trim();
@@ -620,338 +680,4 @@ public class ProjectService {
         char c = t.charAt(0);
         return c == '{' || c == '[';
     }
-
-    private JsonObject unwrapObject(JsonObject obj, String... keys) {
-        if (obj == null) return null;
-        for (String k : keys) {
-            if (
-                obj.containsKey(k) &&
-                obj.get(k).getValueType() == JsonValue.ValueType.OBJECT
-            ) {
-                return obj.getJsonObject(k);
-            }
-        }
-        return obj;
-    }
-
-    private JsonArray unwrapArray(JsonObject obj, String... keys) {
-        if (obj == null) return null;
-        for (String k : keys) {
-            if (
-                obj.containsKey(k) &&
-                obj.get(k).getValueType() == JsonValue.ValueType.ARRAY
-            ) {
-                return obj.getJsonArray(k);
-            }
-        }
-        return null;
-    }
-
-    private ProjectDTO fromJsonProject(JsonObject obj) {
-        if (obj == null) return null;
-
-        ProjectDTO dto = new ProjectDTO();
-
-        dto.setId(getLong(obj, "id", "project_id", "projectId"));
-        dto.setName(getString(obj, "name", "project_name", "projectName"));
-
-        // Dates as epoch millis or string tokens
-        Long psd = getLong(
-            obj,
-            "plannedStartDate",
-            "planned_start_date",
-            "plannedStart"
-        );
-        Long ped = getLong(
-            obj,
-            "plannedEndDate",
-            "planned_end_date",
-            "plannedEnd"
-        );
-        Long asd = getLong(
-            obj,
-            "actualStartDate",
-            "actual_start_date",
-            "actualStart"
-        );
-        Long aed = getLong(
-            obj,
-            "actualEndDate",
-            "actual_end_date",
-            "actualEnd"
-        );
-        if (psd != null) dto.setPlannedStartDate(new Date(psd));
-        if (ped != null) dto.setPlannedEndDate(new Date(ped));
-        if (asd != null) dto.setActualStartDate(new Date(asd));
-        if (aed != null) dto.setActualEndDate(new Date(aed));
-
-        // Status token - take first character uppercase
-        String st = getString(obj, "status", "statusCode");
-        if (st != null && !st.isBlank()) {
-            dto.setStatus(st.substring(0, 1).toUpperCase());
-        }
-
-        // Relations
-        dto.setLeaderUserId(
-            getLong(obj, "leaderUserId", "leaderId", "leader_user_id")
-        );
-        dto.setTechLeaderId(
-            getLong(obj, "techLeaderId", "technicalLeaderId", "tech_leader_id")
-        );
-        dto.setSponsorId(getLong(obj, "sponsorId", "sponsor_id"));
-
-        // Timestamps
-        Long createdAt = getLong(obj, "createdAt", "created_at");
-        Long updatedAt = getLong(obj, "updatedAt", "updated_at");
-        if (createdAt != null) dto.setCreatedAt(new Date(createdAt));
-        if (updatedAt != null) dto.setUpdatedAt(new Date(updatedAt));
-
-        return dto;
-    }
-
-    private String getString(JsonObject obj, String... keys) {
-        if (obj == null) return null;
-        for (String k : keys) {
-            if (obj.containsKey(k) && !obj.isNull(k)) {
-                try {
-                    JsonValue.ValueType vt = obj.get(k).getValueType();
-                    switch (vt) {
-                        case STRING:
-                            return ((JsonString) obj.get(k)).getString();
-                        case NUMBER:
-                            return ((JsonNumber) obj.get(k)).toString();
-                        case TRUE:
-                            return "true";
-                        case FALSE:
-                            return "false";
-                        default:
-                            return obj.get(k).toString();
-                    }
-                } catch (Exception ignore) {
-                    // continue to next key
-                }
-            }
-        }
-        return null;
-    }
-
-    private Long getLong(JsonObject obj, String... keys) {
-        if (obj == null) return null;
-        for (String k : keys) {
-            if (obj.containsKey(k) && !obj.isNull(k)) {
-                try {
-                    JsonValue v = obj.get(k);
-                    switch (v.getValueType()) {
-                        case NUMBER:
-                            return obj.getJsonNumber(k).longValue();
-                        case STRING:
-                            String s = obj.getString(k);
-                            if (s != null && !s.isBlank()) {
-                                try {
-                                    return Long.parseLong(s.trim());
-                                } catch (NumberFormatException nfe) {
-                                    // try parse as double then long
-                                    try {
-                                        return (long) Double.parseDouble(
-                                            s.trim()
-                                        );
-                                    } catch (Exception ignore) {}
-                                }
-                            }
-                            break;
-                        default:
-                            String raw = v.toString();
-                            if (raw != null && !raw.isBlank()) {
-                                String cleaned = raw.replaceAll("[^0-9-]", "");
-                                if (!cleaned.isBlank()) {
-                                    try {
-                                        return Long.parseLong(cleaned);
-                                    } catch (Exception ignore) {}
-                                }
-                            }
-                    }
-                } catch (Exception ignore) {
-                    // continue to next key
-                }
-            }
-        }
-        return null;
-    }
-
-    private cr.ac.una.flowfx.ws.ProjectDTO toWs(
-        ProjectDTO dto,
-        Long leaderId,
-        Long techLeaderId,
-        Long sponsorId
-    ) {
-        cr.ac.una.flowfx.ws.ProjectDTO w = new cr.ac.una.flowfx.ws.ProjectDTO();
-        if (dto == null) return w;
-
-        w.setId(dto.getId());
-        w.setName(dto.getName());
-
-        if (dto.getPlannedStartDate() != null) {
-            w.setPlannedStartDate(toXmlDate(dto.getPlannedStartDate()));
-        }
-        if (dto.getPlannedEndDate() != null) {
-            w.setPlannedEndDate(toXmlDate(dto.getPlannedEndDate()));
-        }
-        // Ensure actual dates and status are propagated to the WS DTO so updates persist
-        if (dto.getActualStartDate() != null) {
-            try {
-                w.getClass()
-                    .getMethod(
-                        "setActualStartDate",
-                        javax.xml.datatype.XMLGregorianCalendar.class
-                    )
-                    .invoke(w, toXmlDate(dto.getActualStartDate()));
-            } catch (Exception ignore) {
-                // Optional in some stubs
-            }
-        }
-        if (dto.getActualEndDate() != null) {
-            try {
-                w.getClass()
-                    .getMethod(
-                        "setActualEndDate",
-                        javax.xml.datatype.XMLGregorianCalendar.class
-                    )
-                    .invoke(w, toXmlDate(dto.getActualEndDate()));
-            } catch (Exception ignore) {
-                // Optional in some stubs
-            }
-        }
-        if (dto.getStatus() != null) {
-            try {
-                w.getClass().getMethod("setStatus", String.class).invoke(
-                        w,
-                        dto.getStatus()
-                    );
-            } catch (Exception ignore) {
-                // Optional in some stubs
-            }
-        }
-
-        LOG.log(
-            Level.FINE,
-            "[ProjectService.toWs] id={0}, status={1}, plannedStart={2}, plannedEnd={3}, actualStart={4}, actualEnd={5}, leaderId={6}, techLeaderId={7}, sponsorId={8}",
-            new Object[] {
-                dto.getId(),
-                dto.getStatus(),
-                dto.getPlannedStartDate(),
-                dto.getPlannedEndDate(),
-                dto.getActualStartDate(),
-                dto.getActualEndDate(),
-                leaderId,
-                techLeaderId,
-                sponsorId,
-            }
-        );
-
-        setPersonRelation(
-            w,
-            leaderId,
-            new String[] {
-                "setLeaderUserId",
-                "setLeaderId",
-                "setLeaderPersonId",
-            },
-            new String[] { "setLeader", "setLeaderUser", "setLeaderPerson" }
-        );
-
-        setPersonRelation(
-            w,
-            techLeaderId,
-            new String[] { "setTechLeaderId", "setTechnicalLeaderId" },
-            new String[] { "setTechLeader", "setTechnicalLeader" }
-        );
-
-        setPersonRelation(
-            w,
-            sponsorId,
-            new String[] { "setSponsorId" },
-            new String[] { "setSponsor", "setProjectSponsor" }
-        );
-
-        return w;
-    }
-
-    private void setPersonRelation(
-        Object target,
-        Long personId,
-        String[] idSetterCandidates,
-        String[] dtoSetterCandidates
-    ) {
-        if (target == null || personId == null) return;
-
-        // Try id setters first
-        for (String method : idSetterCandidates) {
-            if (invokeSetterIfExists(target, method, Long.class, personId)) {
-                LOG.log(
-                    Level.FINE,
-                    "Assigned by Id with setter {0} = {1}",
-                    new Object[] { method, personId }
-                );
-                return;
-            }
-        }
-
-        // Then try DTO setters
-        PersonDTO p = new PersonDTO();
-        p.setId(personId);
-        for (String method : dtoSetterCandidates) {
-            if (invokeSetterIfExists(target, method, PersonDTO.class, p)) {
-                LOG.log(
-                    Level.FINE,
-                    "Assigned by DTO with setter {0} -> PersonDTO.id={1}",
-                    new Object[] { method, personId }
-                );
-                return;
-            }
-        }
-
-        LOG.log(
-            Level.FINE,
-            "No setter found to assign person relation with id={0}",
-            personId
-        );
-    }
-
-    private XMLGregorianCalendar toXmlDate(Date date) {
-        if (Objects.isNull(date)) return null;
-        try {
-            GregorianCalendar gc = new GregorianCalendar();
-            gc.setTime(date);
-            return DatatypeFactory.newInstance().newXMLGregorianCalendar(gc);
-        } catch (DatatypeConfigurationException e) {
-            LOG.log(
-                Level.SEVERE,
-                "Error converting Date to XMLGregorianCalendar",
-                e
-            );
-            return null;
-        }
-    }
-
-    private boolean invokeSetterIfExists(
-        Object target,
-        String method,
-        Class<?> paramType,
-        Object value
-    ) {
-        try {
-            Method m = target.getClass().getMethod(method, paramType);
-            m.invoke(target, value);
-            return true;
-        } catch (NoSuchMethodException nsme) {
-            return false;
-        } catch (Exception ex) {
-            LOG.log(
-                Level.FINE,
-                "Unable to invoke " + method + " on stub: " + ex.getMessage(),
-                ex
-            );
-            return false;
-        }
-    }
 }
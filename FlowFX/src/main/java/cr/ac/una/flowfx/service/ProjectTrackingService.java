@@ -1,27 +1,17 @@
 package cr.ac.una.flowfx.service;
 
 import cr.ac.una.flowfx.model.ProjectTrackingDTO;
+import cr.ac.una.flowfx.util.JsonStreamDecoder;
 import cr.ac.una.flowfx.util.Respuesta;
+import cr.ac.una.flowfx.util.SingleFlight;
 import cr.ac.una.flowfx.ws.FlowFXWS;
-import cr.ac.una.flowfx.ws.FlowFXWS_Service;
-import jakarta.json.Json;
-import jakarta.json.JsonArray;
-import jakarta.json.JsonNumber;
-import jakarta.json.JsonObject;
-import jakarta.json.JsonReader;
-import jakarta.json.JsonString;
-import jakarta.json.JsonValue;
-import jakarta.xml.ws.BindingProvider;
-import java.io.StringReader;
-import java.time.Instant;
-import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
-import java.util.Date;
-import java.util.GregorianCalendar;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.logging.Level;
 import java.util.logging.Logger;
-import javax.xml.datatype.DatatypeFactory;
 
 /**
  * Client service for ProjectTracking operations against the FlowFX web service.
@@ -44,25 +34,45 @@ public class ProjectTrackingService {
     private static final String ENTITY_KEY = "ProjectTracking";
     private static final String LIST_KEY = "ProjectTrackings";
 
+    /**
+     * Field aliases accepted in tracking payloads; numbers may arrive as strings.
+     */
+    static final JsonStreamDecoder<ProjectTrackingDTO> DECODER =
+        JsonStreamDecoder.<ProjectTrackingDTO>builder(ProjectTrackingDTO::new)
+            .longValue(ProjectTrackingDTO::setId, "id", "tracking_id", "trackingId")
+            .longValue(ProjectTrackingDTO::setProjectId, "project_id", "projectId")
+            .string(ProjectTrackingDTO::setObservations, "observations", "obs", "note")
+            .date(
+                ProjectTrackingDTO::setTrackingDate,
+                "tracking_date",
+                "trackingDate",
+                "date"
+            )
+            // progress_percentage is NUMBER(5,2)
+            .decimal(
+                (dto, progress) -> dto.setProgressPercentage(progress),
+                "progress_percentage",
+                "progressPercentage",
+                "progress"
+            )
+            .longValue(ProjectTrackingDTO::setCreatedBy, "created_by", "createdBy")
+            .date(ProjectTrackingDTO::setCreatedAt, "created_at", "createdAt")
+            .build();
+
+    /**
+     * Read calls identical to one already in flight share its response.
+     */
+    private static final SingleFlight<List<Object>, cr.ac.una.flowfx.ws.Respuesta> READS =
+        SingleFlight.named("ProjectTrackingService");
+
     private FlowFXWS port;
 
     /**
-     * Constructs the client and configures the default endpoint address.
-     * Adjust the endpoint constant below if your deployment uses a different URL.
+     * Constructs the service client using the shared port from
+     * {@link FlowFXWSPortProvider}, where the endpoint address is configured.
      */
     public ProjectTrackingService() {
-        try {
-            FlowFXWS_Service service = new FlowFXWS_Service();
-            port = service.getFlowFXWSPort();
-            if (port instanceof BindingProvider) {
-                ((BindingProvider) port).getRequestContext().put(
-                    BindingProvider.ENDPOINT_ADDRESS_PROPERTY,
-                    "http://localhost:8080/FlowFXWS/FlowFXWS" // Se debe ajustar si es necesario, @Negro
-                );
-            }
-        } catch (Exception e) {
-            LOG.log(Level.SEVERE, "Error inicializando el puerto de FlowFXWS", e);
-        }
+        port = FlowFXWSPortProvider.getInstance().getPort();
     }
 
     /**
@@ -81,8 +91,10 @@ public class ProjectTrackingService {
                     "tracking.byProject.projectId.null"
                 );
             }
-            cr.ac.una.flowfx.ws.Respuesta wsResp =
-                port.getProjectTrackingByProject(projectId);
+            cr.ac.una.flowfx.ws.Respuesta wsResp = READS.call(
+                SingleFlight.key("getProjectTrackingByProject", projectId),
+                () -> port.getProjectTrackingByProject(projectId)
+            );
             Respuesta r = mapRespuesta(wsResp);
             if (Boolean.TRUE.equals(r.getEstado())) {
                 fillListFromMensajeInterno(r);
@@ -102,10 +114,83 @@ public class ProjectTrackingService {
         }
     }
 
+    /**
+     * Retrieves only the newest tracking entry of each given project.
+     *
+     * <p>The server resolves the latest row per project with a keyed query on
+     * {@code idx_tracking_project (project_id, tracking_date DESC)}, so the cost
+     * is one small round trip regardless of how long each project's history is.
+     * Projects without tracking entries are simply absent from the result.</p>
+     *
+     * @param projectIds project identifiers (required, nulls are ignored)
+     * @return a Respuesta containing a List<ProjectTrackingDTO> under key
+     *         {@code ProjectTrackings}, at most one entry per project
+     */
+    public Respuesta findLatestByProjects(List<Long> projectIds) {
+        try {
+            if (projectIds == null) {
+                return new Respuesta(
+                    false,
+                    "The parameter 'projectIds' is required.",
+                    "tracking.latest.projectIds.null"
+                );
+            }
+            List<Long> ids = new ArrayList<>(new LinkedHashSet<>(projectIds));
+            ids.removeIf(id -> id == null || id <= 0);
+            if (ids.isEmpty()) {
+                Respuesta empty = new Respuesta(true, "", "");
+                empty.setResultado(LIST_KEY, new ArrayList<ProjectTrackingDTO>());
+                return empty;
+            }
+            cr.ac.una.flowfx.ws.Respuesta wsResp = READS.call(
+                SingleFlight.key("getLatestTrackingByProjects", ids),
+                () -> port.getLatestTrackingByProjects(ids)
+            );
+            Respuesta r = mapRespuesta(wsResp);
+            if (Boolean.TRUE.equals(r.getEstado())) {
+                fillListFromMensajeInterno(r);
+                keepLatestPerProject(r);
+            }
+            return r;
+        } catch (Exception ex) {
+            LOG.log(
+                Level.SEVERE,
+                "Error retrieving latest tracking for projectIds=" + projectIds,
+                ex
+            );
+            return new Respuesta(
+                false,
+                "Error retrieving latest project tracking.",
+                "tracking.latest " + ex.getMessage()
+            );
+        }
+    }
+
     // --------------------
     // Utilities and parsing
     // --------------------
 
+    /**
+     * Defensive reduction to one entry per project (newest tracking date wins),
+     * in case the server returns ties or more than the latest row.
+     */
+    private void keepLatestPerProject(Respuesta r) {
+        Object data = r.getResultado(LIST_KEY);
+        if (!(data instanceof List<?> list)) return;
+        Map<Long, ProjectTrackingDTO> latest = new HashMap<>();
+        for (Object o : list) {
+            if (!(o instanceof ProjectTrackingDTO t) || t.getProjectId() == null) continue;
+            latest.merge(t.getProjectId(), t, (a, b) -> isNewer(b, a) ? b : a);
+        }
+        r.setResultado(LIST_KEY, new ArrayList<>(latest.values()));
+    }
+
+    private boolean isNewer(ProjectTrackingDTO candidate, ProjectTrackingDTO current) {
+        if (candidate.getTrackingDate() == null) return false;
+        if (current.getTrackingDate() == null) return true;
+        return candidate.getTrackingDate().after(current.getTrackingDate());
+    }
+
     private Respuesta mapRespuesta(cr.ac.una.flowfx.ws.Respuesta ws) {
         if (ws == null) {
             return new Respuesta(
@@ -130,74 +215,21 @@ public class ProjectTrackingService {
      * - object containing an array under keys: trackings / Trackings / TRACKINGS
      * - object containing an array under keys: data / list
      */
-    private void fillListFromMensajeInterno(Respuesta r) {
+    void fillListFromMensajeInterno(Respuesta r) {
         String mi = r.getMensajeInterno();
         if (mi == null || mi.isBlank()) return;
 
         List<ProjectTrackingDTO> list = new ArrayList<>();
-
-        // 1) Direct array
-        try (JsonReader jr = Json.createReader(new StringReader(mi))) {
-            JsonArray arr = jr.readArray();
-            for (int i = 0; i < arr.size(); i++) {
-                if (arr.get(i).getValueType() == JsonValue.ValueType.OBJECT) {
-                    JsonObject obj = arr.getJsonObject(i);
-                    ProjectTrackingDTO dto = fromJsonTracking(obj);
-                    if (dto != null) list.add(dto);
-                }
-            }
-            r.setResultado(LIST_KEY, list);
-            return;
-        } catch (Exception ignore) {
-            // not an array, continue to object-with-array attempts
-        }
-
-        // 2) Object with array inside
-        try (JsonReader jr = Json.createReader(new StringReader(mi))) {
-            JsonObject root = jr.readObject();
-            JsonArray arr = null;
-            if (
-                root.containsKey("trackings") &&
-                root.get("trackings").getValueType() ==
-                JsonValue.ValueType.ARRAY
-            ) {
-                arr = root.getJsonArray("trackings");
-            } else if (
-                root.containsKey("Trackings") &&
-                root.get("Trackings").getValueType() ==
-                JsonValue.ValueType.ARRAY
-            ) {
-                arr = root.getJsonArray("Trackings");
-            } else if (
-                root.containsKey("TRACKINGS") &&
-                root.get("TRACKINGS").getValueType() ==
-                JsonValue.ValueType.ARRAY
-            ) {
-                arr = root.getJsonArray("TRACKINGS");
-            } else if (
-                root.containsKey("data") &&
-                root.get("data").getValueType() == JsonValue.ValueType.ARRAY
-            ) {
-                arr = root.getJsonArray("data");
-            } else if (
-                root.containsKey("list") &&
-                root.get("list").getValueType() == JsonValue.ValueType.ARRAY
-            ) {
-                arr = root.getJsonArray("list");
-            }
-
-            if (arr != null) {
-                for (int i = 0; i < arr.size(); i++) {
-                    if (
-                        arr.get(i).getValueType() == JsonValue.ValueType.OBJECT
-                    ) {
-                        ProjectTrackingDTO dto = fromJsonTracking(
-                            arr.getJsonObject(i)
-                        );
-                        if (dto != null) list.add(dto);
-                    }
-                }
-            }
+        try {
+            DECODER.decodeList(
+                mi,
+                list::add,
+                "trackings",
+                "Trackings",
+                "TRACKINGS",
+                "data",
+                "list"
+            );
         } catch (Exception ex) {
             LOG.log(
                 Level.WARNING,
@@ -209,176 +241,6 @@ public class ProjectTrackingService {
         r.setResultado(LIST_KEY, list);
     }
 
-    /**
-     * Convert a JsonObject into ProjectTrackingDTO. Accepts common key aliases
-     * and tolerates numbers as strings.
-     */
-    private ProjectTrackingDTO fromJsonTracking(JsonObject obj) {
-        if (obj == null) return null;
-
-        ProjectTrackingDTO dto = new ProjectTrackingDTO();
-
-        dto.setId(getLong(obj, "id", "tracking_id", "trackingId"));
-        dto.setProjectId(getLong(obj, "project_id", "projectId"));
-        dto.setObservations(getString(obj, "observations", "obs", "note"));
-
-        // trackingDate: try ISO string or epoch numeric
-        Date tdate = getDate(obj, "tracking_date", "trackingDate", "date");
-        dto.setTrackingDate(tdate);
-
-        // progress percentage (NUMBER(5,2)) -> Double
-        Double progress = getDouble(
-            obj,
-            "progress_percentage",
-            "progressPercentage",
-            "progress"
-        );
-        if (progress != null) dto.setProgressPercentage(progress);
-
-        dto.setCreatedBy(getLong(obj, "created_by", "createdBy"));
-        Date createdAt = getDate(obj, "created_at", "createdAt");
-        dto.setCreatedAt(createdAt);
-
-        return dto;
-    }
-
-    // ------- JSON helpers -------
-
-    private String getString(JsonObject obj, String... keys) {
-        for (String k : keys) {
-            if (obj.containsKey(k) && !obj.isNull(k)) {
-                try {
-                    JsonValue.ValueType vt = obj.get(k).getValueType();
-                    switch (vt) {
-                        case STRING:
-                            return ((JsonString) obj.get(k)).getString();
-                        case NUMBER:
-                            return ((JsonNumber) obj.get(k)).toString();
-                        case TRUE:
-                            return "true";
-                        case FALSE:
-                            return "false";
-                        default:
-                            return obj.get(k).toString();
-                    }
-                } catch (Exception ignore) {
-                    // try next key
-                }
-            }
-        }
-        return null;
-    }
-
-    private Long getLong(JsonObject obj, String... keys) {
-        for (String k : keys) {
-            if (obj.containsKey(k) && !obj.isNull(k)) {
-                try {
-                    JsonValue v = obj.get(k);
-                    switch (v.getValueType()) {
-                        case NUMBER:
-                            return obj.getJsonNumber(k).longValue();
-                        case STRING:
-                            String s = obj.getString(k);
-                            if (
-                                s != null && !s.isBlank()
-                            ) return Long.parseLong(s.trim());
-                            break;
-                        default:
-                            String raw = v.toString();
-                            if (
-                                raw != null && !raw.isBlank()
-                            ) return Long.parseLong(
-                                raw.replace("\"", "").trim()
-                            );
-                    }
-                } catch (Exception ignore) {
-                    // try next key
-                }
-            }
-        }
-        return null;
-    }
-
-    private Double getDouble(JsonObject obj, String... keys) {
-        for (String k : keys) {
-            if (obj.containsKey(k) && !obj.isNull(k)) {
-                try {
-                    JsonValue v = obj.get(k);
-                    switch (v.getValueType()) {
-                        case NUMBER:
-                            return obj.getJsonNumber(k).doubleValue();
-                        case STRING:
-                            String s = obj.getString(k);
-                            if (
-                                s != null && !s.isBlank()
-                            ) return Double.valueOf(s.trim());
-                            break;
-                        default:
-                            String raw = v.toString();
-                            if (
-                                raw != null && !raw.isBlank()
-                            ) return Double.valueOf(
-                                raw.replace("\"", "").trim()
-                            );
-                    }
-                } catch (Exception ignore) {
-                    // try next key
-                }
-            }
-        }
-        return null;
-    }
-
-    /**
-     * Attempts to parse a date from a json object key. Supports:
-     * - ISO-8601 strings (parsed by Instant.parse)
-     * - common formats (yyyy-MM-dd HH:mm:ss, yyyy-MM-dd)
-     * - numeric epoch values (seconds or milliseconds)
-     */
-    private Date getDate(JsonObject obj, String... keys) {
-        String s = getString(obj, keys);
-        if (s != null && !s.isBlank()) {
-            try {
-                Instant inst = Instant.parse(s);
-                return Date.from(inst);
-            } catch (DateTimeParseException ignore) {
-                // continue to other formats
-            }
-            try {
-                return new java.text.SimpleDateFormat(
-                    "yyyy-MM-dd HH:mm:ss"
-                ).parse(s);
-            } catch (Exception ignore) {
-                // try next
-            }
-            try {
-                return new java.text.SimpleDateFormat("yyyy-MM-dd").parse(s);
-            } catch (Exception ignore) {
-                // fallback to numeric attempts
-            }
-        }
-
-        // Numeric epoch fallback
-        for (String k : keys) {
-            if (
-                obj.containsKey(k) &&
-                obj.get(k).getValueType() == JsonValue.ValueType.NUMBER
-            ) {
-                try {
-                    long epoch = obj.getJsonNumber(k).longValue();
-                    if (String.valueOf(epoch).length() <= 10) {
-                        epoch = epoch * 1000L; // seconds -> millis
-                    }
-                    return new Date(epoch);
-                } catch (Exception ignore) {
-                    // continue
-                }
-            }
-        }
-
-        return null;
-    }
-
     /**
      * Creates a new project tracking entry.
      *
@@ -399,7 +261,7 @@ public class ProjectTrackingService {
                     ", createdBy=" + dto.getCreatedBy() + 
                     ", observations=" + (dto.getObservations() != null ? dto.getObservations().substring(0, Math.min(50, dto.getObservations().length())) : "null"));
             
-            cr.ac.una.flowfx.ws.ProjectTrackingDTO wsDto = toWs(dto);
+            cr.ac.una.flowfx.ws.ProjectTrackingDTO wsDto = WsMapper.toWs(dto);
             cr.ac.una.flowfx.ws.Respuesta wsResp = port.createProjectTracking(wsDto);
             
             Respuesta r = mapRespuesta(wsResp);
@@ -439,7 +301,7 @@ public class ProjectTrackingService {
             
             LOG.fine("Updating project tracking ID: " + dto.getId());
             
-            cr.ac.una.flowfx.ws.ProjectTrackingDTO wsDto = toWs(dto);
+            cr.ac.una.flowfx.ws.ProjectTrackingDTO wsDto = WsMapper.toWs(dto);
             cr.ac.una.flowfx.ws.Respuesta wsResp = port.updateProjectTracking(wsDto);
             
             Respuesta r = mapRespuesta(wsResp);
@@ -463,48 +325,6 @@ public class ProjectTrackingService {
 
     // Helper methods
 
-    /**
-     * Converts client DTO to web service DTO.
-     */
-    private cr.ac.una.flowfx.ws.ProjectTrackingDTO toWs(ProjectTrackingDTO dto) {
-        if (dto == null) return null;
-        
-        cr.ac.una.flowfx.ws.ProjectTrackingDTO wsDto = new cr.ac.una.flowfx.ws.ProjectTrackingDTO();
-        wsDto.setId(dto.getId());
-        wsDto.setProjectId(dto.getProjectId());
-        wsDto.setCreatedBy(dto.getCreatedBy());
-        wsDto.setObservations(dto.getObservations());
-        
-        // Convert dates using XML calendar
-        if (dto.getTrackingDate() != null) {
-            wsDto.setTrackingDate(toXmlDate(dto.getTrackingDate()));
-        }
-        if (dto.getCreatedAt() != null) {
-            wsDto.setCreatedAt(toXmlDate(dto.getCreatedAt()));
-        }
-        
-        wsDto.setProgressPercentage(dto.getProgressPercentage() != null ? dto.getProgressPercentage().doubleValue() : null);
-        
-        return wsDto;
-    }
-
-    /**
-     * Converts Date to XMLGregorianCalendar for web service compatibility.
-     */
-    private javax.xml.datatype.XMLGregorianCalendar toXmlDate(Date date) {
-        if (date == null) return null;
-        try {
-            java.util.GregorianCalendar gc = new java.util.GregorianCalendar();
-            gc.setTime(date);
-            return javax.xml.datatype.DatatypeFactory
-                .newInstance()
-                .newXMLGregorianCalendar(gc);
-        } catch (Exception e) {
-            LOG.log(Level.WARNING, "Error converting Date to XMLGregorianCalendar", e);
-            return null;
-        }
-    }
-
     /**
      * Fills single entity result from mensajeInterno JSON.
      */
@@ -512,9 +332,8 @@ public class ProjectTrackingService {
         String mi = r.getMensajeInterno();
         if (mi == null || mi.isBlank()) return;
         
-        try (JsonReader jr = Json.createReader(new StringReader(mi))) {
-            JsonObject obj = jr.readObject();
-            ProjectTrackingDTO dto = fromJsonTracking(obj);
+        try {
+            ProjectTrackingDTO dto = DECODER.decodeSingle(mi);
             if (dto != null) {
                 r.setResultado(ENTITY_KEY, dto);
             }
@@ -0,0 +1,231 @@
+package cr.ac.una.flowfx.service;
+
+import cr.ac.una.flowfx.model.PersonDTO;
+import cr.ac.una.flowfx.model.ProjectDTO;
+import cr.ac.una.flowfx.model.SearchResultDTO;
+import cr.ac.una.flowfx.util.EntityCaches;
+import cr.ac.una.flowfx.util.JsonStreamDecoder;
+import cr.ac.una.flowfx.util.Respuesta;
+import cr.ac.una.flowfx.util.SingleFlight;
+import cr.ac.una.flowfx.ws.FlowFXWS;
+import jakarta.json.JsonException;
+import jakarta.json.stream.JsonParser;
+import jakarta.json.stream.JsonParser.Event;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Client service for the server-side project and people search.
+ *
+ * <p>The {@code search} operation matches the term case-insensitively against
+ * project names and the first name, last name, email and username of the
+ * sponsor, leader and technical leader of the projects visible to the user.
+ * Matching runs in the database over {@code LOWER()} function-based indexes,
+ * so the client never downloads the people table. Results are returned in
+ * pages; the opaque {@code nextCursor} of a page requests the following one
+ * and is absent on the last page.</p>
+ *
+ * <p>Expected {@code mensajeInterno} shape (snake_case keys are also accepted):</p>
+ * <pre>
+ * { "results": [ { "role": "SPONSOR", "project": { ... }, "person": { ... } } ],
+ *   "nextCursor": "..." }
+ * </pre>
+ * <p>Project-name matches carry the role {@code PROJECT} and no person.</p>
+ */
+public class SearchService {
+
+    private static final Logger LOG = Logger.getLogger(
+        SearchService.class.getName()
+    );
+    private static final String LIST_KEY = "SearchResults";
+    private static final String CURSOR_KEY = "NextCursor";
+
+    /** Page size used when the caller passes a non-positive limit. */
+    public static final int DEFAULT_PAGE_SIZE = 50;
+
+    private static final Set<String> RESULT_KEYS = Set.of("results", "Results");
+    private static final Set<String> CURSOR_KEYS = Set.of(
+        "nextCursor",
+        "next_cursor"
+    );
+
+    /**
+     * Display labels for the role codes sent by the server; unknown codes are
+     * shown as they arrive.
+     */
+    private static final Map<String, String> ROLE_LABELS = Map.of(
+        "PROJECT",
+        "Proyecto",
+        "SPONSOR",
+        "Patrocinador",
+        "LEADER",
+        "Líder",
+        "TECH_LEADER",
+        "Líder Técnico"
+    );
+
+    /**
+     * Read calls identical to one already in flight share its response.
+     */
+    private static final SingleFlight<List<Object>, cr.ac.una.flowfx.ws.Respuesta> READS =
+        SingleFlight.named("SearchService");
+
+    private FlowFXWS port;
+
+    /**
+     * Constructs the service client using the shared port from
+     * {@link FlowFXWSPortProvider}, where the endpoint address is configured.
+     */
+    public SearchService() {
+        port = FlowFXWSPortProvider.getInstance().getPort();
+    }
+
+    /**
+     * Retrieves one page of search results.
+     *
+     * @param term   the text to look for (required, trimmed)
+     * @param userId the user whose projects are searched (required)
+     * @param limit  maximum results in the page (if <= 0 defaults to {@link #DEFAULT_PAGE_SIZE})
+     * @param cursor the {@code NextCursor} of the previous page, or null for the first page
+     * @return a Respuesta with a {@code List<SearchResultDTO>} under key
+     *         {@code SearchResults} and, when more results exist, the cursor
+     *         of the next page under key {@code NextCursor}
+     */
+    public Respuesta search(String term, Long userId, int limit, String cursor) {
+        try {
+            String text = term == null ? "" : term.trim();
+            if (text.isEmpty()) {
+                return new Respuesta(
+                    false,
+                    "The parameter 'term' is required.",
+                    "search.term.null"
+                );
+            }
+            if (userId == null) {
+                return new Respuesta(
+                    false,
+                    "The parameter 'userId' is required.",
+                    "search.userId.null"
+                );
+            }
+            if (port == null) {
+                return new Respuesta(
+                    false,
+                    "Web service port is not available.",
+                    "ws.port.null"
+                );
+            }
+            int size = limit > 0 ? limit : DEFAULT_PAGE_SIZE;
+
+            cr.ac.una.flowfx.ws.Respuesta wsResp = READS.call(
+                SingleFlight.key("search", text, userId, size, cursor),
+                () -> port.search(text, userId, size, cursor)
+            );
+            Respuesta r = mapRespuesta(wsResp);
+            if (Boolean.TRUE.equals(r.getEstado())) {
+                fillPage(r);
+            }
+            return r;
+        } catch (Exception ex) {
+            LOG.log(
+                Level.SEVERE,
+                "Error searching term=" + term + " for userId=" + userId,
+                ex
+            );
+            return new Respuesta(
+                false,
+                "Error running the search.",
+                "search " + ex.getMessage()
+            );
+        }
+    }
+
+    // ======== Helpers ========
+
+    private Respuesta mapRespuesta(cr.ac.una.flowfx.ws.Respuesta ws) {
+        if (ws == null) {
+            return new Respuesta(
+                false,
+                "Null response from web service",
+                "ws.response.null"
+            );
+        }
+        return new Respuesta(
+            ws.isEstado(),
+            ws.getMensaje(),
+            ws.getMensajeInterno()
+        );
+    }
+
+    private void fillPage(Respuesta r) {
+        List<SearchResultDTO> results = new ArrayList<>();
+        String next = null;
+        String mi = r.getMensajeInterno();
+        if (mi != null && !mi.isBlank()) {
+            try (JsonParser p = JsonStreamDecoder.parser(mi)) {
+                if (p.hasNext() && p.next() == Event.START_OBJECT) {
+                    while (p.hasNext()) {
+                        Event e = p.next();
+                        if (e == Event.END_OBJECT) break;
+                        String key = p.getString();
+                        Event v = p.next();
+                        if (v == Event.START_ARRAY && RESULT_KEYS.contains(key)) {
+                            readResults(p, results);
+                        } else if (
+                            v == Event.VALUE_STRING && CURSOR_KEYS.contains(key)
+                        ) {
+                            next = p.getString();
+                        } else {
+                            JsonStreamDecoder.skip(p, v);
+                        }
+                    }
+                }
+            } catch (JsonException ex) {
+                LOG.log(Level.WARNING, "Failed to parse search results", ex);
+            }
+        }
+        r.setResultado(LIST_KEY, results);
+        if (next != null && !next.isBlank()) {
+            r.setResultado(CURSOR_KEY, next);
+        }
+    }
+
+    private static void readResults(JsonParser p, List<SearchResultDTO> out) {
+        while (p.hasNext()) {
+            Event e = p.next();
+            if (e == Event.END_ARRAY) return;
+            if (e != Event.START_OBJECT) {
+                JsonStreamDecoder.skip(p, e);
+                continue;
+            }
+            ProjectDTO project = null;
+            PersonDTO person = null;
+            String role = null;
+            while (p.hasNext()) {
+                Event f = p.next();
+                if (f == Event.END_OBJECT) break;
+                String key = p.getString();
+                Event v = p.next();
+                if (v == Event.START_OBJECT && "project".equals(key)) {
+                    project = ProjectService.DECODER.readObject(p);
+                } else if (v == Event.START_OBJECT && "person".equals(key)) {
+                    person = PersonService.DECODER.readObject(p);
+                } else if (v == Event.VALUE_STRING && "role".equals(key)) {
+                    role = p.getString();
+                } else {
+                    JsonStreamDecoder.skip(p, v);
+                }
+            }
+            if (project != null) {
+                EntityCaches.putProject(project);
+                EntityCaches.putPerson(person);
+                String label = role == null ? null : ROLE_LABELS.getOrDefault(role, role);
+                out.add(new SearchResultDTO(person, project, label));
+            }
+        }
+    }
+}
@@ -0,0 +1,674 @@
+package cr.ac.una.flowfx.service;
+
+import cr.ac.una.flowfx.model.ChangeSetDTO;
+import cr.ac.una.flowfx.model.PersonDTO;
+import cr.ac.una.flowfx.model.ProjectActivityDTO;
+import cr.ac.una.flowfx.model.ProjectDTO;
+import cr.ac.una.flowfx.model.ProjectTrackingDTO;
+import cr.ac.una.flowfx.util.EntityCaches;
+import cr.ac.una.flowfx.util.JsonStreamDecoder;
+import cr.ac.una.flowfx.util.Respuesta;
+import cr.ac.una.flowfx.util.SingleFlight;
+import cr.ac.una.flowfx.ws.FlowFXWS;
+import jakarta.json.JsonException;
+import jakarta.json.stream.JsonParser;
+import jakarta.json.stream.JsonParser.Event;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Keeps local collections of projects, activities, trackings and people
+ * current by applying only what changed on the server.
+ *
+ * <p>The {@code getChangesSince(entityType, watermark, limit)} operation
+ * returns the rows of one table whose {@code updated_at} (or
+ * {@code created_at} when never updated) is after the watermark, oldest
+ * first, plus tombstones for the rows deleted since then. Each
+ * {@link SyncedCollection} remembers the watermark of its last page, so a
+ * refresh transfers as many rows as changed rather than the whole table.
+ * A {@code limit} of 0 returns no rows, only the current watermark; a
+ * {@code null} watermark returns every row.</p>
+ *
+ * <p>Expected {@code mensajeInterno} shape (snake_case keys are also accepted):</p>
+ * <pre>
+ * { "changes": [ { ... } ],
+ *   "deleted": [ { "id": 5, "deletedAt": 1700000000000 } ],
+ *   "watermark": 1700000000000,
+ *   "hasMore": false }
+ * </pre>
+ * <p>The server never splits rows that share the last timestamp across two
+ * pages, so a page can exceed the limit slightly.</p>
+ *
+ * <p>The watermark is the {@code SYSTIMESTAMP} a row was written at, not the
+ * time its transaction committed. A transaction that writes a row at T1 and
+ * commits after another one that wrote at T2 &gt; T1 makes the row visible
+ * only once a client may already have moved its watermark past T1. Each
+ * sync therefore asks again for the last {@value #CHANGE_OVERLAP_MS} ms
+ * before the watermark, which is assumed to be longer than any write
+ * transaction; rows committed later than that after they were written can
+ * still be missed. Rows in that window come back on every sync until it
+ * passes, and are deduplicated by id: a change set carries each id once,
+ * either as its latest copy or as deleted, and listeners must apply it as
+ * an upsert. Deletions of a page are applied after its changes; this is safe
+ * because inserting a row again under a deleted id drops its tombstone on the
+ * server, so a re-created row is never reported as deleted.</p>
+ *
+ * <p>Changed rows are also written through to {@link EntityCaches} and
+ * deleted rows removed from it, exactly as the regular reads and deletes do.</p>
+ *
+ * <p>{@link ChangeFeed} tells when to sync, so open views receive changes made
+ * elsewhere without asking for them.</p>
+ */
+public final class SyncService {
+
+    private static final Logger LOG = Logger.getLogger(
+        SyncService.class.getName()
+    );
+    private static final String ENTITY_KEY = "ChangeSet";
+
+    /** Rows requested per page. */
+    public static final int DEFAULT_PAGE_SIZE = 500;
+
+    /**
+     * How far before its watermark a sync asks again, to catch rows whose
+     * transaction committed after a later one. {@link ChangeFeed} and
+     * {@link DashboardService#findChangesSince} use the same window.
+     */
+    public static final long CHANGE_OVERLAP_MS = 120_000;
+
+    /** Upper bound of pages fetched by one {@link SyncedCollection#sync()}. */
+    private static final int MAX_PAGES = 100;
+
+    private static final Set<String> CHANGE_KEYS = Set.of(
+        "changes",
+        "changed",
+        "rows"
+    );
+    private static final Set<String> DELETED_KEYS = Set.of(
+        "deleted",
+        "tombstones"
+    );
+    private static final Set<String> WATERMARK_KEYS = Set.of(
+        "watermark",
+        "nextWatermark",
+        "next_watermark"
+    );
+    private static final Set<String> HAS_MORE_KEYS = Set.of(
+        "hasMore",
+        "has_more"
+    );
+
+    /**
+     * One tombstone of the {@code deleted} array.
+     */
+    private static final class Tombstone {
+
+        Long id;
+    }
+
+    private static final JsonStreamDecoder<Tombstone> TOMBSTONE_DECODER =
+        JsonStreamDecoder.<Tombstone>builder(Tombstone::new)
+            .longValue((t, id) -> t.id = id, "id", "entityId", "entity_id")
+            .build();
+
+    /**
+     * Read calls identical to one already in flight share its response.
+     */
+    private static final SingleFlight<List<Object>, cr.ac.una.flowfx.ws.Respuesta> READS =
+        SingleFlight.named("SyncService");
+
+    private final SyncedCollection<ProjectDTO> projects = new SyncedCollection<>(
+        "project",
+        ProjectDTO::getId,
+        ProjectService.DECODER::readObject,
+        (changed, deleted) -> {
+            ProjectService service = new ProjectService();
+            changed.forEach(service::cacheProject);
+            deleted.forEach(EntityCaches::removeProject);
+        }
+    );
+    private final SyncedCollection<ProjectActivityDTO> activities = new SyncedCollection<>(
+        "project_activity",
+        ProjectActivityDTO::getId,
+        p -> ProjectActivityService.toActivity(ProjectActivityService.DECODER.readObject(p)),
+        (changed, deleted) -> {
+            new ProjectActivityService().cacheParsedActivities(changed);
+            deleted.forEach(EntityCaches.activities()::invalidate);
+        }
+    );
+    private final SyncedCollection<ProjectTrackingDTO> trackings = new SyncedCollection<>(
+        "project_tracking",
+        ProjectTrackingDTO::getId,
+        ProjectTrackingService.DECODER::readObject,
+        (changed, deleted) -> {}
+    );
+    private final SyncedCollection<PersonDTO> persons = new SyncedCollection<>(
+        "person",
+        PersonDTO::getId,
+        PersonService.DECODER::readObject,
+        (changed, deleted) -> {
+            changed.forEach(EntityCaches::putPerson);
+            deleted.forEach(EntityCaches::removePerson);
+        }
+    );
+
+    private SyncService() {}
+
+    private static class Holder {
+
+        private static final SyncService INSTANCE = new SyncService();
+    }
+
+    /**
+     * Returns the application-wide instance.
+     *
+     * @return the singleton instance
+     */
+    public static SyncService getInstance() {
+        return Holder.INSTANCE;
+    }
+
+    /**
+     * @return the synchronized projects
+     */
+    public SyncedCollection<ProjectDTO> projects() {
+        return projects;
+    }
+
+    /**
+     * @return the synchronized project activities
+     */
+    public SyncedCollection<ProjectActivityDTO> activities() {
+        return activities;
+    }
+
+    /**
+     * @return the synchronized project trackings
+     */
+    public SyncedCollection<ProjectTrackingDTO> trackings() {
+        return trackings;
+    }
+
+    /**
+     * @return the synchronized people
+     */
+    public SyncedCollection<PersonDTO> persons() {
+        return persons;
+    }
+
+    /**
+     * @param entityType {@code project}, {@code project_activity},
+     *                   {@code project_tracking} or {@code person}
+     * @return the collection of that table, or {@code null} when unknown
+     */
+    public SyncedCollection<?> collection(String entityType) {
+        return switch (entityType == null ? "" : entityType) {
+            case "project" -> projects;
+            case "project_activity" -> activities;
+            case "project_tracking" -> trackings;
+            case "person" -> persons;
+            default -> null;
+        };
+    }
+
+    /**
+     * @return every synchronized collection
+     */
+    public List<SyncedCollection<?>> collections() {
+        return List.of(projects, activities, trackings, persons);
+    }
+
+    /**
+     * Forgets every row and watermark, e.g. when the user logs out.
+     */
+    public void reset() {
+        projects.reset();
+        activities.reset();
+        trackings.reset();
+        persons.reset();
+    }
+
+    /**
+     * A local copy of one table, kept current by change pages.
+     *
+     * <p>Listeners are called on the thread that ran {@link #sync()}, after
+     * the page has been applied; views hand the change set to the FX thread
+     * themselves.</p>
+     *
+     * <p>Syncs of one collection run one at a time, serialized by a
+     * {@link ReentrantLock} so a virtual thread waiting for its turn does not
+     * pin its carrier. Pages are fetched without holding the monitor that
+     * guards the rows, which is only taken to apply a page, so
+     * {@link #isPrimed()}, {@link #get(Long)} and {@link #values()} never wait
+     * for the network.</p>
+     *
+     * @param <T> the DTO type
+     */
+    public final class SyncedCollection<T> {
+
+        private final String entityType;
+        private final Function<T, Long> idOf;
+        private final Function<JsonParser, T> reader;
+        private final BiConsumer<List<T>, List<Long>> cacheWriter;
+        private final List<Consumer<ChangeSetDTO<T>>> listeners = new CopyOnWriteArrayList<>();
+        private final ReentrantLock syncLock = new ReentrantLock();
+
+        // Guarded by this
+        private final Map<Long, T> rows = new LinkedHashMap<>();
+        // Written under this, read without it
+        private volatile Long watermark;
+        private volatile boolean primed;
+        // Bumped by reset() so a sync already running drops its pages
+        private volatile int generation;
+
+        private SyncedCollection(
+            String entityType,
+            Function<T, Long> idOf,
+            Function<JsonParser, T> reader,
+            BiConsumer<List<T>, List<Long>> cacheWriter
+        ) {
+            this.entityType = entityType;
+            this.idOf = idOf;
+            this.reader = reader;
+            this.cacheWriter = cacheWriter;
+        }
+
+        /**
+         * Starts tracking changes from the server's current watermark without
+         * downloading any row. Callers that load their rows with a regular
+         * query call this first and then {@link #putAll}, so changes made
+         * while that query ran are delivered by the next {@link #sync()}.
+         *
+         * @return whether the server supports change queries
+         */
+        public boolean baseline() {
+            syncLock.lock();
+            try {
+                int started = generation;
+                Respuesta r = findChangesSince(entityType, null, 0, reader);
+                if (!Boolean.TRUE.equals(r.getEstado())
+                    || !(r.getResultado(ENTITY_KEY) instanceof ChangeSetDTO<?> page)
+                    || page.getWatermark() == null) {
+                    LOG.info("Change queries unavailable for " + entityType + ": " + r.getMensaje());
+                    return false;
+                }
+                synchronized (this) {
+                    if (started != generation) return false;
+                    rows.clear();
+                    watermark = page.getWatermark();
+                    primed = true;
+                }
+                return true;
+            } finally {
+                syncLock.unlock();
+            }
+        }
+
+        /**
+         * Adds rows loaded by another query after {@link #baseline()}.
+         *
+         * @param loaded the rows
+         */
+        public synchronized void putAll(List<T> loaded) {
+            for (T row : loaded) {
+                Long id = idOf.apply(row);
+                if (id != null) rows.put(id, row);
+            }
+        }
+
+        /**
+         * Fetches and applies every change after the current watermark. Without
+         * a watermark the first call downloads the whole table in pages. A call
+         * made while another sync runs waits for it and then fetches what is
+         * left.
+         *
+         * @return the changes applied by this call, or {@code null} when the
+         *         server could not be reached; then the watermark is kept
+         */
+        public ChangeSetDTO<T> sync() {
+            syncLock.lock();
+            try {
+                int started = generation;
+                Applied applied = new Applied(watermark);
+                // Only the first page looks back; the next ones continue where it ended
+                Long next = watermark == null ? null : watermark - CHANGE_OVERLAP_MS;
+                for (int pageNo = 0; pageNo < MAX_PAGES; pageNo++) {
+                    Respuesta r = findChangesSince(entityType, next, DEFAULT_PAGE_SIZE, reader);
+                    if (!Boolean.TRUE.equals(r.getEstado())) {
+                        LOG.warning("Sync of " + entityType + " stopped: " + r.getMensaje());
+                        return pageNo == 0 ? null : publish(applied.toChangeSet());
+                    }
+                    @SuppressWarnings("unchecked")
+                    ChangeSetDTO<T> page = (ChangeSetDTO<T>) r.getResultado(ENTITY_KEY);
+                    if (!apply(started, page, applied)) return null;
+                    if (page.getWatermark() != null) next = page.getWatermark();
+                    if (!page.isHasMore()) break;
+                }
+                synchronized (this) {
+                    if (started != generation) return null;
+                    primed = true;
+                }
+                return publish(applied.toChangeSet());
+            } finally {
+                syncLock.unlock();
+            }
+        }
+
+        /**
+         * Like {@link #sync()}, but only for a collection some view has
+         * primed; others would download the whole table.
+         *
+         * @return the changes applied, or {@code null} when not primed or the
+         *         server could not be reached
+         */
+        public ChangeSetDTO<T> syncIfPrimed() {
+            return primed ? sync() : null;
+        }
+
+        /**
+         * Changes applied by one sync, one entry per id.
+         */
+        private final class Applied {
+
+            final Map<Long, T> changed = new LinkedHashMap<>();
+            final Set<Long> deleted = new LinkedHashSet<>();
+            Long watermark;
+
+            Applied(Long watermark) {
+                this.watermark = watermark;
+            }
+
+            void add(ChangeSetDTO<T> page) {
+                for (T row : page.getChanged()) {
+                    Long id = idOf.apply(row);
+                    if (id == null) continue;
+                    // Re-inserting keeps the order of the latest copy
+                    changed.remove(id);
+                    changed.put(id, row);
+                    deleted.remove(id);
+                }
+                for (Long id : page.getDeletedIds()) {
+                    changed.remove(id);
+                    deleted.add(id);
+                }
+                watermark = later(watermark, page.getWatermark());
+            }
+
+            ChangeSetDTO<T> toChangeSet() {
+                ChangeSetDTO<T> set = new ChangeSetDTO<>();
+                set.setChanged(new ArrayList<>(changed.values()));
+                set.setDeletedIds(new ArrayList<>(deleted));
+                set.setWatermark(watermark);
+                return set;
+            }
+        }
+
+        /**
+         * Applies one page under the monitor.
+         *
+         * @return {@code false} when {@link #reset()} ran since the sync started
+         */
+        private boolean apply(int started, ChangeSetDTO<T> page, Applied applied) {
+            synchronized (this) {
+                if (started != generation) return false;
+                for (T row : page.getChanged()) {
+                    Long id = idOf.apply(row);
+                    if (id != null) rows.put(id, row);
+                }
+                for (Long id : page.getDeletedIds()) rows.remove(id);
+                // A page of the overlap window may end before the watermark; never go back
+                watermark = later(watermark, page.getWatermark());
+            }
+            cacheWriter.accept(page.getChanged(), page.getDeletedIds());
+            applied.add(page);
+            return true;
+        }
+
+        private Long later(Long a, Long b) {
+            if (a == null) return b;
+            if (b == null) return a;
+            return Math.max(a, b);
+        }
+
+        private ChangeSetDTO<T> publish(ChangeSetDTO<T> applied) {
+            if (applied.isEmpty()) return applied;
+            LOG.fine(
+                "Sync of " + entityType + ": " + applied.getChanged().size() + " changed, "
+                + applied.getDeletedIds().size() + " deleted"
+            );
+            for (Consumer<ChangeSetDTO<T>> listener : listeners) {
+                try {
+                    listener.accept(applied);
+                } catch (RuntimeException ex) {
+                    LOG.log(Level.WARNING, "Sync listener of " + entityType + " failed", ex);
+                }
+            }
+            return applied;
+        }
+
+        /**
+         * @return the rows known locally, in the order they were first seen
+         */
+        public synchronized List<T> values() {
+            return new ArrayList<>(rows.values());
+        }
+
+        /**
+         * @param id row id
+         * @return the row, or {@code null} when it is not known locally
+         */
+        public synchronized T get(Long id) {
+            return id == null ? null : rows.get(id);
+        }
+
+        /**
+         * @return the watermark of the last applied page, or {@code null}
+         */
+        public Long getWatermark() {
+            return watermark;
+        }
+
+        /**
+         * @return whether a baseline or a full sync has been made
+         */
+        public boolean isPrimed() {
+            return primed;
+        }
+
+        /**
+         * @return the table name sent to {@code getChangesSince}
+         */
+        public String getEntityType() {
+            return entityType;
+        }
+
+        /**
+         * Receives every non-empty change set applied from now on.
+         *
+         * @param listener called on the syncing thread
+         */
+        public void addListener(Consumer<ChangeSetDTO<T>> listener) {
+            listeners.add(listener);
+        }
+
+        public void removeListener(Consumer<ChangeSetDTO<T>> listener) {
+            listeners.remove(listener);
+        }
+
+        private synchronized void reset() {
+            generation++;
+            rows.clear();
+            watermark = null;
+            primed = false;
+        }
+    }
+
+    // ======== Remote calls ========
+
+    /**
+     * Retrieves one page of changes of a table.
+     *
+     * @param entityType {@code project}, {@code project_activity},
+     *                   {@code project_tracking} or {@code person}
+     * @param watermark  the watermark of the previous page, or null for every row
+     * @param limit      maximum rows in the page; 0 returns only the current watermark
+     * @return a Respuesta with a {@link ChangeSetDTO} under key {@code ChangeSet}
+     */
+    public Respuesta findChangesSince(String entityType, Long watermark, int limit) {
+        SyncedCollection<?> collection = collection(entityType);
+        if (collection == null) {
+            return new Respuesta(
+                false,
+                "Unknown entity type: " + entityType,
+                "changesSince.entityType.invalid"
+            );
+        }
+        return findChangesSince(entityType, watermark, limit, collection.reader);
+    }
+
+    private <T> Respuesta findChangesSince(
+        String entityType,
+        Long watermark,
+        int limit,
+        Function<JsonParser, T> reader
+    ) {
+        try {
+            FlowFXWS port = FlowFXWSPortProvider.getInstance().getPort();
+            if (port == null) {
+                return new Respuesta(
+                    false,
+                    "Web service port is not available.",
+                    "ws.port.null"
+                );
+            }
+            int size = Math.max(0, limit);
+
+            cr.ac.una.flowfx.ws.Respuesta wsResp = READS.call(
+                SingleFlight.key("getChangesSince", entityType, watermark, size),
+                () -> port.getChangesSince(entityType, watermark, size)
+            );
+            Respuesta r = mapRespuesta(wsResp);
+            if (Boolean.TRUE.equals(r.getEstado())) {
+                ChangeSetDTO<T> page = parseChangeSet(r.getMensajeInterno(), reader);
+                if (page == null) {
+                    return new Respuesta(
+                        false,
+                        "Invalid change set payload.",
+                        "changesSince.payload.invalid"
+                    );
+                }
+                r.setResultado(ENTITY_KEY, page);
+            }
+            return r;
+        } catch (Exception ex) {
+            LOG.log(
+                Level.SEVERE,
+                "Error retrieving changes of " + entityType + " since " + watermark,
+                ex
+            );
+            return new Respuesta(
+                false,
+                "Error retrieving changes.",
+                "changesSince " + ex.getMessage()
+            );
+        }
+    }
+
+    // ======== Helpers ========
+
+    private Respuesta mapRespuesta(cr.ac.una.flowfx.ws.Respuesta ws) {
+        if (ws == null) {
+            return new Respuesta(
+                false,
+                "Null response from web service",
+                "ws.response.null"
+            );
+        }
+        return new Respuesta(
+            ws.isEstado(),
+            ws.getMensaje(),
+            ws.getMensajeInterno()
+        );
+    }
+
+    private <T> ChangeSetDTO<T> parseChangeSet(String mi, Function<JsonParser, T> reader) {
+        if (mi == null || mi.isBlank()) return null;
+        ChangeSetDTO<T> page = new ChangeSetDTO<>();
+        try (JsonParser p = JsonStreamDecoder.parser(mi)) {
+            if (!p.hasNext() || p.next() != Event.START_OBJECT) return null;
+            while (p.hasNext()) {
+                Event e = p.next();
+                if (e == Event.END_OBJECT) break;
+                String key = p.getString();
+                Event v = p.next();
+                if (v == Event.START_ARRAY && CHANGE_KEYS.contains(key)) {
+                    readRows(p, reader, page.getChanged());
+                } else if (v == Event.START_ARRAY && DELETED_KEYS.contains(key)) {
+                    readTombstones(p, page.getDeletedIds());
+                } else if (WATERMARK_KEYS.contains(key)) {
+                    page.setWatermark(JsonStreamDecoder.asLong(v, textOf(p, v)));
+                    JsonStreamDecoder.skip(p, v);
+                } else if (HAS_MORE_KEYS.contains(key)) {
+                    page.setHasMore(Boolean.TRUE.equals(JsonStreamDecoder.asBoolean(v, textOf(p, v))));
+                    JsonStreamDecoder.skip(p, v);
+                } else {
+                    JsonStreamDecoder.skip(p, v);
+                }
+            }
+        } catch (JsonException | NumberFormatException ex) {
+            LOG.log(Level.WARNING, "Unable to parse change set payload", ex);
+            return null;
+        }
+        return page;
+    }
+
+    private static <T> void readRows(JsonParser p, Function<JsonParser, T> reader, List<T> out) {
+        while (p.hasNext()) {
+            Event e = p.next();
+            if (e == Event.END_ARRAY) return;
+            if (e == Event.START_OBJECT) {
+                out.add(reader.apply(p));
+            } else {
+                JsonStreamDecoder.skip(p, e);
+            }
+        }
+    }
+
+    /**
+     * Tombstones may be objects with an id or bare ids.
+     */
+    private static void readTombstones(JsonParser p, List<Long> out) {
+        while (p.hasNext()) {
+            Event e = p.next();
+            if (e == Event.END_ARRAY) return;
+            if (e == Event.START_OBJECT) {
+                Tombstone t = TOMBSTONE_DECODER.readObject(p);
+                if (t.id != null) out.add(t.id);
+            } else {
+                Long id = JsonStreamDecoder.asLong(e, textOf(p, e));
+                if (id != null) out.add(id);
+                JsonStreamDecoder.skip(p, e);
+            }
+        }
+    }
+
+    private static String textOf(JsonParser p, Event v) {
+        return switch (v) {
+            case VALUE_STRING, VALUE_NUMBER -> p.getString();
+            case VALUE_TRUE -> "true";
+            case VALUE_FALSE -> "false";
+            default -> null;
+        };
+    }
+}
@@ -0,0 +1,409 @@
+package cr.ac.una.flowfx.service;
+
+import cr.ac.una.flowfx.model.NotificationRecipientDTO;
+import cr.ac.una.flowfx.model.NotificationRecipientPK;
+import cr.ac.una.flowfx.model.PersonDTO;
+import cr.ac.una.flowfx.model.ProjectActivityDTO;
+import cr.ac.una.flowfx.model.ProjectDTO;
+import cr.ac.una.flowfx.model.ProjectTrackingDTO;
+import cr.ac.una.flowfx.util.PropertyAccessor;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.Collection;
+import java.util.Date;
+import java.util.GregorianCalendar;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.xml.datatype.DatatypeConfigurationException;
+import javax.xml.datatype.DatatypeFactory;
+import javax.xml.datatype.XMLGregorianCalendar;
+
+/**
+ * Converts application model DTOs to and from the generated web service types
+ * in {@code cr.ac.una.flowfx.ws}.
+ *
+ * <p>Properties declared in the web service contract are mapped with plain
+ * accessor calls. Properties that only some stub generations expose (such as
+ * the activity's {@code projectId}) are resolved once into
+ * {@link PropertyAccessor} handles when this class is initialised, so a
+ * conversion never performs a reflective lookup. The same applies to types
+ * the contract does not publish yet, such as the notification recipient: its
+ * class and accessors are looked up once, and the conversion yields
+ * {@code null} while they are absent.</p>
+ *
+ * <p>All methods accept {@code null} and return {@code null} in that case.</p>
+ */
+final class WsMapper {
+
+    private static final Logger LOG = Logger.getLogger(
+        WsMapper.class.getName()
+    );
+
+    private static final DatatypeFactory DATATYPES = newDatatypeFactory();
+
+    // Optional activity properties that are not part of every generated stub
+    private static final PropertyAccessor ACTIVITY_SET_PROJECT_ID =
+        PropertyAccessor.setter(
+            cr.ac.una.flowfx.ws.ProjectActivityDTO.class,
+            Long.class,
+            "setProjectId"
+        );
+    private static final PropertyAccessor ACTIVITY_GET_PROJECT_ID =
+        PropertyAccessor.getter(
+            cr.ac.una.flowfx.ws.ProjectActivityDTO.class,
+            "getProjectId"
+        );
+    private static final PropertyAccessor ACTIVITY_SET_RESPONSIBLE_ID =
+        PropertyAccessor.setter(
+            cr.ac.una.flowfx.ws.ProjectActivityDTO.class,
+            Long.class,
+            "setResponsibleId"
+        );
+    private static final PropertyAccessor ACTIVITY_GET_RESPONSIBLE_ID =
+        PropertyAccessor.getter(
+            cr.ac.una.flowfx.ws.ProjectActivityDTO.class,
+            "getResponsibleId"
+        );
+    private static final PropertyAccessor ACTIVITY_SET_CREATED_BY_ID =
+        PropertyAccessor.setter(
+            cr.ac.una.flowfx.ws.ProjectActivityDTO.class,
+            Long.class,
+            "setCreatedById",
+            "setCreatedBy"
+        );
+    private static final PropertyAccessor ACTIVITY_GET_CREATED_BY_ID =
+        PropertyAccessor.getter(
+            cr.ac.una.flowfx.ws.ProjectActivityDTO.class,
+            "getCreatedById",
+            "getCreatedBy"
+        );
+
+    // Notification recipients are not part of the published contract yet
+    private static final Class<?> WS_RECIPIENT =
+        optionalWsClass("NotificationRecipientDTO");
+    private static final Class<?> WS_RECIPIENT_PK =
+        optionalWsClass("NotificationRecipientPK");
+    private static final MethodHandle NEW_RECIPIENT = constructor(WS_RECIPIENT);
+    private static final MethodHandle NEW_RECIPIENT_PK =
+        constructor(WS_RECIPIENT_PK);
+    private static final PropertyAccessor RECIPIENT_SET_PK =
+        PropertyAccessor.setter(
+            orObject(WS_RECIPIENT),
+            orObject(WS_RECIPIENT_PK),
+            "setNotificationRecipientPK"
+        );
+    private static final PropertyAccessor RECIPIENT_SET_NAME =
+        PropertyAccessor.setter(orObject(WS_RECIPIENT), String.class, "setName");
+    private static final PropertyAccessor RECIPIENT_SET_ROLE =
+        PropertyAccessor.setter(orObject(WS_RECIPIENT), String.class, "setRole");
+    private static final PropertyAccessor RECIPIENT_SET_EMAIL =
+        PropertyAccessor.setter(orObject(WS_RECIPIENT), String.class, "setEmail");
+    private static final PropertyAccessor RECIPIENT_PK_SET_ID =
+        PropertyAccessor.setter(orObject(WS_RECIPIENT_PK), Long.class, "setId");
+    private static final PropertyAccessor RECIPIENT_PK_SET_EMAIL =
+        PropertyAccessor.setter(
+            orObject(WS_RECIPIENT_PK),
+            String.class,
+            "setEmail"
+        );
+
+    private WsMapper() {
+        throw new UnsupportedOperationException(
+            "This is a utility class and cannot be instantiated"
+        );
+    }
+
+    // ======== Projects ========
+
+    /**
+     * Builds the web service project, taking the person relations from the
+     * explicit ids rather than from the DTO.
+     */
+    static cr.ac.una.flowfx.ws.ProjectDTO toWs(
+        ProjectDTO dto,
+        Long leaderId,
+        Long techLeaderId,
+        Long sponsorId
+    ) {
+        if (dto == null) return null;
+        cr.ac.una.flowfx.ws.ProjectDTO w = new cr.ac.una.flowfx.ws.ProjectDTO();
+        w.setId(dto.getId());
+        w.setName(dto.getName());
+        w.setPlannedStartDate(toXmlDate(dto.getPlannedStartDate()));
+        w.setPlannedEndDate(toXmlDate(dto.getPlannedEndDate()));
+        w.setActualStartDate(toXmlDate(dto.getActualStartDate()));
+        w.setActualEndDate(toXmlDate(dto.getActualEndDate()));
+        w.setStatus(dto.getStatus());
+        w.setCreatedAt(toXmlDate(dto.getCreatedAt()));
+        w.setUpdatedAt(toXmlDate(dto.getUpdatedAt()));
+        w.setLeaderUserId(leaderId);
+        w.setTechLeaderId(techLeaderId);
+        w.setSponsorId(sponsorId);
+        return w;
+    }
+
+    /**
+     * Builds the values of a partial project update: only the id, the expected
+     * version ({@code updatedAt}) and the fields named in the mask are set.
+     */
+    static cr.ac.una.flowfx.ws.ProjectDTO toWsPatch(
+        Long id,
+        Collection<String> fieldMask,
+        ProjectDTO dto
+    ) {
+        cr.ac.una.flowfx.ws.ProjectDTO w = new cr.ac.una.flowfx.ws.ProjectDTO();
+        w.setId(id);
+        w.setUpdatedAt(toXmlDate(dto.getUpdatedAt()));
+        for (String field : fieldMask) {
+            switch (field) {
+                case ProjectService.FIELD_NAME -> w.setName(dto.getName());
+                case ProjectService.FIELD_PLANNED_START_DATE -> w.setPlannedStartDate(
+                    toXmlDate(dto.getPlannedStartDate())
+                );
+                case ProjectService.FIELD_PLANNED_END_DATE -> w.setPlannedEndDate(
+                    toXmlDate(dto.getPlannedEndDate())
+                );
+                case ProjectService.FIELD_ACTUAL_START_DATE -> w.setActualStartDate(
+                    toXmlDate(dto.getActualStartDate())
+                );
+                case ProjectService.FIELD_ACTUAL_END_DATE -> w.setActualEndDate(
+                    toXmlDate(dto.getActualEndDate())
+                );
+                case ProjectService.FIELD_STATUS -> w.setStatus(dto.getStatus());
+                case ProjectService.FIELD_LEADER -> w.setLeaderUserId(
+                    dto.getLeaderUserId()
+                );
+                case ProjectService.FIELD_TECH_LEADER -> w.setTechLeaderId(
+                    dto.getTechLeaderId()
+                );
+                case ProjectService.FIELD_SPONSOR -> w.setSponsorId(
+                    dto.getSponsorId()
+                );
+                default -> LOG.log(Level.FINE, "Ignoring unknown patch field {0}", field);
+            }
+        }
+        return w;
+    }
+
+    static ProjectDTO fromWs(cr.ac.una.flowfx.ws.ProjectDTO w) {
+        if (w == null) return null;
+        ProjectDTO dto = new ProjectDTO();
+        dto.setId(w.getId());
+        dto.setName(w.getName());
+        dto.setPlannedStartDate(toDate(w.getPlannedStartDate()));
+        dto.setPlannedEndDate(toDate(w.getPlannedEndDate()));
+        dto.setActualStartDate(toDate(w.getActualStartDate()));
+        dto.setActualEndDate(toDate(w.getActualEndDate()));
+        dto.setStatus(w.getStatus());
+        dto.setCreatedAt(toDate(w.getCreatedAt()));
+        dto.setUpdatedAt(toDate(w.getUpdatedAt()));
+        dto.setLeaderUserId(w.getLeaderUserId());
+        dto.setTechLeaderId(w.getTechLeaderId());
+        dto.setSponsorId(w.getSponsorId());
+        return dto;
+    }
+
+    // ======== Activities ========
+
+    static cr.ac.una.flowfx.ws.ProjectActivityDTO toWs(ProjectActivityDTO dto) {
+        if (dto == null) return null;
+        cr.ac.una.flowfx.ws.ProjectActivityDTO w =
+            new cr.ac.una.flowfx.ws.ProjectActivityDTO();
+        w.setId(dto.getId());
+        w.setDescription(dto.getDescription());
+        w.setStatus(dto.getStatus());
+        w.setExecutionOrder(dto.getExecutionOrder());
+        w.setPlannedStartDate(toXmlDate(dto.getPlannedStartDate()));
+        w.setPlannedEndDate(toXmlDate(dto.getPlannedEndDate()));
+        w.setActualStartDate(toXmlDate(dto.getActualStartDate()));
+        w.setActualEndDate(toXmlDate(dto.getActualEndDate()));
+        w.setCreatedAt(toXmlDate(dto.getCreatedAt()));
+        w.setUpdatedAt(toXmlDate(dto.getUpdatedAt()));
+        ACTIVITY_SET_PROJECT_ID.set(w, dto.getProjectId());
+        ACTIVITY_SET_RESPONSIBLE_ID.set(w, dto.getResponsibleId());
+        ACTIVITY_SET_CREATED_BY_ID.set(w, dto.getCreatedById());
+        return w;
+    }
+
+    static ProjectActivityDTO fromWs(cr.ac.una.flowfx.ws.ProjectActivityDTO w) {
+        if (w == null) return null;
+        ProjectActivityDTO dto = new ProjectActivityDTO();
+        dto.setId(w.getId());
+        dto.setDescription(w.getDescription());
+        dto.setStatus(w.getStatus());
+        dto.setExecutionOrder(w.getExecutionOrder());
+        dto.setPlannedStartDate(toDate(w.getPlannedStartDate()));
+        dto.setPlannedEndDate(toDate(w.getPlannedEndDate()));
+        dto.setActualStartDate(toDate(w.getActualStartDate()));
+        dto.setActualEndDate(toDate(w.getActualEndDate()));
+        dto.setCreatedAt(toDate(w.getCreatedAt()));
+        dto.setUpdatedAt(toDate(w.getUpdatedAt()));
+        dto.setProjectId(asLong(ACTIVITY_GET_PROJECT_ID.get(w)));
+        dto.setResponsibleId(asLong(ACTIVITY_GET_RESPONSIBLE_ID.get(w)));
+        dto.setCreatedById(asLong(ACTIVITY_GET_CREATED_BY_ID.get(w)));
+        return dto;
+    }
+
+    // ======== Tracking ========
+
+    static cr.ac.una.flowfx.ws.ProjectTrackingDTO toWs(ProjectTrackingDTO dto) {
+        if (dto == null) return null;
+        cr.ac.una.flowfx.ws.ProjectTrackingDTO w =
+            new cr.ac.una.flowfx.ws.ProjectTrackingDTO();
+        w.setId(dto.getId());
+        w.setProjectId(dto.getProjectId());
+        w.setCreatedBy(dto.getCreatedBy());
+        w.setObservations(dto.getObservations());
+        w.setTrackingDate(toXmlDate(dto.getTrackingDate()));
+        w.setCreatedAt(toXmlDate(dto.getCreatedAt()));
+        w.setProgressPercentage(
+            dto.getProgressPercentage() != null
+                ? dto.getProgressPercentage().doubleValue()
+                : null
+        );
+        return w;
+    }
+
+    static ProjectTrackingDTO fromWs(cr.ac.una.flowfx.ws.ProjectTrackingDTO w) {
+        if (w == null) return null;
+        ProjectTrackingDTO dto = new ProjectTrackingDTO();
+        dto.setId(w.getId());
+        dto.setProjectId(w.getProjectId());
+        dto.setCreatedBy(w.getCreatedBy());
+        dto.setObservations(w.getObservations());
+        dto.setTrackingDate(toDate(w.getTrackingDate()));
+        dto.setCreatedAt(toDate(w.getCreatedAt()));
+        Double progress = w.getProgressPercentage();
+        if (progress != null) dto.setProgressPercentage(progress);
+        return dto;
+    }
+
+    // ======== People ========
+
+    static cr.ac.una.flowfx.ws.PersonDTO toWs(PersonDTO p) {
+        if (p == null) return null;
+        cr.ac.una.flowfx.ws.PersonDTO w = new cr.ac.una.flowfx.ws.PersonDTO();
+        w.setId(p.getId());
+        w.setFirstName(p.getFirstName());
+        w.setLastName(p.getLastName());
+        w.setEmail(p.getEmail());
+        w.setUsername(p.getUsername());
+        w.setPassword(p.getPassword());
+        // Character flags travel as one-letter strings
+        w.setStatus(p.getStatus() != null ? String.valueOf(p.getStatus()) : null);
+        w.setIsAdmin(
+            p.getIsAdmin() != null ? String.valueOf(p.getIsAdmin()) : null
+        );
+        return w;
+    }
+
+    static PersonDTO fromWs(cr.ac.una.flowfx.ws.PersonDTO w) {
+        if (w == null) return null;
+        PersonDTO p = new PersonDTO();
+        p.setId(w.getId());
+        p.setFirstName(w.getFirstName());
+        p.setLastName(w.getLastName());
+        p.setEmail(w.getEmail());
+        p.setUsername(w.getUsername());
+        p.setPassword(w.getPassword());
+        p.setStatus(firstChar(w.getStatus()));
+        p.setIsAdmin(firstChar(w.getIsAdmin()));
+        return p;
+    }
+
+    // ======== Notification recipients ========
+
+    /**
+     * Builds the web service notification recipient.
+     *
+     * @return the generated {@code NotificationRecipientDTO}, or {@code null}
+     *         while the contract does not define it
+     */
+    static Object toWs(NotificationRecipientDTO dto) {
+        if (dto == null || NEW_RECIPIENT == null) return null;
+        Object w;
+        try {
+            w = NEW_RECIPIENT.invoke();
+        } catch (Throwable t) {
+            LOG.log(Level.FINE, "Could not create a WS notification recipient", t);
+            return null;
+        }
+        NotificationRecipientPK pk = dto.getNotificationRecipientPK();
+        if (pk != null && NEW_RECIPIENT_PK != null) {
+            try {
+                Object wpk = NEW_RECIPIENT_PK.invoke();
+                RECIPIENT_PK_SET_ID.set(wpk, pk.getId());
+                RECIPIENT_PK_SET_EMAIL.set(wpk, pk.getEmail());
+                RECIPIENT_SET_PK.set(w, wpk);
+            } catch (Throwable t) {
+                LOG.log(Level.FINE, "Could not create a WS notification recipient key", t);
+            }
+        }
+        RECIPIENT_SET_NAME.set(w, dto.getName());
+        RECIPIENT_SET_ROLE.set(w, dto.getRole());
+        if (pk != null && pk.getEmail() != null) {
+            RECIPIENT_SET_EMAIL.set(w, pk.getEmail());
+        }
+        return w;
+    }
+
+    // ======== Conversions ========
+
+    static XMLGregorianCalendar toXmlDate(Date date) {
+        if (date == null || DATATYPES == null) return null;
+        GregorianCalendar gc = new GregorianCalendar();
+        gc.setTime(date);
+        return DATATYPES.newXMLGregorianCalendar(gc);
+    }
+
+    static Date toDate(XMLGregorianCalendar xgc) {
+        return xgc == null ? null : xgc.toGregorianCalendar().getTime();
+    }
+
+    private static Long asLong(Object value) {
+        return value instanceof Number n ? Long.valueOf(n.longValue()) : null;
+    }
+
+    private static Character firstChar(String s) {
+        return s == null || s.isBlank() ? null : s.trim().charAt(0);
+    }
+
+    private static Class<?> optionalWsClass(String simpleName) {
+        try {
+            return Class.forName("cr.ac.una.flowfx.ws." + simpleName);
+        } catch (ClassNotFoundException e) {
+            return null;
+        }
+    }
+
+    private static Class<?> orObject(Class<?> type) {
+        // Resolving against Object leaves the accessor absent
+        return type != null ? type : Object.class;
+    }
+
+    private static MethodHandle constructor(Class<?> type) {
+        if (type == null) return null;
+        try {
+            return MethodHandles.publicLookup().findConstructor(
+                type,
+                MethodType.methodType(void.class)
+            );
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            return null;
+        }
+    }
+
+    private static DatatypeFactory newDatatypeFactory() {
+        try {
+            return DatatypeFactory.newInstance();
+        } catch (DatatypeConfigurationException e) {
+            LOG.log(
+                Level.SEVERE,
+                "Error creating DatatypeFactory; dates will not be sent",
+                e
+            );
+            return null;
+        }
+    }
+}
@@ -20,6 +20,11 @@ import javafx.scene.input.MouseEvent;
 import javafx.scene.input.TransferMode;
 
 import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Consumer;
 import java.util.logging.Logger;
 
@@ -32,7 +37,7 @@ import java.util.logging.Logger;
  *   <li>Drag-and-drop reordering with automatic execution order updates</li>
  *   <li>Professional row styling with alternating colors</li>
  *   <li>Double-click and interaction handling</li>
- *   <li>Automatic persistence of order changes</li>
+ *   <li>Batched background persistence of order changes with rollback on failure</li>
  * </ul>
  * 
  * <p><strong>Drag-and-Drop Behavior:</strong><br>
@@ -58,6 +63,9 @@ public final class ActivityTableUtil {
     // Constants for drag-and-drop
     private static final DataFormat ACTIVITY_INDEX = new DataFormat("application/x-flowfx-activity-index");
 
+    // Reorders not yet confirmed by the backend, per project. Only touched on the FX thread.
+    private static final Map<Long, PendingReorder> PENDING_REORDERS = new HashMap<>();
+
     // Private constructor to prevent instantiation of utility class
     private ActivityTableUtil() {
         throw new UnsupportedOperationException("This is a utility class and cannot be instantiated");
@@ -294,46 +302,124 @@ public final class ActivityTableUtil {
     }
 
     /**
-     * Renumbers execution order for activities and persists changes.
+     * Renumbers execution order for activities and persists the rows that changed.
+     *
+     * <p>The new order is applied to the view models immediately; persistence runs
+     * in the background as a single batched call. If it fails and no later reorder
+     * of the same project is pending, the last persisted order is restored.</p>
      */
     public static void renumberExecutionOrder(ObservableList<ProjectActivityViewModel> activities) {
-        boolean hasChanges = false;
+        Map<ProjectActivityViewModel, Integer> previousOrders = new IdentityHashMap<>();
         
         for (int i = 0; i < activities.size(); i++) {
             ProjectActivityViewModel activity = activities.get(i);
             int newOrder = i + 1;
             
             if (activity.getExecutionOrder() != newOrder) {
+                previousOrders.put(activity, activity.getExecutionOrder());
                 activity.setExecutionOrder(newOrder);
-                hasChanges = true;
             }
         }
         
         activities.sort(Comparator.comparingInt(ProjectActivityViewModel::getExecutionOrder));
         
-        if (hasChanges) {
-            persistActivityOrderChanges(activities);
+        if (!previousOrders.isEmpty()) {
+            persistActivityOrderChanges(activities, previousOrders);
         }
     }
 
     /**
-     * Persists activity order changes to the web service.
+     * Persists the changed execution orders in one batched web service call.
+     * Activities that were never saved (id 0) are skipped.
+     *
+     * <p>While an earlier reorder of the project is still unconfirmed, the call
+     * also carries the rows that one changed, so the latest write alone brings
+     * the backend up to date. Only the outcome of the latest write decides
+     * whether the order is kept or rolled back. Writes of one project run one
+     * after the other, so an older order never reaches the backend after a newer
+     * one.</p>
      */
-    private static void persistActivityOrderChanges(ObservableList<ProjectActivityViewModel> activities) {
-        ProjectActivityService service = new ProjectActivityService();
+    private static void persistActivityOrderChanges(
+            ObservableList<ProjectActivityViewModel> activities,
+            Map<ProjectActivityViewModel, Integer> previousOrders) {
         
-        for (ProjectActivityViewModel activity : activities) {
-            try {
-                Respuesta response = service.update(activity.toDTO());
-                if (!Boolean.TRUE.equals(response.getEstado())) {
-                    LOGGER.fine("Activity reorder persist failed for ID " + activity.getId() + ": " +
-                        (response != null ? response.getMensaje() : "null"));
-                }
-            } catch (Exception ex) {
-                LOGGER.fine("Exception persisting activity reorder for ID " + activity.getId() + ": " +
-                    ex.getMessage());
+        long projectId = 0L;
+        for (ProjectActivityViewModel activity : previousOrders.keySet()) {
+            if (activity.getId() > 0 && activity.getProjectId() > 0) {
+                projectId = activity.getProjectId();
+                break;
             }
         }
+        if (projectId <= 0) return;
+        
+        PendingReorder pending = PENDING_REORDERS.computeIfAbsent(projectId, id -> new PendingReorder());
+        // Keep the oldest known order of each row: that is what the backend still holds
+        previousOrders.forEach(pending.previousOrders::putIfAbsent);
+        final int generation = ++pending.generation;
+        
+        Map<Long, Integer> changedOrders = new LinkedHashMap<>();
+        Map<ProjectActivityViewModel, Integer> sentOrders = new IdentityHashMap<>();
+        for (ProjectActivityViewModel activity : pending.previousOrders.keySet()) {
+            if (activity.getId() <= 0) continue;
+            changedOrders.put(activity.getId(), activity.getExecutionOrder());
+            sentOrders.put(activity, activity.getExecutionOrder());
+        }
+        
+        final long targetProjectId = projectId;
+        // Not tied to the view: the write must finish even if the view is left
+        pending.writes = pending.writes
+            .thenApplyAsync(
+                v -> new ProjectActivityService().reorder(targetProjectId, changedOrders),
+                AsyncTasks.executor())
+            .handle((response, ex) -> {
+                Platform.runLater(() -> {
+                    if (ex != null) {
+                        LOGGER.warning("Exception persisting activity reorder for project " + targetProjectId + ": " + ex);
+                        settleReorder(targetProjectId, generation, activities, null);
+                    } else if (response == null || !Boolean.TRUE.equals(response.getEstado())) {
+                        LOGGER.warning("Activity reorder persist failed for project " + targetProjectId + ": " +
+                            (response != null ? response.getMensaje() : "null"));
+                        settleReorder(targetProjectId, generation, activities, null);
+                    } else {
+                        settleReorder(targetProjectId, generation, activities, sentOrders);
+                    }
+                });
+                return null;
+            });
+    }
+
+    /**
+     * Applies the outcome of a reorder write, given the orders it persisted or
+     * {@code null} if it failed. A write superseded by a later reorder of the same
+     * project never rolls back; when it succeeded, its orders become the ones to
+     * restore should the later write fail. The latest write either confirms every
+     * pending row or restores their last persisted order.
+     */
+    private static void settleReorder(
+            long projectId,
+            int generation,
+            ObservableList<ProjectActivityViewModel> activities,
+            Map<ProjectActivityViewModel, Integer> persistedOrders) {
+        PendingReorder pending = PENDING_REORDERS.get(projectId);
+        if (pending == null) return;
+        if (pending.generation != generation) {
+            if (persistedOrders != null) pending.previousOrders.putAll(persistedOrders);
+            return;
+        }
+        PENDING_REORDERS.remove(projectId);
+        if (persistedOrders == null) {
+            rollbackActivityOrder(activities, pending.previousOrders);
+        }
+    }
+
+    /**
+     * Restores the execution orders captured before a failed reorder.
+     */
+    private static void rollbackActivityOrder(
+            ObservableList<ProjectActivityViewModel> activities,
+            Map<ProjectActivityViewModel, Integer> previousOrders) {
+        previousOrders.forEach(ProjectActivityViewModel::setExecutionOrder);
+        activities.sort(Comparator.comparingInt(ProjectActivityViewModel::getExecutionOrder));
     }
 
     /**
@@ -372,6 +458,15 @@ public final class ActivityTableUtil {
         refreshTable(tableView);
     }
 
+    /**
+     * Reorder writes of one project that the backend has not confirmed yet.
+     */
+    private static final class PendingReorder {
+        private final Map<ProjectActivityViewModel, Integer> previousOrders = new IdentityHashMap<>();
+        private CompletableFuture<Void> writes = CompletableFuture.completedFuture(null);
+        private int generation;
+    }
+
     /**
      * Functional interface for mapping status codes to display text.
      */
@@ -0,0 +1,339 @@
+package cr.ac.una.flowfx.util;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javafx.application.Platform;
+import javafx.beans.property.ReadOnlyBooleanProperty;
+import javafx.beans.property.ReadOnlyBooleanWrapper;
+import javafx.concurrent.Task;
+import javafx.concurrent.Worker;
+
+/**
+ * Application-wide executor for background work started by views.
+ *
+ * <p>Every task runs on its own virtual thread, so blocking web service calls
+ * never occupy the JavaFX Application Thread nor a pooled platform thread.
+ * Tasks are grouped by an <em>owner</em>, normally the view controller that
+ * started them:</p>
+ * <ul>
+ *   <li>Results and errors are delivered on the FX thread through
+ *       {@link Platform#runLater(Runnable)}.</li>
+ *   <li>{@link #cancelAll(Object)} interrupts the owner's pending tasks and
+ *       drops their results; {@link FlowController} calls it when a view is
+ *       left. State that must be released whatever the outcome, such as an
+ *       in-flight marker, belongs in the {@code onFinally} callback, which
+ *       also runs for cancelled tasks.</li>
+ *   <li>Tasks started with {@link #load} count towards
+ *       {@link #loadingProperty(Object)}, which views use to show a skeleton
+ *       while their data arrives. Tasks started with {@link #submit} or
+ *       {@link #run} do not.</li>
+ * </ul>
+ *
+ * <p>A {@code null} owner puts the task in the application scope, which is
+ * never cancelled by navigation; use it for writes that must complete.</p>
+ *
+ * @author FlowFX Development Team
+ * @version 1.0
+ * @since 3.0
+ */
+public final class AsyncTasks {
+
+    private static final Logger LOGGER = Logger.getLogger(AsyncTasks.class.getName());
+
+    private static final ExecutorService EXECUTOR = Executors.newThreadPerTaskExecutor(
+        Thread.ofVirtual().name("flowfx-task-", 0).factory()
+    );
+
+    private static final Object APPLICATION = new Object();
+    // Weak keys: a scope goes away with its owner. Views bind to the loading
+    // property, so a scope is never dropped while its owner is still in use.
+    private static final Map<Object, Scope> SCOPES = Collections.synchronizedMap(new WeakHashMap<>());
+
+    // Private constructor to prevent instantiation of utility class
+    private AsyncTasks() {
+        throw new UnsupportedOperationException("This is a utility class and cannot be instantiated");
+    }
+
+    /**
+     * Tasks and loading state of one owner.
+     */
+    private static final class Scope {
+
+        final Set<Future<?>> tasks = ConcurrentHashMap.newKeySet();
+        final AtomicInteger loads = new AtomicInteger();
+        final ReadOnlyBooleanWrapper loading = new ReadOnlyBooleanWrapper(false);
+
+        void loadStarted() {
+            loads.incrementAndGet();
+            onFxThread(() -> loading.set(loads.get() > 0));
+        }
+
+        void loadFinished() {
+            loads.decrementAndGet();
+            onFxThread(() -> loading.set(loads.get() > 0));
+        }
+    }
+
+    /**
+     * A unit of work whose outcome is handed to FX-thread callbacks unless it
+     * was cancelled first. {@code onFinally} runs on the FX thread in every
+     * case, after the outcome callback.
+     *
+     * <p>The job stays in its scope until the outcome is delivered. A
+     * completed {@link FutureTask} cannot be cancelled any more, so a cancel
+     * that arrives between completion and delivery only sets {@code dropped},
+     * which the delivery checks.</p>
+     */
+    private static final class Job<T> extends FutureTask<T> {
+
+        private final Scope scope;
+        private final String name;
+        private final boolean load;
+        private final Consumer<? super T> onSuccess;
+        private final Consumer<? super Throwable> onError;
+        private final Runnable onFinally;
+        private volatile boolean dropped;
+
+        Job(Scope scope, String name, boolean load, Callable<T> work,
+                Consumer<? super T> onSuccess, Consumer<? super Throwable> onError, Runnable onFinally) {
+            super(work);
+            this.scope = scope;
+            this.name = name;
+            this.load = load;
+            this.onSuccess = onSuccess;
+            this.onError = onError;
+            this.onFinally = onFinally;
+        }
+
+        @Override
+        public void run() {
+            if (name != null) Thread.currentThread().setName(name);
+            super.run();
+        }
+
+        @Override
+        public boolean cancel(boolean mayInterruptIfRunning) {
+            dropped = true;
+            return super.cancel(mayInterruptIfRunning);
+        }
+
+        @Override
+        protected void done() {
+            if (isCancelled()) {
+                scope.tasks.remove(this);
+                if (load) scope.loadFinished();
+                if (onFinally != null) onFxThread(onFinally);
+                return;
+            }
+            T value = null;
+            Throwable failure = null;
+            try {
+                value = get();
+            } catch (ExecutionException ex) {
+                failure = ex.getCause();
+            } catch (InterruptedException | CancellationException ex) {
+                failure = ex;
+            }
+            final T result = value;
+            final Throwable error = failure;
+            Platform.runLater(() -> {
+                scope.tasks.remove(this);
+                if (load) scope.loadFinished();
+                try {
+                    // Cancelled between completion and delivery: drop the outcome
+                    if (dropped) return;
+                    if (error == null) {
+                        if (onSuccess != null) onSuccess.accept(result);
+                    } else if (onError != null) {
+                        onError.accept(error);
+                    } else {
+                        LOGGER.log(Level.WARNING, "Background task " + name + " failed", error);
+                    }
+                } finally {
+                    if (onFinally != null) onFinally.run();
+                }
+            });
+        }
+    }
+
+    /**
+     * Runs the initial data load of a view. The owner's
+     * {@link #loadingProperty(Object)} stays {@code true} until it finishes.
+     *
+     * @param owner     the view controller (or {@code null} for the application scope)
+     * @param name      thread name used in logs and dumps
+     * @param work      blocking work executed on a virtual thread
+     * @param onSuccess receives the result on the FX thread (may be null)
+     * @param onError   receives the failure on the FX thread (may be null to log it)
+     * @return a handle that may be used to cancel the task
+     */
+    public static <T> Future<T> load(Object owner, String name, Callable<T> work,
+            Consumer<? super T> onSuccess, Consumer<? super Throwable> onError) {
+        return start(owner, name, true, work, onSuccess, onError, null);
+    }
+
+    /**
+     * Same as {@link #load(Object, String, Callable, Consumer, Consumer)},
+     * with a callback that runs whatever the outcome.
+     *
+     * @param owner     the view controller (or {@code null} for the application scope)
+     * @param name      thread name used in logs and dumps
+     * @param work      blocking work executed on a virtual thread
+     * @param onSuccess receives the result on the FX thread (may be null)
+     * @param onError   receives the failure on the FX thread (may be null to log it)
+     * @param onFinally runs on the FX thread after the outcome callback, and
+     *                  also when the task is cancelled
+     * @return a handle that may be used to cancel the task
+     */
+    public static <T> Future<T> load(Object owner, String name, Callable<T> work,
+            Consumer<? super T> onSuccess, Consumer<? super Throwable> onError, Runnable onFinally) {
+        return start(owner, name, true, work, onSuccess, onError, onFinally);
+    }
+
+    /**
+     * Runs background work that does not block the view (refreshes, saves).
+     *
+     * @param owner     the view controller (or {@code null} for the application scope)
+     * @param name      thread name used in logs and dumps
+     * @param work      blocking work executed on a virtual thread
+     * @param onSuccess receives the result on the FX thread (may be null)
+     * @param onError   receives the failure on the FX thread (may be null to log it)
+     * @return a handle that may be used to cancel the task
+     */
+    public static <T> Future<T> submit(Object owner, String name, Callable<T> work,
+            Consumer<? super T> onSuccess, Consumer<? super Throwable> onError) {
+        return start(owner, name, false, work, onSuccess, onError, null);
+    }
+
+    /**
+     * Same as {@link #submit(Object, String, Callable, Consumer, Consumer)},
+     * with a callback that runs whatever the outcome.
+     *
+     * @param owner     the view controller (or {@code null} for the application scope)
+     * @param name      thread name used in logs and dumps
+     * @param work      blocking work executed on a virtual thread
+     * @param onSuccess receives the result on the FX thread (may be null)
+     * @param onError   receives the failure on the FX thread (may be null to log it)
+     * @param onFinally runs on the FX thread after the outcome callback, and
+     *                  also when the task is cancelled
+     * @return a handle that may be used to cancel the task
+     */
+    public static <T> Future<T> submit(Object owner, String name, Callable<T> work,
+            Consumer<? super T> onSuccess, Consumer<? super Throwable> onError, Runnable onFinally) {
+        return start(owner, name, false, work, onSuccess, onError, onFinally);
+    }
+
+    /**
+     * Runs background work without an FX-thread callback.
+     *
+     * @param owner the view controller (or {@code null} for the application scope)
+     * @param name  thread name used in logs and dumps
+     * @param work  blocking work executed on a virtual thread
+     * @return a handle that may be used to cancel the task
+     */
+    public static Future<Void> run(Object owner, String name, Runnable work) {
+        return start(owner, name, false, () -> {
+            work.run();
+            return null;
+        }, null, null, null);
+    }
+
+    /**
+     * Schedules a JavaFX {@link Task}. Its own handlers already run on the FX
+     * thread; the task is tracked so it is cancelled with its owner.
+     *
+     * @param owner the view controller (or {@code null} for the application scope)
+     * @param name  thread name used in logs and dumps
+     * @param task  the task to run
+     * @return the same task
+     */
+    public static <T extends Task<?>> T execute(Object owner, String name, T task) {
+        Scope scope = scope(owner);
+        scope.tasks.add(task);
+        task.stateProperty().addListener((obs, oldState, state) -> {
+            if (state == Worker.State.SUCCEEDED
+                    || state == Worker.State.FAILED
+                    || state == Worker.State.CANCELLED) {
+                scope.tasks.remove(task);
+            }
+        });
+        EXECUTOR.execute(() -> {
+            if (name != null) Thread.currentThread().setName(name);
+            task.run();
+        });
+        return task;
+    }
+
+    /**
+     * Cancels every pending task of an owner. Running tasks are interrupted
+     * and their results are discarded.
+     *
+     * @param owner the view controller
+     */
+    public static void cancelAll(Object owner) {
+        if (owner == null) return;
+        Scope scope = SCOPES.get(owner);
+        if (scope == null) return;
+        int cancelled = 0;
+        for (Future<?> f : scope.tasks) {
+            if (f.cancel(true)) cancelled++;
+        }
+        if (cancelled > 0) {
+            LOGGER.fine("Cancelled " + cancelled + " background task(s) of " + owner.getClass().getSimpleName());
+        }
+    }
+
+    /**
+     * Whether the owner still has initial loads in progress. Only read or
+     * observe it on the FX thread.
+     *
+     * @param owner the view controller
+     * @return the loading flag of the owner
+     */
+    public static ReadOnlyBooleanProperty loadingProperty(Object owner) {
+        return scope(owner).loading.getReadOnlyProperty();
+    }
+
+    /**
+     * @return the shared virtual-thread executor, for code that composes its own futures
+     */
+    public static ExecutorService executor() {
+        return EXECUTOR;
+    }
+
+    private static <T> Future<T> start(Object owner, String name, boolean load, Callable<T> work,
+            Consumer<? super T> onSuccess, Consumer<? super Throwable> onError, Runnable onFinally) {
+        Scope scope = scope(owner);
+        Job<T> job = new Job<>(scope, name, load, work, onSuccess, onError, onFinally);
+        if (load) scope.loadStarted();
+        scope.tasks.add(job);
+        EXECUTOR.execute(job);
+        return job;
+    }
+
+    private static Scope scope(Object owner) {
+        return SCOPES.computeIfAbsent(owner != null ? owner : APPLICATION, k -> new Scope());
+    }
+
+    private static void onFxThread(Runnable action) {
+        if (Platform.isFxApplicationThread()) {
+            action.run();
+        } else {
+            Platform.runLater(action);
+        }
+    }
+}
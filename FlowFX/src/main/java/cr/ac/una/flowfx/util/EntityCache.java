@@ -0,0 +1,179 @@
+package cr.ac.una.flowfx.util;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.UnaryOperator;
+
+/**
+ * Bounded in-memory cache with least-recently-used eviction and a time-to-live
+ * per entry.
+ *
+ * <p>Entries older than the configured TTL are treated as misses and dropped on
+ * access. When the cache exceeds its maximum size the least recently used entry
+ * is evicted. Hit, miss, eviction and expiration counts are tracked so the cache
+ * effectiveness can be inspected through {@link #getStats()}.</p>
+ *
+ * <p>All operations are synchronized; the cache is intended for small DTO sets
+ * where contention is negligible compared to a web service round trip.</p>
+ *
+ * <p>Caches of mutable values are created with a copier. The cache then
+ * stores a copy of what is put and hands out a copy on every read, so edits
+ * a caller makes to a DTO (a view model being edited, say) never reach the
+ * cache or other callers.</p>
+ *
+ * @param <K> key type
+ * @param <V> value type
+ * @author FlowFX Development Team
+ * @version 1.0
+ * @since 3.0
+ */
+public final class EntityCache<K, V> {
+
+    private final String name;
+    private final int maxSize;
+    private final long ttlMillis;
+    private final UnaryOperator<V> copier;
+    private final LinkedHashMap<K, Entry<V>> entries;
+
+    private long hits;
+    private long misses;
+    private long evictions;
+    private long expirations;
+
+    /**
+     * Creates a cache.
+     *
+     * @param name descriptive name used in statistics
+     * @param maxSize maximum number of entries kept (at least 1)
+     * @param ttlMillis time-to-live of an entry in milliseconds (0 or less disables expiry)
+     */
+    public EntityCache(String name, int maxSize, long ttlMillis) {
+        this(name, maxSize, ttlMillis, UnaryOperator.identity());
+    }
+
+    /**
+     * Creates a cache of mutable values.
+     *
+     * @param name descriptive name used in statistics
+     * @param maxSize maximum number of entries kept (at least 1)
+     * @param ttlMillis time-to-live of an entry in milliseconds (0 or less disables expiry)
+     * @param copier returns an independent copy of a value
+     */
+    public EntityCache(String name, int maxSize, long ttlMillis, UnaryOperator<V> copier) {
+        this.name = name;
+        this.copier = copier;
+        this.maxSize = Math.max(1, maxSize);
+        this.ttlMillis = ttlMillis;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+                if (size() > EntityCache.this.maxSize) {
+                    evictions++;
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Returns a copy of the cached value, or null when absent or expired.
+     *
+     * @param key the key to look up
+     * @return cached value or null
+     */
+    public synchronized V get(K key) {
+        if (key == null) return null;
+        Entry<V> entry = entries.get(key);
+        if (entry == null) {
+            misses++;
+            return null;
+        }
+        if (isExpired(entry)) {
+            entries.remove(key);
+            expirations++;
+            misses++;
+            return null;
+        }
+        hits++;
+        return copier.apply(entry.value());
+    }
+
+    /**
+     * Stores a copy of a value. A null value removes the key.
+     *
+     * @param key the key
+     * @param value the value to cache
+     */
+    public synchronized void put(K key, V value) {
+        if (key == null) return;
+        if (value == null) {
+            entries.remove(key);
+            return;
+        }
+        entries.put(key, new Entry<>(copier.apply(value), System.currentTimeMillis()));
+    }
+
+    /**
+     * Removes a key so the next read goes back to the service.
+     *
+     * @param key the key to remove
+     */
+    public synchronized void invalidate(K key) {
+        if (key != null) entries.remove(key);
+    }
+
+    /**
+     * Removes every entry. Statistics are preserved.
+     */
+    public synchronized void invalidateAll() {
+        entries.clear();
+    }
+
+    /**
+     * Returns the number of entries currently held, including expired ones not
+     * yet accessed.
+     *
+     * @return entry count
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * Returns a snapshot of the cache statistics.
+     *
+     * @return statistics snapshot
+     */
+    public synchronized Stats getStats() {
+        return new Stats(name, hits, misses, evictions, expirations, entries.size());
+    }
+
+    private boolean isExpired(Entry<V> entry) {
+        return ttlMillis > 0 && System.currentTimeMillis() - entry.storedAt() > ttlMillis;
+    }
+
+    private record Entry<V>(V value, long storedAt) {}
+
+    /**
+     * Cache statistics snapshot.
+     *
+     * @param name cache name
+     * @param hits reads served from the cache
+     * @param misses reads not served from the cache
+     * @param evictions entries removed because the cache was full
+     * @param expirations entries removed because their TTL elapsed
+     * @param size current entry count
+     */
+    public record Stats(String name, long hits, long misses, long evictions, long expirations, int size) {
+        /**
+         * Fraction of reads served from the cache.
+         *
+         * @return hit rate between 0 and 1
+         */
+        public double hitRate() {
+            long total = hits + misses;
+            return total == 0 ? 0d : (double) hits / total;
+        }
+    }
+}
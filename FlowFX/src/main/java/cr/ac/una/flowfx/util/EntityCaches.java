@@ -0,0 +1,175 @@
+package cr.ac.una.flowfx.util;
+
+import cr.ac.una.flowfx.model.PersonDTO;
+import cr.ac.una.flowfx.model.ProjectActivityDTO;
+import cr.ac.una.flowfx.model.ProjectDTO;
+
+import java.util.List;
+
+/**
+ * Application-wide typed caches for the DTOs fetched from the web service.
+ *
+ * <p>Services write through these caches: successful reads and writes store the
+ * returned DTO, and deletes invalidate it. Person display labels are kept in a
+ * separate cache because activity payloads often carry a responsible/creator
+ * name without the full person record.</p>
+ *
+ * <p>People and projects are also kept in {@link TrigramIndex} instances for
+ * search-as-you-type. The indexes are not bounded by the cache size or TTL:
+ * they hold every entity seen in this session until it is deleted.</p>
+ *
+ * @author FlowFX Development Team
+ * @version 1.0
+ * @since 3.0
+ */
+public final class EntityCaches {
+
+    private static final long PERSON_TTL_MS = 10 * 60 * 1000L;
+    private static final long PROJECT_TTL_MS = 5 * 60 * 1000L;
+    private static final long ACTIVITY_TTL_MS = 5 * 60 * 1000L;
+
+    // DTOs are mutable: these caches store and hand out copies
+    private static final EntityCache<Long, PersonDTO> PERSONS =
+        new EntityCache<>("persons", 2000, PERSON_TTL_MS, PersonDTO::new);
+    private static final EntityCache<Long, String> PERSON_LABELS =
+        new EntityCache<>("personLabels", 2000, PERSON_TTL_MS);
+    private static final EntityCache<Long, ProjectDTO> PROJECTS =
+        new EntityCache<>("projects", 500, PROJECT_TTL_MS, ProjectDTO::new);
+    private static final EntityCache<Long, ProjectActivityDTO> ACTIVITIES =
+        new EntityCache<>("activities", 5000, ACTIVITY_TTL_MS, ProjectActivityDTO::new);
+
+    private static final TrigramIndex<PersonDTO> PERSON_INDEX = new TrigramIndex<>(
+        PersonDTO::getId,
+        p -> new String[] {
+            p.getFirstName(),
+            p.getLastName(),
+            p.getUsername(),
+            p.getEmail(),
+            p.getId() == null ? null : String.valueOf(p.getId()),
+        }
+    );
+    private static final TrigramIndex<ProjectDTO> PROJECT_INDEX = new TrigramIndex<>(
+        ProjectDTO::getId,
+        p -> new String[] { p.getName() }
+    );
+
+    // Private constructor to prevent instantiation of utility class
+    private EntityCaches() {
+        throw new UnsupportedOperationException("This is a utility class and cannot be instantiated");
+    }
+
+    /**
+     * @return cache of people by id
+     */
+    public static EntityCache<Long, PersonDTO> persons() {
+        return PERSONS;
+    }
+
+    /**
+     * @return cache of person display labels ("FirstName LastName") by id
+     */
+    public static EntityCache<Long, String> personLabels() {
+        return PERSON_LABELS;
+    }
+
+    /**
+     * @return cache of projects by id
+     */
+    public static EntityCache<Long, ProjectDTO> projects() {
+        return PROJECTS;
+    }
+
+    /**
+     * @return cache of project activities by id
+     */
+    public static EntityCache<Long, ProjectActivityDTO> activities() {
+        return ACTIVITIES;
+    }
+
+    /**
+     * @return search index of people by name, username, email and id
+     */
+    public static TrigramIndex<PersonDTO> personIndex() {
+        return PERSON_INDEX;
+    }
+
+    /**
+     * @return search index of projects by name
+     */
+    public static TrigramIndex<ProjectDTO> projectIndex() {
+        return PROJECT_INDEX;
+    }
+
+    /**
+     * Stores a person and its display label.
+     *
+     * @param person the person to cache; ignored when it has no id
+     */
+    public static void putPerson(PersonDTO person) {
+        if (person == null || person.getId() == null) return;
+        PERSONS.put(person.getId(), person);
+        // The index keeps its own copy; later edits of the caller's DTO would make it stale
+        PERSON_INDEX.put(new PersonDTO(person));
+        String first = person.getFirstName() == null ? "" : person.getFirstName().trim();
+        String last = person.getLastName() == null ? "" : person.getLastName().trim();
+        String label = (first + " " + last).trim();
+        if (!label.isBlank()) {
+            PERSON_LABELS.put(person.getId(), label);
+        }
+    }
+
+    /**
+     * Removes a person and its display label.
+     *
+     * @param personId the person id
+     */
+    public static void invalidatePerson(Long personId) {
+        PERSONS.invalidate(personId);
+        PERSON_LABELS.invalidate(personId);
+    }
+
+    /**
+     * Removes a deleted person from the caches and the search index.
+     *
+     * @param personId the person id
+     */
+    public static void removePerson(Long personId) {
+        invalidatePerson(personId);
+        PERSON_INDEX.remove(personId);
+    }
+
+    /**
+     * Stores a project and indexes its name.
+     *
+     * @param project the project to cache; ignored when it has no id
+     */
+    public static void putProject(ProjectDTO project) {
+        if (project == null || project.getId() == null) return;
+        PROJECTS.put(project.getId(), project);
+        PROJECT_INDEX.put(new ProjectDTO(project));
+    }
+
+    /**
+     * Removes a deleted project from the cache and the search index.
+     *
+     * @param projectId the project id
+     */
+    public static void removeProject(Long projectId) {
+        PROJECTS.invalidate(projectId);
+        PROJECT_INDEX.remove(projectId);
+    }
+
+    /**
+     * Returns statistics for every cache.
+     *
+     * @return list of statistics snapshots
+     */
+    public static List<EntityCache.Stats> getStats() {
+        return List.of(
+            PERSONS.getStats(),
+            PERSON_LABELS.getStats(),
+            PROJECTS.getStats(),
+            ACTIVITIES.getStats()
+        );
+    }
+}
@@ -0,0 +1,190 @@
+package cr.ac.una.flowfx.util;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.logging.Logger;
+
+/**
+ * Structured fan-out of independent blocking calls with a shared deadline.
+ *
+ * <p>A view that needs several unrelated pieces of data (the project, its
+ * activities, person labels, tracking) forks one part per call; every part
+ * runs on its own virtual thread from {@link AsyncTasks#executor()}, so the
+ * total wait is the slowest call instead of the sum of all of them.
+ * {@link #join()} returns when every part has finished or the deadline has
+ * passed, whichever comes first. Parts still running at that point are
+ * cancelled when the scope is closed and report {@link State#UNAVAILABLE}, so
+ * the caller can render what arrived and fall back for the rest.</p>
+ *
+ * <p>Mirrors the shape of {@code StructuredTaskScope}, which is still a
+ * preview API on the Java release this project targets:</p>
+ * <pre>{@code
+ * try (FanOut scope = FanOut.open(Duration.ofSeconds(4))) {
+ *     FanOut.Part<ProjectDTO> project = scope.fork("project", () -> load(id));
+ *     FanOut.Part<Integer> progress = scope.fork("progress", () -> progress(id));
+ *     scope.join();
+ *     render(project.getOrElse(null), progress.getOrElse(0));
+ * }
+ * }</pre>
+ *
+ * <p>Instances are confined to the thread that opened them.</p>
+ *
+ * @author FlowFX Development Team
+ * @version 1.0
+ * @since 3.0
+ */
+public final class FanOut implements AutoCloseable {
+
+    private static final Logger LOGGER = Logger.getLogger(FanOut.class.getName());
+
+    /**
+     * Outcome of a forked part once the scope has been joined.
+     */
+    public enum State {
+        /** The call completed and produced a value. */
+        SUCCESS,
+        /** The call threw an exception. */
+        FAILED,
+        /** The call did not finish before the deadline, or was cancelled. */
+        UNAVAILABLE
+    }
+
+    private final long deadlineNanos;
+    private final List<Part<?>> parts = new ArrayList<>();
+    private boolean joined;
+    private boolean closed;
+
+    private FanOut(Duration deadline) {
+        this.deadlineNanos = System.nanoTime() + deadline.toNanos();
+    }
+
+    /**
+     * Opens a scope whose parts must finish within the given time.
+     *
+     * @param deadline time budget measured from now
+     * @return a new scope, to be used in try-with-resources
+     */
+    public static FanOut open(Duration deadline) {
+        if (deadline == null || deadline.isNegative()) {
+            throw new IllegalArgumentException("deadline must be zero or positive");
+        }
+        return new FanOut(deadline);
+    }
+
+    /**
+     * Starts a call on its own virtual thread.
+     *
+     * @param name short name used in logs
+     * @param work the blocking call
+     * @return a handle to read once the scope has been joined
+     */
+    public <T> Part<T> fork(String name, Callable<T> work) {
+        if (joined || closed) throw new IllegalStateException("Cannot fork after join or close");
+        Part<T> part = new Part<>(name, AsyncTasks.executor().submit(work));
+        parts.add(part);
+        return part;
+    }
+
+    /**
+     * Waits until every part has finished or the deadline has passed.
+     *
+     * @return {@code true} when every part finished in time
+     * @throws InterruptedException if the calling thread is interrupted, for
+     *         example because the view that started the load was left
+     */
+    public boolean join() throws InterruptedException {
+        if (closed) throw new IllegalStateException("Scope is closed");
+        joined = true;
+        boolean complete = true;
+        for (Part<?> part : parts) {
+            long remaining = deadlineNanos - System.nanoTime();
+            try {
+                part.future.get(Math.max(0L, remaining), TimeUnit.NANOSECONDS);
+            } catch (TimeoutException ex) {
+                complete = false;
+            } catch (ExecutionException | CancellationException ex) {
+                // Recorded by the part itself
+            }
+        }
+        if (!complete) {
+            LOGGER.fine("Fan-out deadline reached; unavailable parts: " + unavailableNames());
+        }
+        return complete;
+    }
+
+    /**
+     * Cancels the parts that are still running. Always called, also when
+     * {@link #join()} is interrupted, so no call outlives the scope.
+     */
+    @Override
+    public void close() {
+        if (closed) return;
+        closed = true;
+        for (Part<?> part : parts) {
+            if (!part.future.isDone()) part.future.cancel(true);
+        }
+    }
+
+    private List<String> unavailableNames() {
+        List<String> names = new ArrayList<>();
+        for (Part<?> part : parts) {
+            if (!part.future.isDone()) names.add(part.name);
+        }
+        return names;
+    }
+
+    /**
+     * One forked call. Read it only after {@link FanOut#join()} returned.
+     */
+    public static final class Part<T> {
+
+        private final String name;
+        private final Future<T> future;
+
+        private Part(String name, Future<T> future) {
+            this.name = name;
+            this.future = future;
+        }
+
+        public String name() {
+            return name;
+        }
+
+        /**
+         * @return the outcome of the call
+         */
+        public State state() {
+            if (!future.isDone() || future.isCancelled()) return State.UNAVAILABLE;
+            return future.state() == Future.State.SUCCESS ? State.SUCCESS : State.FAILED;
+        }
+
+        /**
+         * @return {@code true} when the call completed with a value
+         */
+        public boolean isAvailable() {
+            return state() == State.SUCCESS;
+        }
+
+        /**
+         * @param fallback value returned when the call failed or missed the deadline
+         * @return the value of the call, or the fallback
+         */
+        public T getOrElse(T fallback) {
+            return isAvailable() ? future.resultNow() : fallback;
+        }
+
+        /**
+         * @return the failure of the call, or {@code null} when it did not fail
+         */
+        public Throwable exception() {
+            return state() == State.FAILED ? future.exceptionNow() : null;
+        }
+    }
+}
@@ -17,7 +17,9 @@ import javafx.scene.image.Image;
 import javafx.scene.layout.BorderPane;
 import javafx.scene.layout.HBox;
 import javafx.scene.layout.Pane;
+import javafx.scene.layout.Region;
 import javafx.scene.layout.StackPane;
+import javafx.scene.layout.VBox;
 import javafx.stage.Modality;
 import javafx.stage.Stage;
 import javafx.stage.StageStyle;
@@ -46,6 +48,10 @@ public class FlowController {
     private static BorderPane appRoot;
     // The stacked root used to host global overlays (e.g., dock)
     private static StackPane rootStack;
+    // Center views wrapped with their loading skeleton, by view name
+    private static final HashMap<String, StackPane> viewHosts = new HashMap<>();
+    // Controller of the view currently shown in the center region
+    private static Controller centerController;
 
     private FlowController() {
         // Intentionally empty
@@ -271,6 +277,11 @@ public class FlowController {
             return;
         }
 
+        // Leaving the current center view: drop its pending background work
+        if ("Center".equals(location) && centerController != null) {
+            AsyncTasks.cancelAll(centerController);
+        }
+
         // Preserve public API: controller initialization must be invoked
         controller.initialize();
 
@@ -285,7 +296,8 @@ public class FlowController {
                 BorderPane borderPane = appRoot != null
                     ? appRoot
                     : (BorderPane) stage.getScene().getRoot();
-                borderPane.setCenter(loader.getRoot());
+                borderPane.setCenter(hostFor(viewName, loader.getRoot(), controller));
+                centerController = controller;
                 break;
             }
             case "Top": {
@@ -308,6 +320,29 @@ public class FlowController {
         }
     }
 
+    /**
+     * Wraps a center view with a skeleton placeholder that stays visible while
+     * the controller has loads in progress (see {@link AsyncTasks#load}).
+     */
+    private StackPane hostFor(String viewName, Parent view, Controller controller) {
+        StackPane host = viewHosts.get(viewName);
+        if (host != null && host.getChildren().contains(view)) {
+            return host;
+        }
+        VBox skeleton = new VBox(14);
+        skeleton.getStyleClass().add("view-skeleton");
+        for (double width : new double[] { 0.35, 0.9, 0.75, 0.9, 0.6, 0.85, 0.5 }) {
+            Region bar = new Region();
+            bar.getStyleClass().add("skeleton-bar");
+            bar.maxWidthProperty().bind(skeleton.widthProperty().multiply(width));
+            skeleton.getChildren().add(bar);
+        }
+        skeleton.visibleProperty().bind(AsyncTasks.loadingProperty(controller));
+        host = new StackPane(view, skeleton);
+        viewHosts.put(viewName, host);
+        return host;
+    }
+
     /**
      * Replaces the root of the provided stage with the given view.
      *
@@ -386,6 +421,7 @@ public class FlowController {
         }
         
         stage.setOnHidden((WindowEvent event) -> {
+            AsyncTasks.cancelAll(controller);
             if (
                 controller.getStage() != null &&
                 controller.getStage().getScene() != null
@@ -460,6 +496,7 @@ public class FlowController {
         stage.initStyle(StageStyle.UNDECORATED);
         stage.setResizable(resizable);
         stage.setOnHidden((WindowEvent event) -> {
+            AsyncTasks.cancelAll(controller);
             if (
                 controller.getStage() != null &&
                 controller.getStage().getScene() != null
@@ -512,6 +549,7 @@ public class FlowController {
         synchronized (loaders) {
             loaders.remove(view);
         }
+        viewHosts.remove(view);
     }
 
     /**
@@ -530,6 +568,7 @@ public class FlowController {
         synchronized (loaders) {
             loaders.clear();
         }
+        viewHosts.clear();
     }
 
     /**
@@ -0,0 +1,476 @@
+package cr.ac.una.flowfx.util;
+
+import jakarta.json.Json;
+import jakarta.json.stream.JsonParser;
+import jakarta.json.stream.JsonParser.Event;
+import jakarta.json.stream.JsonParserFactory;
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Streaming decoder that maps JSON objects straight into DTOs.
+ *
+ * <p>The web service returns its payloads as JSON text inside
+ * {@code mensajeInterno}. Instead of building a {@code JsonObject} tree and
+ * probing every alias with {@code containsKey}, a decoder walks the text once
+ * with a {@link JsonParser} and looks each key up in an alias table computed
+ * when the decoder is built. List elements are handed to the caller as soon as
+ * their closing brace is read, so no tree of the whole payload is kept.</p>
+ *
+ * <p>Aliases keep the precedence they are declared with: when a payload carries
+ * more than one alias of the same field, the first declared alias wins no
+ * matter where it appears in the object, as with the previous tree lookups.
+ * Null values and values that cannot be converted are ignored so a later alias
+ * can still provide the field.</p>
+ *
+ * <p>Decoders are immutable and thread-safe; services keep them in static
+ * fields.</p>
+ *
+ * @param <T> the DTO type produced
+ * @author FlowFX Development Team
+ * @version 1.0
+ * @since 3.0
+ */
+public final class JsonStreamDecoder<T> {
+
+    private static final JsonParserFactory PARSERS = Json.createParserFactory(null);
+
+    private final Supplier<T> factory;
+    private final Map<String, Binding<T>[]> bindings;
+    private final int fieldCount;
+
+    private JsonStreamDecoder(Builder<T> builder) {
+        this.factory = builder.factory;
+        this.fieldCount = builder.fieldCount;
+        Map<String, Binding<T>[]> table = new HashMap<>();
+        builder.bindings.forEach((alias, list) -> table.put(alias, toArray(list)));
+        this.bindings = Map.copyOf(table);
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static <T> Binding<T>[] toArray(List<Binding<T>> list) {
+        return list.toArray(new Binding[0]);
+    }
+
+    /**
+     * Starts a decoder definition.
+     *
+     * @param factory creates an empty target for each JSON object
+     * @param <T> the DTO type
+     * @return a builder
+     */
+    public static <T> Builder<T> builder(Supplier<T> factory) {
+        return new Builder<>(factory);
+    }
+
+    /**
+     * Creates a streaming parser over {@code json} from the shared parser factory,
+     * for callers that walk composite payloads and decode sections with
+     * {@link #readArray(JsonParser, Consumer)}.
+     *
+     * @param json the JSON text
+     * @return a new parser; the caller closes it
+     */
+    public static JsonParser parser(String json) {
+        return PARSERS.createParser(new StringReader(json));
+    }
+
+    /**
+     * Decodes a list payload. Accepts a top-level array or an object holding the
+     * array under one of {@code wrapperKeys}; each element is passed to
+     * {@code sink} as soon as it has been read.
+     *
+     * @param json the JSON text
+     * @param sink receives each decoded element
+     * @param wrapperKeys keys that may hold the array inside a wrapper object
+     * @return true when an array was found
+     * @throws jakarta.json.JsonException when the text is not valid JSON
+     */
+    public boolean decodeList(String json, Consumer<? super T> sink, String... wrapperKeys) {
+        if (json == null || json.isBlank()) return false;
+        Set<String> wrappers = Set.copyOf(Arrays.asList(wrapperKeys));
+        try (JsonParser p = parser(json)) {
+            if (!p.hasNext()) return false;
+            Event first = p.next();
+            if (first == Event.START_ARRAY) {
+                readArray(p, sink);
+                return true;
+            }
+            if (first != Event.START_OBJECT) return false;
+            while (p.hasNext()) {
+                Event e = p.next();
+                if (e == Event.END_OBJECT) return false;
+                String key = p.getString();
+                Event v = p.next();
+                if (v == Event.START_ARRAY && wrappers.contains(key)) {
+                    readArray(p, sink);
+                    return true;
+                }
+                skip(p, v);
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Decodes a list payload into a new list.
+     *
+     * @param json the JSON text
+     * @param wrapperKeys keys that may hold the array inside a wrapper object
+     * @return decoded elements, empty when no array was found
+     * @throws jakarta.json.JsonException when the text is not valid JSON
+     */
+    public List<T> decodeList(String json, String... wrapperKeys) {
+        List<T> out = new ArrayList<>();
+        decodeList(json, out::add, wrapperKeys);
+        return out;
+    }
+
+    /**
+     * Decodes a single-entity payload. Accepts an object, an object wrapping the
+     * entity under one of {@code wrapperKeys}, or an array (first element).
+     *
+     * @param json the JSON text
+     * @param wrapperKeys keys that may hold the entity inside a wrapper object
+     * @return the decoded DTO, or null when the payload holds no object
+     * @throws jakarta.json.JsonException when the text is not valid JSON
+     */
+    public T decodeSingle(String json, String... wrapperKeys) {
+        if (json == null || json.isBlank()) return null;
+        Set<String> wrappers = Set.copyOf(Arrays.asList(wrapperKeys));
+        try (JsonParser p = parser(json)) {
+            if (!p.hasNext()) return null;
+            Event first = p.next();
+            if (first == Event.START_OBJECT) return readObject(p, wrappers);
+            if (first == Event.START_ARRAY) {
+                while (p.hasNext()) {
+                    Event e = p.next();
+                    if (e == Event.END_ARRAY) return null;
+                    if (e == Event.START_OBJECT) return readObject(p, Set.of());
+                    skip(p, e);
+                }
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Reads the elements of an array whose {@code START_ARRAY} event has just
+     * been consumed, up to and including its {@code END_ARRAY}. Lets callers
+     * that stream a composite payload decode one section in place.
+     *
+     * @param p the parser positioned inside the array
+     * @param sink receives each decoded element
+     */
+    public void readArray(JsonParser p, Consumer<? super T> sink) {
+        while (p.hasNext()) {
+            Event e = p.next();
+            if (e == Event.END_ARRAY) return;
+            if (e == Event.START_OBJECT) {
+                sink.accept(readObject(p, Set.of()));
+            } else {
+                skip(p, e);
+            }
+        }
+    }
+
+    /**
+     * Reads one object whose {@code START_OBJECT} event has just been consumed,
+     * up to and including its {@code END_OBJECT}. Lets callers decode an entity
+     * nested inside a composite element.
+     *
+     * @param p the parser positioned inside the object
+     * @return the decoded DTO
+     */
+    public T readObject(JsonParser p) {
+        return readObject(p, Set.of());
+    }
+
+    private T readObject(JsonParser p, Set<String> wrappers) {
+        T target = factory.get();
+        int[] applied = new int[fieldCount];
+        Arrays.fill(applied, Integer.MAX_VALUE);
+        while (p.hasNext()) {
+            Event e = p.next();
+            if (e == Event.END_OBJECT) break;
+            String key = p.getString();
+            Event v = p.next();
+            if (v == Event.START_OBJECT && wrappers.contains(key)) {
+                return readObject(p, Set.of());
+            }
+            Binding<T>[] candidates = bindings.get(key);
+            if (candidates == null || v == Event.VALUE_NULL) {
+                skip(p, v);
+                continue;
+            }
+            String text = textOf(p, v);
+            for (Binding<T> b : candidates) {
+                if (b.priority >= applied[b.field]) continue;
+                if (b.apply(target, v, text)) applied[b.field] = b.priority;
+            }
+        }
+        return target;
+    }
+
+    private static String textOf(JsonParser p, Event v) {
+        return switch (v) {
+            case VALUE_STRING, VALUE_NUMBER -> p.getString();
+            case VALUE_TRUE -> "true";
+            case VALUE_FALSE -> "false";
+            // Nested structures are rare in these payloads; keep their JSON text
+            case START_OBJECT, START_ARRAY -> p.getValue().toString();
+            default -> null;
+        };
+    }
+
+    /**
+     * Skips the value whose first event is {@code v}; scalars need no skipping.
+     *
+     * @param p the parser
+     * @param v the event just read
+     */
+    public static void skip(JsonParser p, Event v) {
+        if (v == Event.START_OBJECT) p.skipObject();
+        else if (v == Event.START_ARRAY) p.skipArray();
+    }
+
+    // ======== Converters ========
+
+    /**
+     * Converts a JSON value, given as its parser event and text, to a field value.
+     * Returning null (or throwing) leaves the field for a lower-precedence alias.
+     *
+     * @param <V> the field type
+     */
+    @FunctionalInterface
+    public interface Converter<V> {
+        V convert(Event kind, String text);
+    }
+
+    /**
+     * Any value as text (numbers and booleans keep their JSON spelling).
+     */
+    public static String asString(Event kind, String text) {
+        return text;
+    }
+
+    /**
+     * Numbers and numeric strings as Long; decimals are truncated.
+     */
+    public static Long asLong(Event kind, String text) {
+        if (text == null) return null;
+        String s = text.trim();
+        if (s.isEmpty()) return null;
+        if (kind == Event.VALUE_NUMBER) {
+            try {
+                return Long.parseLong(s);
+            } catch (NumberFormatException nfe) {
+                return new BigDecimal(s).longValue();
+            }
+        }
+        if (kind != Event.VALUE_STRING) return null;
+        try {
+            return Long.parseLong(s);
+        } catch (NumberFormatException nfe) {
+            return (long) Double.parseDouble(s);
+        }
+    }
+
+    /**
+     * Numbers and numeric strings as Integer; decimals are truncated.
+     */
+    public static Integer asInteger(Event kind, String text) {
+        Long l = asLong(kind, text);
+        return l == null ? null : l.intValue();
+    }
+
+    /**
+     * Numbers and numeric strings as Double.
+     */
+    public static Double asDouble(Event kind, String text) {
+        if (kind != Event.VALUE_NUMBER && kind != Event.VALUE_STRING) return null;
+        String s = text == null ? "" : text.trim();
+        return s.isEmpty() ? null : Double.valueOf(s);
+    }
+
+    /**
+     * JSON booleans, {@code "true"}/{@code "false"}, {@code "Y"}/{@code "N"}
+     * flags and the numbers 1/0.
+     */
+    public static Boolean asBoolean(Event kind, String text) {
+        if (kind == Event.VALUE_TRUE) return Boolean.TRUE;
+        if (kind == Event.VALUE_FALSE) return Boolean.FALSE;
+        if (text == null) return null;
+        return switch (text.trim().toUpperCase(Locale.ROOT)) {
+            case "TRUE", "Y", "1" -> Boolean.TRUE;
+            case "FALSE", "N", "0" -> Boolean.FALSE;
+            default -> null;
+        };
+    }
+
+    /**
+     * First non-blank character of the value, e.g. status codes "A"/"I".
+     */
+    public static Character asChar(Event kind, String text) {
+        if (text == null) return null;
+        String s = text.trim();
+        return s.isEmpty() ? null : s.charAt(0);
+    }
+
+    /**
+     * Dates given as ISO-8601 instants, {@code yyyy-MM-dd HH:mm:ss},
+     * {@code yyyy-MM-dd}, or epoch seconds/milliseconds (number or string).
+     */
+    public static Date asDate(Event kind, String text) {
+        if (text == null) return null;
+        String s = text.trim();
+        if (s.isEmpty()) return null;
+        if (kind == Event.VALUE_STRING) {
+            try {
+                return Date.from(Instant.parse(s));
+            } catch (DateTimeParseException ignore) {
+                // try other common formats
+            }
+            try {
+                return new SimpleDateFormat("yyyy-MM-dd HH:mm:ss").parse(s);
+            } catch (ParseException ignore) {
+                // try next
+            }
+            try {
+                return new SimpleDateFormat("yyyy-MM-dd").parse(s);
+            } catch (ParseException ignore) {
+                // numeric string below
+            }
+        } else if (kind != Event.VALUE_NUMBER) {
+            return null;
+        }
+        long epoch = asLong(kind, s);
+        // Heuristic: ten digits or less are seconds
+        if (String.valueOf(Math.abs(epoch)).length() <= 10) epoch *= 1000L;
+        return new Date(epoch);
+    }
+
+    /**
+     * Dates given strictly as epoch milliseconds.
+     */
+    public static Date asEpochMillis(Event kind, String text) {
+        Long millis = asLong(kind, text);
+        return millis == null ? null : new Date(millis);
+    }
+
+    // ======== Definition ========
+
+    private static final class Binding<T> {
+
+        private final int field;
+        private final int priority;
+        private final Applier<T> applier;
+
+        private Binding(int field, int priority, Applier<T> applier) {
+            this.field = field;
+            this.priority = priority;
+            this.applier = applier;
+        }
+
+        private boolean apply(T target, Event kind, String text) {
+            try {
+                return applier.apply(target, kind, text);
+            } catch (RuntimeException ignore) {
+                return false;
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface Applier<T> {
+        boolean apply(T target, Event kind, String text);
+    }
+
+    /**
+     * Declares the fields of a decoder. Each field lists its aliases in order of
+     * precedence.
+     *
+     * @param <T> the DTO type
+     */
+    public static final class Builder<T> {
+
+        private final Supplier<T> factory;
+        private final Map<String, List<Binding<T>>> bindings = new HashMap<>();
+        private int fieldCount;
+
+        private Builder(Supplier<T> factory) {
+            this.factory = factory;
+        }
+
+        /**
+         * Declares a field converted with {@code converter}.
+         *
+         * @param setter receives the converted value
+         * @param converter converts the raw JSON value
+         * @param aliases keys the field may appear under, highest precedence first
+         * @param <V> the field type
+         * @return this builder
+         */
+        public <V> Builder<T> field(BiConsumer<T, ? super V> setter, Converter<V> converter, String... aliases) {
+            int field = fieldCount++;
+            Applier<T> applier = (target, kind, text) -> {
+                V value = converter.convert(kind, text);
+                if (value == null) return false;
+                setter.accept(target, value);
+                return true;
+            };
+            for (int i = 0; i < aliases.length; i++) {
+                bindings.computeIfAbsent(aliases[i], k -> new ArrayList<>()).add(new Binding<>(field, i, applier));
+            }
+            return this;
+        }
+
+        public Builder<T> string(BiConsumer<T, String> setter, String... aliases) {
+            return field(setter, JsonStreamDecoder::asString, aliases);
+        }
+
+        public Builder<T> longValue(BiConsumer<T, Long> setter, String... aliases) {
+            return field(setter, JsonStreamDecoder::asLong, aliases);
+        }
+
+        public Builder<T> integer(BiConsumer<T, Integer> setter, String... aliases) {
+            return field(setter, JsonStreamDecoder::asInteger, aliases);
+        }
+
+        public Builder<T> decimal(BiConsumer<T, Double> setter, String... aliases) {
+            return field(setter, JsonStreamDecoder::asDouble, aliases);
+        }
+
+        public Builder<T> character(BiConsumer<T, Character> setter, String... aliases) {
+            return field(setter, JsonStreamDecoder::asChar, aliases);
+        }
+
+        public Builder<T> date(BiConsumer<T, Date> setter, String... aliases) {
+            return field(setter, JsonStreamDecoder::asDate, aliases);
+        }
+
+        /**
+         * Builds the immutable decoder.
+         *
+         * @return the decoder
+         */
+        public JsonStreamDecoder<T> build() {
+            return new JsonStreamDecoder<>(this);
+        }
+    }
+}
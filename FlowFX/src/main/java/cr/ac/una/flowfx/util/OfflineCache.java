@@ -0,0 +1,517 @@
+package cr.ac.una.flowfx.util;
+
+import cr.ac.una.flowfx.model.ActivityStatusCounts;
+import cr.ac.una.flowfx.model.DashboardDTO;
+import cr.ac.una.flowfx.model.PersonDTO;
+import cr.ac.una.flowfx.model.ProjectActivityDTO;
+import cr.ac.una.flowfx.model.ProjectDTO;
+import cr.ac.una.flowfx.model.ProjectTrackingDTO;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * On-disk copy of each user's dashboard, used to paint the main view as soon
+ * as the user logs in.
+ *
+ * <p>A snapshot holds the user's projects, the latest tracking of each
+ * project, the recent activities, the activity counts behind the charts and
+ * the people those rows reference, together with the server time of the last
+ * sync. It is written after every successful load to
+ * {@code ~/.flowfx/cache/dashboard-<userId>.bin} in a compact, versioned,
+ * gzip-compressed binary format, replacing the previous file atomically so a
+ * crash never leaves a half-written cache. Passwords are never written.</p>
+ *
+ * <p>The cache only speeds up the first paint: the view always reconciles it
+ * with the server right after, asking only for the rows updated since the
+ * stored watermark. A missing, unreadable or older-format file is treated as
+ * a cold start.</p>
+ *
+ * <p>All methods do file I/O and must run off the FX thread.</p>
+ *
+ * @author FlowFX Development Team
+ * @version 1.0
+ * @since 3.0
+ */
+public final class OfflineCache {
+
+    private static final Logger LOGGER = Logger.getLogger(OfflineCache.class.getName());
+
+    /** "FFXC": identifies cache files. */
+    private static final int MAGIC = 0x46465843;
+
+    /** Bumped whenever the layout changes; files of other versions are ignored. */
+    private static final short VERSION = 1;
+
+    private static final int BUCKETS = ActivityStatusCounts.OTHER + 1;
+
+    private static final Path DIRECTORY = Path.of(System.getProperty("user.home"), ".flowfx", "cache");
+
+    /**
+     * What the main view needs to paint the dashboard without the server.
+     *
+     * @param watermark server time of the last sync in epoch millis, or
+     *                  {@code null} when the dashboard came from a full load
+     * @param dashboard projects, latest trackings, recent activities and names
+     * @param counts    activity counts per project and status
+     * @param persons   people referenced by the projects and activities
+     * @param labels    display labels of referenced people known only by name
+     */
+    public record Snapshot(
+        Long watermark,
+        DashboardDTO dashboard,
+        ActivityStatusCounts counts,
+        List<PersonDTO> persons,
+        Map<Long, String> labels
+    ) {}
+
+    // Private constructor to prevent instantiation of utility class
+    private OfflineCache() {
+        throw new UnsupportedOperationException("This is a utility class and cannot be instantiated");
+    }
+
+    /**
+     * Builds a snapshot of a dashboard, adding the people it references from
+     * {@link EntityCaches}.
+     *
+     * @param watermark server time of the sync that produced the dashboard, or null
+     * @param dashboard the dashboard shown
+     * @param counts    the activity counts shown
+     * @return the snapshot to {@link #save}
+     */
+    public static Snapshot capture(Long watermark, DashboardDTO dashboard, ActivityStatusCounts counts) {
+        Set<Long> ids = new LinkedHashSet<>();
+        for (ProjectDTO p : dashboard.getProjects()) {
+            ids.add(p.getSponsorId());
+            ids.add(p.getLeaderUserId());
+            ids.add(p.getTechLeaderId());
+        }
+        for (ProjectActivityDTO a : dashboard.getRecentActivities()) {
+            ids.add(a.getResponsibleId());
+            ids.add(a.getCreatedById());
+        }
+        for (ProjectTrackingDTO t : dashboard.getLatestTrackings().values()) {
+            ids.add(t.getCreatedBy());
+        }
+        ids.remove(null);
+        List<PersonDTO> persons = new ArrayList<>();
+        Map<Long, String> labels = new HashMap<>();
+        for (Long id : ids) {
+            PersonDTO person = EntityCaches.persons().get(id);
+            if (person != null) {
+                persons.add(person);
+                continue;
+            }
+            String label = EntityCaches.personLabels().get(id);
+            if (label != null) labels.put(id, label);
+        }
+        return new Snapshot(watermark, dashboard, counts, persons, labels);
+    }
+
+    /**
+     * Puts the snapshot's entities into {@link EntityCaches} so the views
+     * opened next find them without a round trip.
+     *
+     * @param snapshot a loaded snapshot
+     */
+    public static void seed(Snapshot snapshot) {
+        DashboardDTO d = snapshot.dashboard();
+        d.getProjects().forEach(EntityCaches::putProject);
+        snapshot.persons().forEach(EntityCaches::putPerson);
+        snapshot.labels().forEach(EntityCaches.personLabels()::put);
+        for (ProjectActivityDTO a : d.getRecentActivities()) {
+            if (a.getId() != null) EntityCaches.activities().put(a.getId(), a);
+        }
+    }
+
+    /**
+     * Reads the snapshot of a user.
+     *
+     * @param userId the user id
+     * @return the snapshot, or {@code null} when there is none or it cannot be read
+     */
+    public static Snapshot load(Long userId) {
+        if (userId == null) return null;
+        Path file = fileOf(userId);
+        long start = System.nanoTime();
+        try (DataInputStream in = new DataInputStream(
+            new BufferedInputStream(new GZIPInputStream(Files.newInputStream(file)))
+        )) {
+            if (in.readInt() != MAGIC || in.readShort() != VERSION) {
+                LOGGER.info("Ignoring offline cache with an unknown format: " + file);
+                return null;
+            }
+            Snapshot snapshot = readSnapshot(in);
+            LOGGER.fine(
+                "Offline cache of user " + userId + " read in "
+                + (System.nanoTime() - start) / 1_000_000 + " ms"
+            );
+            return snapshot;
+        } catch (NoSuchFileException ex) {
+            return null;
+        } catch (IOException | RuntimeException ex) {
+            LOGGER.log(Level.WARNING, "Unable to read offline cache " + file, ex);
+            return null;
+        }
+    }
+
+    /**
+     * Writes the snapshot of a user, replacing the previous one.
+     *
+     * @param userId   the user id
+     * @param snapshot the snapshot to store
+     */
+    public static void save(Long userId, Snapshot snapshot) {
+        if (userId == null || snapshot == null) return;
+        Path file = fileOf(userId);
+        Path tmp = null;
+        try {
+            createDirectory();
+            tmp = Files.createTempFile(DIRECTORY, "dashboard-" + userId + "-", ".tmp");
+            try (DataOutputStream out = new DataOutputStream(
+                new BufferedOutputStream(new GZIPOutputStream(Files.newOutputStream(tmp)))
+            )) {
+                out.writeInt(MAGIC);
+                out.writeShort(VERSION);
+                writeSnapshot(out, snapshot);
+            }
+            try {
+                Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException ex) {
+                Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException | RuntimeException ex) {
+            LOGGER.log(Level.WARNING, "Unable to write offline cache " + file, ex);
+            if (tmp != null) {
+                try {
+                    Files.deleteIfExists(tmp);
+                } catch (IOException ignore) {}
+            }
+        }
+    }
+
+    /**
+     * Deletes the snapshot of a user.
+     *
+     * @param userId the user id
+     */
+    public static void delete(Long userId) {
+        if (userId == null) return;
+        try {
+            Files.deleteIfExists(fileOf(userId));
+        } catch (IOException ex) {
+            LOGGER.log(Level.WARNING, "Unable to delete offline cache of user " + userId, ex);
+        }
+    }
+
+    private static Path fileOf(Long userId) {
+        return DIRECTORY.resolve("dashboard-" + userId + ".bin");
+    }
+
+    private static void createDirectory() throws IOException {
+        if (Files.isDirectory(DIRECTORY)) return;
+        Files.createDirectories(DIRECTORY);
+        try {
+            // The cache holds other people's names and emails; keep it private
+            Files.setPosixFilePermissions(DIRECTORY, PosixFilePermissions.fromString("rwx------"));
+        } catch (UnsupportedOperationException ignore) {}
+    }
+
+    // ======== Layout ========
+
+    private static void writeSnapshot(DataOutputStream out, Snapshot s) throws IOException {
+        writeLong(out, s.watermark());
+        DashboardDTO d = s.dashboard();
+
+        out.writeInt(d.getProjects().size());
+        for (ProjectDTO p : d.getProjects()) writeProject(out, p);
+
+        out.writeInt(d.getLatestTrackings().size());
+        for (ProjectTrackingDTO t : d.getLatestTrackings().values()) writeTracking(out, t);
+
+        out.writeInt(d.getRecentActivities().size());
+        for (ProjectActivityDTO a : d.getRecentActivities()) writeActivity(out, a);
+
+        writeLabels(out, d.getProjectNames());
+
+        Map<Long, Long> totals = d.getActivityCounts();
+        out.writeBoolean(totals != null);
+        if (totals != null) {
+            out.writeInt(totals.size());
+            for (Map.Entry<Long, Long> e : totals.entrySet()) {
+                out.writeLong(e.getKey());
+                out.writeLong(e.getValue());
+            }
+        }
+
+        ActivityStatusCounts counts = s.counts();
+        long[] ids = counts == null ? new long[0] : counts.projectIds();
+        out.writeInt(ids.length);
+        for (long id : ids) {
+            out.writeLong(id);
+            for (int b = 0; b < BUCKETS; b++) out.writeLong(counts.getBucket(id, b));
+        }
+
+        out.writeInt(s.persons().size());
+        for (PersonDTO p : s.persons()) writePerson(out, p);
+
+        writeLabels(out, s.labels());
+    }
+
+    private static Snapshot readSnapshot(DataInputStream in) throws IOException {
+        Long watermark = readLong(in);
+
+        int n = in.readInt();
+        List<ProjectDTO> projects = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) projects.add(readProject(in));
+
+        n = in.readInt();
+        Map<Long, ProjectTrackingDTO> latest = new HashMap<>();
+        for (int i = 0; i < n; i++) {
+            ProjectTrackingDTO t = readTracking(in);
+            latest.put(t.getProjectId(), t);
+        }
+
+        n = in.readInt();
+        List<ProjectActivityDTO> activities = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) activities.add(readActivity(in));
+
+        Map<Long, String> names = readLabels(in);
+
+        Map<Long, Long> totals = null;
+        if (in.readBoolean()) {
+            n = in.readInt();
+            totals = new HashMap<>();
+            for (int i = 0; i < n; i++) totals.put(in.readLong(), in.readLong());
+        }
+
+        n = in.readInt();
+        ActivityStatusCounts counts = new ActivityStatusCounts(n);
+        for (int i = 0; i < n; i++) {
+            long id = in.readLong();
+            for (int b = 0; b < BUCKETS; b++) {
+                long c = in.readLong();
+                if (c == 0L) continue;
+                String status = b == ActivityStatusCounts.OTHER
+                    ? null
+                    : String.valueOf(ActivityStatusCounts.STATUSES.charAt(b));
+                counts.add(id, status, c);
+            }
+        }
+
+        n = in.readInt();
+        List<PersonDTO> persons = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) persons.add(readPerson(in));
+
+        Map<Long, String> labels = readLabels(in);
+
+        DashboardDTO dashboard = new DashboardDTO();
+        dashboard.setProjects(projects);
+        dashboard.setLatestTrackings(latest);
+        dashboard.setRecentActivities(activities);
+        dashboard.setProjectNames(names);
+        dashboard.setActivityCounts(totals);
+        return new Snapshot(watermark, dashboard, counts, persons, labels);
+    }
+
+    private static void writeProject(DataOutputStream out, ProjectDTO p) throws IOException {
+        writeLong(out, p.getId());
+        writeString(out, p.getName());
+        writeDate(out, p.getPlannedStartDate());
+        writeDate(out, p.getPlannedEndDate());
+        writeDate(out, p.getActualStartDate());
+        writeDate(out, p.getActualEndDate());
+        writeString(out, p.getStatus());
+        writeDate(out, p.getCreatedAt());
+        writeDate(out, p.getUpdatedAt());
+        writeLong(out, p.getLeaderUserId());
+        writeLong(out, p.getTechLeaderId());
+        writeLong(out, p.getSponsorId());
+    }
+
+    private static ProjectDTO readProject(DataInputStream in) throws IOException {
+        ProjectDTO p = new ProjectDTO();
+        p.setId(readLong(in));
+        p.setName(readString(in));
+        p.setPlannedStartDate(readDate(in));
+        p.setPlannedEndDate(readDate(in));
+        p.setActualStartDate(readDate(in));
+        p.setActualEndDate(readDate(in));
+        p.setStatus(readString(in));
+        p.setCreatedAt(readDate(in));
+        p.setUpdatedAt(readDate(in));
+        p.setLeaderUserId(readLong(in));
+        p.setTechLeaderId(readLong(in));
+        p.setSponsorId(readLong(in));
+        return p;
+    }
+
+    private static void writeTracking(DataOutputStream out, ProjectTrackingDTO t) throws IOException {
+        writeLong(out, t.getId());
+        writeLong(out, t.getProjectId());
+        writeLong(out, t.getCreatedBy());
+        writeString(out, t.getObservations());
+        writeDate(out, t.getTrackingDate());
+        writeInt(out, t.getProgressPercentage());
+        writeDate(out, t.getCreatedAt());
+    }
+
+    private static ProjectTrackingDTO readTracking(DataInputStream in) throws IOException {
+        ProjectTrackingDTO t = new ProjectTrackingDTO();
+        t.setId(readLong(in));
+        t.setProjectId(readLong(in));
+        t.setCreatedBy(readLong(in));
+        t.setObservations(readString(in));
+        t.setTrackingDate(readDate(in));
+        t.setProgressPercentage(readInt(in));
+        t.setCreatedAt(readDate(in));
+        return t;
+    }
+
+    private static void writeActivity(DataOutputStream out, ProjectActivityDTO a) throws IOException {
+        writeLong(out, a.getId());
+        writeLong(out, a.getProjectId());
+        writeLong(out, a.getResponsibleId());
+        writeLong(out, a.getCreatedById());
+        writeString(out, a.getDescription());
+        writeString(out, a.getStatus());
+        writeInt(out, a.getExecutionOrder());
+        writeDate(out, a.getPlannedStartDate());
+        writeDate(out, a.getPlannedEndDate());
+        writeDate(out, a.getActualStartDate());
+        writeDate(out, a.getActualEndDate());
+        writeDate(out, a.getCreatedAt());
+        writeDate(out, a.getUpdatedAt());
+    }
+
+    private static ProjectActivityDTO readActivity(DataInputStream in) throws IOException {
+        ProjectActivityDTO a = new ProjectActivityDTO();
+        a.setId(readLong(in));
+        a.setProjectId(readLong(in));
+        a.setResponsibleId(readLong(in));
+        a.setCreatedById(readLong(in));
+        a.setDescription(readString(in));
+        a.setStatus(readString(in));
+        a.setExecutionOrder(readInt(in));
+        a.setPlannedStartDate(readDate(in));
+        a.setPlannedEndDate(readDate(in));
+        a.setActualStartDate(readDate(in));
+        a.setActualEndDate(readDate(in));
+        a.setCreatedAt(readDate(in));
+        a.setUpdatedAt(readDate(in));
+        return a;
+    }
+
+    private static void writePerson(DataOutputStream out, PersonDTO p) throws IOException {
+        writeLong(out, p.getId());
+        writeString(out, p.getFirstName());
+        writeString(out, p.getLastName());
+        writeString(out, p.getEmail());
+        writeString(out, p.getUsername());
+        writeChar(out, p.getStatus());
+        writeChar(out, p.getIsAdmin());
+    }
+
+    private static PersonDTO readPerson(DataInputStream in) throws IOException {
+        PersonDTO p = new PersonDTO();
+        p.setId(readLong(in));
+        p.setFirstName(readString(in));
+        p.setLastName(readString(in));
+        p.setEmail(readString(in));
+        p.setUsername(readString(in));
+        p.setStatus(readChar(in));
+        p.setIsAdmin(readChar(in));
+        return p;
+    }
+
+    private static void writeLabels(DataOutputStream out, Map<Long, String> labels) throws IOException {
+        out.writeInt(labels.size());
+        for (Map.Entry<Long, String> e : labels.entrySet()) {
+            out.writeLong(e.getKey());
+            writeString(out, e.getValue());
+        }
+    }
+
+    private static Map<Long, String> readLabels(DataInputStream in) throws IOException {
+        int n = in.readInt();
+        Map<Long, String> labels = new HashMap<>();
+        for (int i = 0; i < n; i++) labels.put(in.readLong(), readString(in));
+        return labels;
+    }
+
+    // ======== Nullable values ========
+
+    private static void writeLong(DataOutputStream out, Long v) throws IOException {
+        out.writeBoolean(v != null);
+        if (v != null) out.writeLong(v);
+    }
+
+    private static Long readLong(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readLong() : null;
+    }
+
+    private static void writeInt(DataOutputStream out, Integer v) throws IOException {
+        out.writeBoolean(v != null);
+        if (v != null) out.writeInt(v);
+    }
+
+    private static Integer readInt(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readInt() : null;
+    }
+
+    private static void writeChar(DataOutputStream out, Character v) throws IOException {
+        out.writeBoolean(v != null);
+        if (v != null) out.writeChar(v);
+    }
+
+    private static Character readChar(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readChar() : null;
+    }
+
+    private static void writeDate(DataOutputStream out, Date v) throws IOException {
+        writeLong(out, v == null ? null : v.getTime());
+    }
+
+    private static Date readDate(DataInputStream in) throws IOException {
+        Long millis = readLong(in);
+        return millis == null ? null : new Date(millis);
+    }
+
+    private static void writeString(DataOutputStream out, String v) throws IOException {
+        if (v == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = v.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < 0) return null;
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
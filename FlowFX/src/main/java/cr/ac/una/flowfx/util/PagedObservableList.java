@@ -0,0 +1,255 @@
+package cr.ac.una.flowfx.util;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javafx.beans.property.ReadOnlyBooleanProperty;
+import javafx.beans.property.ReadOnlyBooleanWrapper;
+import javafx.collections.ObservableListBase;
+
+/**
+ * Read-only observable list that loads its content page by page as it is
+ * read.
+ *
+ * <p>Meant as the items of a {@code TableView} or {@code ListView}. Their
+ * virtualized cells only read the rows on screen, so when a cell reads one of
+ * the last {@code prefetch} loaded rows the next page is requested in the
+ * background through {@link AsyncTasks}. When it arrives it is appended and
+ * the control's scroll bar grows. Memory and load time therefore follow what
+ * the user scrolls through, not the size of the table.</p>
+ *
+ * <p>Pages are requested with the last loaded element as the keyset cursor. A
+ * page shorter than the page size marks the end. {@link #reset()} drops the
+ * content and starts again from the first page, for example after the filter
+ * the loader reads has changed. Pages of an earlier generation that arrive
+ * after a reset are discarded. Changes made elsewhere can be applied in place
+ * with {@link #applyChanges}, which keeps the loaded rows and the scroll
+ * position.</p>
+ *
+ * <p>The list cannot be modified or sorted by its users. Like every JavaFX
+ * list bound to a control, it must only be used on the FX thread.</p>
+ *
+ * @param <T> the element type
+ *
+ * @author FlowFX Development Team
+ * @version 1.0
+ * @since 3.0
+ */
+public final class PagedObservableList<T> extends ObservableListBase<T> {
+
+    private static final Logger LOGGER = Logger.getLogger(PagedObservableList.class.getName());
+
+    /**
+     * Loads the page that follows an element.
+     *
+     * @param <T> the element type
+     */
+    @FunctionalInterface
+    public interface PageLoader<T> {
+
+        /**
+         * Blocking call executed on a virtual thread.
+         *
+         * @param last  the last loaded element, or {@code null} for the first page
+         * @param limit maximum elements to return
+         * @return the page, never {@code null}
+         * @throws Exception when the page cannot be loaded
+         */
+        List<T> load(T last, int limit) throws Exception;
+    }
+
+    private final Object owner;
+    private final String name;
+    private final int pageSize;
+    private final int prefetch;
+    private final PageLoader<T> loader;
+    private final List<T> items = new ArrayList<>();
+    private final ReadOnlyBooleanWrapper loading = new ReadOnlyBooleanWrapper(false);
+
+    private boolean exhausted;
+    private boolean failed;
+    private boolean notifying;
+    private int generation;
+    private Future<List<T>> pending;
+
+    /**
+     * Creates an empty list; call {@link #reset()} to load the first page.
+     *
+     * @param owner    the view controller whose navigation cancels pending pages
+     * @param name     thread name used in logs
+     * @param pageSize elements per page
+     * @param loader   loads a page after an element
+     */
+    public PagedObservableList(Object owner, String name, int pageSize, PageLoader<T> loader) {
+        if (pageSize <= 0) throw new IllegalArgumentException("pageSize must be positive");
+        this.owner = owner;
+        this.name = name;
+        this.pageSize = pageSize;
+        this.prefetch = Math.max(1, pageSize / 4);
+        this.loader = loader;
+    }
+
+    @Override
+    public T get(int index) {
+        T value = items.get(index);
+        // Listeners reading the added rows must not chain page loads
+        if (!notifying && index >= items.size() - prefetch) requestNextPage();
+        return value;
+    }
+
+    @Override
+    public int size() {
+        return items.size();
+    }
+
+    /**
+     * Drops the loaded elements and loads the first page again.
+     */
+    public void reset() {
+        generation++;
+        if (pending != null) pending.cancel(true);
+        pending = null;
+        loading.set(false);
+        exhausted = false;
+        failed = false;
+        if (!items.isEmpty()) {
+            List<T> removed = new ArrayList<>(items);
+            beginChange();
+            items.clear();
+            nextRemove(0, removed);
+            endChange();
+        }
+        requestNextPage();
+    }
+
+    /**
+     * Requests the next page unless one is loading, the last page was reached
+     * or the previous request failed (until the next {@link #reset()}).
+     */
+    public void requestNextPage() {
+        if (loading.get() || exhausted || failed) return;
+        loading.set(true);
+        int requested = generation;
+        T last = items.isEmpty() ? null : items.get(items.size() - 1);
+        pending = AsyncTasks.submit(
+            owner,
+            name,
+            () -> loader.load(last, pageSize),
+            page -> {
+                if (requested == generation) append(page);
+            },
+            ex -> {
+                if (requested != generation) return;
+                failed = true;
+                LOGGER.log(Level.WARNING, "Failed to load page of " + name, ex);
+            },
+            // Also runs when the page is cancelled with its view, so it is requested again
+            () -> {
+                if (requested != generation) return;
+                loading.set(false);
+                pending = null;
+            }
+        );
+    }
+
+    /**
+     * Applies rows changed or deleted elsewhere without reloading.
+     *
+     * <p>A loaded element with the key of a changed one is replaced in place
+     * and elements with a deleted key are removed. A changed element that is
+     * not loaded yet is inserted at its place in {@code order} when it sorts
+     * before the last loaded element, or when every page is loaded; otherwise
+     * the page that covers it will bring it. {@code order} must be the order
+     * the loader returns elements in.</p>
+     *
+     * @param changed created or updated elements
+     * @param deleted keys of deleted elements
+     * @param keyOf   the key of an element
+     * @param order   the order of the pages
+     * @param <K>     the key type
+     */
+    public <K> void applyChanges(
+        Collection<? extends T> changed,
+        Collection<K> deleted,
+        Function<? super T, K> keyOf,
+        Comparator<? super T> order
+    ) {
+        Set<K> removedKeys = new HashSet<>(deleted);
+        notifying = true;
+        try {
+            beginChange();
+            for (int i = items.size() - 1; i >= 0; i--) {
+                if (removedKeys.contains(keyOf.apply(items.get(i)))) {
+                    T removed = items.remove(i);
+                    nextRemove(i, removed);
+                }
+            }
+            Map<K, Integer> positions = new HashMap<>();
+            for (int i = 0; i < items.size(); i++) positions.put(keyOf.apply(items.get(i)), i);
+            // A row changed twice in the batch is inserted once, as last seen
+            Map<K, T> added = new LinkedHashMap<>();
+            for (T element : changed) {
+                K key = keyOf.apply(element);
+                Integer i = positions.get(key);
+                if (i != null) {
+                    T old = items.set(i, element);
+                    nextSet(i, old);
+                } else if (!removedKeys.contains(key)) {
+                    added.put(key, element);
+                }
+            }
+            for (T element : added.values()) {
+                boolean inRange = exhausted
+                    || (!items.isEmpty() && order.compare(element, items.get(items.size() - 1)) < 0);
+                if (!inRange) continue;
+                int at = Collections.binarySearch(items, element, order);
+                if (at < 0) at = -at - 1;
+                items.add(at, element);
+                nextAdd(at, at + 1);
+            }
+            endChange();
+        } finally {
+            notifying = false;
+        }
+    }
+
+    /**
+     * @return whether every page has been loaded
+     */
+    public boolean isExhausted() {
+        return exhausted;
+    }
+
+    /**
+     * @return whether a page is being loaded
+     */
+    public ReadOnlyBooleanProperty loadingProperty() {
+        return loading.getReadOnlyProperty();
+    }
+
+    private void append(List<T> page) {
+        if (page == null || page.size() < pageSize) exhausted = true;
+        if (page == null || page.isEmpty()) return;
+        int from = items.size();
+        notifying = true;
+        try {
+            beginChange();
+            items.addAll(page);
+            nextAdd(from, items.size());
+            endChange();
+        } finally {
+            notifying = false;
+        }
+    }
+}
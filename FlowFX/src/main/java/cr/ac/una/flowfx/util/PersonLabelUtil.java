@@ -1,12 +1,12 @@
 package cr.ac.una.flowfx.util;
 
 import cr.ac.una.flowfx.model.PersonDTO;
-import cr.ac.una.flowfx.service.PersonService;
+import cr.ac.una.flowfx.service.PersonDirectory;
 import io.github.palexdev.materialfx.controls.MFXTextField;
 import javafx.application.Platform;
 
-import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.function.Consumer;
 import java.util.logging.Logger;
 
@@ -16,15 +16,18 @@ import java.util.logging.Logger;
  * <p>This utility provides comprehensive person name management functionality including:
  * <ul>
  *   <li>Synchronous and asynchronous person name resolution</li>
- *   <li>Intelligent caching system using AppContext for performance</li>
+ *   <li>Bounded, expiring label cache shared through {@link EntityCaches}</li>
+ *   <li>Batched lookups of uncached people through {@link PersonDirectory}</li>
  *   <li>Direct UI field updates with loading states</li>
  *   <li>Thread-safe operations for concurrent access</li>
  *   <li>Fallback mechanisms for service unavailability</li>
  * </ul>
  * 
  * <p><strong>Caching Strategy:</strong><br>
- * Person labels are cached in AppContext with the key pattern "person.{ID}.label".
- * This provides application-wide consistency and reduces service calls.
+ * Person labels are cached in {@link EntityCaches#personLabels()}, an LRU cache with a
+ * time-to-live that is invalidated when a person is updated or deleted. Misses are
+ * resolved through {@link PersonDirectory}, which collapses duplicate requests and
+ * batches concurrent misses into a single service call.
  * 
  * <p><strong>Threading Model:</strong><br>
  * Async operations use daemon threads to prevent blocking the JavaFX Application Thread.
@@ -41,9 +44,6 @@ import java.util.logging.Logger;
 public final class PersonLabelUtil {
 
     private static final Logger LOGGER = Logger.getLogger(PersonLabelUtil.class.getName());
-    
-    // Thread pool for async operations (using cached thread pool for efficiency)
-    private static final ConcurrentHashMap<Long, CompletableFuture<String>> PENDING_REQUESTS = new ConcurrentHashMap<>();
 
     // Private constructor to prevent instantiation of utility class
     private PersonLabelUtil() {
@@ -66,19 +66,19 @@ public final class PersonLabelUtil {
     }
 
     /**
-     * Caches a person label in the application context.
+     * Caches a person label in the shared label cache.
      * 
      * @param personId the person ID to cache the label for
      * @param label the display label to cache
      */
     public static void cachePersonLabel(Long personId, String label) {
         if (personId != null && personId > 0 && label != null && !label.isBlank()) {
-            AppContext.getInstance().set("person." + personId + ".label", label);
+            EntityCaches.personLabels().put(personId, label);
         }
     }
 
     /**
-     * Retrieves a cached person label from the application context.
+     * Retrieves a cached person label, falling back to a cached person record.
      * 
      * @param personId the person ID to retrieve the cached label for
      * @return the cached label, or null if not found or invalid
@@ -86,8 +86,12 @@ public final class PersonLabelUtil {
     public static String getCachedPersonLabel(long personId) {
         if (personId <= 0) return null;
         
-        Object label = AppContext.getInstance().get("person." + personId + ".label");
-        return label instanceof String stringLabel ? stringLabel : null;
+        String label = EntityCaches.personLabels().get(personId);
+        if (label != null) return label;
+        
+        PersonDTO known = PersonDirectory.getInstance().getIfPresent(personId);
+        String knownLabel = buildPersonLabel(known);
+        return knownLabel.isBlank() ? null : knownLabel;
     }
 
     /**
@@ -109,31 +113,17 @@ public final class PersonLabelUtil {
             return cachedLabel;
         }
         
-        // Fetch from service
+        // Fetch through the directory (batched with concurrent lookups)
         try {
-            LOGGER.fine("Fetching person from service for ID: " + personId);
-            PersonService personService = new PersonService();
-            Respuesta response = personService.find(personId);
-            
-            if (Boolean.TRUE.equals(response.getEstado())) {
-                Object personData = response.getResultado("Person");
-                if (personData instanceof PersonDTO person) {
-                    String personName = buildPersonLabel(person);
-                    if (!personName.isBlank()) {
-                        LOGGER.fine("Successfully resolved person name for ID " + personId + ": " + personName);
-                        cachePersonLabel(personId, personName);
-                        return personName;
-                    } else {
-                        LOGGER.warning("Person DTO has empty name fields for ID: " + personId);
-                    }
-                } else {
-                    LOGGER.warning("Service did not return PersonDTO for ID " + personId + ", got: " + 
-                        (personData != null ? personData.getClass().getSimpleName() : "null"));
-                }
-            } else {
-                LOGGER.warning("Person service returned error for ID " + personId + ": " + 
-                    (response != null ? response.getMensaje() : "null response"));
+            LOGGER.fine("Fetching person from directory for ID: " + personId);
+            PersonDTO person = PersonDirectory.getInstance().find(personId);
+            String personName = buildPersonLabel(person);
+            if (!personName.isBlank()) {
+                LOGGER.fine("Successfully resolved person name for ID " + personId + ": " + personName);
+                cachePersonLabel(personId, personName);
+                return personName;
             }
+            LOGGER.warning("Person not found or has empty name fields for ID: " + personId);
         } catch (Exception ex) {
             LOGGER.warning("Sync person fetch failed for ID " + personId + ": " + ex.getMessage());
         }
@@ -162,34 +152,16 @@ public final class PersonLabelUtil {
             return;
         }
         
-        // Check if request is already pending
-        CompletableFuture<String> existingRequest = PENDING_REQUESTS.get(personId);
-        if (existingRequest != null) {
-            existingRequest.thenAccept(callback);
-            return;
-        }
-        
-        // Create new async request
-        CompletableFuture<String> future = CompletableFuture.supplyAsync(() -> {
-            try {
-                PersonService personService = new PersonService();
-                Respuesta response = personService.find(personId);
-                
-                return processPersonResponse(response, personId);
-            } catch (Exception ex) {
-                LOGGER.fine("Async person fetch failed for ID " + personId + ": " + ex.getMessage());
-                return "ID: " + personId;
-            }
-        }).whenComplete((result, throwable) -> {
-            // Remove from pending requests when complete
-            PENDING_REQUESTS.remove(personId);
-        });
-        
-        // Store pending request to avoid duplicates
-        PENDING_REQUESTS.put(personId, future);
-        
-        // Execute callback when complete
-        future.thenAccept(callback);
+        // The directory shares pending lookups and batches misses
+        PersonDirectory.getInstance().get(personId)
+            .handle((person, throwable) -> {
+                if (throwable != null) {
+                    LOGGER.fine("Async person fetch failed for ID " + personId + ": " + throwable.getMessage());
+                    return "ID: " + personId;
+                }
+                return processPerson(person, personId);
+            })
+            .thenAccept(callback);
     }
 
     /**
@@ -280,69 +252,44 @@ public final class PersonLabelUtil {
             return;
         }
         
-        CompletableFuture<?>[] futures = new CompletableFuture[personIds.length];
-        
-        for (int i = 0; i < personIds.length; i++) {
-            final long personId = personIds[i];
-            
-            if (personId <= 0 || getCachedPersonLabel(personId) != null) {
-                // Skip if invalid or already cached
-                futures[i] = CompletableFuture.completedFuture(null);
-                continue;
+        List<Long> missing = new ArrayList<>();
+        for (long personId : personIds) {
+            // Skip if invalid or already cached
+            if (personId > 0 && getCachedPersonLabel(personId) == null) {
+                missing.add(personId);
             }
-            
-            futures[i] = CompletableFuture.runAsync(() -> {
-                try {
-                    PersonService personService = new PersonService();
-                    Respuesta response = personService.find(personId);
-                    
-                    if (Boolean.TRUE.equals(response.getEstado())) {
-                        Object personData = response.getResultado("Person");
-                        if (personData instanceof PersonDTO person) {
-                            String personName = buildPersonLabel(person);
-                            if (!personName.isBlank()) {
-                                cachePersonLabel(personId, personName);
-                            }
-                        }
-                    }
-                } catch (Exception ex) {
-                    LOGGER.fine("Prefetch failed for person ID " + personId + ": " + ex.getMessage());
-                }
-            });
         }
         
-        // Wait for all to complete and execute callback
-        if (onComplete != null) {
-            CompletableFuture.allOf(futures).thenRun(() -> Platform.runLater(onComplete));
-        }
+        PersonDirectory.getInstance().getAll(missing).thenAccept(people -> {
+            people.forEach((id, person) -> {
+                String personName = buildPersonLabel(person);
+                if (!personName.isBlank()) {
+                    cachePersonLabel(id, personName);
+                }
+            });
+            if (onComplete != null) Platform.runLater(onComplete);
+        });
     }
 
     /**
-     * Processes person service response and returns display text.
+     * Processes a resolved person and returns display text.
      * 
-     * @param response the service response to process
+     * @param person the resolved person, or null when not found
      * @param personId the person ID for fallback display
      * @return the processed display text
      */
-    private static String processPersonResponse(Respuesta response, long personId) {
-        if (Boolean.TRUE.equals(response.getEstado())) {
-            Object personData = response.getResultado("Person");
-            if (personData instanceof PersonDTO person) {
-                String personLabel = buildPersonLabel(person);
-                if (!personLabel.isBlank()) {
-                    LOGGER.fine("Successfully processed person response for ID " + personId + ": " + personLabel);
-                    cachePersonLabel(personId, personLabel);
-                    return personLabel;
-                } else {
-                    LOGGER.warning("Processed person response has empty label for ID: " + personId);
-                }
+    private static String processPerson(PersonDTO person, long personId) {
+        if (person != null) {
+            String personLabel = buildPersonLabel(person);
+            if (!personLabel.isBlank()) {
+                LOGGER.fine("Successfully processed person for ID " + personId + ": " + personLabel);
+                cachePersonLabel(personId, personLabel);
+                return personLabel;
             } else {
-                LOGGER.warning("Person response did not contain PersonDTO for ID " + personId + ", got: " + 
-                    (personData != null ? personData.getClass().getSimpleName() : "null"));
+                LOGGER.warning("Processed person has empty label for ID: " + personId);
             }
         } else {
-            LOGGER.warning("Person service response failed for ID " + personId + ": " + 
-                (response != null ? response.getMensaje() : "null response"));
+            LOGGER.warning("Person not found for ID " + personId);
         }
         LOGGER.warning("Returning fallback ID format for person ID: " + personId);
         return "ID: " + personId;
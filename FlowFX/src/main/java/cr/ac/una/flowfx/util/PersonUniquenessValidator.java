@@ -0,0 +1,151 @@
+package cr.ac.una.flowfx.util;
+
+import cr.ac.una.flowfx.model.PersonUniquenessDTO;
+import cr.ac.una.flowfx.service.PersonService;
+import io.github.palexdev.materialfx.controls.MFXTextField;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javafx.css.PseudoClass;
+import javafx.scene.control.Tooltip;
+
+/**
+ * Checks the id, email and username of a sign-up form against the server as
+ * the user leaves each field.
+ *
+ * <p>When a field loses focus with a value different from the one last
+ * checked, only that value is sent to {@link PersonService#checkUniqueness}
+ * in the background, so the form never waits and never downloads people. A
+ * value that already belongs to someone marks its field with the
+ * {@code :taken} pseudo-class and a tooltip. The submit handler asks
+ * {@link #conflictMessage()} before creating the person; the server still
+ * enforces the unique keys, so a result that has not arrived yet never lets a
+ * duplicate through.</p>
+ *
+ * <p>Must be used on the FX thread.</p>
+ *
+ * @author FlowFX Development Team
+ * @version 1.0
+ * @since 3.0
+ */
+public final class PersonUniquenessValidator {
+
+    private static final Logger LOGGER = Logger.getLogger(PersonUniquenessValidator.class.getName());
+
+    private static final PseudoClass TAKEN = PseudoClass.getPseudoClass("taken");
+
+    private final Object owner;
+    private final Check id;
+    private final Check email;
+    private final Check username;
+
+    /**
+     * Starts watching the given fields.
+     *
+     * @param owner         the view controller whose navigation cancels pending checks
+     * @param idField       the id (cédula) field
+     * @param emailField    the email field
+     * @param usernameField the username field
+     */
+    public PersonUniquenessValidator(
+        Object owner,
+        MFXTextField idField,
+        MFXTextField emailField,
+        MFXTextField usernameField
+    ) {
+        this.owner = owner;
+        this.id = new Check(idField, "Ya existe una persona con esta cédula.");
+        this.email = new Check(emailField, "Este correo electrónico ya está registrado.");
+        this.username = new Check(usernameField, "Este nombre de usuario ya está en uso.");
+    }
+
+    /**
+     * @return the message of the first field known to be taken, or
+     *         {@code null} when no conflict has been found
+     */
+    public String conflictMessage() {
+        for (Check c : new Check[] { id, email, username }) {
+            if (c.taken && c.value.equals(c.current())) return c.message;
+        }
+        return null;
+    }
+
+    /**
+     * Forgets every result and removes the marks, e.g. when the form is cleared.
+     */
+    public void clear() {
+        id.reset();
+        email.reset();
+        username.reset();
+    }
+
+    private void check(Check c) {
+        String value = c.current();
+        if (value.equals(c.value)) return;
+        c.mark(false);
+        c.value = value;
+        if (value.isEmpty()) return;
+        Long idValue = null;
+        if (c == id) {
+            try {
+                idValue = Long.valueOf(value);
+            } catch (NumberFormatException ex) {
+                return;
+            }
+        }
+        Long checkedId = idValue;
+        String checkedEmail = c == email ? value : null;
+        String checkedUsername = c == username ? value : null;
+        AsyncTasks.submit(
+            owner,
+            "person-uniqueness",
+            () -> new PersonService().checkUniqueness(checkedId, checkedEmail, checkedUsername),
+            r -> {
+                // The user may have typed again while the check was running
+                if (!value.equals(c.value)) return;
+                Object result = Boolean.TRUE.equals(r.getEstado()) ? r.getResultado("Uniqueness") : null;
+                if (!(result instanceof PersonUniquenessDTO dto)) {
+                    LOGGER.fine("Uniqueness check unavailable: " + r.getMensaje());
+                    return;
+                }
+                Boolean taken = c == id ? dto.getIdTaken() : c == email ? dto.getEmailTaken() : dto.getUsernameTaken();
+                c.mark(Boolean.TRUE.equals(taken));
+            },
+            ex -> LOGGER.log(Level.WARNING, "Uniqueness check failed", ex)
+        );
+    }
+
+    private final class Check {
+
+        private final MFXTextField field;
+        private final String message;
+        private final Tooltip tooltip;
+        private String value = "";
+        private boolean taken;
+
+        private Check(MFXTextField field, String message) {
+            this.field = field;
+            this.message = message;
+            this.tooltip = new Tooltip(message);
+            field.focusedProperty().addListener((obs, was, focused) -> {
+                if (!focused) check(this);
+            });
+        }
+
+        private String current() {
+            String text = field.getText();
+            return text == null ? "" : text.trim();
+        }
+
+        private void mark(boolean isTaken) {
+            taken = isTaken;
+            field.pseudoClassStateChanged(TAKEN, isTaken);
+            if (isTaken) Tooltip.install(field, tooltip);
+            else Tooltip.uninstall(field, tooltip);
+        }
+
+        private void reset() {
+            value = "";
+            mark(false);
+        }
+    }
+}
@@ -1,7 +1,15 @@
 package cr.ac.una.flowfx.util;
 
+import cr.ac.una.flowfx.model.ProjectActivityDTO;
 import cr.ac.una.flowfx.model.ProjectActivityViewModel;
+import cr.ac.una.flowfx.model.ProjectDTO;
 import cr.ac.una.flowfx.model.ProjectViewModel;
+import cr.ac.una.flowfx.service.ProjectActivityService;
+import javafx.beans.binding.Bindings;
+import javafx.concurrent.Task;
+import javafx.concurrent.Worker;
+import javafx.scene.control.Alert;
+import javafx.scene.control.Labeled;
 import javafx.stage.FileChooser;
 import javafx.stage.Stage;
 import org.apache.poi.ss.usermodel.BorderStyle;
@@ -14,16 +22,31 @@ import org.apache.poi.ss.usermodel.IndexedColors;
 import org.apache.poi.ss.usermodel.Row;
 import org.apache.poi.ss.usermodel.Sheet;
 import org.apache.poi.ss.usermodel.VerticalAlignment;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.ss.util.WorkbookUtil;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
 import org.apache.poi.xssf.usermodel.XSSFFont;
-import org.apache.poi.xssf.usermodel.XSSFWorkbook;
 
 import java.io.File;
-import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.Date;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.logging.Level;
 import java.util.logging.Logger;
 
 /**
@@ -34,11 +57,20 @@ import java.util.logging.Logger;
  *   <li>Project metadata and stakeholder information</li>
  *   <li>Activity schedules with responsible person details</li>
  *   <li>Professional styling and formatting</li>
- *   <li>Automatic column sizing and freeze panes</li>
+ *   <li>Column widths computed while writing, and freeze panes</li>
  * </ul>
  * 
  * <p>The exported Excel file contains a complete project schedule with activities
  * sorted by execution order and includes planned vs actual dates for progress tracking.
+ * A batch mode writes every project of a list into one workbook, one sheet per project.
+ * 
+ * <p>Workbooks are written with a streaming {@link SXSSFWorkbook}: only the last
+ * {@value #ROW_WINDOW} rows of a sheet are kept in memory, older rows are flushed
+ * to a temporary file. Since flushed rows cannot be measured again, column widths
+ * come from the longest value written to each column instead of
+ * {@code autoSizeColumn}. The export runs as a {@link Task} on a background
+ * thread; it reports its progress, can be cancelled, and only replaces the
+ * chosen file once the workbook is complete.
  * 
  * @author FlowFX Development Team
  * @version 1.0
@@ -48,42 +80,134 @@ public final class ProjectExcelExportUtil {
 
     private static final Logger LOGGER = Logger.getLogger(ProjectExcelExportUtil.class.getName());
 
+    // Rows kept in memory per sheet before older ones are flushed to disk
+    private static final int ROW_WINDOW = 100;
+    private static final int COLUMN_COUNT = 8;
+    private static final int DATE_COLUMN_CHARS = 10;
+    private static final int MAX_COLUMN_CHARS = 60;
+    // Excel limit for sheet names
+    private static final int MAX_SHEET_NAME = 31;
+
     // Private constructor to prevent instantiation of utility class
     private ProjectExcelExportUtil() {
         throw new UnsupportedOperationException("This is a utility class and cannot be instantiated");
     }
 
     /**
-     * Exports a project schedule to Excel format.
+     * Asks for a target file and exports a project schedule to it in the background.
      * 
+     * @param owner the view controller the export belongs to; leaving the view cancels it
      * @param parentStage the parent stage for the file chooser dialog
      * @param projectViewModel the project data to export
      * @param activities the list of project activities
      * @param personNameResolver function to resolve person names by ID
      * @param statusMapper function to map status codes to display text
-     * @return true if export was successful, false otherwise
+     * @return the running export, whose value is the written file, or null if no file was chosen
      */
-    public static boolean exportProjectSchedule(
+    public static Task<File> exportProjectSchedule(
+            Object owner,
             Stage parentStage,
             ProjectViewModel projectViewModel,
             List<ProjectActivityViewModel> activities,
             PersonNameResolver personNameResolver,
             StatusMapper statusMapper) {
         
-        try {
-            configureModuleAccess();
-            
-            File selectedFile = showExcelSaveDialog(parentStage, projectViewModel.getName());
-            if (selectedFile == null) return false;
-            
-            generateExcelWorkbook(selectedFile, projectViewModel, activities, personNameResolver, statusMapper);
-            LOGGER.info("Excel export completed: " + selectedFile.getAbsolutePath());
-            return true;
-            
-        } catch (Exception ex) {
-            LOGGER.warning("Excel export failed: " + ex.getMessage());
-            return false;
-        }
+        configureModuleAccess();
+        
+        File selectedFile = showExcelSaveDialog(parentStage, projectViewModel.getName(), "-schedule.xlsx");
+        if (selectedFile == null) return null;
+        
+        // The view keeps editing its list; export a snapshot
+        List<ProjectActivityViewModel> snapshot = List.copyOf(activities);
+        ExportTask task = new ExportTask(selectedFile) {
+            @Override
+            void writeSheets(SXSSFWorkbook workbook, ExcelStyleManager styleManager) {
+                updateMessage(projectViewModel.getName());
+                writeScheduleSheet(workbook, styleManager, "Schedule", projectViewModel, snapshot,
+                    personNameResolver, statusMapper, this, 0, 1);
+            }
+        };
+        return AsyncTasks.execute(owner, "excel-export", task);
+    }
+
+    /**
+     * Asks for a target file and exports the schedules of several projects to
+     * it in the background, one sheet per project. Activities are fetched one
+     * project at a time while the previous sheet is written.
+     * 
+     * @param owner the view controller the export belongs to; leaving the view cancels it
+     * @param parentStage the parent stage for the file chooser dialog
+     * @param projects the projects to export, in sheet order
+     * @param personNameResolver function to resolve person names by ID
+     * @param statusMapper function to map status codes to display text
+     * @return the running export, whose value is the written file, or null if no file was chosen
+     */
+    public static Task<File> exportProjects(
+            Object owner,
+            Stage parentStage,
+            List<ProjectDTO> projects,
+            PersonNameResolver personNameResolver,
+            StatusMapper statusMapper) {
+        
+        configureModuleAccess();
+        
+        File selectedFile = showExcelSaveDialog(parentStage, "projects", "-portfolio.xlsx");
+        if (selectedFile == null) return null;
+        
+        List<ProjectDTO> snapshot = List.copyOf(projects);
+        ExportTask task = new ExportTask(selectedFile) {
+            @Override
+            void writeSheets(SXSSFWorkbook workbook, ExcelStyleManager styleManager) throws Exception {
+                Set<String> sheetNames = new HashSet<>();
+                Future<List<ProjectActivityViewModel>> next = snapshot.isEmpty() ? null : prefetch(snapshot.get(0));
+                try {
+                    for (int i = 0; i < snapshot.size(); i++) {
+                        ProjectViewModel project = new ProjectViewModel(snapshot.get(i));
+                        updateMessage("(" + (i + 1) + "/" + snapshot.size() + ") " + project.getName());
+                        List<ProjectActivityViewModel> activities = await(next);
+                        next = i + 1 < snapshot.size() ? prefetch(snapshot.get(i + 1)) : null;
+                        writeScheduleSheet(workbook, styleManager, uniqueSheetName(project.getName(), sheetNames),
+                            project, activities, personNameResolver, statusMapper, this, i, snapshot.size());
+                    }
+                    if (snapshot.isEmpty()) {
+                        workbook.createSheet("Schedule");
+                    }
+                } finally {
+                    if (next != null) next.cancel(true);
+                }
+            }
+        };
+        return AsyncTasks.execute(owner, "excel-batch-export", task);
+    }
+
+    /**
+     * Shows the progress of an export on the control that started it, e.g.
+     * "Cancelar exportación (42%)", and reports the outcome when it ends. The
+     * control keeps working as the cancel button meanwhile.
+     * 
+     * @param control the button that started the export
+     * @param task the running export
+     */
+    public static void showProgressOn(Labeled control, Task<File> task) {
+        String idleText = control.getText();
+        control.textProperty().bind(Bindings.createStringBinding(
+            () -> "Cancelar exportación (" + Math.round(Math.max(0, task.getProgress()) * 100) + "%)",
+            task.progressProperty()));
+        task.stateProperty().addListener((obs, oldState, state) -> {
+            if (state != Worker.State.SUCCEEDED && state != Worker.State.FAILED && state != Worker.State.CANCELLED) {
+                return;
+            }
+            control.textProperty().unbind();
+            control.setText(idleText);
+            if (state == Worker.State.SUCCEEDED) {
+                new Mensaje().show(Alert.AlertType.INFORMATION, "Exportación completada",
+                    "Archivo guardado en:\n" + task.getValue().getAbsolutePath());
+            } else if (state == Worker.State.FAILED) {
+                Throwable error = task.getException();
+                new Mensaje().show(Alert.AlertType.ERROR, "Error",
+                    "No se pudo exportar a Excel: " + (error != null ? error.getMessage() : "error desconocido"));
+            }
+        });
     }
 
     /**
@@ -104,17 +228,17 @@ public final class ProjectExcelExportUtil {
     /**
      * Shows Excel save dialog.
      */
-    private static File showExcelSaveDialog(Stage parentStage, String projectName) {
+    private static File showExcelSaveDialog(Stage parentStage, String baseName, String suffix) {
         FileChooser fileChooser = new FileChooser();
         fileChooser.setTitle("Save Project Schedule (.xlsx)");
         fileChooser.getExtensionFilters().add(
             new FileChooser.ExtensionFilter("Excel Workbook (*.xlsx)", "*.xlsx"));
         
-        String defaultName = sanitizeFileName(projectName);
+        String defaultName = sanitizeFileName(baseName);
         if (defaultName == null || defaultName.isBlank()) {
-            defaultName = "project-schedule";
+            defaultName = "project";
         }
-        fileChooser.setInitialFileName(defaultName + "-schedule.xlsx");
+        fileChooser.setInitialFileName(defaultName + suffix);
         
         File selectedFile = fileChooser.showSaveDialog(parentStage);
         return ensureXlsxExtension(selectedFile);
@@ -143,26 +267,169 @@ public final class ProjectExcelExportUtil {
     }
 
     /**
-     * Generates the Excel workbook.
+     * Returns a valid sheet name for a project that no earlier sheet uses.
+     * Sheet names are compared ignoring case, as Excel does.
+     */
+    private static String uniqueSheetName(String projectName, Set<String> used) {
+        String base = WorkbookUtil.createSafeSheetName(
+            projectName == null || projectName.isBlank() ? "Project" : projectName.trim());
+        String name = base;
+        for (int n = 2; !used.add(name.toLowerCase(Locale.ROOT)); n++) {
+            String suffix = " (" + n + ")";
+            name = base.substring(0, Math.min(base.length(), MAX_SHEET_NAME - suffix.length())) + suffix;
+        }
+        return name;
+    }
+
+    /**
+     * Starts fetching the activities of a project on another virtual thread.
+     */
+    private static Future<List<ProjectActivityViewModel>> prefetch(ProjectDTO project) {
+        return AsyncTasks.executor().submit(() -> loadActivities(project));
+    }
+
+    /**
+     * Waits for prefetched activities, rethrowing the fetch failure.
+     */
+    private static List<ProjectActivityViewModel> await(Future<List<ProjectActivityViewModel>> activities) throws Exception {
+        try {
+            return activities.get();
+        } catch (ExecutionException ex) {
+            throw ex.getCause() instanceof Exception cause ? cause : ex;
+        }
+    }
+
+    /**
+     * Fetches the activities of a project. Blocks on the web service.
+     */
+    private static List<ProjectActivityViewModel> loadActivities(ProjectDTO project) {
+        Respuesta response = new ProjectActivityService().findByProject(project.getId());
+        if (response == null || !Boolean.TRUE.equals(response.getEstado())) {
+            throw new IllegalStateException("Could not load activities of project " + project.getId() + ": "
+                + (response != null ? response.getMensaje() : "null response"));
+        }
+        List<ProjectActivityViewModel> activities = new ArrayList<>();
+        if (response.getResultado("ProjectActivities") instanceof List<?> list) {
+            for (Object o : list) {
+                if (o instanceof ProjectActivityDTO dto) activities.add(new ProjectActivityViewModel(dto));
+            }
+        }
+        return activities;
+    }
+
+    /**
+     * Background export of a workbook into a file.
+     * 
+     * <p>The workbook is written to a temporary file next to the target and moved
+     * over it when complete, so a cancelled or failed export leaves the target
+     * untouched.</p>
+     */
+    private abstract static class ExportTask extends Task<File> implements RowProgress {
+
+        private final File target;
+
+        ExportTask(File target) {
+            this.target = target;
+        }
+
+        /**
+         * Writes the sheets of the workbook, reporting each row.
+         */
+        abstract void writeSheets(SXSSFWorkbook workbook, ExcelStyleManager styleManager) throws Exception;
+
+        @Override
+        protected File call() throws Exception {
+            Path targetPath = target.toPath().toAbsolutePath();
+            Path partial = Files.createTempFile(targetPath.getParent(), ".flowfx-export-", ".xlsx.part");
+            SXSSFWorkbook workbook = new SXSSFWorkbook(ROW_WINDOW);
+            workbook.setCompressTempFiles(true);
+            try {
+                writeSheets(workbook, new ExcelStyleManager(workbook));
+                checkCancelled();
+                updateMessage("Writing " + target.getName());
+                try (OutputStream out = Files.newOutputStream(partial)) {
+                    workbook.write(out);
+                }
+                checkCancelled();
+                moveIntoPlace(partial, targetPath);
+                LOGGER.info("Excel export completed: " + targetPath);
+                return target;
+            } finally {
+                workbook.dispose();
+                workbook.close();
+                Files.deleteIfExists(partial);
+            }
+        }
+
+        @Override
+        public void rowWritten(double done, double total) {
+            checkCancelled();
+            updateProgress(done, total);
+        }
+
+        @Override
+        protected void failed() {
+            LOGGER.log(Level.WARNING, "Excel export failed: " + target, getException());
+        }
+
+        @Override
+        protected void cancelled() {
+            LOGGER.info("Excel export cancelled: " + target);
+        }
+
+        private void checkCancelled() {
+            if (isCancelled()) throw new CancellationException("Excel export cancelled");
+        }
+
+        private static void moveIntoPlace(Path source, Path target) throws IOException {
+            try {
+                Files.move(source, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException ex) {
+                Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+    }
+
+    /**
+     * Receives the progress of an export after each data row.
      */
-    private static void generateExcelWorkbook(
-            File file, 
-            ProjectViewModel projectViewModel, 
+    @FunctionalInterface
+    private interface RowProgress {
+        /**
+         * Reports a row written. May throw {@link CancellationException} to stop the export.
+         * 
+         * @param done units of work done
+         * @param total units of work in the whole export
+         */
+        void rowWritten(double done, double total);
+    }
+
+    /**
+     * Writes one project schedule as a new sheet.
+     * 
+     * @param part index of this sheet among the sheets of the export
+     * @param parts number of sheets of the export
+     */
+    private static void writeScheduleSheet(
+            Workbook workbook,
+            ExcelStyleManager styleManager,
+            String sheetName,
+            ProjectViewModel projectViewModel,
             List<ProjectActivityViewModel> activities,
             PersonNameResolver personNameResolver,
-            StatusMapper statusMapper) throws Exception {
+            StatusMapper statusMapper,
+            RowProgress progress,
+            int part,
+            int parts) {
         
-        try (XSSFWorkbook workbook = new XSSFWorkbook();
-             FileOutputStream fileOutput = new FileOutputStream(file)) {
-            
-            Sheet sheet = workbook.createSheet("Schedule");
-            ExcelStyleManager styleManager = new ExcelStyleManager(workbook);
-            
-            int currentRow = writeExcelContent(sheet, styleManager, projectViewModel, activities, personNameResolver, statusMapper);
-            configureSheetPresentation(sheet, currentRow, activities.size());
-            
-            workbook.write(fileOutput);
-        }
+        Sheet sheet = workbook.createSheet(sheetName);
+        ColumnWidths widths = new ColumnWidths(COLUMN_COUNT);
+        // Each sheet is one unit of progress, split among its project and activity rows
+        RowProgress sheetProgress = (done, total) -> progress.rowWritten(part + done / total, parts);
+        
+        int currentRow = writeExcelContent(sheet, styleManager, widths, projectViewModel, activities,
+            personNameResolver, statusMapper, sheetProgress);
+        configureSheetPresentation(sheet, widths, currentRow, activities.size());
     }
 
     /**
@@ -171,34 +438,28 @@ public final class ProjectExcelExportUtil {
     private static int writeExcelContent(
             Sheet sheet, 
             ExcelStyleManager styleManager, 
+            ColumnWidths widths,
             ProjectViewModel projectViewModel,
             List<ProjectActivityViewModel> activities,
             PersonNameResolver personNameResolver,
-            StatusMapper statusMapper) {
+            StatusMapper statusMapper,
+            RowProgress progress) {
         
         int currentRow = 0;
         currentRow = writeProjectHeader(sheet, styleManager, currentRow, projectViewModel);
-        currentRow = writeProjectMetadata(sheet, styleManager, currentRow, projectViewModel, personNameResolver);
+        currentRow = writeProjectMetadata(sheet, styleManager, widths, currentRow, projectViewModel, personNameResolver);
         currentRow++; // Empty spacer row
-        currentRow = writeScheduleData(sheet, styleManager, currentRow, projectViewModel, activities, personNameResolver, statusMapper);
+        currentRow = writeScheduleData(sheet, styleManager, widths, currentRow, projectViewModel, activities,
+            personNameResolver, statusMapper, progress);
         return currentRow;
     }
 
     /**
      * Configures sheet presentation (freeze panes, column sizing).
      */
-    private static void configureSheetPresentation(Sheet sheet, int totalRows, int activitiesCount) {
+    private static void configureSheetPresentation(Sheet sheet, ColumnWidths widths, int totalRows, int activitiesCount) {
         sheet.createFreezePane(0, totalRows - activitiesCount);
-        autoSizeColumns(sheet, 8);
-    }
-
-    /**
-     * Auto-sizes columns in the sheet.
-     */
-    private static void autoSizeColumns(Sheet sheet, int columnCount) {
-        for (int i = 0; i < columnCount; i++) {
-            sheet.autoSizeColumn(i);
-        }
+        widths.apply(sheet);
     }
 
     /**
@@ -208,6 +469,7 @@ public final class ProjectExcelExportUtil {
         Row titleRow = sheet.createRow(startRow++);
         String projectName = projectViewModel.getName() == null ? "" : projectViewModel.getName().trim();
         Cell titleCell = titleRow.createCell(0);
+        // The title overflows into the empty cells beside it; it does not size column 0
         titleCell.setCellValue("Project Schedule: " + projectName);
         titleCell.setCellStyle(styleManager.getTitleStyle());
         return startRow;
@@ -216,36 +478,32 @@ public final class ProjectExcelExportUtil {
     /**
      * Writes project metadata to Excel.
      */
-    private static int writeProjectMetadata(Sheet sheet, ExcelStyleManager styleManager, int startRow, ProjectViewModel projectViewModel, PersonNameResolver personNameResolver) {
-        startRow = writeGenerationDate(sheet, styleManager, startRow);
-        startRow = writeStakeholders(sheet, styleManager, startRow, projectViewModel, personNameResolver);
+    private static int writeProjectMetadata(Sheet sheet, ExcelStyleManager styleManager, ColumnWidths widths, int startRow, ProjectViewModel projectViewModel, PersonNameResolver personNameResolver) {
+        startRow = writeGenerationDate(sheet, styleManager, widths, startRow);
+        startRow = writeStakeholders(sheet, styleManager, widths, startRow, projectViewModel, personNameResolver);
         return startRow;
     }
 
     /**
      * Writes generation date to Excel.
      */
-    private static int writeGenerationDate(Sheet sheet, ExcelStyleManager styleManager, int row) {
+    private static int writeGenerationDate(Sheet sheet, ExcelStyleManager styleManager, ColumnWidths widths, int row) {
         Row generationRow = sheet.createRow(row++);
-        Cell generationLabel = generationRow.createCell(0);
-        generationLabel.setCellValue("Generated:");
-        generationLabel.setCellStyle(styleManager.getMetaLabelStyle());
-        
-        Cell generationValue = generationRow.createCell(1);
         String currentTime = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm").format(LocalDateTime.now());
-        generationValue.setCellValue(currentTime);
+        writeTextCell(generationRow, 0, "Generated:", styleManager.getMetaLabelStyle(), widths);
+        writeTextCell(generationRow, 1, currentTime, null, widths);
         return row;
     }
 
     /**
      * Writes stakeholder information to Excel.
      */
-    private static int writeStakeholders(Sheet sheet, ExcelStyleManager styleManager, int startRow, ProjectViewModel projectViewModel, PersonNameResolver personNameResolver) {
-        startRow = writeStakeholder(sheet, styleManager, startRow, "Project Leader:", 
+    private static int writeStakeholders(Sheet sheet, ExcelStyleManager styleManager, ColumnWidths widths, int startRow, ProjectViewModel projectViewModel, PersonNameResolver personNameResolver) {
+        startRow = writeStakeholder(sheet, styleManager, widths, startRow, "Project Leader:", 
             personNameResolver.resolvePersonName(projectViewModel.getLeaderUserId()));
-        startRow = writeStakeholder(sheet, styleManager, startRow, "Technical Leader:", 
+        startRow = writeStakeholder(sheet, styleManager, widths, startRow, "Technical Leader:", 
             personNameResolver.resolvePersonName(projectViewModel.getTechLeaderId()));
-        startRow = writeStakeholder(sheet, styleManager, startRow, "Sponsor:", 
+        startRow = writeStakeholder(sheet, styleManager, widths, startRow, "Sponsor:", 
             personNameResolver.resolvePersonName(projectViewModel.getSponsorId()));
         return startRow;
     }
@@ -253,12 +511,10 @@ public final class ProjectExcelExportUtil {
     /**
      * Writes a stakeholder row to Excel.
      */
-    private static int writeStakeholder(Sheet sheet, ExcelStyleManager styleManager, int row, String role, String name) {
+    private static int writeStakeholder(Sheet sheet, ExcelStyleManager styleManager, ColumnWidths widths, int row, String role, String name) {
         Row stakeholderRow = sheet.createRow(row);
-        Cell roleCell = stakeholderRow.createCell(0);
-        roleCell.setCellValue(role);
-        roleCell.setCellStyle(styleManager.getMetaLabelStyle());
-        stakeholderRow.createCell(1).setCellValue(name == null ? "" : name);
+        writeTextCell(stakeholderRow, 0, role, styleManager.getMetaLabelStyle(), widths);
+        writeTextCell(stakeholderRow, 1, name, null, widths);
         return row + 1;
     }
 
@@ -268,22 +524,26 @@ public final class ProjectExcelExportUtil {
     private static int writeScheduleData(
             Sheet sheet, 
             ExcelStyleManager styleManager, 
+            ColumnWidths widths,
             int startRow, 
             ProjectViewModel projectViewModel,
             List<ProjectActivityViewModel> activities,
             PersonNameResolver personNameResolver,
-            StatusMapper statusMapper) {
+            StatusMapper statusMapper,
+            RowProgress progress) {
         
-        startRow = writeScheduleHeaders(sheet, styleManager, startRow);
-        startRow = writeProjectDataRow(sheet, styleManager, startRow, projectViewModel, personNameResolver, statusMapper);
-        startRow = writeActivityRows(sheet, styleManager, startRow, activities, personNameResolver, statusMapper);
+        int rows = activities.size() + 1;
+        startRow = writeScheduleHeaders(sheet, styleManager, widths, startRow);
+        startRow = writeProjectDataRow(sheet, styleManager, widths, startRow, projectViewModel, personNameResolver, statusMapper);
+        progress.rowWritten(1, rows);
+        startRow = writeActivityRows(sheet, styleManager, widths, startRow, activities, personNameResolver, statusMapper, progress);
         return startRow;
     }
 
     /**
      * Writes schedule headers to Excel.
      */
-    private static int writeScheduleHeaders(Sheet sheet, ExcelStyleManager styleManager, int row) {
+    private static int writeScheduleHeaders(Sheet sheet, ExcelStyleManager styleManager, ColumnWidths widths, int row) {
         Row headerRow = sheet.createRow(row++);
         String[] headers = {
             "Activity", "Responsible (ID)", "Responsible Name", "Status",
@@ -291,9 +551,7 @@ public final class ProjectExcelExportUtil {
         };
         
         for (int i = 0; i < headers.length; i++) {
-            Cell headerCell = headerRow.createCell(i);
-            headerCell.setCellValue(headers[i]);
-            headerCell.setCellStyle(styleManager.getHeaderStyle());
+            writeTextCell(headerRow, i, headers[i], styleManager.getHeaderStyle(), widths);
         }
         return row;
     }
@@ -304,6 +562,7 @@ public final class ProjectExcelExportUtil {
     private static int writeProjectDataRow(
             Sheet sheet, 
             ExcelStyleManager styleManager, 
+            ColumnWidths widths,
             int row, 
             ProjectViewModel projectViewModel,
             PersonNameResolver personNameResolver,
@@ -315,13 +574,13 @@ public final class ProjectExcelExportUtil {
         String leaderName = personNameResolver.resolvePersonName(leaderId);
         
         int column = 0;
-        writeTextCell(projectRow, column++, projectName, styleManager.getTextCellStyle());
+        writeTextCell(projectRow, column++, projectName, styleManager.getTextCellStyle(), widths);
         writeTextCell(projectRow, column++, leaderId > 0 ? String.valueOf(leaderId) : "", 
-            styleManager.getTextCellStyle());
+            styleManager.getTextCellStyle(), widths);
         writeTextCell(projectRow, column++, leaderName == null ? "" : leaderName, 
-            styleManager.getTextCellStyle());
+            styleManager.getTextCellStyle(), widths);
         writeTextCell(projectRow, column++, statusMapper.mapStatus(projectViewModel.getStatus()), 
-            styleManager.getTextCellStyle());
+            styleManager.getTextCellStyle(), widths);
         
         writeProjectDateCells(projectRow, column, styleManager, projectViewModel);
         return row + 1;
@@ -347,17 +606,22 @@ public final class ProjectExcelExportUtil {
     private static int writeActivityRows(
             Sheet sheet, 
             ExcelStyleManager styleManager, 
+            ColumnWidths widths,
             int startRow, 
             List<ProjectActivityViewModel> activities,
             PersonNameResolver personNameResolver,
-            StatusMapper statusMapper) {
+            StatusMapper statusMapper,
+            RowProgress progress) {
         
         List<ProjectActivityViewModel> sortedActivities = activities.stream()
             .sorted(Comparator.comparingInt(ProjectActivityViewModel::getExecutionOrder))
             .toList();
         
+        int rows = sortedActivities.size() + 1;
+        int done = 1;
         for (ProjectActivityViewModel activity : sortedActivities) {
-            startRow = writeActivityDataRow(sheet, styleManager, startRow, activity, personNameResolver, statusMapper);
+            startRow = writeActivityDataRow(sheet, styleManager, widths, startRow, activity, personNameResolver, statusMapper);
+            progress.rowWritten(++done, rows);
         }
         return startRow;
     }
@@ -368,6 +632,7 @@ public final class ProjectExcelExportUtil {
     private static int writeActivityDataRow(
             Sheet sheet, 
             ExcelStyleManager styleManager, 
+            ColumnWidths widths,
             int row, 
             ProjectActivityViewModel activity,
             PersonNameResolver personNameResolver,
@@ -380,13 +645,13 @@ public final class ProjectExcelExportUtil {
         int column = 0;
         writeTextCell(activityRow, column++, 
             activity.getDescription() == null ? "" : activity.getDescription(), 
-            styleManager.getTextCellStyle());
+            styleManager.getTextCellStyle(), widths);
         writeTextCell(activityRow, column++, responsibleId > 0 ? String.valueOf(responsibleId) : "", 
-            styleManager.getTextCellStyle());
+            styleManager.getTextCellStyle(), widths);
         writeTextCell(activityRow, column++, responsibleName == null ? "" : responsibleName, 
-            styleManager.getTextCellStyle());
+            styleManager.getTextCellStyle(), widths);
         writeTextCell(activityRow, column++, statusMapper.mapStatus(activity.getStatus()), 
-            styleManager.getTextCellStyle());
+            styleManager.getTextCellStyle(), widths);
         
         writeActivityDateCells(activityRow, column, activity, styleManager);
         return row + 1;
@@ -407,12 +672,14 @@ public final class ProjectExcelExportUtil {
     }
 
     /**
-     * Writes a text cell with style.
+     * Writes a text cell with style (none when null) and measures it.
      */
-    private static void writeTextCell(Row row, int column, String value, CellStyle style) {
+    private static void writeTextCell(Row row, int column, String value, CellStyle style, ColumnWidths widths) {
         Cell cell = row.createCell(column);
-        cell.setCellValue(value == null ? "" : value);
-        cell.setCellStyle(style);
+        String text = value == null ? "" : value;
+        cell.setCellValue(text);
+        if (style != null) cell.setCellStyle(style);
+        widths.measure(column, text);
     }
 
     /**
@@ -427,6 +694,41 @@ public final class ProjectExcelExportUtil {
         }
     }
 
+    /**
+     * Longest text written to each column of a sheet, in characters.
+     * Date columns are at least as wide as the {@code yyyy-mm-dd} format.
+     */
+    private static final class ColumnWidths {
+        private final int[] chars;
+
+        ColumnWidths(int columns) {
+            chars = new int[columns];
+            for (int i = 4; i < columns; i++) {
+                chars[i] = DATE_COLUMN_CHARS;
+            }
+        }
+
+        void measure(int column, String text) {
+            // Multi-line values are as wide as their longest line
+            int longest = 0;
+            int lineStart = 0;
+            for (int i = 0; i <= text.length(); i++) {
+                if (i == text.length() || text.charAt(i) == '\n') {
+                    longest = Math.max(longest, i - lineStart);
+                    lineStart = i + 1;
+                }
+            }
+            chars[column] = Math.max(chars[column], Math.min(longest, MAX_COLUMN_CHARS));
+        }
+
+        void apply(Sheet sheet) {
+            for (int i = 0; i < chars.length; i++) {
+                // Width unit is 1/256 of a character; two characters of padding like autosize
+                sheet.setColumnWidth(i, (chars[i] + 2) * 256);
+            }
+        }
+    }
+
     /**
      * Helper class for managing Excel cell styles.
      */
@@ -437,7 +739,7 @@ public final class ProjectExcelExportUtil {
         private final CellStyle metaLabelStyle;
         private final CellStyle dateCellStyle;
         
-        public ExcelStyleManager(XSSFWorkbook workbook) {
+        public ExcelStyleManager(Workbook workbook) {
             this.titleStyle = createTitleStyle(workbook);
             this.headerStyle = createHeaderStyle(workbook);
             this.textCellStyle = createTextCellStyle(workbook);
@@ -445,7 +747,7 @@ public final class ProjectExcelExportUtil {
             this.dateCellStyle = createDateCellStyle(workbook);
         }
         
-        private CellStyle createTitleStyle(XSSFWorkbook workbook) {
+        private CellStyle createTitleStyle(Workbook workbook) {
             Font titleFont = workbook.createFont();
             if (titleFont instanceof XSSFFont xssfFont) {
                 xssfFont.setBold(true);
@@ -461,7 +763,7 @@ public final class ProjectExcelExportUtil {
             return style;
         }
         
-        private CellStyle createHeaderStyle(XSSFWorkbook workbook) {
+        private CellStyle createHeaderStyle(Workbook workbook) {
             Font headerFont = workbook.createFont();
             headerFont.setBold(true);
             
@@ -475,14 +777,14 @@ public final class ProjectExcelExportUtil {
             return style;
         }
         
-        private CellStyle createTextCellStyle(XSSFWorkbook workbook) {
+        private CellStyle createTextCellStyle(Workbook workbook) {
             CellStyle style = workbook.createCellStyle();
             addBorders(style);
             style.setVerticalAlignment(VerticalAlignment.TOP);
             return style;
         }
         
-        private CellStyle createMetaLabelStyle(XSSFWorkbook workbook) {
+        private CellStyle createMetaLabelStyle(Workbook workbook) {
             Font metaFont = workbook.createFont();
             metaFont.setBold(true);
             
@@ -492,7 +794,7 @@ public final class ProjectExcelExportUtil {
             return style;
         }
         
-        private CellStyle createDateCellStyle(XSSFWorkbook workbook) {
+        private CellStyle createDateCellStyle(Workbook workbook) {
             CellStyle style = workbook.createCellStyle();
             style.cloneStyleFrom(textCellStyle);
             short dateFormat = workbook.getCreationHelper().createDataFormat().getFormat("yyyy-mm-dd");
@@ -7,7 +7,14 @@ import javafx.application.Platform;
 import javafx.concurrent.Task;
 import javafx.scene.control.Label;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -27,6 +34,10 @@ import java.util.logging.Logger;
  * to load and display the latest project progress percentage. The method handles
  * all background loading and UI updates safely.
  * 
+ * <p>Progress requested for several projects within {@value #BATCH_WINDOW_MS} ms
+ * is loaded with a single {@link ProjectTrackingService#findLatestByProjects(List)}
+ * call.
+ * 
  * @author FlowFX Development Team
  * @version 1.0
  * @since 3.0
@@ -35,6 +46,11 @@ public final class ProjectProgressUtil {
     
     private static final Logger LOGGER = Logger.getLogger(ProjectProgressUtil.class.getName());
     
+    private static final long BATCH_WINDOW_MS = 15;
+    
+    // Progress loads waiting for the next batch, guarded by itself
+    private static final Map<Long, CompletableFuture<Integer>> PENDING = new LinkedHashMap<>();
+    
     // Private constructor to prevent instantiation
     private ProjectProgressUtil() {
         throw new UnsupportedOperationException("Utility class cannot be instantiated");
@@ -45,8 +61,7 @@ public final class ProjectProgressUtil {
      * 
      * <p>This method:
      * <ul>
-     *   <li>Asynchronously loads project tracking data via ProjectTrackingService</li>
-     *   <li>Finds the latest observation by tracking date</li>
+     *   <li>Asynchronously loads the latest tracking entry via ProjectTrackingService</li>
      *   <li>Updates the progress bar (0.0 to 1.0 range) and label (0% to 100% format)</li>
      *   <li>Handles cases where no observations exist (displays 0%)</li>
      * </ul>
@@ -67,9 +82,7 @@ public final class ProjectProgressUtil {
         Task<Integer> progressTask = createProgressLoadTask(projectId);
         configureProgressTaskHandlers(progressTask, progressBar, percentageLabel);
         
-        Thread taskThread = new Thread(progressTask, "project-progress-loader");
-        taskThread.setDaemon(true);
-        taskThread.start();
+        AsyncTasks.execute(null, "project-progress-loader", progressTask);
     }
     
     /**
@@ -83,42 +96,89 @@ public final class ProjectProgressUtil {
             @Override
             protected Integer call() throws Exception {
                 LOGGER.fine("Starting progress load task for project ID: " + projectId);
-                
-                try {
-                    ProjectTrackingService service = new ProjectTrackingService();
-                    Respuesta response = service.findByProject(projectId);
-                    
-                    if (Boolean.TRUE.equals(response.getEstado())) {
-                        @SuppressWarnings("unchecked")
-                        List<ProjectTrackingDTO> trackings = (List<ProjectTrackingDTO>) response.getResultado("ProjectTrackings");
-                        
-                        if (trackings != null && !trackings.isEmpty()) {
-                            // Find the latest tracking by date
-                            ProjectTrackingDTO latestTracking = trackings.stream()
-                                .filter(t -> t.getTrackingDate() != null)
-                                .max((t1, t2) -> t1.getTrackingDate().compareTo(t2.getTrackingDate()))
-                                .orElse(null);
-                            
-                            if (latestTracking != null && latestTracking.getProgressPercentage() != null) {
-                                int percentage = latestTracking.getProgressPercentage();
-                                LOGGER.info("Found latest progress: " + percentage + "% for project ID: " + projectId);
-                                return Math.max(0, Math.min(100, percentage)); // Ensure valid range
-                            }
-                        }
-                        
-                        LOGGER.fine("No tracking observations found for project ID: " + projectId);
-                    } else {
-                        LOGGER.warning("Failed to load tracking data for project ID: " + projectId + 
-                                     " - " + (response != null ? response.getMensaje() : "null response"));
+                return loadProgress(projectId);
+            }
+        };
+    }
+
+    /**
+     * Loads the latest progress percentage of a project. Blocks on the web
+     * service, so call it from a background thread. Loads requested by other
+     * threads in the same window share the call.
+     *
+     * @param projectId the project ID to load progress for
+     * @return the latest progress percentage (0-100), 0 when there is none
+     * @throws Exception if the service call fails
+     */
+    public static int loadProgress(long projectId) throws Exception {
+        try {
+            return enqueue(projectId).get();
+        } catch (ExecutionException ex) {
+            LOGGER.log(Level.WARNING, "Error loading project progress for ID: " + projectId, ex.getCause());
+            throw ex.getCause() instanceof Exception cause ? cause : ex;
+        }
+    }
+    
+    /**
+     * Adds a project to the next batch, scheduling the batch when it is the first.
+     * 
+     * @param projectId the project ID to load progress for
+     * @return future completed with the progress percentage (0-100)
+     */
+    private static CompletableFuture<Integer> enqueue(long projectId) {
+        synchronized (PENDING) {
+            CompletableFuture<Integer> future = PENDING.get(projectId);
+            if (future != null) return future;
+            future = new CompletableFuture<>();
+            PENDING.put(projectId, future);
+            if (PENDING.size() == 1) {
+                CompletableFuture.runAsync(
+                    ProjectProgressUtil::flush,
+                    CompletableFuture.delayedExecutor(BATCH_WINDOW_MS, TimeUnit.MILLISECONDS, AsyncTasks.executor())
+                );
+            }
+            return future;
+        }
+    }
+    
+    /**
+     * Loads the progress of every queued project in one call. Runs on a
+     * virtual thread once the batch window has passed.
+     */
+    private static void flush() {
+        Map<Long, CompletableFuture<Integer>> batch;
+        synchronized (PENDING) {
+            batch = new LinkedHashMap<>(PENDING);
+            PENDING.clear();
+        }
+        if (batch.isEmpty()) return;
+        try {
+            ProjectTrackingService service = new ProjectTrackingService();
+            Respuesta response = service.findLatestByProjects(new ArrayList<>(batch.keySet()));
+            
+            if (!Boolean.TRUE.equals(response.getEstado())) {
+                LOGGER.warning("Failed to load tracking data for " + batch.size() + " project(s) - " + response.getMensaje());
+                batch.values().forEach(f -> f.complete(0));
+                return;
+            }
+            @SuppressWarnings("unchecked")
+            List<ProjectTrackingDTO> trackings = (List<ProjectTrackingDTO>) response.getResultado("ProjectTrackings");
+            
+            // Only the latest tracking of each project is returned
+            Map<Long, Integer> progress = new HashMap<>();
+            if (trackings != null) {
+                for (ProjectTrackingDTO t : trackings) {
+                    if (t.getProjectId() != null && t.getProgressPercentage() != null) {
+                        progress.put(t.getProjectId(), Math.max(0, Math.min(100, t.getProgressPercentage()))); // Ensure valid range
                     }
-                } catch (Exception ex) {
-                    LOGGER.log(Level.WARNING, "Error loading project progress for ID: " + projectId, ex);
-                    throw ex;
                 }
-                
-                return 0; // Default to 0% if no data found
             }
-        };
+            LOGGER.fine("Loaded progress of " + progress.size() + " of " + batch.size() + " project(s)");
+            // Default to 0% if no data found
+            batch.forEach((id, f) -> f.complete(progress.getOrDefault(id, 0)));
+        } catch (Exception ex) {
+            batch.values().forEach(f -> f.completeExceptionally(ex));
+        }
     }
     
     /**
@@ -0,0 +1,154 @@
+package cr.ac.una.flowfx.util;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Optional bean property accessor backed by a {@link MethodHandle}.
+ *
+ * <p>Generated web service stubs do not always expose the same accessors (for
+ * example {@code setProjectId} on activities). Instead of looking the method up
+ * with reflection on every conversion, callers resolve the accessor once,
+ * typically into a {@code static final} field, and invoke the bound handle on
+ * each call. When none of the candidate names exists the accessor is absent
+ * and every operation is a no-op.</p>
+ *
+ * <p>Setters accept the boxed parameter type and fall back to the matching
+ * primitive signature ({@code setX(long)} for {@code Long}); {@code null} values
+ * are skipped for primitive setters.</p>
+ *
+ * @author FlowFX Development Team
+ * @version 1.0
+ * @since 3.0
+ */
+public final class PropertyAccessor {
+
+    private static final Logger LOGGER = Logger.getLogger(PropertyAccessor.class.getName());
+
+    private static final MethodType SETTER_SHAPE =
+        MethodType.methodType(void.class, Object.class, Object.class);
+    private static final MethodType GETTER_SHAPE =
+        MethodType.methodType(Object.class, Object.class);
+
+    private final String name;
+    private final MethodHandle handle;
+    private final boolean primitive;
+
+    private PropertyAccessor(String name, MethodHandle handle, boolean primitive) {
+        this.name = name;
+        this.handle = handle;
+        this.primitive = primitive;
+    }
+
+    /**
+     * Resolves the first public setter found among the candidate names.
+     *
+     * @param owner      the class declaring the setter
+     * @param valueType  the setter parameter type
+     * @param candidates setter names tried in order
+     * @return the resolved accessor, absent when no candidate exists
+     */
+    public static PropertyAccessor setter(Class<?> owner, Class<?> valueType, String... candidates) {
+        MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+        Class<?> unboxed = MethodType.methodType(valueType).unwrap().returnType();
+        for (String candidate : candidates) {
+            MethodHandle mh = findVirtual(lookup, owner, candidate, MethodType.methodType(void.class, valueType));
+            boolean primitive = false;
+            if (mh == null && unboxed != valueType) {
+                mh = findVirtual(lookup, owner, candidate, MethodType.methodType(void.class, unboxed));
+                primitive = mh != null;
+            }
+            if (mh != null) {
+                return new PropertyAccessor(candidate, mh.asType(SETTER_SHAPE), primitive);
+            }
+        }
+        return new PropertyAccessor(String.join("|", candidates), null, false);
+    }
+
+    /**
+     * Resolves the first public no-arg getter found among the candidate names.
+     *
+     * @param owner      the class declaring the getter
+     * @param candidates getter names tried in order
+     * @return the resolved accessor, absent when no candidate exists
+     */
+    public static PropertyAccessor getter(Class<?> owner, String... candidates) {
+        MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+        for (String candidate : candidates) {
+            try {
+                Method m = owner.getMethod(candidate);
+                if (m.getReturnType() == void.class) continue;
+                MethodHandle mh = lookup.unreflect(m);
+                return new PropertyAccessor(candidate, mh.asType(GETTER_SHAPE), false);
+            } catch (NoSuchMethodException | IllegalAccessException ignore) {
+                // Try the next candidate
+            }
+        }
+        return new PropertyAccessor(String.join("|", candidates), null, false);
+    }
+
+    private static MethodHandle findVirtual(
+        MethodHandles.Lookup lookup,
+        Class<?> owner,
+        String name,
+        MethodType type
+    ) {
+        try {
+            return lookup.findVirtual(owner, name, type);
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            return null;
+        }
+    }
+
+    /**
+     * @return {@code true} when one of the candidate accessors exists
+     */
+    public boolean isPresent() {
+        return handle != null;
+    }
+
+    /**
+     * @return the resolved accessor name, or the joined candidates when absent
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Invokes the setter on the target.
+     *
+     * @param target the bean to update
+     * @param value  the value to assign
+     * @return {@code true} when the value was assigned
+     */
+    public boolean set(Object target, Object value) {
+        if (handle == null || target == null || (primitive && value == null)) return false;
+        try {
+            handle.invokeExact(target, value);
+            return true;
+        } catch (Throwable t) {
+            LOGGER.log(Level.FINE, "Unable to invoke " + name + " on " + target.getClass().getName(), t);
+            return false;
+        }
+    }
+
+    /**
+     * Invokes the getter on the target.
+     *
+     * @param target the bean to read
+     * @return the property value, or {@code null} when absent or on failure
+     */
+    public Object get(Object target) {
+        if (handle == null || target == null) return null;
+        try {
+            return (Object) handle.invokeExact(target);
+        } catch (Throwable t) {
+            LOGGER.log(Level.FINE, "Unable to invoke " + name + " on " + target.getClass().getName(), t);
+            return null;
+        }
+    }
+}
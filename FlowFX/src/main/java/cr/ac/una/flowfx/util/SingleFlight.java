@@ -0,0 +1,209 @@
+package cr.ac.una.flowfx.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.logging.Logger;
+
+/**
+ * Collapses concurrent identical requests into one in-flight call.
+ *
+ * <p>While a call for a key is running, every other caller asking for the
+ * same key waits on the same {@link CompletableFuture} instead of issuing its
+ * own request. The entry is removed as soon as the call completes, so this is
+ * not a cache: a request that starts after the previous one finished always
+ * goes to the server.</p>
+ *
+ * <p>The shared call runs on {@link AsyncTasks#executor()}, not on the first
+ * caller's thread. Cancelling one view (which interrupts its thread) therefore
+ * only stops that view from waiting and never fails the other callers.</p>
+ *
+ * <p>Each instance is registered under a name and counts its calls and the
+ * calls it saved; {@link #stats()} reports them for every instance.</p>
+ *
+ * @param <K> key type; must implement {@code equals}/{@code hashCode}
+ * @param <V> result type
+ *
+ * @author FlowFX Development Team
+ * @version 1.0
+ * @since 3.0
+ */
+public final class SingleFlight<K, V> {
+
+    private static final Logger LOGGER = Logger.getLogger(SingleFlight.class.getName());
+
+    private static final Map<String, SingleFlight<?, ?>> REGISTRY = new ConcurrentHashMap<>();
+
+    private final String name;
+    private final Map<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder shared = new LongAdder();
+
+    private SingleFlight(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Returns the instance registered under a name, creating it on first use.
+     *
+     * @param name metrics name, typically the service class
+     * @return the shared instance for that name
+     */
+    @SuppressWarnings("unchecked")
+    public static <K, V> SingleFlight<K, V> named(String name) {
+        return (SingleFlight<K, V>) REGISTRY.computeIfAbsent(name, SingleFlight::new);
+    }
+
+    /**
+     * Builds a composite key from an operation name and its arguments.
+     *
+     * @param operation the remote operation
+     * @param args      its arguments; lists are copied so later changes do not alter the key
+     * @return a value-based key
+     */
+    public static List<Object> key(String operation, Object... args) {
+        Object[] parts = new Object[args.length + 1];
+        parts[0] = operation;
+        for (int i = 0; i < args.length; i++) {
+            Object a = args[i];
+            parts[i + 1] = a instanceof List<?> l ? new ArrayList<>(l) : a;
+        }
+        return Arrays.asList(parts);
+    }
+
+    /**
+     * Runs the loader unless an identical call is already in flight, and waits
+     * for the shared result.
+     *
+     * @param key    identifies identical requests
+     * @param loader the blocking call
+     * @return the result of the shared call
+     * @throws Exception the failure of the shared call, or
+     *         {@link InterruptedException} if this caller was interrupted while waiting
+     */
+    public V call(K key, Callable<V> loader) throws Exception {
+        try {
+            return share(key, k -> CompletableFuture.supplyAsync(() -> {
+                try {
+                    return loader.call();
+                } catch (RuntimeException ex) {
+                    throw ex;
+                } catch (Exception ex) {
+                    throw new CompletionException(ex);
+                }
+            }, AsyncTasks.executor())).get();
+        } catch (ExecutionException ex) {
+            Throwable cause = ex.getCause() instanceof CompletionException ce && ce.getCause() != null
+                ? ce.getCause()
+                : ex.getCause();
+            if (cause instanceof Exception e) throw e;
+            if (cause instanceof Error e) throw e;
+            throw ex;
+        }
+    }
+
+    /**
+     * Joins the in-flight future for a key, or starts one with the given
+     * function. For callers that complete futures themselves, such as
+     * batching lookups.
+     *
+     * @param key     identifies identical requests
+     * @param starter creates the future when none is in flight
+     * @return the shared future
+     */
+    public CompletableFuture<V> share(K key, Function<? super K, CompletableFuture<V>> starter) {
+        requests.increment();
+        CompletableFuture<V> existing = inFlight.get(key);
+        if (existing != null) {
+            shared.increment();
+            return existing;
+        }
+        CompletableFuture<V> created = new CompletableFuture<>();
+        existing = inFlight.putIfAbsent(key, created);
+        if (existing != null) {
+            shared.increment();
+            return existing;
+        }
+        CompletableFuture<V> started;
+        try {
+            started = starter.apply(key);
+        } catch (RuntimeException ex) {
+            inFlight.remove(key, created);
+            created.completeExceptionally(ex);
+            return created;
+        }
+        started.whenComplete((value, error) -> {
+            // Remove before completing callers so a request made from a callback starts afresh
+            inFlight.remove(key, created);
+            if (error != null) {
+                created.completeExceptionally(error);
+            } else {
+                created.complete(value);
+            }
+        });
+        return created;
+    }
+
+    /**
+     * @return the number of keys currently in flight
+     */
+    public int inFlightCount() {
+        return inFlight.size();
+    }
+
+    /**
+     * @return current counters of this instance
+     */
+    public Stats snapshot() {
+        return new Stats(name, requests.sum(), shared.sum());
+    }
+
+    /**
+     * Counters of one instance.
+     *
+     * @param name     the instance name
+     * @param requests total requests received
+     * @param saved    requests answered by joining a call already in flight
+     */
+    public record Stats(String name, long requests, long saved) {
+
+        /**
+         * @return requests that actually reached the loader
+         */
+        public long calls() {
+            return requests - saved;
+        }
+
+        @Override
+        public String toString() {
+            return name + ": " + requests + " requests, " + saved + " calls saved";
+        }
+    }
+
+    /**
+     * @return counters of every registered instance, ordered by name
+     */
+    public static List<Stats> stats() {
+        Map<String, Stats> sorted = new TreeMap<>();
+        REGISTRY.forEach((n, flight) -> sorted.put(n, flight.snapshot()));
+        return List.copyOf(sorted.values());
+    }
+
+    /**
+     * Logs the counters of every registered instance.
+     */
+    public static void logStats() {
+        for (Stats s : stats()) {
+            LOGGER.info("Single-flight " + s);
+        }
+    }
+}
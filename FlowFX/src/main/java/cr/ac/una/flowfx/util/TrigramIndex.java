@@ -0,0 +1,403 @@
+package cr.ac.una.flowfx.util;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory trigram index for search-as-you-type over cached DTOs.
+ *
+ * <p>Every searchable field is normalized (lower case, accents removed) and
+ * split into words; each word is padded as {@code "  word "} and broken into
+ * trigrams, so the index also holds the one- and two-letter prefixes of every
+ * word. A query is split the same way: words of three or more letters match
+ * anywhere inside a field, shorter words match the start of a word. Only the
+ * entries of the rarest trigram of the query are verified, which keeps a
+ * lookup well under a millisecond for tens of thousands of entries. Queries
+ * made only of one- or two-letter words match a large share of the index, so
+ * they rank a bounded number of candidates instead of every entry.</p>
+ *
+ * <p>Matches are ranked by how well each query word fits (whole field, field
+ * prefix, word prefix, substring) and by the position of the field in the
+ * array returned by the field extractor, so earlier fields weigh more.</p>
+ *
+ * <p>{@link #put(Object)} and {@link #remove(Long)} update the index in place,
+ * so it follows entity changes without a rebuild. Instances are thread-safe;
+ * lookups share a read lock.</p>
+ *
+ * @param <T> the indexed DTO type
+ *
+ * @author FlowFX Development Team
+ * @version 1.0
+ * @since 3.0
+ */
+public final class TrigramIndex<T> {
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private static final char FIELD_SEPARATOR = '\u0001';
+
+    /** Candidates ranked per requested match when every query word is short. */
+    private static final int SHORT_QUERY_SCAN_FACTOR = 16;
+
+    private static final int WHOLE_FIELD = 4;
+    private static final int FIELD_PREFIX = 3;
+    private static final int WORD_PREFIX = 2;
+    private static final int SUBSTRING = 1;
+
+    /**
+     * One indexed entity. Its normalized fields are joined into one text,
+     * each one preceded and followed by {@link #FIELD_SEPARATOR}, so a match
+     * is verified with a single {@code indexOf} per query word.
+     */
+    private static final class Entry<T> {
+
+        final T value;
+        final String text;
+        final int[] starts;
+        final long[] grams;
+
+        Entry(T value, String text, int[] starts, long[] grams) {
+            this.value = value;
+            this.text = text;
+            this.starts = starts;
+            this.grams = grams;
+        }
+
+        int fieldAt(int pos) {
+            int f = starts.length - 1;
+            while (f > 0 && starts[f] > pos) f--;
+            return f;
+        }
+
+        int primaryLength() {
+            return starts.length == 0 ? 0 : text.indexOf(FIELD_SEPARATOR, starts[0]) - starts[0];
+        }
+    }
+
+    /**
+     * Slots of the entries that contain one trigram, in no particular order.
+     */
+    private static final class Postings {
+
+        int[] slots = new int[4];
+        int size;
+
+        void add(int slot) {
+            if (size == slots.length) slots = Arrays.copyOf(slots, size << 1);
+            slots[size++] = slot;
+        }
+
+        void remove(int slot) {
+            for (int i = 0; i < size; i++) {
+                if (slots[i] == slot) {
+                    slots[i] = slots[--size];
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * A candidate kept while ranking.
+     */
+    private record Hit(int slot, int score, int length) {}
+
+    private final Function<? super T, Long> idOf;
+    private final Function<? super T, String[]> fieldsOf;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Integer> slotsById = new HashMap<>();
+    private final List<Entry<T>> entries = new ArrayList<>();
+    private final List<Integer> freeSlots = new ArrayList<>();
+    private final Map<Long, Postings> postings = new HashMap<>();
+
+    /**
+     * Creates an empty index.
+     *
+     * @param idOf     extracts the entity id; entities without id are not indexed
+     * @param fieldsOf extracts the searchable fields, most important first;
+     *                 null fields are ignored
+     */
+    public TrigramIndex(Function<? super T, Long> idOf, Function<? super T, String[]> fieldsOf) {
+        this.idOf = idOf;
+        this.fieldsOf = fieldsOf;
+    }
+
+    /**
+     * Adds an entity or replaces the indexed version with the same id.
+     *
+     * @param value the entity; ignored when null or without id
+     */
+    public void put(T value) {
+        Long id = value == null ? null : idOf.apply(value);
+        if (id == null) return;
+        String[] fields = normalizeAll(fieldsOf.apply(value));
+        int[] starts = new int[fields.length];
+        String text = join(fields, starts);
+        lock.writeLock().lock();
+        try {
+            Integer slot = slotsById.get(id);
+            if (slot != null && entries.get(slot).text.equals(text)) {
+                // Same text: keep the postings, refresh the value
+                Entry<T> old = entries.get(slot);
+                entries.set(slot, new Entry<>(value, old.text, old.starts, old.grams));
+                return;
+            }
+            if (slot != null) unlink(slot);
+            insert(id, new Entry<>(value, text, starts, gramsOf(fields)));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Adds or replaces several entities.
+     *
+     * @param values the entities
+     */
+    public void putAll(Collection<? extends T> values) {
+        if (values == null) return;
+        for (T value : values) put(value);
+    }
+
+    /**
+     * Removes an entity.
+     *
+     * @param id the entity id
+     */
+    public void remove(Long id) {
+        if (id == null) return;
+        lock.writeLock().lock();
+        try {
+            Integer slot = slotsById.remove(id);
+            if (slot != null) {
+                unlink(slot);
+                entries.set(slot, null);
+                freeSlots.add(slot);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes every entity.
+     */
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            slotsById.clear();
+            entries.clear();
+            freeSlots.clear();
+            postings.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @return number of indexed entities
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return slotsById.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the best matches of a query, best first.
+     *
+     * @param query the text typed by the user
+     * @param limit maximum number of matches
+     * @return ranked matches; empty for a blank query
+     */
+    public List<T> search(String query, int limit) {
+        String[] words = words(normalize(query));
+        if (words.length == 0 || limit <= 0) return List.of();
+        lock.readLock().lock();
+        try {
+            Postings rarest = null;
+            boolean shortQuery = true;
+            for (String word : words) {
+                shortQuery &= word.length() < 3;
+                for (long gram : queryGrams(word)) {
+                    Postings p = postings.get(gram);
+                    if (p == null) return List.of();
+                    if (rarest == null || p.size < rarest.size) rarest = p;
+                }
+            }
+            if (rarest == null) return List.of();
+
+            int scan = shortQuery
+                ? Math.min(rarest.size, limit * SHORT_QUERY_SCAN_FACTOR)
+                : rarest.size;
+            PriorityQueue<Hit> best = new PriorityQueue<>(TrigramIndex::compareWorstFirst);
+            for (int i = 0; i < scan; i++) {
+                int slot = rarest.slots[i];
+                Entry<T> e = entries.get(slot);
+                int score = score(e, words);
+                if (score <= 0) continue;
+                Hit hit = new Hit(slot, score, e.primaryLength());
+                if (best.size() < limit) {
+                    best.add(hit);
+                } else if (compareWorstFirst(hit, best.peek()) > 0) {
+                    best.poll();
+                    best.add(hit);
+                }
+            }
+            Hit[] ranked = best.toArray(new Hit[0]);
+            Arrays.sort(ranked, (a, b) -> compareWorstFirst(b, a));
+            List<T> out = new ArrayList<>(ranked.length);
+            for (Hit h : ranked) out.add(entries.get(h.slot()).value);
+            return out;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Normalizes text the way the index does: accents removed, lower case,
+     * surrounding blanks trimmed.
+     *
+     * @param text the text, may be null
+     * @return the normalized text, never null
+     */
+    public static String normalize(String text) {
+        if (text == null || text.isBlank()) return "";
+        String plain = DIACRITICS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("");
+        return plain.toLowerCase(Locale.ROOT).trim();
+    }
+
+    // ======== Helpers ========
+
+    private void insert(long id, Entry<T> entry) {
+        int slot;
+        if (freeSlots.isEmpty()) {
+            slot = entries.size();
+            entries.add(entry);
+        } else {
+            slot = freeSlots.remove(freeSlots.size() - 1);
+            entries.set(slot, entry);
+        }
+        slotsById.put(id, slot);
+        for (long gram : entry.grams) {
+            postings.computeIfAbsent(gram, g -> new Postings()).add(slot);
+        }
+    }
+
+    private void unlink(int slot) {
+        for (long gram : entries.get(slot).grams) {
+            Postings p = postings.get(gram);
+            if (p == null) continue;
+            p.remove(slot);
+            if (p.size == 0) postings.remove(gram);
+        }
+    }
+
+    private static String[] normalizeAll(String[] fields) {
+        if (fields == null) return new String[0];
+        String[] out = new String[fields.length];
+        for (int i = 0; i < fields.length; i++) out[i] = normalize(fields[i]);
+        return out;
+    }
+
+    private static String join(String[] fields, int[] starts) {
+        StringBuilder sb = new StringBuilder().append(FIELD_SEPARATOR);
+        for (int i = 0; i < fields.length; i++) {
+            starts[i] = sb.length();
+            sb.append(fields[i]).append(FIELD_SEPARATOR);
+        }
+        return sb.toString();
+    }
+
+    private static String[] words(String text) {
+        if (text.isEmpty()) return new String[0];
+        return Arrays.stream(SEPARATORS.split(text)).filter(w -> !w.isEmpty()).toArray(String[]::new);
+    }
+
+    /**
+     * Distinct trigrams of every word of every field, with word padding.
+     */
+    private static long[] gramsOf(String[] fields) {
+        long[] grams = new long[16];
+        int n = 0;
+        for (String field : fields) {
+            for (String word : words(field)) {
+                String padded = "  " + word + " ";
+                for (int i = 0; i + 3 <= padded.length(); i++) {
+                    if (n == grams.length) grams = Arrays.copyOf(grams, n << 1);
+                    grams[n++] = gram(padded, i);
+                }
+            }
+        }
+        return Arrays.stream(grams, 0, n).distinct().toArray();
+    }
+
+    /**
+     * Trigrams a query word requires: inner trigrams for words of three or
+     * more letters, the padded word-start trigram for shorter ones.
+     */
+    private static long[] queryGrams(String word) {
+        if (word.length() < 3) {
+            String padded = (word.length() == 1 ? "  " : " ") + word;
+            return new long[] { gram(padded, 0) };
+        }
+        long[] grams = new long[word.length() - 2];
+        for (int i = 0; i < grams.length; i++) grams[i] = gram(word, i);
+        return grams;
+    }
+
+    private static long gram(String s, int i) {
+        return ((long) s.charAt(i) << 32) | ((long) s.charAt(i + 1) << 16) | s.charAt(i + 2);
+    }
+
+    /**
+     * Sums the best fit of every query word; 0 when a word does not match.
+     */
+    private static int score(Entry<?> e, String[] words) {
+        int total = 0;
+        for (String word : words) {
+            int best = 0;
+            for (int at = e.text.indexOf(word); at > 0; at = e.text.indexOf(word, at + 1)) {
+                int fit = fit(e.text, at, word.length());
+                if (fit > 0) best = Math.max(best, fit * 16 + (e.starts.length - e.fieldAt(at)));
+            }
+            if (best == 0) return 0;
+            total += best;
+        }
+        return total;
+    }
+
+    /**
+     * How well an occurrence fits, from the character before and after it.
+     */
+    private static int fit(String text, int at, int length) {
+        char before = text.charAt(at - 1);
+        if (before == FIELD_SEPARATOR) {
+            return text.charAt(at + length) == FIELD_SEPARATOR ? WHOLE_FIELD : FIELD_PREFIX;
+        }
+        if (!Character.isLetterOrDigit(before)) return WORD_PREFIX;
+        return length >= 3 ? SUBSTRING : 0;
+    }
+
+    /**
+     * Orders hits so the worst one is first: lower score, then longer text.
+     */
+    private static int compareWorstFirst(Hit a, Hit b) {
+        if (a.score() != b.score()) return Integer.compare(a.score(), b.score());
+        return Integer.compare(b.length(), a.length());
+    }
+}
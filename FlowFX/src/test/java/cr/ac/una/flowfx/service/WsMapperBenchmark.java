@@ -0,0 +1,164 @@
+package cr.ac.una.flowfx.service;
+
+import cr.ac.una.flowfx.model.ProjectActivityDTO;
+import java.lang.reflect.Method;
+import java.util.Date;
+import java.util.GregorianCalendar;
+import java.util.concurrent.TimeUnit;
+import javax.xml.datatype.DatatypeFactory;
+import javax.xml.datatype.XMLGregorianCalendar;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the per-conversion cost of turning an activity into its web
+ * service type, comparing the reflective mapping that
+ * {@code ProjectActivityService} used before {@link WsMapper} existed with
+ * the current {@link WsMapper#toWs(ProjectActivityDTO)}.
+ *
+ * <p>Run with:</p>
+ * <pre>
+ * mvn test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=cr.ac.una.flowfx.service.WsMapperBenchmark
+ * </pre>
+ *
+ * @author FlowFX Development Team
+ * @version 1.0
+ * @since 3.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WsMapperBenchmark {
+
+    private ProjectActivityDTO activity;
+
+    @Setup
+    public void setUp() {
+        Date now = new Date();
+        activity = new ProjectActivityDTO();
+        activity.setId(42L);
+        activity.setProjectId(7L);
+        activity.setResponsibleId(3L);
+        activity.setCreatedById(1L);
+        activity.setDescription("Revisión de requerimientos");
+        activity.setStatus("P");
+        activity.setExecutionOrder(4);
+        activity.setPlannedStartDate(now);
+        activity.setPlannedEndDate(new Date(now.getTime() + 86_400_000L));
+        activity.setActualStartDate(now);
+        activity.setActualEndDate(null);
+        activity.setCreatedAt(now);
+        activity.setUpdatedAt(now);
+    }
+
+    @Benchmark
+    public cr.ac.una.flowfx.ws.ProjectActivityDTO reflective() {
+        return LegacyMapping.toWs(activity);
+    }
+
+    @Benchmark
+    public cr.ac.una.flowfx.ws.ProjectActivityDTO mapper() {
+        return WsMapper.toWs(activity);
+    }
+
+    public static void main(String[] args) throws Exception {
+        org.openjdk.jmh.Main.main(
+            new String[] { WsMapperBenchmark.class.getSimpleName() }
+        );
+    }
+
+    /**
+     * Copy of the mapping removed from {@code ProjectActivityService}: every
+     * optional setter is looked up with {@link Class#getMethod} and a new
+     * {@link DatatypeFactory} is created for each date.
+     */
+    private static final class LegacyMapping {
+
+        static cr.ac.una.flowfx.ws.ProjectActivityDTO toWs(
+            ProjectActivityDTO dto
+        ) {
+            cr.ac.una.flowfx.ws.ProjectActivityDTO w =
+                new cr.ac.una.flowfx.ws.ProjectActivityDTO();
+            w.setId(dto.getId());
+            trySetLong(w, "setProjectId", dto.getProjectId());
+
+            w.setDescription(dto.getDescription());
+            if (dto.getStatus() != null) w.setStatus(dto.getStatus());
+            if (dto.getExecutionOrder() != null) w.setExecutionOrder(
+                dto.getExecutionOrder()
+            );
+
+            trySetXmlCal(w, "setPlannedStartDate", dto.getPlannedStartDate());
+            trySetXmlCal(w, "setPlannedEndDate", dto.getPlannedEndDate());
+            trySetXmlCal(w, "setActualStartDate", dto.getActualStartDate());
+            trySetXmlCal(w, "setActualEndDate", dto.getActualEndDate());
+            trySetXmlCal(w, "setCreatedAt", dto.getCreatedAt());
+            trySetXmlCal(w, "setUpdatedAt", dto.getUpdatedAt());
+            return w;
+        }
+
+        private static void trySetLong(
+            Object target,
+            String setterName,
+            Long value
+        ) {
+            if (target == null || value == null || setterName == null) return;
+            Class<?> cls = target.getClass();
+            try {
+                Method m = cls.getMethod(setterName, Long.class);
+                m.invoke(target, value);
+                return;
+            } catch (NoSuchMethodException e1) {
+                try {
+                    Method m2 = cls.getMethod(setterName, long.class);
+                    m2.invoke(target, value.longValue());
+                    return;
+                } catch (Exception ignore) {}
+            } catch (Exception ignore) {}
+        }
+
+        private static void trySetXmlCal(
+            Object target,
+            String setterName,
+            Date value
+        ) {
+            if (target == null || value == null || setterName == null) return;
+            try {
+                XMLGregorianCalendar xgc = toXmlDate(value);
+                Method m = target.getClass()
+                    .getMethod(setterName, XMLGregorianCalendar.class);
+                m.invoke(target, xgc);
+            } catch (NoSuchMethodException nsme) {
+                try {
+                    Method m2 = target.getClass()
+                        .getMethod(setterName, Date.class);
+                    m2.invoke(target, value);
+                } catch (Exception ignore) {}
+            } catch (Exception ignore) {}
+        }
+
+        private static XMLGregorianCalendar toXmlDate(Date date) {
+            try {
+                GregorianCalendar gc = new GregorianCalendar();
+                gc.setTime(date);
+                return DatatypeFactory.newInstance().newXMLGregorianCalendar(
+                    gc
+                );
+            } catch (Exception e) {
+                return null;
+            }
+        }
+    }
+}